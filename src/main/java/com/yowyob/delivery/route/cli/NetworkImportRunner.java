@@ -0,0 +1,80 @@
+package com.yowyob.delivery.route.cli;
+
+import com.yowyob.delivery.route.controller.dto.ImportReportDTO;
+import com.yowyob.delivery.route.service.NetworkImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Loads the hub network from CSV files at startup, e.g.
+ * {@code java -jar route-service.jar --network-import.hubs-file=hubs.csv
+ * --network-import.connections-file=connections.csv --network-import.exit=true}.
+ * Does nothing unless at least one file is configured. With
+ * {@code network-import.exit} the application stops once the import is done,
+ * with a non-zero status if it failed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NetworkImportRunner implements ApplicationRunner {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final NetworkImportService networkImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${network-import.hubs-file:}")
+    private String hubsFile;
+
+    @Value("${network-import.connections-file:}")
+    private String connectionsFile;
+
+    @Value("${network-import.exit:false}")
+    private boolean exit;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (hubsFile.isBlank() && connectionsFile.isBlank()) {
+            return;
+        }
+        int status = 0;
+        try {
+            List<ImportReportDTO> reports = networkImportService
+                    .importNetwork(read(hubsFile), read(connectionsFile))
+                    .block();
+            log.info("Network import finished: hubs {}, connections {}", reports.get(0), reports.get(1));
+        } catch (RuntimeException e) {
+            log.error("Network import failed", e);
+            status = 1;
+        }
+        if (exit) {
+            int exitCode = status;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+
+    private static Flux<DataBuffer> read(String file) {
+        if (file.isBlank()) {
+            return Flux.empty();
+        }
+        Path path = Path.of(file);
+        if (!Files.isReadable(path)) {
+            return Flux.error(new IllegalArgumentException("Cannot read import file " + path.toAbsolutePath()));
+        }
+        return DataBufferUtils.read(path, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+    }
+}
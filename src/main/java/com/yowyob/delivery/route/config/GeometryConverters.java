@@ -1,7 +1,11 @@
 package com.yowyob.delivery.route.config;
 
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
 import org.springframework.core.convert.converter.Converter;
@@ -9,63 +13,86 @@ import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.lang.NonNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * Convertisseurs pour les types géométriques PostGIS (JTS)
  * Nécessaires pour Spring Data R2DBC avec PostGIS
  */
 public class GeometryConverters {
 
-    private static final GeometryFactory geometryFactory = 
-        new GeometryFactory(new PrecisionModel(), 4326);
+    private static final GeometryFactory geometryFactory =
+        new GeometryFactory(new PrecisionModel(), WkbCodec.SRID);
+
+    /**
+     * Convertit un Point JTS (org.locationtech.jts.geom.Point) en GeoPoint
+     * Utilisé quand Spring Data R2DBC lit les données depuis PostgreSQL/PostGIS
+     */
+    @ReadingConverter
+    public static class JtsPointToGeoPointConverter implements Converter<Point, GeoPoint> {
+        @Override
+        public GeoPoint convert(@NonNull Point source) {
+            return source.isEmpty() ? null : new GeoPoint(source.getX(), source.getY());
+        }
+    }
+
+    /**
+     * Convertit un GeoPoint en Point JTS avec SRID 4326 (WGS 84)
+     * Utilisé quand Spring Data R2DBC écrit les données vers PostgreSQL/PostGIS
+     */
+    @WritingConverter
+    public static class GeoPointToJtsPointConverter implements Converter<GeoPoint, Point> {
+        @Override
+        public Point convert(@NonNull GeoPoint source) {
+            return geometryFactory.createPoint(new Coordinate(source.lon(), source.lat()));
+        }
+    }
+
+    /**
+     * Convertit un LineString JTS en Polyline
+     * Utilisé quand Spring Data R2DBC lit les données depuis PostgreSQL/PostGIS
+     */
+    @ReadingConverter
+    public static class LineStringToPolylineConverter implements Converter<LineString, Polyline> {
+        @Override
+        public Polyline convert(@NonNull LineString source) {
+            return Polyline.fromLineString(source);
+        }
+    }
+
+    /**
+     * Convertit une Polyline en LineString JTS avec SRID 4326 (WGS 84)
+     * Utilisé quand Spring Data R2DBC écrit les données vers PostgreSQL/PostGIS
+     */
+    @WritingConverter
+    public static class PolylineToLineStringConverter implements Converter<Polyline, LineString> {
+        @Override
+        public LineString convert(@NonNull Polyline source) {
+            return source.toLineString();
+        }
+    }
 
     /**
-     * Convertit un Point JTS (org.locationtech.jts.geom.Point) en String WKT
+     * Convertit une géométrie WKB (bytea renvoyé par ST_AsBinary) en géométrie JTS
      * Utilisé quand Spring Data R2DBC lit les données depuis PostgreSQL/PostGIS
      */
     @ReadingConverter
-    public static class JtsPointToStringConverter implements Converter<Point, String> {
+    public static class WkbToGeometryConverter implements Converter<ByteBuffer, Geometry> {
         @Override
-        public String convert(@NonNull Point source) {
-            // Format WKT: POINT(longitude latitude)
-            return String.format("POINT(%s %s)", source.getX(), source.getY());
+        public Geometry convert(@NonNull ByteBuffer source) {
+            return WkbCodec.read(source);
         }
     }
 
     /**
-     * Convertit un String WKT en Point JTS
+     * Convertit une géométrie JTS en WKB, à passer à ST_GeomFromWKB
      * Utilisé quand Spring Data R2DBC écrit les données vers PostgreSQL/PostGIS
      */
     @WritingConverter
-    public static class StringToJtsPointConverter implements Converter<String, Point> {
+    public static class GeometryToWkbConverter implements Converter<Geometry, byte[]> {
         @Override
-        public Point convert(@NonNull String source) {
-            if (source == null || source.trim().isEmpty()) {
-                return null;
-            }
-            
-            try {
-                // Extraire les coordonnées de "POINT(longitude latitude)"
-                String coords = source.replace("POINT(", "")
-                                     .replace(")", "")
-                                     .trim();
-                String[] parts = coords.split("\\s+");
-                
-                if (parts.length != 2) {
-                    throw new IllegalArgumentException("Invalid WKT Point format: " + source);
-                }
-                
-                double x = Double.parseDouble(parts[0]); // longitude
-                double y = Double.parseDouble(parts[1]); // latitude
-                
-                // Créer un Point JTS avec SRID 4326 (WGS 84)
-                Coordinate coordinate = new Coordinate(x, y);
-                Point point = geometryFactory.createPoint(coordinate);
-                point.setSRID(4326);
-                
-                return point;
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Failed to parse WKT Point: " + source, e);
-            }
+        public byte[] convert(@NonNull Geometry source) {
+            return WkbCodec.write(source);
         }
     }
-}
\ No newline at end of file
+}
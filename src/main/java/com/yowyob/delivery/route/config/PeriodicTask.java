@@ -0,0 +1,54 @@
+package com.yowyob.delivery.route.config;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs a reactive task at a fixed interval for the background loops of the
+ * service (outbox dispatch, driver location flush, driver index reload).
+ * Runs never overlap: ticks arriving while a run is still in progress are
+ * dropped, never queued. A failed run is logged and the next tick tries again.
+ */
+@Slf4j
+public final class PeriodicTask {
+
+    private PeriodicTask() {
+    }
+
+    /**
+     * Starts the loop; the first run happens after one interval.
+     *
+     * @param interval time between two ticks
+     * @param task     supplies the run for each tick
+     * @param name     name of the task in log messages
+     * @return the subscription, to dispose on shutdown
+     */
+    public static Disposable start(Duration interval, Supplier<Mono<?>> task, String name) {
+        return start(interval, interval, task, name);
+    }
+
+    /**
+     * Starts the loop.
+     *
+     * @param initialDelay time before the first run
+     * @param interval     time between two ticks
+     * @param task         supplies the run for each tick
+     * @param name         name of the task in log messages
+     * @return the subscription, to dispose on shutdown
+     */
+    public static Disposable start(Duration initialDelay, Duration interval, Supplier<Mono<?>> task, String name) {
+        return Flux.interval(initialDelay, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.defer(task)
+                        .onErrorResume(e -> {
+                            log.warn("{} failed, retrying at next interval: {}", name, e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+}
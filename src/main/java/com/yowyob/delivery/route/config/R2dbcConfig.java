@@ -29,8 +29,12 @@ public class R2dbcConfig {
                     new EnumConverters.StringToParcelPriorityConverter(),
                     new EnumConverters.DriverStateToStringConverter(),
                     new EnumConverters.StringToDriverStateConverter(),
-                    new GeometryConverters.JtsPointToStringConverter(),
-                    new GeometryConverters.StringToJtsPointConverter()
+                    new GeometryConverters.JtsPointToGeoPointConverter(),
+                    new GeometryConverters.GeoPointToJtsPointConverter(),
+                    new GeometryConverters.LineStringToPolylineConverter(),
+                    new GeometryConverters.PolylineToLineStringConverter(),
+                    new GeometryConverters.WkbToGeometryConverter(),
+                    new GeometryConverters.GeometryToWkbConverter()
                 )
         );
     }
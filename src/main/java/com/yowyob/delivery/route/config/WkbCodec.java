@@ -0,0 +1,186 @@
+package com.yowyob.delivery.route.config;
+
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Shared codec between PostGIS geometries transported as WKB
+ * ({@code ST_AsBinary} / {@code ST_GeomFromWKB}) and the geometry types of the
+ * entities.
+ * 2D points and line strings, which is all this service stores, are decoded
+ * and encoded directly between the byte buffer and {@link GeoPoint} /
+ * {@link Polyline}. Any other WKB goes through JTS, whose readers and writers
+ * are not thread-safe and are therefore kept per thread.
+ */
+public final class WkbCodec {
+
+    /**
+     * SRID of every stored geometry (WGS 84).
+     */
+    public static final int SRID = 4326;
+
+    private static final int WKB_POINT = 1;
+    private static final int WKB_LINE_STRING = 2;
+    private static final int POINT_SIZE = 1 + 4 + 16;
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), SRID);
+
+    private static final ThreadLocal<WKBReader> WKB_READER = ThreadLocal
+            .withInitial(() -> new WKBReader(GEOMETRY_FACTORY));
+    private static final ThreadLocal<WKBWriter> WKB_WRITER = ThreadLocal.withInitial(WKBWriter::new);
+
+    private WkbCodec() {
+    }
+
+    /**
+     * Decodes a WKB value.
+     *
+     * @param wkb the bytes returned by {@code ST_AsBinary}
+     * @return the geometry, or {@code null} for a {@code null} value
+     * @throws IllegalArgumentException if the bytes are not valid WKB
+     */
+    public static Geometry read(byte[] wkb) {
+        if (wkb == null) {
+            return null;
+        }
+        try {
+            return WKB_READER.get().read(wkb);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid WKB geometry", e);
+        }
+    }
+
+    /**
+     * Decodes a WKB value as returned by the R2DBC driver for {@code bytea}
+     * columns. The buffer position is left unchanged.
+     *
+     * @param wkb the bytes returned by {@code ST_AsBinary}
+     * @return the geometry, or {@code null} for a {@code null} value
+     */
+    public static Geometry read(ByteBuffer wkb) {
+        return wkb == null ? null : read(toArray(wkb));
+    }
+
+    /**
+     * Encodes a geometry as 2D WKB, suitable for {@code ST_GeomFromWKB}.
+     *
+     * @param geometry the geometry
+     * @return the WKB bytes, or {@code null} for a {@code null} geometry
+     */
+    public static byte[] write(Geometry geometry) {
+        return geometry == null ? null : WKB_WRITER.get().write(geometry);
+    }
+
+    /**
+     * Decodes a WKB point.
+     *
+     * @param wkb the bytes returned by {@code ST_AsBinary}, may be {@code null}
+     * @return the point, or {@code null} for a {@code null} value
+     * @throws IllegalArgumentException if the value is not a point
+     */
+    public static GeoPoint readPoint(ByteBuffer wkb) {
+        if (wkb == null) {
+            return null;
+        }
+        ByteBuffer buffer = header(wkb);
+        if (buffer.getInt() == WKB_POINT) {
+            return new GeoPoint(buffer.getDouble(), buffer.getDouble());
+        }
+        if (read(wkb) instanceof Point point && !point.isEmpty()) {
+            return new GeoPoint(point.getX(), point.getY());
+        }
+        throw new IllegalArgumentException("WKB geometry is not a point");
+    }
+
+    /**
+     * Decodes a WKB line string straight into a packed coordinate array.
+     *
+     * @param wkb the bytes returned by {@code ST_AsBinary}, may be {@code null}
+     * @return the polyline, or {@code null} for a {@code null} value
+     * @throws IllegalArgumentException if the value is not a line string
+     */
+    public static Polyline readPolyline(ByteBuffer wkb) {
+        if (wkb == null) {
+            return null;
+        }
+        ByteBuffer buffer = header(wkb);
+        if (buffer.getInt() == WKB_LINE_STRING) {
+            double[] coordinates = new double[buffer.getInt() * 2];
+            buffer.asDoubleBuffer().get(coordinates);
+            return Polyline.wrap(coordinates);
+        }
+        if (read(wkb) instanceof LineString lineString) {
+            return Polyline.fromLineString(lineString);
+        }
+        throw new IllegalArgumentException("WKB geometry is not a line string");
+    }
+
+    /**
+     * Encodes a point as little-endian 2D WKB.
+     *
+     * @param point the point
+     * @return the WKB bytes, or {@code null} for a {@code null} point
+     */
+    public static byte[] write(GeoPoint point) {
+        if (point == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(POINT_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .put((byte) 1)
+                .putInt(WKB_POINT)
+                .putDouble(point.lon())
+                .putDouble(point.lat())
+                .array();
+    }
+
+    /**
+     * Encodes a polyline as little-endian 2D WKB.
+     *
+     * @param polyline the line
+     * @return the WKB bytes, or {@code null} for a {@code null} line
+     */
+    public static byte[] write(Polyline polyline) {
+        if (polyline == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 + polyline.size() * 16)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .put((byte) 1)
+                .putInt(WKB_LINE_STRING)
+                .putInt(polyline.size());
+        buffer.asDoubleBuffer().put(polyline.toArray());
+        return buffer.array();
+    }
+
+    /**
+     * @return a view of the value positioned after the byte-order mark, in the
+     *         byte order it declares
+     */
+    private static ByteBuffer header(ByteBuffer wkb) {
+        ByteBuffer buffer = wkb.duplicate();
+        buffer.order(buffer.get() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static byte[] toArray(ByteBuffer wkb) {
+        if (wkb.hasArray() && wkb.arrayOffset() == 0 && wkb.position() == 0
+                && wkb.remaining() == wkb.array().length) {
+            return wkb.array();
+        }
+        byte[] bytes = new byte[wkb.remaining()];
+        wkb.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.yowyob.delivery.route.controller;
+
+import com.yowyob.delivery.route.controller.dto.AssignmentReportDTO;
+import com.yowyob.delivery.route.service.AssignmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller for the automatic assignment of drivers to parcels.
+ */
+@RestController
+@RequestMapping("/api/v1/assignments")
+@RequiredArgsConstructor
+@Tag(name = "Assignments", description = "Endpoints for assigning drivers to planned parcels")
+public class AssignmentController {
+
+    private final AssignmentService assignmentService;
+
+    /**
+     * Run of the assignment engine over the PLANNED parcels without driver.
+     *
+     * @param limit optional maximum number of parcels in the batch
+     * @return the committed assignments and counts of the run
+     */
+    @PostMapping
+    @Operation(summary = "Assign drivers to planned parcels", description = "Matches the AVAILABLE drivers to PLANNED parcels without driver, minimizing the total road distance to the pickup locations; a parcel is only given to a driver whose vehicle can carry its weight. Each driver takes at most one parcel and becomes ASSIGNED. The assignments are committed in one transaction.")
+    public Mono<AssignmentReportDTO> assignPlannedParcels(@RequestParam(required = false) Integer limit) {
+        return assignmentService.assignPlannedParcels(limit);
+    }
+}
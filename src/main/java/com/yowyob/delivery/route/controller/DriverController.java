@@ -1,16 +1,25 @@
 package com.yowyob.delivery.route.controller;
 
+import com.yowyob.delivery.route.controller.dto.DriverLocationDTO;
 import com.yowyob.delivery.route.controller.dto.DriverResponseDTO;
+import com.yowyob.delivery.route.controller.dto.LocationBatchReportDTO;
+import com.yowyob.delivery.route.controller.dto.NearbyDriverDTO;
+import com.yowyob.delivery.route.domain.enums.DriverState;
 import com.yowyob.delivery.route.service.DriverService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 /**
  * Controller for managing delivery drivers.
- * Provides endpoints for listing and retrieving driver information.
+ * Provides endpoints for listing drivers and ingesting their GPS positions.
  */
 @RestController
 @RequestMapping("/api/v1/drivers")
@@ -30,4 +39,51 @@ public class DriverController {
     public Flux<DriverResponseDTO> getAllDrivers() {
         return driverService.getAllDrivers();
     }
+
+    /**
+     * Lookup of the drivers closest to a position, e.g. to offer a pickup to
+     * the nearest available drivers.
+     *
+     * @param lat      latitude of the position
+     * @param lon      longitude of the position
+     * @param k        maximum number of drivers to return
+     * @param state    the state the drivers must be in
+     * @param radiusKm maximum distance of the drivers, in kilometers
+     * @return the drivers, closest first, with their distance
+     */
+    @GetMapping("/nearest")
+    @Operation(summary = "Find nearest drivers", description = "Returns the k drivers in the given state closest to a position by great-circle distance, from an in-memory spatial index fed by the reported locations. Drivers without a recent location are left out.")
+    public Flux<NearbyDriverDTO> findNearestDrivers(@RequestParam double lat, @RequestParam double lon,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(defaultValue = "AVAILABLE") DriverState state,
+            @RequestParam(defaultValue = "50") double radiusKm) {
+        return driverService.findNearestDrivers(lat, lon, k, state, radiusKm);
+    }
+
+    /**
+     * Reception of the current position of a driver.
+     *
+     * @param request the reported position
+     * @return an empty response once the position is accepted
+     */
+    @PostMapping("/locations")
+    @Operation(summary = "Report a driver location", description = "Accepts a GPS position of a driver. Positions are kept in memory and written in bulk at a fixed interval, only the latest one per driver.")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<Void> recordLocation(@Valid @RequestBody DriverLocationDTO request) {
+        return driverService.recordLocation(request);
+    }
+
+    /**
+     * Reception of many driver positions at once, e.g. from a telematics
+     * gateway or a device that was offline.
+     *
+     * @param requests the reported positions
+     * @return the number of accepted and rejected positions
+     */
+    @PostMapping("/locations/batch")
+    @Operation(summary = "Report driver locations in batch", description = "Accepts a list of GPS positions, possibly of several drivers. Invalid positions are reported and skipped; for each driver only the most recent position is written.")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<LocationBatchReportDTO> recordLocations(@RequestBody List<DriverLocationDTO> requests) {
+        return driverService.recordLocations(requests);
+    }
 }
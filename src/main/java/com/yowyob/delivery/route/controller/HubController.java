@@ -2,12 +2,20 @@ package com.yowyob.delivery.route.controller;
 
 import com.yowyob.delivery.route.controller.dto.GeoPointRequestDTO;
 import com.yowyob.delivery.route.controller.dto.GeoPointResponseDTO;
+import com.yowyob.delivery.route.controller.dto.ImportReportDTO;
+import com.yowyob.delivery.route.controller.dto.NearestHubDTO;
+import com.yowyob.delivery.route.domain.geometry.BoundingBox;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import com.yowyob.delivery.route.service.HubService;
+import com.yowyob.delivery.route.service.NetworkImportService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -25,6 +33,7 @@ import java.util.UUID;
 public class HubController {
 
     private final HubService hubService;
+    private final NetworkImportService networkImportService;
 
     /**
      * Creation of a new hub in the system.
@@ -52,13 +61,79 @@ public class HubController {
     }
 
     /**
-     * Listing of all hubs registered in the system.
+     * Listing of the hubs registered in the system, optionally restricted to a
+     * map viewport or to a radius around a position.
      *
-     * @return a stream of all hubs
+     * @param bbox     optional viewport, {@code minLon,minLat,maxLon,maxLat}
+     * @param near     optional center of a radius search, {@code lat,lon}
+     * @param radiusKm radius of the search around {@code near}, in kilometers
+     * @return a stream of the matching hubs
      */
     @GetMapping
-    @Operation(summary = "List all hubs", description = "Returns a list of all hubs available in the network.")
-    public Flux<GeoPointResponseDTO> getAllHubs() {
+    @Operation(summary = "List hubs", description = "Returns all hubs of the network, or only those inside a bounding box (bbox) or within radiusKm of a position (near). Spatial filters are evaluated by PostGIS on GiST indexes.")
+    public Flux<GeoPointResponseDTO> getAllHubs(
+            @Parameter(description = "Viewport as minLon,minLat,maxLon,maxLat")
+            @RequestParam(required = false) String bbox,
+            @Parameter(description = "Center of a radius search as lat,lon; requires radiusKm")
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm) {
+        if (bbox != null && (near != null || radiusKm != null)) {
+            return Flux.error(new IllegalArgumentException("bbox cannot be combined with near/radiusKm"));
+        }
+        if (near == null ^ radiusKm == null) {
+            return Flux.error(new IllegalArgumentException("near and radiusKm must be given together"));
+        }
+        try {
+            if (bbox != null) {
+                return hubService.findHubsInBoundingBox(BoundingBox.parse(bbox));
+            }
+            if (near != null) {
+                return hubService.findHubsWithinRadius(GeoPoint.parseLatLon(near), radiusKm);
+            }
+        } catch (IllegalArgumentException e) {
+            return Flux.error(e);
+        }
         return hubService.getAllHubs();
     }
+
+    /**
+     * Lookup of the hubs closest to a position, e.g. to pick the hub a raw
+     * pickup address should be dropped at.
+     *
+     * @param lat latitude of the position
+     * @param lon longitude of the position
+     * @param k   maximum number of hubs to return
+     * @return the hubs, closest first, with their distance
+     */
+    @GetMapping("/nearest")
+    @Operation(summary = "Find nearest hubs", description = "Returns the k hubs closest to the given position by great-circle distance, from an in-memory spatial index rebuilt whenever the hub network changes.")
+    public Flux<NearestHubDTO> findNearestHubs(@RequestParam double lat, @RequestParam double lon,
+            @RequestParam(defaultValue = "1") int k) {
+        return hubService.findNearestHubs(lat, lon, k);
+    }
+
+    /**
+     * Bulk import of hubs from a CSV file.
+     *
+     * @param csv CSV content with the columns id (optional), address, type
+     *            (optional), latitude and longitude
+     * @return the import summary
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    @Operation(summary = "Import hubs from CSV", description = "Streams a CSV file of hubs, validates each row and upserts the valid ones in batches. The routing graph is rebuilt once at the end.")
+    public Mono<ImportReportDTO> importHubs(@RequestBody Flux<DataBuffer> csv) {
+        return networkImportService.importHubs(csv);
+    }
+
+    /**
+     * Bulk import of hub connections from a CSV file.
+     *
+     * @param csv CSV content with the columns fromHubId, toHubId and weight
+     * @return the import summary
+     */
+    @PostMapping(value = "/connections/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    @Operation(summary = "Import hub connections from CSV", description = "Streams a CSV file of directed connections and upserts them in batches. Connections towards unknown hubs are skipped. The routing graph is rebuilt once at the end.")
+    public Mono<ImportReportDTO> importConnections(@RequestBody Flux<DataBuffer> csv) {
+        return networkImportService.importConnections(csv);
+    }
 }
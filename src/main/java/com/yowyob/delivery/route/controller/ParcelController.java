@@ -1,17 +1,28 @@
 package com.yowyob.delivery.route.controller;
 
+import com.yowyob.delivery.route.controller.dto.BatchParcelResultDTO;
+import com.yowyob.delivery.route.controller.dto.ParcelPageDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelRequestDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelResponseDTO;
+import com.yowyob.delivery.route.domain.enums.ParcelPriority;
+import com.yowyob.delivery.route.domain.enums.ParcelState;
+import com.yowyob.delivery.route.repository.ParcelFilter;
 import com.yowyob.delivery.route.service.ParcelService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -24,6 +35,11 @@ import java.util.UUID;
 @Tag(name = "Parcels", description = "Endpoints for parcel management and registration")
 public class ParcelController {
 
+    /**
+     * Response header carrying the cursor of the next page of a listing.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ParcelService parcelService;
 
     /**
@@ -40,6 +56,20 @@ public class ParcelController {
         return parcelService.createParcel(request);
     }
 
+    /**
+     * Bulk registration of parcels, e.g. a merchant's daily shipments.
+     * Each request is validated on its own; the outcome of every request is
+     * streamed as one NDJSON line carrying its index in the submitted list.
+     *
+     * @param requests the parcel registration details
+     * @return one result per request
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create parcels in batch", description = "Registers a list of parcels with batched hub lookups and multi-row inserts, and streams the per-parcel results as NDJSON.")
+    public Flux<BatchParcelResultDTO> createParcels(@RequestBody List<ParcelRequestDTO> requests) {
+        return parcelService.createParcels(requests);
+    }
+
     /**
      * Retrieval of specific parcel information by its unique identifier.
      *
@@ -53,13 +83,51 @@ public class ParcelController {
     }
 
     /**
-     * Listing of all parcels currently registered in the logistics network.
+     * Listing of parcels, newest first, one page at a time.
+     * The cursor of the next page is returned in the {@value #NEXT_CURSOR_HEADER}
+     * header, which is absent on the last page.
      *
-     * @return a stream containing all parcel records
+     * @param state    optional state filter
+     * @param priority optional priority filter
+     * @param driverId optional driver filter
+     * @param cursor   cursor of the page to fetch, absent for the first page
+     * @param limit    maximum number of parcels in the page
+     * @return the parcels of the page
      */
     @GetMapping
-    @Operation(summary = "List all parcels", description = "Returns a list of all parcels across all states (PLANNED, TRANSIT, DELIVERED).")
-    public Flux<ParcelResponseDTO> getAllParcels() {
-        return parcelService.getAllParcels();
+    @Operation(summary = "List parcels", description = "Returns parcels newest first, optionally filtered by state, priority and driver. Pages are fetched with the cursor returned in the X-Next-Cursor header, so deep pages cost the same as the first one.")
+    public Mono<ResponseEntity<List<ParcelResponseDTO>>> getParcels(
+            @RequestParam(required = false) ParcelState state,
+            @RequestParam(required = false) ParcelPriority priority,
+            @RequestParam(required = false) UUID driverId,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return parcelService.getParcels(new ParcelFilter(state, priority, driverId), cursor, limit)
+                .map(this::toResponse);
+    }
+
+    /**
+     * Export of all parcels as newline-delimited JSON, one parcel per line.
+     * The response is streamed: rows are read from the database as the client
+     * consumes them, so neither side has to hold the whole export in memory.
+     *
+     * @param since only parcels modified at or after this time, for incremental pulls
+     * @return a stream of parcels ordered by last modification time
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export parcels as NDJSON", description = "Streams all parcels, or those modified since the given time, as application/x-ndjson ordered by modification time. The updatedAt of the last line can be used as the next since value.")
+    public Flux<ParcelResponseDTO> exportParcels(
+            @Parameter(description = "ISO date-time, e.g. 2026-01-15T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return parcelService.exportParcels(since);
+    }
+
+    private ResponseEntity<List<ParcelResponseDTO>> toResponse(ParcelPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
@@ -1,5 +1,10 @@
 package com.yowyob.delivery.route.controller;
 
+import com.yowyob.delivery.route.controller.dto.BatchRouteResultDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixResponseDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixResponseDTO;
 import com.yowyob.delivery.route.controller.dto.RouteCalculationRequestDTO;
 import com.yowyob.delivery.route.controller.dto.RouteResponseDTO;
 import com.yowyob.delivery.route.service.RouteService;
@@ -8,9 +13,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -60,6 +68,46 @@ public class RouteController {
                 });
     }
 
+    /**
+     * Calculation of routes for many parcels in one call.
+     * Results are streamed as newline-delimited JSON in completion order; a
+     * failed entry carries an error message instead of a route.
+     *
+     * @param requests the routing parameters, one per parcel
+     * @return one result per request
+     */
+    @PostMapping(value = "/calculate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Calculate routes in batch", description = "Calculates and stores optimal routes for a list of requests in parallel and streams the results as NDJSON.")
+    public Flux<BatchRouteResultDTO> calculateRoutes(@RequestBody List<RouteCalculationRequestDTO> requests) {
+        return routeService.calculateRoutes(requests);
+    }
+
+    /**
+     * Calculation of hub-to-hub distance and duration tables for dispatch and
+     * pricing. No route is stored.
+     *
+     * @param request the source and target hubs
+     * @return the distance and duration matrices
+     */
+    @PostMapping("/matrix")
+    @Operation(summary = "Calculate distance matrix", description = "Computes shortest-path distances and durations between every source hub and every target hub over the hub network, without persisting routes.")
+    public Mono<DistanceMatrixResponseDTO> calculateMatrix(@Valid @RequestBody DistanceMatrixRequestDTO request) {
+        return routeService.calculateMatrix(request);
+    }
+
+    /**
+     * Driving duration matrix between arbitrary positions, computed by the OSRM
+     * table service.
+     *
+     * @param request the source and destination positions
+     * @return the duration matrix
+     */
+    @PostMapping("/osrm-matrix")
+    @Operation(summary = "Calculate OSRM duration matrix", description = "Computes driving durations between every source and every destination position with the OSRM table service. Large requests are split into tiles fetched concurrently.")
+    public Mono<OsrmMatrixResponseDTO> calculateOsrmMatrix(@Valid @RequestBody OsrmMatrixRequestDTO request) {
+        return routeService.calculateOsrmMatrix(request);
+    }
+
     /**
      * Retrieval of specific route details by its unique identifier.
      *
@@ -85,4 +133,15 @@ public class RouteController {
     public Mono<RouteResponseDTO> recalculateRoute(@PathVariable UUID id, @RequestBody Object incident) {
         return routeService.recalculateRoute(id, incident);
     }
+
+    /**
+     * Reload of the in-memory routing graph, to be triggered after hubs or hub
+     * connections have been modified outside of this API.
+     */
+    @PostMapping("/graph/refresh")
+    @Operation(summary = "Refresh routing graph", description = "Rebuilds the cached hub network used by the graph-based routing algorithms.")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> refreshRoutingGraph() {
+        return routeService.refreshRoutingGraph();
+    }
 }
@@ -0,0 +1,50 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a parcel assigned to a driver.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A parcel assigned to a driver by the assignment engine")
+public class AssignmentDTO {
+
+    /**
+     * The assigned parcel.
+     */
+    @Schema(description = "Unique identifier of the parcel")
+    private UUID parcelId;
+
+    /**
+     * Tracking code of the parcel.
+     */
+    @Schema(description = "Tracking code of the parcel", example = "TRK-A1B2C3D4")
+    private String trackingCode;
+
+    /**
+     * The driver picking up the parcel.
+     */
+    @Schema(description = "Unique identifier of the driver")
+    private UUID driverId;
+
+    /**
+     * The vehicle of the driver.
+     */
+    @Schema(description = "Unique identifier of the driver's vehicle")
+    private UUID vehicleId;
+
+    /**
+     * Distance from the driver to the pickup location.
+     */
+    @Schema(description = "Road distance from the driver to the pickup location in kilometers", example = "3.8")
+    private Double distanceKm;
+}
@@ -0,0 +1,50 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing one run of the assignment engine.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of an automatic driver assignment run")
+public class AssignmentReportDTO {
+
+    /**
+     * Number of PLANNED parcels without driver taken into the batch.
+     */
+    @Schema(description = "Number of unassigned planned parcels in the batch", example = "120")
+    private int parcelsConsidered;
+
+    /**
+     * Number of shortlisted drivers that could take a parcel.
+     */
+    @Schema(description = "Number of available drivers near the pickups, with a location and a vehicle", example = "35")
+    private int driversConsidered;
+
+    /**
+     * Number of parcels still without driver after the run.
+     */
+    @Schema(description = "Number of parcels of the batch left without driver", example = "85")
+    private int unassigned;
+
+    /**
+     * Sum of the distances of the assignments.
+     */
+    @Schema(description = "Total road distance from the drivers to their pickup locations in kilometers", example = "142.6")
+    private double totalDistanceKm;
+
+    /**
+     * The assignments that were committed.
+     */
+    @Schema(description = "Assignments committed by the run")
+    private List<AssignmentDTO> assignments;
+}
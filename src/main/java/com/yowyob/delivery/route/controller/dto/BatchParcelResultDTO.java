@@ -0,0 +1,37 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one entry of a bulk parcel creation.
+ * Exactly one of {@code parcel} and {@code error} is set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one request of a bulk parcel creation")
+public class BatchParcelResultDTO {
+
+    /**
+     * Position of the request in the submitted list.
+     */
+    @Schema(description = "Zero-based index of the request in the batch", example = "0")
+    private Integer index;
+
+    /**
+     * The created parcel, if it was stored.
+     */
+    @Schema(description = "The created parcel, absent if it could not be stored")
+    private ParcelResponseDTO parcel;
+
+    /**
+     * Reason of the failure, if any.
+     */
+    @Schema(description = "Error message, absent if the parcel was created", example = "Weight is required")
+    private String error;
+}
@@ -0,0 +1,37 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one entry of a batch route calculation.
+ * Exactly one of {@code route} and {@code error} is set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one request of a batch route calculation")
+public class BatchRouteResultDTO {
+
+    /**
+     * Position of the request in the submitted list.
+     */
+    @Schema(description = "Zero-based index of the request in the batch", example = "0")
+    private Integer index;
+
+    /**
+     * The calculated and stored route, if successful.
+     */
+    @Schema(description = "The calculated route, absent if the request failed")
+    private RouteResponseDTO route;
+
+    /**
+     * Reason of the failure, if any.
+     */
+    @Schema(description = "Error message, absent if the route was calculated", example = "No path found between hubs")
+    private String error;
+}
@@ -0,0 +1,39 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a bare WGS84 position.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Geographical position")
+public class CoordinateDTO {
+
+    /**
+     * Latitude coordinate of the position.
+     */
+    @NotNull(message = "Latitude is required")
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    @Schema(description = "Latitude coordinate", example = "3.8860")
+    private Double latitude;
+
+    /**
+     * Longitude coordinate of the position.
+     */
+    @NotNull(message = "Longitude is required")
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    @Schema(description = "Longitude coordinate", example = "11.5140")
+    private Double longitude;
+}
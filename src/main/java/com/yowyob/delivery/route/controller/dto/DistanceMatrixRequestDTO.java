@@ -0,0 +1,44 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for requesting hub-to-hub cost tables.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for computing a distance/duration matrix between hubs")
+public class DistanceMatrixRequestDTO {
+
+    /**
+     * Largest number of source or target hubs, i.e. at most a million cells.
+     */
+    public static final int MAX_HUBS = 1000;
+
+    /**
+     * Hubs the matrix rows start from.
+     */
+    @NotEmpty(message = "At least one source hub is required")
+    @Size(max = MAX_HUBS, message = "At most " + MAX_HUBS + " source hubs are allowed")
+    @Schema(description = "IDs of the origin hubs (matrix rows)")
+    private List<UUID> sourceHubIds;
+
+    /**
+     * Hubs the matrix columns lead to.
+     */
+    @NotEmpty(message = "At least one target hub is required")
+    @Size(max = MAX_HUBS, message = "At most " + MAX_HUBS + " target hubs are allowed")
+    @Schema(description = "IDs of the destination hubs (matrix columns)")
+    private List<UUID> targetHubIds;
+}
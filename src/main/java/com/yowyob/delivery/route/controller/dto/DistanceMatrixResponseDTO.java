@@ -0,0 +1,48 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object holding hub-to-hub cost tables.
+ * Cell {@code [i][j]} is the cost from {@code sourceHubIds[i]} to
+ * {@code targetHubIds[j]}; it is {@code -1} when no path exists. Both
+ * tables are primitive arrays, serialised as plain JSON number arrays.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Distance and duration matrices between hubs")
+public class DistanceMatrixResponseDTO {
+
+    /**
+     * Origin hubs, in row order.
+     */
+    @Schema(description = "IDs of the origin hubs (matrix rows)")
+    private List<UUID> sourceHubIds;
+
+    /**
+     * Destination hubs, in column order.
+     */
+    @Schema(description = "IDs of the destination hubs (matrix columns)")
+    private List<UUID> targetHubIds;
+
+    /**
+     * Shortest-path distances in kilometers.
+     */
+    @Schema(description = "Shortest-path distance in kilometers for each source/target pair, -1 if unreachable")
+    private double[][] distancesKm;
+
+    /**
+     * Estimated travel durations in minutes.
+     */
+    @Schema(description = "Estimated duration in minutes for each source/target pair, -1 if unreachable")
+    private int[][] durationsMinutes;
+}
@@ -0,0 +1,55 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a GPS position reported by a driver's device.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "GPS position reported by a driver")
+public class DriverLocationDTO {
+
+    /**
+     * The driver reporting the position.
+     */
+    @NotNull(message = "Driver ID is required")
+    @Schema(description = "Driver ID", example = "c0a80101-0000-4000-8000-000000000001")
+    private UUID driverId;
+
+    /**
+     * Latitude of the position.
+     */
+    @NotNull(message = "Latitude is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Schema(description = "Latitude coordinate", example = "4.0503")
+    private Double latitude;
+
+    /**
+     * Longitude of the position.
+     */
+    @NotNull(message = "Longitude is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Schema(description = "Longitude coordinate", example = "9.7085")
+    private Double longitude;
+
+    /**
+     * When the device took the position; the reception time if absent.
+     */
+    @Schema(description = "Time the position was taken, defaults to the reception time", example = "2026-01-15T10:30:00")
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,52 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing a CSV import of hubs or connections.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary of a CSV import")
+public class ImportReportDTO {
+
+    /**
+     * Number of data rows read, header and blank lines excluded.
+     */
+    @Schema(description = "Number of data rows read", example = "100000")
+    private Long rowsRead;
+
+    /**
+     * Number of rows inserted or updated in the database.
+     */
+    @Schema(description = "Number of rows inserted or updated", example = "99998")
+    private Long rowsImported;
+
+    /**
+     * Number of rows rejected by validation.
+     */
+    @Schema(description = "Number of rows rejected by validation", example = "1")
+    private Long rowsRejected;
+
+    /**
+     * Number of valid rows that were not written, such as connections towards
+     * unknown hubs or duplicates of a later row.
+     */
+    @Schema(description = "Number of valid rows that were not written", example = "1")
+    private Long rowsSkipped;
+
+    /**
+     * Validation errors, truncated to the first ones.
+     */
+    @Schema(description = "First validation errors, with their line number",
+            example = "[\"line 42: latitude must be between -90 and 90\"]")
+    private List<String> errors;
+}
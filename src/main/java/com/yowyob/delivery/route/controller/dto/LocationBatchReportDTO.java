@@ -0,0 +1,39 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing a batch of driver positions.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary of a batch of driver positions")
+public class LocationBatchReportDTO {
+
+    /**
+     * Number of positions accepted for the next write.
+     */
+    @Schema(description = "Number of positions accepted", example = "250")
+    private Integer accepted;
+
+    /**
+     * Number of positions rejected by validation.
+     */
+    @Schema(description = "Number of positions rejected by validation", example = "1")
+    private Integer rejected;
+
+    /**
+     * Validation errors, truncated to the first ones.
+     */
+    @Schema(description = "First validation errors, with the index of the position",
+            example = "[\"index 3: Latitude must be between -90 and 90\"]")
+    private List<String> errors;
+}
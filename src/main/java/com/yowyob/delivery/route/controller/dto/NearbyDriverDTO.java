@@ -0,0 +1,39 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a driver found by a nearest-driver lookup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A driver close to the looked-up position, with its distance")
+public class NearbyDriverDTO {
+
+    @Schema(description = "Driver ID")
+    private UUID driverId;
+
+    @Schema(description = "Current status", example = "AVAILABLE")
+    private String status;
+
+    @Schema(description = "Latitude of the last known position", example = "4.0503")
+    private Double latitude;
+
+    @Schema(description = "Longitude of the last known position", example = "9.7085")
+    private Double longitude;
+
+    @Schema(description = "Time the last known position was taken")
+    private LocalDateTime lastLocationUpdate;
+
+    @Schema(description = "Great-circle distance from the looked-up position, in kilometers", example = "1.42")
+    private Double distanceKm;
+}
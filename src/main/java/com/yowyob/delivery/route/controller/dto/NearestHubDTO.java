@@ -0,0 +1,30 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one result of a nearest-hub lookup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A hub close to the requested position")
+public class NearestHubDTO {
+
+    /**
+     * The hub.
+     */
+    @Schema(description = "The hub")
+    private GeoPointResponseDTO hub;
+
+    /**
+     * Straight-line distance from the requested position.
+     */
+    @Schema(description = "Great-circle distance from the requested position in kilometers", example = "1.42")
+    private Double distanceKm;
+}
@@ -0,0 +1,44 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for requesting a driving duration matrix from OSRM.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for computing a driving duration matrix between positions with OSRM")
+public class OsrmMatrixRequestDTO {
+
+    /**
+     * Largest number of sources or destinations, i.e. at most a quarter million
+     * cells and about a hundred OSRM table calls with the default tile size.
+     */
+    public static final int MAX_POINTS = 500;
+
+    /**
+     * Positions the matrix rows start from.
+     */
+    @NotEmpty(message = "At least one source is required")
+    @Size(max = MAX_POINTS, message = "At most " + MAX_POINTS + " sources are allowed")
+    @Schema(description = "Origin positions (matrix rows)")
+    private List<@Valid CoordinateDTO> sources;
+
+    /**
+     * Positions the matrix columns lead to; the sources are used when empty.
+     */
+    @Size(max = MAX_POINTS, message = "At most " + MAX_POINTS + " destinations are allowed")
+    @Schema(description = "Destination positions (matrix columns), defaults to the sources")
+    private List<@Valid CoordinateDTO> destinations;
+}
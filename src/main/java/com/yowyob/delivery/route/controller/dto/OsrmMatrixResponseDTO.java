@@ -0,0 +1,38 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object holding an OSRM driving duration matrix.
+ * Cell {@code [i][j]} is the duration from source {@code i} to destination
+ * {@code j}, in request order; it is {@code null} when OSRM found no route.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Driving duration matrix between positions")
+public class OsrmMatrixResponseDTO {
+
+    /**
+     * Number of matrix rows.
+     */
+    @Schema(description = "Number of sources (matrix rows)")
+    private int sourceCount;
+
+    /**
+     * Number of matrix columns.
+     */
+    @Schema(description = "Number of destinations (matrix columns)")
+    private int destinationCount;
+
+    /**
+     * Driving durations in seconds.
+     */
+    @Schema(description = "Driving duration in seconds for each source/destination pair, null if unreachable")
+    private Double[][] durationsSeconds;
+}
@@ -0,0 +1,32 @@
+package com.yowyob.delivery.route.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a parcel listing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of parcels, newest first")
+public class ParcelPageDTO {
+
+    /**
+     * Parcels of the page.
+     */
+    @Schema(description = "Parcels of the page")
+    private List<ParcelResponseDTO> items;
+
+    /**
+     * Cursor of the next page, absent on the last page.
+     */
+    @Schema(description = "Opaque cursor to pass to get the next page, absent on the last page")
+    private String nextCursor;
+}
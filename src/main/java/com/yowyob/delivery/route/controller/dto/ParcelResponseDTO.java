@@ -50,12 +50,24 @@ public class ParcelResponseDTO {
     @Schema(description = "Detailed information about the pickup location")
     private GeoPointResponseDTO pickupLocation;
 
+    /**
+     * Hub serving the pickup location.
+     */
+    @Schema(description = "ID of the hub serving the pickup location, absent if none is close enough", example = "a1b2c3d4-e5f6-7a8b-9c0d-e1f2a3b4c5d6")
+    private UUID pickupHubId;
+
     /**
      * Geographical point and details of the delivery location.
      */
     @Schema(description = "Detailed information about the delivery location")
     private GeoPointResponseDTO deliveryLocation;
 
+    /**
+     * Hub serving the delivery location.
+     */
+    @Schema(description = "ID of the hub serving the delivery location, absent if none is close enough", example = "b2c3d4e5-f6a7-8b9c-0d1e-f2a3b4c5d6e7")
+    private UUID deliveryHubId;
+
     /**
      * Weight of the parcel in kilograms.
      */
@@ -79,4 +91,10 @@ public class ParcelResponseDTO {
      */
     @Schema(description = "Timestamp when the parcel was registered")
     private LocalDateTime createdAt;
+
+    /**
+     * Timestamp of the last modification of the parcel record.
+     */
+    @Schema(description = "Timestamp of the last modification of the parcel")
+    private LocalDateTime updatedAt;
 }
@@ -40,9 +40,12 @@ public class RoutingConstraintsDTO {
      * The specific routing algorithm to use.
      * BASIC: Direct path.
      * DIJKSTRA: Shortest path based on weight.
+     * BIDIJKSTRA: Same shortest path as DIJKSTRA, searched from both ends.
      * ASTAR: Shortest path based on weight and heuristics.
+     * ALT: A* guided by precomputed landmark distances.
+     * CH: Shortest path on the preprocessed contraction hierarchy.
      */
     @Schema(description = "Routing algorithm to use", allowableValues = { "BASIC", "DIJKSTRA",
-            "ASTAR" }, defaultValue = "BASIC")
+            "BIDIJKSTRA", "ASTAR", "ALT", "CH" }, defaultValue = "BASIC")
     private String algorithm;
 }
@@ -1,6 +1,7 @@
 package com.yowyob.delivery.route.domain.entity;
 
 import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
@@ -67,10 +68,10 @@ public class DeliveryDriver {
     private DriverState currentState;
 
     /**
-     * Last known geographical location of the driver (WKT POINT).
+     * Last known geographical location of the driver.
      */
     @Column("current_location")
-    private String currentLocation;
+    private GeoPoint currentLocation;
 
     /**
      * Average performance rating of the driver (0.0 to 5.0).
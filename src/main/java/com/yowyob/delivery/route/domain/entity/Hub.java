@@ -1,6 +1,7 @@
 package com.yowyob.delivery.route.domain.entity;
 
 import com.yowyob.delivery.route.domain.enums.HubType;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
@@ -43,12 +44,11 @@ public class Hub {
     private HubType type;
 
     /**
-     * Geographical location of the point, stored as a Well-Known Text (WKT) String.
-     * R2DBC doesn't natively support JTS Geometry types, so we use WKT (POINT)
-     * for persistence and perform conversions in the service/mapper layer.
+     * Geographical location of the point. Decoded once from the PostGIS
+     * geometry when the hub is loaded.
      */
     @Column("location")
-    private String location;
+    private GeoPoint location;
 
     /**
      * Timestamp indicating when the Hub record was created.
@@ -0,0 +1,67 @@
+package com.yowyob.delivery.route.domain.entity;
+
+import com.yowyob.delivery.route.domain.enums.OutboxEventType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a pending side effect of a state change.
+ * Written in the same transaction as the change itself and removed once a
+ * background dispatcher has carried it out, so the effect is never lost and
+ * never delays the request that caused it.
+ */
+@Table("outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    /**
+     * Unique identifier for the event.
+     */
+    @Id
+    private UUID id;
+
+    /**
+     * What has to be done.
+     */
+    @Column("event_type")
+    private OutboxEventType eventType;
+
+    /**
+     * ID of the entity the event is about (e.g. the parcel).
+     */
+    @Column("aggregate_id")
+    private UUID aggregateId;
+
+    /**
+     * Number of dispatch attempts made so far, including the current one.
+     */
+    @Column("attempts")
+    private Integer attempts;
+
+    /**
+     * Earliest time of the next dispatch attempt.
+     */
+    @Column("next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Error of the last failed attempt, if any.
+     */
+    @Column("last_error")
+    private String lastError;
+
+    /**
+     * Timestamp when the event was recorded.
+     */
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
@@ -2,6 +2,7 @@ package com.yowyob.delivery.route.domain.entity;
 
 import com.yowyob.delivery.route.domain.enums.ParcelPriority;
 import com.yowyob.delivery.route.domain.enums.ParcelState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 
 import lombok.*;
 
@@ -90,10 +91,10 @@ public class Parcel {
     private String recipientPhone;
 
     /**
-     * Geographical coordinates of the pickup point (WKT POINT).
+     * Geographical coordinates of the pickup point.
      */
     @Column("pickup_location")
-    private String pickupLocation;
+    private GeoPoint pickupLocation;
 
     /**
      * Readable address of the pickup point.
@@ -102,10 +103,17 @@ public class Parcel {
     private String pickupAddress;
 
     /**
-     * Geographical coordinates of the delivery point (WKT POINT).
+     * ID of the hub the parcel is picked up at or dropped off to: the hub given
+     * as pickup location, or the one nearest to the pickup coordinates.
+     */
+    @Column("pickup_hub_id")
+    private UUID pickupHubId;
+
+    /**
+     * Geographical coordinates of the delivery point.
      */
     @Column("delivery_location")
-    private String deliveryLocation;
+    private GeoPoint deliveryLocation;
 
     /**
      * Readable address of the delivery point.
@@ -113,6 +121,13 @@ public class Parcel {
     @Column("delivery_address")
     private String deliveryAddress;
 
+    /**
+     * ID of the hub the parcel is delivered from: the hub given as delivery
+     * location, or the one nearest to the delivery coordinates.
+     */
+    @Column("delivery_hub_id")
+    private UUID deliveryHubId;
+
     /**
      * Weight of the parcel in kilograms.
      */
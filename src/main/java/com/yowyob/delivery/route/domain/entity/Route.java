@@ -1,5 +1,6 @@
 package com.yowyob.delivery.route.domain.entity;
 
+import com.yowyob.delivery.route.domain.geometry.Polyline;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
@@ -52,10 +53,10 @@ public class Route {
     private UUID endHubId;
 
     /**
-     * Path geometry of the route, stored as a Well-Known Text (WKT) LineString.
+     * Path geometry of the route, as packed longitude/latitude pairs.
      */
     @Column("route_geometry")
-    private String routeGeometry;
+    private Polyline routeGeometry;
 
     /**
      * Optional JSON representation of specific waypoints or stops.
@@ -0,0 +1,10 @@
+package com.yowyob.delivery.route.domain.enums;
+
+/**
+ * Kind of side effect recorded in the outbox.
+ * Determines what the dispatcher does with the aggregate of the event.
+ */
+public enum OutboxEventType {
+    /** A parcel was created; its Petri net must be initialised. */
+    PARCEL_CREATED
+}
@@ -0,0 +1,43 @@
+package com.yowyob.delivery.route.domain.geometry;
+
+/**
+ * Immutable WGS 84 rectangle in longitude/latitude, e.g. the viewport of a map.
+ * Rectangles crossing the antimeridian are not supported.
+ *
+ * @param minLon western longitude in degrees
+ * @param minLat southern latitude in degrees
+ * @param maxLon eastern longitude in degrees
+ * @param maxLat northern latitude in degrees
+ */
+public record BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+
+    public BoundingBox {
+        if (!(minLon >= -180 && maxLon <= 180 && minLat >= -90 && maxLat <= 90)) {
+            throw new IllegalArgumentException("Bounding box must lie within [-180, 180] x [-90, 90]");
+        }
+        if (minLon > maxLon || minLat > maxLat) {
+            throw new IllegalArgumentException("Bounding box minimums must not exceed its maximums");
+        }
+    }
+
+    /**
+     * Parses a bounding box given as {@code minLon,minLat,maxLon,maxLat}, the
+     * order used by GeoJSON and OGC services.
+     *
+     * @param text the four comma-separated values
+     * @return the bounding box
+     * @throws IllegalArgumentException if the text is not a valid bounding box
+     */
+    public static BoundingBox parse(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box must be minLon,minLat,maxLon,maxLat: " + text);
+        }
+        try {
+            return new BoundingBox(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bounding box must be minLon,minLat,maxLon,maxLat: " + text, e);
+        }
+    }
+}
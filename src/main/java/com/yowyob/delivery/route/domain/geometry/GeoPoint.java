@@ -0,0 +1,74 @@
+package com.yowyob.delivery.route.domain.geometry;
+
+/**
+ * Immutable WGS 84 position (SRID 4326).
+ * Used for every point-typed column instead of WKT text, so coordinates are
+ * parsed once at the repository boundary and read directly afterwards.
+ *
+ * @param lon longitude in degrees
+ * @param lat latitude in degrees
+ */
+public record GeoPoint(double lon, double lat) {
+
+    /**
+     * Parses a WKT point such as {@code POINT(11.514 3.886)}, optionally
+     * prefixed by {@code SRID=4326;}.
+     *
+     * @param wkt the WKT text
+     * @return the point, or {@code null} for {@code null} or blank text
+     * @throws IllegalArgumentException if the text is not a 2D WKT point
+     */
+    public static GeoPoint parseWkt(String wkt) {
+        if (wkt == null || wkt.isBlank()) {
+            return null;
+        }
+        int open = wkt.indexOf('(');
+        int close = wkt.lastIndexOf(')');
+        String type = open < 0 ? "" : wkt.substring(wkt.indexOf(';') + 1, open).trim();
+        if (!type.equalsIgnoreCase("POINT") || close < open) {
+            throw new IllegalArgumentException("Invalid WKT point: " + wkt);
+        }
+        String[] parts = wkt.substring(open + 1, close).trim().split("\\s+");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid WKT point: " + wkt);
+        }
+        try {
+            return new GeoPoint(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid WKT point: " + wkt, e);
+        }
+    }
+
+    /**
+     * Parses a position given as {@code lat,lon}, e.g. {@code 3.886,11.514}.
+     *
+     * @param text the latitude and longitude, comma-separated
+     * @return the point
+     * @throws IllegalArgumentException if the text is not a valid position
+     */
+    public static GeoPoint parseLatLon(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Position must be lat,lon: " + text);
+        }
+        double lat;
+        double lon;
+        try {
+            lat = Double.parseDouble(parts[0].trim());
+            lon = Double.parseDouble(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Position must be lat,lon: " + text, e);
+        }
+        if (!(lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180)) {
+            throw new IllegalArgumentException("lat must be within [-90, 90] and lon within [-180, 180]");
+        }
+        return new GeoPoint(lon, lat);
+    }
+
+    /**
+     * @return the point as WKT, e.g. {@code POINT(11.514 3.886)}
+     */
+    public String toWkt() {
+        return "POINT(" + lon + " " + lat + ")";
+    }
+}
@@ -0,0 +1,150 @@
+package com.yowyob.delivery.route.domain.geometry;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.Arrays;
+
+/**
+ * Immutable WGS 84 line stored as one packed array of interleaved
+ * longitude/latitude values.
+ * Used for route geometries instead of WKT text; a route of {@code n} points
+ * costs a single {@code double[2n]} instead of {@code n} coordinate objects.
+ */
+public final class Polyline {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private final double[] coordinates;
+
+    private Polyline(double[] coordinates) {
+        if (coordinates.length % 2 != 0) {
+            throw new IllegalArgumentException("Coordinates must be longitude/latitude pairs");
+        }
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * Wraps an array of interleaved longitude/latitude values without copying
+     * it; the caller must not modify the array afterwards.
+     *
+     * @param coordinates {@code lon0, lat0, lon1, lat1, ...}
+     * @return the polyline
+     */
+    public static Polyline wrap(double[] coordinates) {
+        return new Polyline(coordinates);
+    }
+
+    /**
+     * @param points the vertices, in order
+     * @return the polyline through the points
+     */
+    public static Polyline of(GeoPoint... points) {
+        double[] coordinates = new double[points.length * 2];
+        for (int i = 0; i < points.length; i++) {
+            coordinates[2 * i] = points[i].lon();
+            coordinates[2 * i + 1] = points[i].lat();
+        }
+        return new Polyline(coordinates);
+    }
+
+    /**
+     * Copies the X/Y ordinates of a JTS line.
+     *
+     * @param lineString the line
+     * @return the polyline, or {@code null} for a {@code null} line
+     */
+    public static Polyline fromLineString(LineString lineString) {
+        if (lineString == null) {
+            return null;
+        }
+        CoordinateSequence sequence = lineString.getCoordinateSequence();
+        double[] coordinates = new double[sequence.size() * 2];
+        for (int i = 0; i < sequence.size(); i++) {
+            coordinates[2 * i] = sequence.getX(i);
+            coordinates[2 * i + 1] = sequence.getY(i);
+        }
+        return new Polyline(coordinates);
+    }
+
+    /**
+     * Parses a WKT line string. Meant for API input and tests, not hot paths.
+     *
+     * @param wkt the WKT text
+     * @return the polyline, or {@code null} for {@code null} or blank text
+     * @throws IllegalArgumentException if the text is not a WKT line string
+     */
+    public static Polyline parseWkt(String wkt) {
+        if (wkt == null || wkt.isBlank()) {
+            return null;
+        }
+        try {
+            if (new WKTReader(GEOMETRY_FACTORY).read(wkt) instanceof LineString lineString) {
+                return fromLineString(lineString);
+            }
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid WKT line string: " + wkt, e);
+        }
+        throw new IllegalArgumentException("Invalid WKT line string: " + wkt);
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    public int size() {
+        return coordinates.length / 2;
+    }
+
+    public double getLongitude(int index) {
+        return coordinates[2 * index];
+    }
+
+    public double getLatitude(int index) {
+        return coordinates[2 * index + 1];
+    }
+
+    public GeoPoint getPoint(int index) {
+        return new GeoPoint(getLongitude(index), getLatitude(index));
+    }
+
+    /**
+     * @return a copy of the interleaved longitude/latitude values
+     */
+    public double[] toArray() {
+        return coordinates.clone();
+    }
+
+    /**
+     * @return a JTS view of the line, sharing the packed coordinates (SRID 4326)
+     */
+    public LineString toLineString() {
+        return GEOMETRY_FACTORY.createLineString(new PackedCoordinateSequence.Double(coordinates, 2, 0));
+    }
+
+    /**
+     * @return the line as WKT, e.g. {@code LINESTRING (9 4, 9.5 4)}
+     */
+    public String toWkt() {
+        return toLineString().toText();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Polyline other && Arrays.equals(coordinates, other.coordinates);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(coordinates);
+    }
+
+    @Override
+    public String toString() {
+        return "Polyline[" + size() + " points]";
+    }
+}
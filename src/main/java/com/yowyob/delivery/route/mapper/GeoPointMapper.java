@@ -1,6 +1,7 @@
 package com.yowyob.delivery.route.mapper;
 
 import com.yowyob.delivery.route.controller.dto.GeoPointResponseDTO;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import org.mapstruct.Mapper;
 import org.mapstruct.Named;
 
@@ -36,4 +37,31 @@ public class GeoPointMapper {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Convertit un GeoPoint en GeoPointResponseDTO
+     */
+    @Named("geoPointToGeoDto")
+    public GeoPointResponseDTO geoPointToGeoDto(GeoPoint point) {
+        if (point == null) {
+            return null;
+        }
+        return GeoPointResponseDTO.builder()
+                .latitude(point.lat())
+                .longitude(point.lon())
+                .build();
+    }
+
+    /**
+     * Convertit un String WKT en GeoPoint, ou null si la valeur n'est pas un
+     * point WKT (identifiant de hub, "lat,lng"), résolue ensuite par le service
+     */
+    @Named("wktStringToGeoPoint")
+    public GeoPoint wktStringToGeoPoint(String wkt) {
+        try {
+            return GeoPoint.parseWkt(wkt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
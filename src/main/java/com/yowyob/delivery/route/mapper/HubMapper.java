@@ -2,8 +2,8 @@ package com.yowyob.delivery.route.mapper;
 
 import com.yowyob.delivery.route.controller.dto.GeoPointResponseDTO;
 import com.yowyob.delivery.route.domain.entity.Hub;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.io.WKTReader;
 import org.mapstruct.Mapper;
@@ -13,15 +13,42 @@ import org.mapstruct.Named;
 @Mapper(componentModel = "spring")
 public interface HubMapper {
 
-    @Mapping(target = "latitude", source = "location", qualifiedByName = "wktToLatitude")
-    @Mapping(target = "longitude", source = "location", qualifiedByName = "wktToLongitude")
+    @Mapping(target = "latitude", source = "location", qualifiedByName = "geoPointToLatitude")
+    @Mapping(target = "longitude", source = "location", qualifiedByName = "geoPointToLongitude")
     GeoPointResponseDTO toResponseDTO(Hub hub);
 
     @Named("wktToGeoPoint")
     default GeoPointResponseDTO wktToGeoPoint(String wkt) {
         if (wkt == null)
             return null;
-        return toResponseDTO(Hub.builder().location(wkt).build());
+        return GeoPointResponseDTO.builder()
+                .latitude(wktToLatitude(wkt))
+                .longitude(wktToLongitude(wkt))
+                .build();
+    }
+
+    @Named("polylineToGeoPointList")
+    default java.util.List<GeoPointResponseDTO> polylineToGeoPointList(Polyline polyline) {
+        if (polyline == null)
+            return java.util.Collections.emptyList();
+        java.util.List<GeoPointResponseDTO> points = new java.util.ArrayList<>(polyline.size());
+        for (int i = 0; i < polyline.size(); i++) {
+            points.add(GeoPointResponseDTO.builder()
+                    .longitude(polyline.getLongitude(i))
+                    .latitude(polyline.getLatitude(i))
+                    .build());
+        }
+        return points;
+    }
+
+    @Named("geoPointToLatitude")
+    default Double geoPointToLatitude(GeoPoint point) {
+        return point != null ? point.lat() : null;
+    }
+
+    @Named("geoPointToLongitude")
+    default Double geoPointToLongitude(GeoPoint point) {
+        return point != null ? point.lon() : null;
     }
 
     @Named("wktToGeoPointList")
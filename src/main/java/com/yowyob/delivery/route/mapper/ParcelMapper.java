@@ -16,19 +16,19 @@ public interface ParcelMapper {
     @Mapping(
         target = "pickupLocation",
         source = "pickupLocation",
-        qualifiedByName = "wktStringToGeoDto"  // ← NOUVEAU NOM
+        qualifiedByName = "geoPointToGeoDto"
     )
     @Mapping(
         target = "deliveryLocation",
         source = "deliveryLocation",
-        qualifiedByName = "wktStringToGeoDto"  // ← NOUVEAU NOM
+        qualifiedByName = "geoPointToGeoDto"
     )
     @Mapping(target = "priority", expression = "java(parcel.getPriority().name())")
     ParcelResponseDTO toResponseDTO(Parcel parcel);
 
     // Request DTO → Entity
-    @Mapping(target = "pickupLocation", source = "pickupLocation")  // ← String → String, pas de conversion
-    @Mapping(target = "deliveryLocation", source = "deliveryLocation")
+    @Mapping(target = "pickupLocation", source = "pickupLocation", qualifiedByName = "wktStringToGeoPoint")
+    @Mapping(target = "deliveryLocation", source = "deliveryLocation", qualifiedByName = "wktStringToGeoPoint")
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "trackingCode", ignore = true)
     @Mapping(target = "currentState", ignore = true)
@@ -41,5 +41,7 @@ public interface ParcelMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "priority", ignore = true)
+    @Mapping(target = "pickupHubId", ignore = true)
+    @Mapping(target = "deliveryHubId", ignore = true)
     Parcel toEntity(ParcelRequestDTO request);
 }
\ No newline at end of file
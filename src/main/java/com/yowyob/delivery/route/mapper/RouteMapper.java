@@ -11,6 +11,6 @@ import org.mapstruct.Mapping;
 @Mapper(componentModel = "spring", uses = { HubMapper.class })
 public interface RouteMapper {
 
-    @Mapping(target = "path", source = "routeGeometry", qualifiedByName = "wktToGeoPointList")
+    @Mapping(target = "path", source = "routeGeometry", qualifiedByName = "polylineToGeoPointList")
     RouteResponseDTO toResponseDTO(Route route);
 }
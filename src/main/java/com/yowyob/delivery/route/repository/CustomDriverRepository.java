@@ -0,0 +1,52 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.entity.DeliveryDriver;
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom repository interface for the driver queries that need
+ * PostgreSQL-specific SQL (multi-row updates, PostGIS functions).
+ */
+public interface CustomDriverRepository {
+
+    /**
+     * Find all drivers with their current location read as WKB using
+     * ST_AsBinary and decoded to a GeoPoint.
+     */
+    Flux<DeliveryDriver> findAllWithLocation();
+
+    /**
+     * Find the given drivers with their current location decoded to a
+     * GeoPoint; unknown identifiers are ignored.
+     *
+     * @param ids the drivers
+     */
+    Flux<DeliveryDriver> findAllByIdWithLocation(Collection<UUID> ids);
+
+    /**
+     * Writes the current location of many drivers with multi-row
+     * {@code UPDATE ... FROM (VALUES ...)} statements. A location older than
+     * the one already stored is ignored, as are unknown drivers.
+     *
+     * @param locations at most one location per driver
+     * @return a Mono emitting the number of updated drivers
+     */
+    Mono<Long> updateLocations(List<DriverLocation> locations);
+
+    /**
+     * Moves drivers from one state to another in a single statement. Drivers
+     * that are no longer in the expected state are left untouched.
+     *
+     * @param driverIds the drivers
+     * @param expected  the state the drivers must currently be in
+     * @param state     the new state
+     * @return the identifiers of the drivers that were updated
+     */
+    Flux<UUID> updateStates(Collection<UUID> driverIds, DriverState expected, DriverState state);
+}
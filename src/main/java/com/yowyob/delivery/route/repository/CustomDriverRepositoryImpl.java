@@ -0,0 +1,165 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.config.WkbCodec;
+import com.yowyob.delivery.route.domain.entity.DeliveryDriver;
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CustomDriverRepositoryImpl implements CustomDriverRepository {
+
+    /**
+     * Rows per UPDATE statement; 3 parameters per row stays well below the
+     * PostgreSQL limit of 65535 bind parameters.
+     */
+    private static final int MAX_ROWS_PER_UPDATE = 5000;
+
+    private final DatabaseClient databaseClient;
+
+    private static final String SELECT_DRIVERS = """
+            SELECT
+                id,
+                first_name,
+                last_name,
+                phone_number,
+                email,
+                license_number,
+                current_state,
+                ST_AsBinary(current_location) as current_location,
+                rating::float8 as rating,
+                total_deliveries,
+                vehicle_id,
+                last_location_update,
+                is_active,
+                created_at,
+                updated_at
+            FROM drivers
+            """;
+
+    @Override
+    public Flux<DeliveryDriver> findAllWithLocation() {
+        return databaseClient.sql(SELECT_DRIVERS)
+                .map(this::mapRowToDriver)
+                .all()
+                .doOnError(e -> log.error("Error fetching drivers", e));
+    }
+
+    @Override
+    public Flux<DeliveryDriver> findAllByIdWithLocation(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_DRIVERS + "WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(UUID[]::new))
+                .map(this::mapRowToDriver)
+                .all()
+                .doOnError(e -> log.error("Error fetching {} drivers", ids.size(), e));
+    }
+
+    @Override
+    public Mono<Long> updateLocations(List<DriverLocation> locations) {
+        return Flux.fromIterable(locations)
+                .buffer(MAX_ROWS_PER_UPDATE)
+                .concatMap(this::updateChunk)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> updateChunk(List<DriverLocation> locations) {
+        StringBuilder sql = new StringBuilder("""
+            UPDATE drivers d
+            SET current_location = ST_GeomFromWKB(v.location, 4326),
+                last_location_update = v.recorded_at
+            FROM (VALUES\s""");
+        for (int i = 0; i < locations.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(:id_").append(i).append(" AS UUID)")
+                    .append(", CAST(:location_").append(i).append(" AS BYTEA)")
+                    .append(", CAST(:recorded_at_").append(i).append(" AS TIMESTAMP))");
+        }
+        sql.append("""
+            ) AS v(id, location, recorded_at)
+            WHERE d.id = v.id
+              AND (d.last_location_update IS NULL OR d.last_location_update < v.recorded_at)
+            """);
+
+        var spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < locations.size(); i++) {
+            DriverLocation location = locations.get(i);
+            spec = spec.bind("id_" + i, location.driverId())
+                    .bind("location_" + i, WkbCodec.write(location.location()))
+                    .bind("recorded_at_" + i, location.recordedAt());
+        }
+        return spec.fetch()
+                .rowsUpdated()
+                .doOnError(e -> log.error("Error updating the location of {} drivers", locations.size(), e));
+    }
+
+    @Override
+    public Flux<UUID> updateStates(Collection<UUID> driverIds, DriverState expected, DriverState state) {
+        if (driverIds.isEmpty()) {
+            return Flux.empty();
+        }
+        String sql = """
+            UPDATE drivers
+            SET current_state = CAST(:state AS driver_state),
+                updated_at = NOW()
+            WHERE id = ANY(:ids)
+              AND current_state = CAST(:expected AS driver_state)
+            RETURNING id
+            """;
+
+        return databaseClient.sql(sql)
+                .bind("state", state.name())
+                .bind("expected", expected.name())
+                .bind("ids", driverIds.toArray(UUID[]::new))
+                .map(row -> row.get("id", UUID.class))
+                .all()
+                .doOnError(e -> log.error("Error moving {} drivers to {}", driverIds.size(), state, e));
+    }
+
+    /**
+     * Maps a database row to a DeliveryDriver entity.
+     * Decodes the PostGIS geometry, transported as WKB, to a {@code GeoPoint}.
+     */
+    private DeliveryDriver mapRowToDriver(io.r2dbc.spi.Row row, io.r2dbc.spi.RowMetadata metadata) {
+        String stateString = row.get("current_state", String.class);
+        DriverState state;
+        try {
+            state = stateString != null ? DriverState.valueOf(stateString) : DriverState.OFFLINE;
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown DriverState '{}', defaulting to OFFLINE", stateString);
+            state = DriverState.OFFLINE;
+        }
+
+        return DeliveryDriver.builder()
+                .id(row.get("id", UUID.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .phoneNumber(row.get("phone_number", String.class))
+                .email(row.get("email", String.class))
+                .licenseNumber(row.get("license_number", String.class))
+                .currentState(state)
+                .currentLocation(WkbCodec.readPoint(row.get("current_location", ByteBuffer.class)))
+                .rating(row.get("rating", Double.class))
+                .totalDeliveries(row.get("total_deliveries", Integer.class))
+                .vehicleId(row.get("vehicle_id", UUID.class))
+                .lastLocationUpdate(row.get("last_location_update", LocalDateTime.class))
+                .isActive(row.get("is_active", Boolean.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Custom repository interface for bulk writes of hub connections.
+ */
+public interface CustomHubConnectionRepository {
+
+    /**
+     * Inserts connections, or updates the weight of existing ones, with
+     * multi-row {@code INSERT ... ON CONFLICT} statements. Connections whose
+     * origin or destination hub does not exist are skipped.
+     *
+     * @param connections connections; origin/destination pairs must be unique in the list
+     * @return a Mono emitting the number of inserted or updated rows
+     */
+    Mono<Long> upsertAll(List<HubConnection> connections);
+}
@@ -0,0 +1,64 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Multi-row upserts of hub connections, used by network imports.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CustomHubConnectionRepositoryImpl implements CustomHubConnectionRepository {
+
+    /**
+     * Rows per INSERT statement; 3 parameters per row stays well below the
+     * PostgreSQL limit of 65535 bind parameters.
+     */
+    private static final int MAX_ROWS_PER_INSERT = 5000;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> upsertAll(List<HubConnection> connections) {
+        return Flux.fromIterable(connections)
+                .buffer(MAX_ROWS_PER_INSERT)
+                .concatMap(this::upsertChunk)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> upsertChunk(List<HubConnection> connections) {
+        StringBuilder sql = new StringBuilder("INSERT INTO hub_connections (id, from_hub_id, to_hub_id, weight) ")
+                .append("SELECT gen_random_uuid(), v.from_hub_id, v.to_hub_id, v.weight FROM (VALUES ");
+        for (int i = 0; i < connections.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(:from_hub_id_").append(i).append(" AS uuid)")
+                    .append(", CAST(:to_hub_id_").append(i).append(" AS uuid)")
+                    .append(", CAST(:weight_").append(i).append(" AS numeric))");
+        }
+        // Joining on hubs drops edges towards unknown hubs instead of failing the whole statement
+        sql.append(") AS v (from_hub_id, to_hub_id, weight) ")
+                .append("JOIN hubs f ON f.id = v.from_hub_id ")
+                .append("JOIN hubs t ON t.id = v.to_hub_id ")
+                .append("ON CONFLICT ON CONSTRAINT uk_hub_connections_from_to DO UPDATE SET weight = EXCLUDED.weight");
+
+        var spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < connections.size(); i++) {
+            HubConnection connection = connections.get(i);
+            spec = spec.bind("from_hub_id_" + i, connection.getFromHubId())
+                    .bind("to_hub_id_" + i, connection.getToHubId())
+                    .bind("weight_" + i, connection.getWeight());
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .doOnError(e -> log.error("Error upserting {} hub connections", connections.size(), e));
+    }
+}
@@ -1,9 +1,13 @@
 package com.yowyob.delivery.route.repository;
 
 import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.geometry.BoundingBox;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -13,19 +17,50 @@ import java.util.UUID;
 public interface CustomHubRepository {
     
     /**
-     * Find all hubs with location converted to WKT format using ST_AsText.
-     * Uses manual mapping to handle PostGIS geometry types.
+     * Find all hubs with location read as WKB using ST_AsBinary and decoded
+     * to a GeoPoint. Uses manual mapping to handle PostGIS geometry types.
      */
     Flux<Hub> findAllWithLocation();
     
     /**
-     * Find a hub by ID with location converted to WKT format.
+     * Find a hub by ID with its location decoded to a GeoPoint.
      */
     Mono<Hub> findByIdWithLocation(UUID id);
+
+    /**
+     * Find several hubs with a single {@code WHERE id = ANY(:ids)} query.
+     * Unknown identifiers are simply absent from the result.
+     */
+    Flux<Hub> findAllByIdWithLocation(Collection<UUID> ids);
+
+    /**
+     * Find the hubs inside a longitude/latitude rectangle with the {@code &&}
+     * operator, served by the GiST index on {@code hubs.location}.
+     */
+    Flux<Hub> findAllInBoundingBox(BoundingBox box);
+
+    /**
+     * Find the hubs within a great-circle distance of a point, closest first,
+     * with {@code ST_DWithin} on geography, served by the GiST index on
+     * {@code location::geography}.
+     *
+     * @param center       the center of the search
+     * @param radiusMeters the search radius, in meters
+     */
+    Flux<Hub> findAllWithinRadius(GeoPoint center, double radiusMeters);
     
     /**
      * Save a hub with PostGIS geometry support.
-     * Converts WKT string to PostGIS geometry using ST_GeomFromText.
+     * Sends the location as WKB to PostGIS using ST_GeomFromWKB.
      */
     Mono<Hub> saveWithGeometry(Hub hub);
-}
\ No newline at end of file
+
+    /**
+     * Inserts or updates hubs with multi-row {@code INSERT ... ON CONFLICT (id)}
+     * statements. Hubs without identifier get a new one.
+     *
+     * @param hubs hubs with a location; identifiers must be unique in the list
+     * @return a Mono emitting the number of inserted or updated rows
+     */
+    Mono<Long> upsertAll(List<Hub> hubs);
+}
@@ -1,6 +1,9 @@
 package com.yowyob.delivery.route.repository;
 
+import com.yowyob.delivery.route.config.WkbCodec;
 import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.geometry.BoundingBox;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import com.yowyob.delivery.route.domain.enums.HubType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,7 +12,10 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,6 +27,12 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CustomHubRepositoryImpl implements CustomHubRepository {
 
+    /**
+     * Rows per INSERT statement; 4 parameters per row stays well below the
+     * PostgreSQL limit of 65535 bind parameters.
+     */
+    private static final int MAX_ROWS_PER_INSERT = 5000;
+
     private final DatabaseClient databaseClient;
 
     @Override
@@ -30,7 +42,7 @@ public class CustomHubRepositoryImpl implements CustomHubRepository {
                 id, 
                 address, 
                 type, 
-                ST_AsText(location) as location, 
+                ST_AsBinary(location) as location, 
                 created_at, 
                 updated_at 
             FROM hubs
@@ -51,7 +63,7 @@ public class CustomHubRepositoryImpl implements CustomHubRepository {
                 id, 
                 address, 
                 type, 
-                ST_AsText(location) as location, 
+                ST_AsBinary(location) as location, 
                 created_at, 
                 updated_at 
             FROM hubs 
@@ -66,14 +78,90 @@ public class CustomHubRepositoryImpl implements CustomHubRepository {
                 .doOnError(e -> log.error("Error fetching hub {}", id, e));
     }
 
+    @Override
+    public Flux<Hub> findAllByIdWithLocation(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        String sql = """
+            SELECT 
+                id, 
+                address, 
+                type, 
+                ST_AsBinary(location) as location, 
+                created_at, 
+                updated_at 
+            FROM hubs 
+            WHERE id = ANY(:ids)
+            """;
+
+        return databaseClient.sql(sql)
+                .bind("ids", ids.toArray(new UUID[0]))
+                .map(this::mapRowToHub)
+                .all()
+                .doOnSubscribe(s -> log.debug("Fetching {} hubs by id", ids.size()))
+                .doOnError(e -> log.error("Error fetching hubs by id", e));
+    }
+
+    @Override
+    public Flux<Hub> findAllInBoundingBox(BoundingBox box) {
+        String sql = """
+            SELECT 
+                id, 
+                address, 
+                type, 
+                ST_AsBinary(location) as location, 
+                created_at, 
+                updated_at 
+            FROM hubs 
+            WHERE location && ST_MakeEnvelope(:min_lon, :min_lat, :max_lon, :max_lat, 4326)
+            ORDER BY created_at DESC
+            """;
+
+        return databaseClient.sql(sql)
+                .bind("min_lon", box.minLon())
+                .bind("min_lat", box.minLat())
+                .bind("max_lon", box.maxLon())
+                .bind("max_lat", box.maxLat())
+                .map(this::mapRowToHub)
+                .all()
+                .doOnSubscribe(s -> log.debug("Fetching hubs in {}", box))
+                .doOnError(e -> log.error("Error fetching hubs in bounding box", e));
+    }
+
+    @Override
+    public Flux<Hub> findAllWithinRadius(GeoPoint center, double radiusMeters) {
+        String sql = """
+            SELECT 
+                id, 
+                address, 
+                type, 
+                ST_AsBinary(location) as location, 
+                created_at, 
+                updated_at 
+            FROM hubs 
+            WHERE ST_DWithin(location::geography, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography, :radius)
+            ORDER BY ST_Distance(location::geography, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography)
+            """;
+
+        return databaseClient.sql(sql)
+                .bind("lon", center.lon())
+                .bind("lat", center.lat())
+                .bind("radius", radiusMeters)
+                .map(this::mapRowToHub)
+                .all()
+                .doOnSubscribe(s -> log.debug("Fetching hubs within {} m of {}", radiusMeters, center))
+                .doOnError(e -> log.error("Error fetching hubs within radius", e));
+    }
+
     @Override
     public Mono<Hub> saveWithGeometry(Hub hub) {
         if (hub.getId() == null) {
             // INSERT avec nouveau UUID
             String sql = """
                 INSERT INTO hubs (id, address, type, location, created_at, updated_at)
-                VALUES (:id, :address, :type, ST_GeomFromText(:location, 4326), NOW(), NOW())
-                RETURNING id, address, type, ST_AsText(location) as location, created_at, updated_at
+                VALUES (:id, :address, :type, ST_GeomFromWKB(:location, 4326), NOW(), NOW())
+                RETURNING id, address, type, ST_AsBinary(location) as location, created_at, updated_at
                 """;
             
             UUID newId = UUID.randomUUID();
@@ -82,7 +170,7 @@ public class CustomHubRepositoryImpl implements CustomHubRepository {
                     .bind("id", newId)
                     .bind("address", hub.getAddress())
                     .bind("type", hub.getType().name())
-                    .bind("location", hub.getLocation())
+                    .bind("location", WkbCodec.write(hub.getLocation()))
                     .map(this::mapRowToHub)
                     .one()
                     .doOnSuccess(saved -> log.info("Hub created with ID: {}", saved.getId()))
@@ -93,17 +181,17 @@ public class CustomHubRepositoryImpl implements CustomHubRepository {
                 UPDATE hubs 
                 SET address = :address, 
                     type = :type, 
-                    location = ST_GeomFromText(:location, 4326),
+                    location = ST_GeomFromWKB(:location, 4326),
                     updated_at = NOW()
                 WHERE id = :id
-                RETURNING id, address, type, ST_AsText(location) as location, created_at, updated_at
+                RETURNING id, address, type, ST_AsBinary(location) as location, created_at, updated_at
                 """;
             
             return databaseClient.sql(sql)
                     .bind("id", hub.getId())
                     .bind("address", hub.getAddress())
                     .bind("type", hub.getType().name())
-                    .bind("location", hub.getLocation())
+                    .bind("location", WkbCodec.write(hub.getLocation()))
                     .map(this::mapRowToHub)
                     .one()
                     .doOnSuccess(saved -> log.info("Hub updated with ID: {}", saved.getId()))
@@ -111,9 +199,46 @@ public class CustomHubRepositoryImpl implements CustomHubRepository {
         }
     }
 
+    @Override
+    public Mono<Long> upsertAll(List<Hub> hubs) {
+        return Flux.fromIterable(hubs)
+                .buffer(MAX_ROWS_PER_INSERT)
+                .concatMap(this::upsertChunk)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> upsertChunk(List<Hub> hubs) {
+        StringBuilder sql = new StringBuilder("INSERT INTO hubs (id, address, type, location, created_at, updated_at) VALUES ");
+        for (int i = 0; i < hubs.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id_").append(i)
+                    .append(", :address_").append(i)
+                    .append(", CAST(:type_").append(i).append(" AS hub_type)")
+                    .append(", ST_GeomFromWKB(:location_").append(i).append(", 4326)")
+                    .append(", NOW(), NOW())");
+        }
+        sql.append(" ON CONFLICT (id) DO UPDATE SET address = EXCLUDED.address, type = EXCLUDED.type, ")
+                .append("location = EXCLUDED.location, updated_at = NOW()");
+
+        var spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < hubs.size(); i++) {
+            Hub hub = hubs.get(i);
+            spec = spec.bind("id_" + i, hub.getId() != null ? hub.getId() : UUID.randomUUID())
+                    .bind("address_" + i, hub.getAddress())
+                    .bind("type_" + i, hub.getType().name())
+                    .bind("location_" + i, WkbCodec.write(hub.getLocation()));
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .doOnError(e -> log.error("Error upserting {} hubs", hubs.size(), e));
+    }
+
     /**
      * Maps a database row to a Hub entity.
-     * Handles the conversion of PostGIS geometry to WKT string.
+     * Decodes the PostGIS geometry, transported as WKB, to a {@code GeoPoint}.
      */
     private Hub mapRowToHub(io.r2dbc.spi.Row row, io.r2dbc.spi.RowMetadata metadata) {
         try {
@@ -132,7 +257,7 @@ public class CustomHubRepositoryImpl implements CustomHubRepository {
                     .id(row.get("id", UUID.class))
                     .address(row.get("address", String.class))
                     .type(hubType)
-                    .location(row.get("location", String.class)) // WKT format from ST_AsText
+                    .location(WkbCodec.readPoint(row.get("location", ByteBuffer.class))) // WKB from ST_AsBinary
                     .createdAt(row.get("created_at", LocalDateTime.class))
                     .updatedAt(row.get("updated_at", LocalDateTime.class))
                     .build();
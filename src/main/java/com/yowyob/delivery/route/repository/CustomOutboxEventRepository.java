@@ -0,0 +1,48 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.entity.OutboxEvent;
+import com.yowyob.delivery.route.domain.enums.OutboxEventType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom repository interface for the outbox queries that need
+ * PostgreSQL-specific SQL (multi-row inserts, {@code SKIP LOCKED}).
+ */
+public interface CustomOutboxEventRepository {
+
+    /**
+     * Records one event per aggregate with multi-row INSERT statements, due
+     * immediately. Meant to run in the transaction that changed the aggregates.
+     *
+     * @param type         the kind of event
+     * @param aggregateIds the entities the events are about
+     * @return a Mono emitting the number of recorded events
+     */
+    Mono<Long> enqueue(OutboxEventType type, List<UUID> aggregateIds);
+
+    /**
+     * Claims up to {@code limit} due events, oldest first. Claimed events get
+     * their attempt counter incremented and are hidden from other pollers for
+     * the duration of the lease; rows locked by a concurrent claim are skipped
+     * rather than waited for. An event whose dispatcher dies becomes due again
+     * when its lease expires.
+     *
+     * @param limit maximum number of events to claim
+     * @param lease how long the claimed events stay invisible to other claims
+     */
+    Flux<OutboxEvent> claimDue(int limit, Duration lease);
+
+    /**
+     * Schedules another attempt of a failed event.
+     *
+     * @param id    the event
+     * @param delay time from now until the next attempt
+     * @param error reason of the failure
+     */
+    Mono<Void> reschedule(UUID id, Duration delay, String error);
+}
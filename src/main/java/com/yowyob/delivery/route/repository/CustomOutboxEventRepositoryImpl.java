@@ -0,0 +1,109 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.entity.OutboxEvent;
+import com.yowyob.delivery.route.domain.enums.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CustomOutboxEventRepositoryImpl implements CustomOutboxEventRepository {
+
+    /**
+     * Rows per INSERT statement; 2 parameters per row stays well below the
+     * PostgreSQL limit of 65535 bind parameters.
+     */
+    private static final int MAX_ROWS_PER_INSERT = 5000;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> enqueue(OutboxEventType type, List<UUID> aggregateIds) {
+        return Flux.fromIterable(aggregateIds)
+                .buffer(MAX_ROWS_PER_INSERT)
+                .concatMap(chunk -> enqueueChunk(type, chunk))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> enqueueChunk(OutboxEventType type, List<UUID> aggregateIds) {
+        StringBuilder sql = new StringBuilder("INSERT INTO outbox_events (id, event_type, aggregate_id) VALUES ");
+        for (int i = 0; i < aggregateIds.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id_").append(i)
+                    .append(", :event_type")
+                    .append(", :aggregate_id_").append(i).append(")");
+        }
+
+        var spec = databaseClient.sql(sql.toString())
+                .bind("event_type", type.name());
+        for (int i = 0; i < aggregateIds.size(); i++) {
+            spec = spec.bind("id_" + i, UUID.randomUUID())
+                    .bind("aggregate_id_" + i, aggregateIds.get(i));
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    @Override
+    public Flux<OutboxEvent> claimDue(int limit, Duration lease) {
+        String sql = """
+            UPDATE outbox_events e
+            SET attempts = e.attempts + 1,
+                next_attempt_at = NOW() + make_interval(secs => :lease_seconds)
+            FROM (
+                SELECT id
+                FROM outbox_events
+                WHERE next_attempt_at <= NOW()
+                ORDER BY next_attempt_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ) due
+            WHERE e.id = due.id
+            RETURNING e.id, e.event_type, e.aggregate_id, e.attempts, e.next_attempt_at, e.last_error, e.created_at
+            """;
+
+        return databaseClient.sql(sql)
+                .bind("lease_seconds", lease.toMillis() / 1000.0)
+                .bind("limit", limit)
+                .map(this::mapRowToOutboxEvent)
+                .all()
+                .doOnError(e -> log.error("Error claiming outbox events", e));
+    }
+
+    @Override
+    public Mono<Void> reschedule(UUID id, Duration delay, String error) {
+        String sql = """
+            UPDATE outbox_events
+            SET next_attempt_at = NOW() + make_interval(secs => :delay_seconds),
+                last_error = :last_error
+            WHERE id = :id
+            """;
+
+        var spec = databaseClient.sql(sql)
+                .bind("id", id)
+                .bind("delay_seconds", delay.toMillis() / 1000.0);
+        spec = error != null ? spec.bind("last_error", error) : spec.bindNull("last_error", String.class);
+        return spec.fetch().rowsUpdated().then();
+    }
+
+    private OutboxEvent mapRowToOutboxEvent(io.r2dbc.spi.Row row, io.r2dbc.spi.RowMetadata metadata) {
+        return OutboxEvent.builder()
+                .id(row.get("id", UUID.class))
+                .eventType(OutboxEventType.valueOf(row.get("event_type", String.class)))
+                .aggregateId(row.get("aggregate_id", UUID.class))
+                .attempts(row.get("attempts", Integer.class))
+                .nextAttemptAt(row.get("next_attempt_at", LocalDateTime.class))
+                .lastError(row.get("last_error", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -4,6 +4,8 @@ import com.yowyob.delivery.route.domain.entity.Parcel;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -13,19 +15,69 @@ import java.util.UUID;
 public interface CustomParcelRepository {
     
     /**
-     * Find all parcels with locations converted to WKT format using ST_AsText.
-     * Uses manual mapping to handle PostGIS geometry types.
+     * Find all parcels with locations read as WKB using ST_AsBinary and decoded
+     * to GeoPoints. Uses manual mapping to handle PostGIS geometry types.
      */
     Flux<Parcel> findAllWithLocations();
     
     /**
-     * Find a parcel by ID with locations converted to WKT format.
+     * Find one page of parcels, newest first, with keyset pagination on
+     * {@code (created_at, id)}. Only the conditions of the filter that are set
+     * are added to the query, so each combination can use its composite index.
+     *
+     * @param filter criteria of the listing
+     * @param after  key of the last parcel of the previous page, {@code null} for the first page
+     * @param limit  maximum number of parcels to return
+     */
+    Flux<Parcel> findPageWithLocations(ParcelFilter filter, ParcelCursor after, int limit);
+
+    /**
+     * Stream parcels in {@code (updated_at, id)} order. Rows are pulled from
+     * the database in chunks of {@code fetchSize} as the subscriber requests
+     * them, so the result set is never held in memory.
+     *
+     * @param since     only parcels modified at or after this time, {@code null} for all
+     * @param fetchSize number of rows fetched per round trip
+     */
+    Flux<Parcel> streamWithLocations(LocalDateTime since, int fetchSize);
+
+    /**
+     * Find a parcel by ID with its locations decoded to GeoPoints.
      */
     Mono<Parcel> findByIdWithLocations(UUID id);
     
     /**
      * Save a parcel with PostGIS geometry support.
-     * Converts WKT strings to PostGIS geometry using ST_GeomFromText.
+     * Sends the locations as WKB to PostGIS using ST_GeomFromWKB.
      */
     Mono<Parcel> saveWithGeometry(Parcel parcel);
-}
\ No newline at end of file
+
+    /**
+     * Insert new parcels with multi-row INSERT statements instead of one
+     * round trip per parcel. Identifiers and timestamps are assigned before
+     * the insert and set on the returned entities.
+     *
+     * @param parcels parcels without identifier
+     * @return the inserted parcels, in the order of the list
+     */
+    Flux<Parcel> saveAllWithGeometry(List<Parcel> parcels);
+
+    /**
+     * Find the PLANNED parcels that no driver has been assigned to yet, most
+     * urgent first and then oldest first.
+     *
+     * @param limit maximum number of parcels to return
+     */
+    Flux<Parcel> findPlannedWithoutDriver(int limit);
+
+    /**
+     * Assigns drivers and vehicles to parcels with multi-row
+     * {@code UPDATE ... FROM (VALUES ...)} statements. A parcel is only
+     * updated while it is still PLANNED without driver, so an assignment
+     * made concurrently is never overwritten.
+     *
+     * @param assignments at most one assignment per parcel
+     * @return the identifiers of the parcels that were updated
+     */
+    Flux<UUID> assignDrivers(List<ParcelAssignment> assignments);
+}
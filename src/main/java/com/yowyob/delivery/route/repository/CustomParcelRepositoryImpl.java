@@ -1,5 +1,6 @@
 package com.yowyob.delivery.route.repository;
 
+import com.yowyob.delivery.route.config.WkbCodec;
 import com.yowyob.delivery.route.domain.entity.Parcel;
 import com.yowyob.delivery.route.domain.enums.ParcelPriority;
 import com.yowyob.delivery.route.domain.enums.ParcelState;
@@ -11,7 +12,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
 
@@ -25,6 +28,17 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CustomParcelRepositoryImpl implements CustomParcelRepository {
 
+    /**
+     * Rows per INSERT statement; 24 parameters per row stays well below the
+     * PostgreSQL limit of 65535 bind parameters.
+     */
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+
+    /**
+     * Rows per assignment UPDATE statement, 3 parameters per row.
+     */
+    private static final int MAX_ROWS_PER_ASSIGNMENT = 5000;
+
     private final DatabaseClient databaseClient;
 
     @Override
@@ -41,10 +55,12 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                 sender_phone,
                 recipient_name,
                 recipient_phone,
-                ST_AsText(pickup_location) as pickup_location,
+                ST_AsBinary(pickup_location) as pickup_location,
                 pickup_address,
-                ST_AsText(delivery_location) as delivery_location,
+                pickup_hub_id,
+                ST_AsBinary(delivery_location) as delivery_location,
                 delivery_address,
+                delivery_hub_id,
                 weight_kg,
                 declared_value_xaf,
                 distance_km,
@@ -64,6 +80,120 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                 .doOnError(e -> log.error("Error fetching parcels", e));
     }
 
+    @Override
+    public Flux<Parcel> findPageWithLocations(ParcelFilter filter, ParcelCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT 
+                id, 
+                tracking_code,
+                driver_id,
+                vehicle_id,
+                current_state,
+                priority,
+                sender_name,
+                sender_phone,
+                recipient_name,
+                recipient_phone,
+                ST_AsBinary(pickup_location) as pickup_location,
+                pickup_address,
+                pickup_hub_id,
+                ST_AsBinary(delivery_location) as delivery_location,
+                delivery_address,
+                delivery_hub_id,
+                weight_kg,
+                declared_value_xaf,
+                distance_km,
+                delivery_fee_xaf,
+                estimated_delivery_time,
+                notes,
+                created_at,
+                updated_at
+            FROM parcels
+            WHERE TRUE
+            """);
+        if (filter.state() != null) {
+            sql.append(" AND current_state = :current_state::parcel_state");
+        }
+        if (filter.priority() != null) {
+            sql.append(" AND priority = :priority::parcel_priority");
+        }
+        if (filter.driverId() != null) {
+            sql.append(" AND driver_id = :driver_id");
+        }
+        if (after != null) {
+            // Row comparison, matched by the (..., created_at DESC, id DESC) indexes
+            sql.append(" AND (created_at, id) < (:after_created_at, :after_id)");
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("limit", limit);
+        if (filter.state() != null) {
+            spec = spec.bind("current_state", filter.state().name());
+        }
+        if (filter.priority() != null) {
+            spec = spec.bind("priority", filter.priority().name());
+        }
+        if (filter.driverId() != null) {
+            spec = spec.bind("driver_id", filter.driverId());
+        }
+        if (after != null) {
+            spec = spec.bind("after_created_at", after.createdAt())
+                    .bind("after_id", after.id());
+        }
+
+        return spec.map(this::mapRowToParcel)
+                .all()
+                .doOnSubscribe(s -> log.debug("Fetching parcel page after {} with {}", after, filter))
+                .doOnError(e -> log.error("Error fetching parcel page", e));
+    }
+
+    @Override
+    public Flux<Parcel> streamWithLocations(LocalDateTime since, int fetchSize) {
+        String sql = """
+            SELECT 
+                id, 
+                tracking_code,
+                driver_id,
+                vehicle_id,
+                current_state,
+                priority,
+                sender_name,
+                sender_phone,
+                recipient_name,
+                recipient_phone,
+                ST_AsBinary(pickup_location) as pickup_location,
+                pickup_address,
+                pickup_hub_id,
+                ST_AsBinary(delivery_location) as delivery_location,
+                delivery_address,
+                delivery_hub_id,
+                weight_kg,
+                declared_value_xaf,
+                distance_km,
+                delivery_fee_xaf,
+                estimated_delivery_time,
+                notes,
+                created_at,
+                updated_at
+            FROM parcels
+            """ + (since != null ? "WHERE updated_at >= :since\n" : "") + """
+            ORDER BY updated_at, id
+            """;
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                // Portal-based fetching: the driver asks for the next chunk only when it is demanded
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)));
+        if (since != null) {
+            spec = spec.bind("since", since);
+        }
+
+        return spec.map(this::mapRowToParcel)
+                .all()
+                .doOnSubscribe(s -> log.debug("Streaming parcels modified since {}", since))
+                .doOnError(e -> log.error("Error streaming parcels", e));
+    }
+
     @Override
     public Mono<Parcel> findByIdWithLocations(UUID id) {
         String sql = """
@@ -78,10 +208,12 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                 sender_phone,
                 recipient_name,
                 recipient_phone,
-                ST_AsText(pickup_location) as pickup_location,
+                ST_AsBinary(pickup_location) as pickup_location,
                 pickup_address,
-                ST_AsText(delivery_location) as delivery_location,
+                pickup_hub_id,
+                ST_AsBinary(delivery_location) as delivery_location,
                 delivery_address,
+                delivery_hub_id,
                 weight_kg,
                 declared_value_xaf,
                 distance_km,
@@ -110,22 +242,22 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                 INSERT INTO parcels (
                     id, tracking_code, driver_id, vehicle_id, current_state, priority,
                     sender_name, sender_phone, recipient_name, recipient_phone,
-                    pickup_location, pickup_address, delivery_location, delivery_address,
+                    pickup_location, pickup_address, pickup_hub_id, delivery_location, delivery_address, delivery_hub_id,
                     weight_kg, declared_value_xaf, distance_km, delivery_fee_xaf,
                     estimated_delivery_time, notes, created_at, updated_at
                 )
                 VALUES (
                     :id, :tracking_code, :driver_id, :vehicle_id, :current_state::parcel_state, :priority::parcel_priority,
                     :sender_name, :sender_phone, :recipient_name, :recipient_phone,
-                    ST_GeomFromText(:pickup_location, 4326), :pickup_address,
-                    ST_GeomFromText(:delivery_location, 4326), :delivery_address,
+                    ST_GeomFromWKB(:pickup_location, 4326), :pickup_address, :pickup_hub_id,
+                    ST_GeomFromWKB(:delivery_location, 4326), :delivery_address, :delivery_hub_id,
                     :weight_kg, :declared_value_xaf, :distance_km, :delivery_fee_xaf,
                     :estimated_delivery_time, :notes, NOW(), NOW()
                 )
                 RETURNING id, tracking_code, driver_id, vehicle_id, current_state, priority,
                     sender_name, sender_phone, recipient_name, recipient_phone,
-                    ST_AsText(pickup_location) as pickup_location, pickup_address,
-                    ST_AsText(delivery_location) as delivery_location, delivery_address,
+                    ST_AsBinary(pickup_location) as pickup_location, pickup_address, pickup_hub_id,
+                    ST_AsBinary(delivery_location) as delivery_location, delivery_address, delivery_hub_id,
                     weight_kg, declared_value_xaf, distance_km, delivery_fee_xaf,
                     estimated_delivery_time, notes, created_at, updated_at
                 """;
@@ -145,12 +277,15 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                     .bind("sender_phone", parcel.getSenderPhone())
                     .bind("recipient_name", parcel.getRecipientName())
                     .bind("recipient_phone", parcel.getRecipientPhone())
-                    .bind("pickup_location", parcel.getPickupLocation())
                     .bind("pickup_address", parcel.getPickupAddress())
-                    .bind("delivery_location", parcel.getDeliveryLocation())
                     .bind("delivery_address", parcel.getDeliveryAddress())
                     .bind("weight_kg", parcel.getWeightKg());
 
+            spec = bindNullable(spec, "pickup_location", WkbCodec.write(parcel.getPickupLocation()), byte[].class);
+            spec = bindNullable(spec, "pickup_hub_id", parcel.getPickupHubId(), UUID.class);
+            spec = bindNullable(spec, "delivery_location", WkbCodec.write(parcel.getDeliveryLocation()), byte[].class);
+            spec = bindNullable(spec, "delivery_hub_id", parcel.getDeliveryHubId(), UUID.class);
+
             // Bind other nullable fields
             spec = bindNullable(spec, "declared_value_xaf", parcel.getDeclaredValueXaf(), Double.class);
             spec = bindNullable(spec, "distance_km", parcel.getDistanceKm(), Double.class);
@@ -175,10 +310,12 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                     sender_phone = :sender_phone,
                     recipient_name = :recipient_name,
                     recipient_phone = :recipient_phone,
-                    pickup_location = ST_GeomFromText(:pickup_location, 4326),
+                    pickup_location = ST_GeomFromWKB(:pickup_location, 4326),
                     pickup_address = :pickup_address,
-                    delivery_location = ST_GeomFromText(:delivery_location, 4326),
+                    pickup_hub_id = :pickup_hub_id,
+                    delivery_location = ST_GeomFromWKB(:delivery_location, 4326),
                     delivery_address = :delivery_address,
+                    delivery_hub_id = :delivery_hub_id,
                     weight_kg = :weight_kg,
                     declared_value_xaf = :declared_value_xaf,
                     distance_km = :distance_km,
@@ -189,8 +326,8 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                 WHERE id = :id
                 RETURNING id, tracking_code, driver_id, vehicle_id, current_state, priority,
                     sender_name, sender_phone, recipient_name, recipient_phone,
-                    ST_AsText(pickup_location) as pickup_location, pickup_address,
-                    ST_AsText(delivery_location) as delivery_location, delivery_address,
+                    ST_AsBinary(pickup_location) as pickup_location, pickup_address, pickup_hub_id,
+                    ST_AsBinary(delivery_location) as delivery_location, delivery_address, delivery_hub_id,
                     weight_kg, declared_value_xaf, distance_km, delivery_fee_xaf,
                     estimated_delivery_time, notes, created_at, updated_at
                 """;
@@ -208,11 +345,13 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                     .bind("sender_phone", parcel.getSenderPhone())
                     .bind("recipient_name", parcel.getRecipientName())
                     .bind("recipient_phone", parcel.getRecipientPhone())
-                    .bind("pickup_location", parcel.getPickupLocation())
                     .bind("pickup_address", parcel.getPickupAddress())
-                    .bind("delivery_location", parcel.getDeliveryLocation())
                     .bind("delivery_address", parcel.getDeliveryAddress());
 
+            spec = bindNullable(spec, "pickup_location", WkbCodec.write(parcel.getPickupLocation()), byte[].class);
+            spec = bindNullable(spec, "pickup_hub_id", parcel.getPickupHubId(), UUID.class);
+            spec = bindNullable(spec, "delivery_location", WkbCodec.write(parcel.getDeliveryLocation()), byte[].class);
+            spec = bindNullable(spec, "delivery_hub_id", parcel.getDeliveryHubId(), UUID.class);
             spec = bindNullable(spec, "weight_kg", parcel.getWeightKg(), Double.class);
             spec = bindNullable(spec, "declared_value_xaf", parcel.getDeclaredValueXaf(), Double.class);
             spec = bindNullable(spec, "distance_km", parcel.getDistanceKm(), Double.class);
@@ -227,6 +366,180 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
         }
     }
 
+    @Override
+    public Flux<Parcel> saveAllWithGeometry(List<Parcel> parcels) {
+        return Flux.fromIterable(parcels)
+                .buffer(MAX_ROWS_PER_INSERT)
+                .concatMap(this::insertAllWithGeometry);
+    }
+
+    private Flux<Parcel> insertAllWithGeometry(List<Parcel> parcels) {
+        StringBuilder sql = new StringBuilder("""
+            INSERT INTO parcels (
+                id, tracking_code, driver_id, vehicle_id, current_state, priority,
+                sender_name, sender_phone, recipient_name, recipient_phone,
+                pickup_location, pickup_address, pickup_hub_id, delivery_location, delivery_address, delivery_hub_id,
+                weight_kg, declared_value_xaf, distance_km, delivery_fee_xaf,
+                estimated_delivery_time, notes, created_at, updated_at
+            )
+            VALUES """);
+        for (int i = 0; i < parcels.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id_").append(i)
+                    .append(", :tracking_code_").append(i)
+                    .append(", :driver_id_").append(i)
+                    .append(", :vehicle_id_").append(i)
+                    .append(", :current_state_").append(i).append("::parcel_state")
+                    .append(", :priority_").append(i).append("::parcel_priority")
+                    .append(", :sender_name_").append(i)
+                    .append(", :sender_phone_").append(i)
+                    .append(", :recipient_name_").append(i)
+                    .append(", :recipient_phone_").append(i)
+                    .append(", ST_GeomFromWKB(:pickup_location_").append(i).append(", 4326)")
+                    .append(", :pickup_address_").append(i)
+                    .append(", :pickup_hub_id_").append(i)
+                    .append(", ST_GeomFromWKB(:delivery_location_").append(i).append(", 4326)")
+                    .append(", :delivery_address_").append(i)
+                    .append(", :delivery_hub_id_").append(i)
+                    .append(", :weight_kg_").append(i)
+                    .append(", :declared_value_xaf_").append(i)
+                    .append(", :distance_km_").append(i)
+                    .append(", :delivery_fee_xaf_").append(i)
+                    .append(", :estimated_delivery_time_").append(i)
+                    .append(", :notes_").append(i)
+                    .append(", :now, :now)");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UUID[] ids = new UUID[parcels.size()];
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("now", now);
+        for (int i = 0; i < parcels.size(); i++) {
+            Parcel parcel = parcels.get(i);
+            ids[i] = UUID.randomUUID();
+            spec = spec.bind("id_" + i, ids[i])
+                    .bind("tracking_code_" + i, parcel.getTrackingCode());
+            spec = bindNullable(spec, "driver_id_" + i, parcel.getDriverId(), UUID.class);
+            spec = bindNullable(spec, "vehicle_id_" + i, parcel.getVehicleId(), UUID.class);
+            spec = spec.bind("current_state_" + i, parcel.getCurrentState().name())
+                    .bind("priority_" + i, parcel.getPriority().name())
+                    .bind("sender_name_" + i, parcel.getSenderName())
+                    .bind("sender_phone_" + i, parcel.getSenderPhone())
+                    .bind("recipient_name_" + i, parcel.getRecipientName())
+                    .bind("recipient_phone_" + i, parcel.getRecipientPhone())
+                    .bind("pickup_address_" + i, parcel.getPickupAddress())
+                    .bind("delivery_address_" + i, parcel.getDeliveryAddress())
+                    .bind("weight_kg_" + i, parcel.getWeightKg());
+            spec = bindNullable(spec, "pickup_location_" + i, WkbCodec.write(parcel.getPickupLocation()), byte[].class);
+            spec = bindNullable(spec, "pickup_hub_id_" + i, parcel.getPickupHubId(), UUID.class);
+            spec = bindNullable(spec, "delivery_location_" + i, WkbCodec.write(parcel.getDeliveryLocation()), byte[].class);
+            spec = bindNullable(spec, "delivery_hub_id_" + i, parcel.getDeliveryHubId(), UUID.class);
+            spec = bindNullable(spec, "declared_value_xaf_" + i, parcel.getDeclaredValueXaf(), Double.class);
+            spec = bindNullable(spec, "distance_km_" + i, parcel.getDistanceKm(), Double.class);
+            spec = bindNullable(spec, "delivery_fee_xaf_" + i, parcel.getDeliveryFeeXaf(), Double.class);
+            spec = bindNullable(spec, "estimated_delivery_time_" + i, parcel.getEstimatedDeliveryTime(), LocalDateTime.class);
+            spec = bindNullable(spec, "notes_" + i, parcel.getNotes(), String.class);
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .doOnSuccess(count -> log.info("{} parcels created", count))
+                .doOnError(e -> log.error("Error saving {} parcels", parcels.size(), e))
+                .thenMany(Flux.range(0, parcels.size()))
+                .map(i -> {
+                    Parcel parcel = parcels.get(i);
+                    parcel.setId(ids[i]);
+                    parcel.setCreatedAt(now);
+                    parcel.setUpdatedAt(now);
+                    return parcel;
+                });
+    }
+
+    @Override
+    public Flux<Parcel> findPlannedWithoutDriver(int limit) {
+        String sql = """
+            SELECT 
+                id, 
+                tracking_code,
+                driver_id,
+                vehicle_id,
+                current_state,
+                priority,
+                sender_name,
+                sender_phone,
+                recipient_name,
+                recipient_phone,
+                ST_AsBinary(pickup_location) as pickup_location,
+                pickup_address,
+                pickup_hub_id,
+                ST_AsBinary(delivery_location) as delivery_location,
+                delivery_address,
+                delivery_hub_id,
+                weight_kg,
+                declared_value_xaf,
+                distance_km,
+                delivery_fee_xaf,
+                estimated_delivery_time,
+                notes,
+                created_at,
+                updated_at
+            FROM parcels
+            WHERE current_state = 'PLANNED' AND driver_id IS NULL
+            ORDER BY priority DESC, created_at, id
+            LIMIT :limit
+            """;
+
+        return databaseClient.sql(sql)
+                .bind("limit", limit)
+                .map(this::mapRowToParcel)
+                .all()
+                .doOnError(e -> log.error("Error fetching unassigned parcels", e));
+    }
+
+    @Override
+    public Flux<UUID> assignDrivers(List<ParcelAssignment> assignments) {
+        return Flux.fromIterable(assignments)
+                .buffer(MAX_ROWS_PER_ASSIGNMENT)
+                .concatMap(this::assignChunk);
+    }
+
+    private Flux<UUID> assignChunk(List<ParcelAssignment> assignments) {
+        StringBuilder sql = new StringBuilder("""
+            UPDATE parcels p
+            SET driver_id = v.driver_id,
+                vehicle_id = v.vehicle_id,
+                updated_at = NOW()
+            FROM (VALUES\s""");
+        for (int i = 0; i < assignments.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(:id_").append(i).append(" AS UUID)")
+                    .append(", CAST(:driver_id_").append(i).append(" AS UUID)")
+                    .append(", CAST(:vehicle_id_").append(i).append(" AS UUID))");
+        }
+        sql.append("""
+            ) AS v(id, driver_id, vehicle_id)
+            WHERE p.id = v.id
+              AND p.current_state = 'PLANNED'
+              AND p.driver_id IS NULL
+            RETURNING p.id
+            """);
+
+        var spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < assignments.size(); i++) {
+            ParcelAssignment assignment = assignments.get(i);
+            spec = spec.bind("id_" + i, assignment.parcelId())
+                    .bind("driver_id_" + i, assignment.driverId());
+            spec = bindNullable(spec, "vehicle_id_" + i, assignment.vehicleId(), UUID.class);
+        }
+        return spec.map(row -> row.get("id", UUID.class))
+                .all()
+                .doOnError(e -> log.error("Error assigning {} parcels", assignments.size(), e));
+    }
+
     /**
      * Helper method to bind nullable fields.
      * If the value is null, it binds a null value of the specified type.
@@ -242,7 +555,8 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
 
     /**
      * Maps a database row to a Parcel entity.
-     * Handles the conversion of PostGIS geometry to WKT string and enums.
+     * Decodes the PostGIS geometries, transported as WKB, to {@code GeoPoint}s
+     * and parses the enums.
      */
     private Parcel mapRowToParcel(io.r2dbc.spi.Row row, io.r2dbc.spi.RowMetadata metadata) {
         try {
@@ -276,10 +590,12 @@ public class CustomParcelRepositoryImpl implements CustomParcelRepository {
                     .senderPhone(row.get("sender_phone", String.class))
                     .recipientName(row.get("recipient_name", String.class))
                     .recipientPhone(row.get("recipient_phone", String.class))
-                    .pickupLocation(row.get("pickup_location", String.class))
+                    .pickupLocation(WkbCodec.readPoint(row.get("pickup_location", ByteBuffer.class)))
                     .pickupAddress(row.get("pickup_address", String.class))
-                    .deliveryLocation(row.get("delivery_location", String.class))
+                    .pickupHubId(row.get("pickup_hub_id", UUID.class))
+                    .deliveryLocation(WkbCodec.readPoint(row.get("delivery_location", ByteBuffer.class)))
                     .deliveryAddress(row.get("delivery_address", String.class))
+                    .deliveryHubId(row.get("delivery_hub_id", UUID.class))
                     .weightKg(
                             Optional.ofNullable(row.get("weight_kg", BigDecimal.class))
                                     .map(BigDecimal::doubleValue)
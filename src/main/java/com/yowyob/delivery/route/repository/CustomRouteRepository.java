@@ -1,8 +1,19 @@
 package com.yowyob.delivery.route.repository;
 
 import com.yowyob.delivery.route.domain.entity.Route;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface CustomRouteRepository {
     Mono<Route> saveWithGeometry(Route route);
+
+    /**
+     * Inserts new routes with multi-row INSERT statements.
+     *
+     * @param routes routes without identifier
+     * @return the inserted routes, with generated identifiers
+     */
+    Flux<Route> saveAllWithGeometry(List<Route> routes);
 }
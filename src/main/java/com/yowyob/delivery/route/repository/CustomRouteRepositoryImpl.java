@@ -1,16 +1,25 @@
 package com.yowyob.delivery.route.repository;
 
+import com.yowyob.delivery.route.config.WkbCodec;
 import com.yowyob.delivery.route.domain.entity.Route;
 import lombok.RequiredArgsConstructor;
 import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RequiredArgsConstructor
 public class CustomRouteRepositoryImpl implements CustomRouteRepository {
 
+    /**
+     * Rows per INSERT statement; 13 parameters per row stays well below the
+     * PostgreSQL limit of 65535 bind parameters.
+     */
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+
     private final DatabaseClient databaseClient;
 
     @Override
@@ -22,6 +31,13 @@ public class CustomRouteRepositoryImpl implements CustomRouteRepository {
         }
     }
 
+    @Override
+    public Flux<Route> saveAllWithGeometry(List<Route> routes) {
+        return Flux.fromIterable(routes)
+                .buffer(MAX_ROWS_PER_INSERT)
+                .concatMap(this::insertAllWithGeometry);
+    }
+
     private <T> DatabaseClient.GenericExecuteSpec bindNullable(
             DatabaseClient.GenericExecuteSpec spec, String name, T value, Class<T> type) {
         if (value != null) {
@@ -34,12 +50,12 @@ public class CustomRouteRepositoryImpl implements CustomRouteRepository {
     private Mono<Route> insertWithGeometry(Route route) {
         UUID id = UUID.randomUUID();
         var spec = databaseClient.sql("INSERT INTO routes (id, parcel_id, driver_id, route_geometry, waypoints, total_distance_km, estimated_duration_minutes, routing_service, traffic_factor, is_active, created_at) " +
-                "VALUES (:id, :parcel_id, :driver_id, ST_GeomFromText(:route_geometry, 4326), :waypoints::jsonb, :total_distance_km, :estimated_duration_minutes, :routing_service, :traffic_factor, :is_active, :created_at)")
+                "VALUES (:id, :parcel_id, :driver_id, ST_GeomFromWKB(:route_geometry, 4326), :waypoints::jsonb, :total_distance_km, :estimated_duration_minutes, :routing_service, :traffic_factor, :is_active, :created_at)")
                 .bind("id", id)
                 .bind("parcel_id", route.getParcelId());
         
         spec = bindNullable(spec, "driver_id", route.getDriverId(), UUID.class);
-        spec = spec.bind("route_geometry", route.getRouteGeometry())
+        spec = spec.bind("route_geometry", WkbCodec.write(route.getRouteGeometry()))
                 .bind("waypoints", route.getWaypoints() == null ? "[]" : route.getWaypoints())
                 .bind("total_distance_km", route.getTotalDistanceKm())
                 .bind("estimated_duration_minutes", route.getEstimatedDurationMinutes())
@@ -58,15 +74,68 @@ public class CustomRouteRepositoryImpl implements CustomRouteRepository {
                 });
     }
 
+    private Flux<Route> insertAllWithGeometry(List<Route> routes) {
+        StringBuilder sql = new StringBuilder("INSERT INTO routes (id, parcel_id, driver_id, start_hub_id, end_hub_id, route_geometry, waypoints, total_distance_km, estimated_duration_minutes, routing_service, traffic_factor, is_active, created_at) VALUES ");
+        for (int i = 0; i < routes.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id_").append(i)
+                    .append(", :parcel_id_").append(i)
+                    .append(", :driver_id_").append(i)
+                    .append(", :start_hub_id_").append(i)
+                    .append(", :end_hub_id_").append(i)
+                    .append(", ST_GeomFromWKB(:route_geometry_").append(i).append(", 4326)")
+                    .append(", :waypoints_").append(i).append("::jsonb")
+                    .append(", :total_distance_km_").append(i)
+                    .append(", :estimated_duration_minutes_").append(i)
+                    .append(", :routing_service_").append(i)
+                    .append(", :traffic_factor_").append(i)
+                    .append(", :is_active_").append(i)
+                    .append(", :created_at)");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UUID[] ids = new UUID[routes.size()];
+        var spec = databaseClient.sql(sql.toString())
+                .bind("created_at", now);
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            ids[i] = UUID.randomUUID();
+            spec = spec.bind("id_" + i, ids[i])
+                    .bind("parcel_id_" + i, route.getParcelId());
+            spec = bindNullable(spec, "driver_id_" + i, route.getDriverId(), UUID.class);
+            spec = bindNullable(spec, "start_hub_id_" + i, route.getStartHubId(), UUID.class);
+            spec = bindNullable(spec, "end_hub_id_" + i, route.getEndHubId(), UUID.class);
+            spec = spec.bind("route_geometry_" + i, WkbCodec.write(route.getRouteGeometry()))
+                    .bind("waypoints_" + i, route.getWaypoints() == null ? "[]" : route.getWaypoints())
+                    .bind("total_distance_km_" + i, route.getTotalDistanceKm())
+                    .bind("estimated_duration_minutes_" + i, route.getEstimatedDurationMinutes())
+                    .bind("routing_service_" + i, route.getRoutingService());
+            spec = bindNullable(spec, "traffic_factor_" + i, route.getTrafficFactor(), Double.class);
+            spec = bindNullable(spec, "is_active_" + i, route.getIsActive(), Boolean.class);
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .thenMany(Flux.range(0, routes.size()))
+                .map(i -> {
+                    Route route = routes.get(i);
+                    route.setId(ids[i]);
+                    route.setCreatedAt(now);
+                    return route;
+                });
+    }
+
     private Mono<Route> updateWithGeometry(Route route) {
-        var spec = databaseClient.sql("UPDATE routes SET parcel_id = :parcel_id, driver_id = :driver_id, route_geometry = ST_GeomFromText(:route_geometry, 4326), " +
+        var spec = databaseClient.sql("UPDATE routes SET parcel_id = :parcel_id, driver_id = :driver_id, route_geometry = ST_GeomFromWKB(:route_geometry, 4326), " +
                 "waypoints = :waypoints::jsonb, total_distance_km = :total_distance_km, estimated_duration_minutes = :estimated_duration_minutes, " +
                 "routing_service = :routing_service, traffic_factor = :traffic_factor, is_active = :is_active WHERE id = :id")
                 .bind("id", route.getId())
                 .bind("parcel_id", route.getParcelId());
         
         spec = bindNullable(spec, "driver_id", route.getDriverId(), UUID.class);
-        spec = spec.bind("route_geometry", route.getRouteGeometry())
+        spec = spec.bind("route_geometry", WkbCodec.write(route.getRouteGeometry()))
                 .bind("waypoints", route.getWaypoints() == null ? "[]" : route.getWaypoints())
                 .bind("total_distance_km", route.getTotalDistanceKm())
                 .bind("estimated_duration_minutes", route.getEstimatedDurationMinutes())
@@ -0,0 +1,17 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest known position of a driver, as written by
+ * {@link CustomDriverRepository#updateLocations}.
+ *
+ * @param driverId   the driver
+ * @param location   the position
+ * @param recordedAt when the position was taken
+ */
+public record DriverLocation(UUID driverId, GeoPoint location, LocalDateTime recordedAt) {
+}
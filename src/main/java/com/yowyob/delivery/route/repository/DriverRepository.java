@@ -11,7 +11,8 @@ import java.util.UUID;
  */
 /**
  * Reactive repository for {@link DeliveryDriver} entities.
+ * Extends CustomDriverRepository for batched location writes.
  */
 @Repository
-public interface DriverRepository extends R2dbcRepository<DeliveryDriver, UUID> {
+public interface DriverRepository extends R2dbcRepository<DeliveryDriver, UUID>, CustomDriverRepository {
 }
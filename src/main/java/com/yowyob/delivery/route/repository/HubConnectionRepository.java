@@ -9,8 +9,9 @@ import java.util.UUID;
 /**
  * Reactive repository for {@link HubConnection} entities.
  * Manages the graph edges for routing calculations.
+ * Extends CustomHubConnectionRepository for bulk imports.
  */
 @Repository
-public interface HubConnectionRepository extends R2dbcRepository<HubConnection, UUID> {
+public interface HubConnectionRepository extends R2dbcRepository<HubConnection, UUID>, CustomHubConnectionRepository {
     Flux<HubConnection> findByFromHubId(UUID fromHubId);
 }
@@ -0,0 +1,15 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.entity.OutboxEvent;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Reactive repository for {@link OutboxEvent} entities.
+ * Extends CustomOutboxEventRepository for batched writes and claims.
+ */
+@Repository
+public interface OutboxEventRepository extends R2dbcRepository<OutboxEvent, UUID>, CustomOutboxEventRepository {
+}
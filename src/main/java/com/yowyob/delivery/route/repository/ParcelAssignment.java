@@ -0,0 +1,14 @@
+package com.yowyob.delivery.route.repository;
+
+import java.util.UUID;
+
+/**
+ * Driver and vehicle chosen for a parcel, as written by
+ * {@link CustomParcelRepository#assignDrivers}.
+ *
+ * @param parcelId  the parcel
+ * @param driverId  the driver taking the parcel
+ * @param vehicleId the vehicle of the driver
+ */
+public record ParcelAssignment(UUID parcelId, UUID driverId, UUID vehicleId) {
+}
@@ -0,0 +1,48 @@
+package com.yowyob.delivery.route.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a parcel listing ordered by {@code created_at DESC, id DESC}:
+ * the key of the last parcel returned. The next page starts strictly after
+ * it, so it is found with an index seek whatever its depth, and parcels
+ * inserted meanwhile neither shift nor duplicate rows.
+ *
+ * @param createdAt creation time of the last parcel returned
+ * @param id        identifier of the last parcel returned
+ */
+public record ParcelCursor(LocalDateTime createdAt, UUID id) {
+
+    /**
+     * @return an opaque, URL-safe token for this position
+     */
+    public String encode() {
+        String key = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}.
+     *
+     * @param token the token, may be {@code null} or blank for the first page
+     * @return the cursor, or {@code null} for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ParcelCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = key.indexOf('|');
+            return new ParcelCursor(LocalDateTime.parse(key.substring(0, separator)),
+                    UUID.fromString(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
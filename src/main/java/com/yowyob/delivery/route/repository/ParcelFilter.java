@@ -0,0 +1,21 @@
+package com.yowyob.delivery.route.repository;
+
+import com.yowyob.delivery.route.domain.enums.ParcelPriority;
+import com.yowyob.delivery.route.domain.enums.ParcelState;
+
+import java.util.UUID;
+
+/**
+ * Optional criteria of a parcel listing; {@code null} fields do not filter.
+ *
+ * @param state    current state of the parcels
+ * @param priority priority of the parcels
+ * @param driverId driver the parcels are assigned to
+ */
+public record ParcelFilter(ParcelState state, ParcelPriority priority, UUID driverId) {
+
+    /**
+     * Filter matching every parcel.
+     */
+    public static final ParcelFilter NONE = new ParcelFilter(null, null, null);
+}
@@ -0,0 +1,22 @@
+package com.yowyob.delivery.route.service;
+
+import com.yowyob.delivery.route.controller.dto.AssignmentReportDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for the automatic assignment of drivers to parcels.
+ */
+public interface AssignmentService {
+
+    /**
+     * Assigns the available drivers to PLANNED parcels without driver, most
+     * urgent parcels first. Each driver takes at most one parcel, chosen so
+     * that the total road distance to the pickup locations is minimal and
+     * the parcel fits the capacity of the driver's vehicle. The assignments
+     * are committed in one transaction and the drivers become ASSIGNED.
+     *
+     * @param limit maximum number of parcels in the batch, {@code null} for the configured maximum
+     * @return a Mono emitting the outcome of the run
+     */
+    Mono<AssignmentReportDTO> assignPlannedParcels(Integer limit);
+}
@@ -1,11 +1,29 @@
 package com.yowyob.delivery.route.service;
 
+import com.yowyob.delivery.route.controller.dto.DriverLocationDTO;
 import com.yowyob.delivery.route.controller.dto.DriverResponseDTO;
+import com.yowyob.delivery.route.controller.dto.LocationBatchReportDTO;
+import com.yowyob.delivery.route.controller.dto.NearbyDriverDTO;
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.DriverLocation;
 import com.yowyob.delivery.route.repository.DriverRepository;
+import com.yowyob.delivery.route.service.tracking.DriverLocationBuffer;
+import com.yowyob.delivery.route.service.tracking.NearestDriverIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing delivery drivers.
@@ -15,7 +33,23 @@ import reactor.core.publisher.Flux;
 @RequiredArgsConstructor
 public class DriverService {
 
+    /**
+     * Validation errors kept in a batch report; the others are only counted.
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Largest number of drivers a nearest-driver lookup can return.
+     */
+    static final int MAX_NEAREST_DRIVERS = 100;
+
     private final DriverRepository driverRepository;
+    private final DriverLocationBuffer driverLocationBuffer;
+    private final NearestDriverIndex nearestDriverIndex;
+    private final Validator validator;
+
+    @Value("${drivers.locations.max-batch-size:5000}")
+    private int locationsMaxBatchSize = 5000;
 
     /**
      * Retrieve all drivers in the system.
@@ -30,4 +64,115 @@ public class DriverService {
                         .status(driver.getCurrentState() != null ? driver.getCurrentState().toString() : "UNKNOWN")
                         .build());
     }
+
+    /**
+     * Accepts the position of a driver. It moves the driver in the
+     * {@link NearestDriverIndex} immediately and is written to the database
+     * with the next flush of the {@link DriverLocationBuffer}, together with
+     * the positions of the other drivers.
+     *
+     * @param request the validated position
+     * @return a Mono completing once the position is buffered
+     */
+    public Mono<Void> recordLocation(DriverLocationDTO request) {
+        return Mono.fromRunnable(() -> record(toDriverLocation(request, LocalDateTime.now())));
+    }
+
+    /**
+     * Accepts the positions of a batch; invalid positions are reported and
+     * skipped instead of rejecting the whole batch.
+     *
+     * @param requests the positions, possibly of several drivers
+     * @return a Mono emitting the batch summary
+     */
+    public Mono<LocationBatchReportDTO> recordLocations(List<DriverLocationDTO> requests) {
+        if (requests.size() > locationsMaxBatchSize) {
+            return Mono.error(new IllegalArgumentException(
+                    "A batch cannot contain more than " + locationsMaxBatchSize + " locations"));
+        }
+        return Mono.fromSupplier(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            int accepted = 0;
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                String error = validate(requests.get(i));
+                if (error == null) {
+                    record(toDriverLocation(requests.get(i), now));
+                    accepted++;
+                } else if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("index " + i + ": " + error);
+                }
+            }
+            return LocationBatchReportDTO.builder()
+                    .accepted(accepted)
+                    .rejected(requests.size() - accepted)
+                    .errors(errors)
+                    .build();
+        });
+    }
+
+    /**
+     * Finds the drivers in a state closest to a position, using the in-memory
+     * driver index.
+     *
+     * @param latitude  latitude of the position
+     * @param longitude longitude of the position
+     * @param k         maximum number of drivers, between 1 and 100
+     * @param state     the state the drivers must be in
+     * @param radiusKm  drivers farther away are left out
+     * @return a Flux emitting the drivers, closest first
+     */
+    public Flux<NearbyDriverDTO> findNearestDrivers(double latitude, double longitude, int k, DriverState state,
+            double radiusKm) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            return Flux.error(new IllegalArgumentException("lat must be within [-90, 90] and lon within [-180, 180]"));
+        }
+        if (k < 1 || k > MAX_NEAREST_DRIVERS) {
+            return Flux.error(new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST_DRIVERS));
+        }
+        if (!(radiusKm > 0)) {
+            return Flux.error(new IllegalArgumentException("radiusKm must be a positive number"));
+        }
+        return Flux.defer(() -> Flux.fromIterable(nearestDriverIndex.nearest(state, latitude, longitude, k, radiusKm)))
+                .map(driver -> NearbyDriverDTO.builder()
+                        .driverId(driver.driverId())
+                        .status(driver.state().name())
+                        .latitude(driver.location().lat())
+                        .longitude(driver.location().lon())
+                        .lastLocationUpdate(driver.recordedAt())
+                        .distanceKm(driver.distanceKm())
+                        .build());
+    }
+
+    private void record(DriverLocation location) {
+        driverLocationBuffer.record(location);
+        nearestDriverIndex.recordLocation(location);
+    }
+
+    private String validate(DriverLocationDTO request) {
+        if (request == null) {
+            return "Location is required";
+        }
+        Set<ConstraintViolation<DriverLocationDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * A position without time, or timestamped in the future by a skewed
+     * device clock, is dated at reception so that it cannot hide the
+     * positions reported after it.
+     */
+    private static DriverLocation toDriverLocation(DriverLocationDTO request, LocalDateTime now) {
+        LocalDateTime recordedAt = request.getRecordedAt() == null || request.getRecordedAt().isAfter(now)
+                ? now
+                : request.getRecordedAt();
+        return new DriverLocation(request.getDriverId(),
+                new GeoPoint(request.getLongitude(), request.getLatitude()), recordedAt);
+    }
 }
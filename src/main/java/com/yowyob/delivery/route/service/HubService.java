@@ -2,6 +2,9 @@ package com.yowyob.delivery.route.service;
 
 import com.yowyob.delivery.route.controller.dto.GeoPointRequestDTO;
 import com.yowyob.delivery.route.controller.dto.GeoPointResponseDTO;
+import com.yowyob.delivery.route.controller.dto.NearestHubDTO;
+import com.yowyob.delivery.route.domain.geometry.BoundingBox;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.util.UUID;
@@ -33,4 +36,31 @@ public interface HubService {
      * @return a Flux emitting all hub details
      */
     Flux<GeoPointResponseDTO> getAllHubs();
+
+    /**
+     * Retrieves the hubs inside a map viewport.
+     *
+     * @param box the viewport
+     * @return a Flux emitting the hubs inside the viewport
+     */
+    Flux<GeoPointResponseDTO> findHubsInBoundingBox(BoundingBox box);
+
+    /**
+     * Retrieves the hubs within a great-circle distance of a position.
+     *
+     * @param center   the center of the search
+     * @param radiusKm the search radius, in kilometers
+     * @return a Flux emitting the hubs, closest first
+     */
+    Flux<GeoPointResponseDTO> findHubsWithinRadius(GeoPoint center, double radiusKm);
+
+    /**
+     * Finds the hubs closest to a position, using the in-memory hub index.
+     *
+     * @param latitude  latitude of the position
+     * @param longitude longitude of the position
+     * @param k         maximum number of hubs, between 1 and 100
+     * @return a Flux emitting the hubs, closest first
+     */
+    Flux<NearestHubDTO> findNearestHubs(double latitude, double longitude, int k);
 }
@@ -0,0 +1,46 @@
+package com.yowyob.delivery.route.service;
+
+import com.yowyob.delivery.route.controller.dto.ImportReportDTO;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service interface for bulk loading of the hub network from CSV files.
+ * Rows are streamed, validated and written in batches; the routing graph is
+ * rebuilt once at the end of an import.
+ */
+public interface NetworkImportService {
+
+    /**
+     * Imports hubs from CSV with a header row. Recognized columns are
+     * {@code id} (optional), {@code address}, {@code type} (optional, defaults
+     * to WAREHOUSE), {@code latitude} and {@code longitude}. Rows with an
+     * existing identifier update the hub.
+     *
+     * @param csv the CSV content
+     * @return a Mono emitting the import summary
+     */
+    Mono<ImportReportDTO> importHubs(Flux<DataBuffer> csv);
+
+    /**
+     * Imports directed connections from CSV with the columns
+     * {@code fromHubId}, {@code toHubId} and {@code weight}. Existing
+     * connections get the new weight.
+     *
+     * @param csv the CSV content
+     * @return a Mono emitting the import summary
+     */
+    Mono<ImportReportDTO> importConnections(Flux<DataBuffer> csv);
+
+    /**
+     * Imports hubs, then connections, and rebuilds the routing graph once.
+     *
+     * @param hubsCsv        hubs CSV content, may be empty
+     * @param connectionsCsv connections CSV content, may be empty
+     * @return a Mono emitting the hub and connection summaries, in this order
+     */
+    Mono<List<ImportReportDTO>> importNetwork(Flux<DataBuffer> hubsCsv, Flux<DataBuffer> connectionsCsv);
+}
@@ -1,10 +1,15 @@
 package com.yowyob.delivery.route.service;
 
+import com.yowyob.delivery.route.controller.dto.BatchParcelResultDTO;
+import com.yowyob.delivery.route.controller.dto.ParcelPageDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelRequestDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelResponseDTO;
+import com.yowyob.delivery.route.repository.ParcelFilter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -20,6 +25,16 @@ public interface ParcelService {
      */
     Mono<ParcelResponseDTO> createParcel(ParcelRequestDTO request);
 
+    /**
+     * Registers many parcels at once with batched hub lookups and inserts.
+     * A failing request does not abort the others.
+     *
+     * @param requests the parcel registration details
+     * @return one result per request, in completion order
+     * @throws IllegalArgumentException (as an error signal) if the batch is too large
+     */
+    Flux<BatchParcelResultDTO> createParcels(List<ParcelRequestDTO> requests);
+
     /**
      * Finds a parcel by its internal unique identifier.
      *
@@ -29,9 +44,21 @@ public interface ParcelService {
     Mono<ParcelResponseDTO> getParcel(UUID id);
 
     /**
-     * Lists all registered parcels in the system.
+     * Lists parcels page by page, newest first.
+     *
+     * @param filter optional state, priority and driver criteria
+     * @param cursor cursor returned with the previous page, {@code null} for the first page
+     * @param limit  maximum number of parcels in the page
+     * @return a Mono emitting the page and the cursor of the next one
+     */
+    Mono<ParcelPageDTO> getParcels(ParcelFilter filter, String cursor, int limit);
+
+    /**
+     * Streams every parcel, oldest modification first, for bulk exports.
+     * Rows are read from the database only as fast as the consumer takes them.
      *
-     * @return a Flux emitting all parcel details
+     * @param since only parcels modified at or after this time, {@code null} for all
+     * @return a Flux emitting the parcel details
      */
-    Flux<ParcelResponseDTO> getAllParcels();
+    Flux<ParcelResponseDTO> exportParcels(LocalDateTime since);
 }
@@ -1,8 +1,16 @@
 package com.yowyob.delivery.route.service;
 
+import com.yowyob.delivery.route.controller.dto.BatchRouteResultDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixResponseDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixResponseDTO;
 import com.yowyob.delivery.route.controller.dto.RouteCalculationRequestDTO;
 import com.yowyob.delivery.route.controller.dto.RouteResponseDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -18,6 +26,16 @@ public interface RouteService {
      */
     Mono<RouteResponseDTO> calculateRoute(RouteCalculationRequestDTO request);
 
+    /**
+     * Calculates and stores routes for many parcels at once.
+     *
+     * @param requests the routing parameters, one per parcel
+     * @return a Flux emitting one result per request, in completion order;
+     *         an error with {@link IllegalArgumentException} if the batch is
+     *         larger than {@code routing.batch.max-size}
+     */
+    Flux<BatchRouteResultDTO> calculateRoutes(List<RouteCalculationRequestDTO> requests);
+
     /**
      * Recalculates an existing route in response to a real-time incident (e.g.,
      * road closure).
@@ -35,4 +53,30 @@ public interface RouteService {
      * @return a Mono emitting the route details
      */
     Mono<RouteResponseDTO> getRoute(UUID id);
+
+    /**
+     * Computes shortest-path distance and duration matrices between hubs over
+     * the routing graph. Nothing is persisted.
+     *
+     * @param request the source and target hubs
+     * @return a Mono emitting the matrices
+     */
+    Mono<DistanceMatrixResponseDTO> calculateMatrix(DistanceMatrixRequestDTO request);
+
+    /**
+     * Computes driving durations between arbitrary positions with the OSRM
+     * table service. Nothing is persisted.
+     *
+     * @param request the source and destination positions
+     * @return a Mono emitting the duration matrix
+     */
+    Mono<OsrmMatrixResponseDTO> calculateOsrmMatrix(OsrmMatrixRequestDTO request);
+
+    /**
+     * Rebuilds the in-memory routing graph from the hubs and hub connections
+     * currently stored in the database.
+     *
+     * @return a Mono completing once the new graph is in use
+     */
+    Mono<Void> refreshRoutingGraph();
 }
@@ -0,0 +1,17 @@
+package com.yowyob.delivery.route.service.assignment;
+
+import com.yowyob.delivery.route.domain.entity.DeliveryDriver;
+import com.yowyob.delivery.route.domain.entity.Parcel;
+
+import java.util.UUID;
+
+/**
+ * A parcel matched to a driver by the {@link DriverAssignmentPlanner}.
+ *
+ * @param parcel     the parcel
+ * @param driver     the driver picking it up
+ * @param vehicleId  the vehicle of the driver
+ * @param distanceKm road distance from the driver to the pickup location, in kilometers
+ */
+public record DriverAssignment(Parcel parcel, DeliveryDriver driver, UUID vehicleId, double distanceKm) {
+}
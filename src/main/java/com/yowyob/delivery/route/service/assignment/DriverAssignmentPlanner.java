@@ -0,0 +1,161 @@
+package com.yowyob.delivery.route.service.assignment;
+
+import com.yowyob.delivery.route.domain.entity.DeliveryDriver;
+import com.yowyob.delivery.route.domain.entity.Parcel;
+import com.yowyob.delivery.route.domain.entity.Vehicle;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.service.graph.GeoDistance;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.HubGrid;
+import com.yowyob.delivery.route.service.graph.NearestHub;
+import com.yowyob.delivery.route.service.graph.OneToManySearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Matches drivers to parcels so that the total distance the drivers travel to
+ * the pickup locations is minimal, each driver taking at most one parcel.
+ * <p>
+ * Drivers and pickup locations are snapped to their hub in the road graph
+ * (the pickup hub recorded on the parcel when there is one). The distance of
+ * a pair is the access leg from the driver to their hub, the shortest path
+ * between the two hubs and the leg from the pickup hub to the pickup
+ * location; the legs are great-circle distances. Shortest paths come from
+ * one search per distinct driver hub, so the cost matrix needs far fewer
+ * searches than it has cells. Without hubs the great-circle distance between
+ * driver and pickup is used instead.
+ * <p>
+ * Pairs are forbidden when the parcel is heavier than the vehicle can carry
+ * or when the hubs are not connected. The matrix is then solved in place with
+ * the {@link HungarianAlgorithm}, the smaller side in its rows. Callers keep
+ * it small by passing a shortlist of drivers rather than the whole fleet.
+ */
+public final class DriverAssignmentPlanner {
+
+    private DriverAssignmentPlanner() {
+    }
+
+    /**
+     * Plans the assignment of a batch of parcels.
+     *
+     * @param hubs     nearest-hub index of the current road graph
+     * @param parcels  parcels to assign
+     * @param drivers  available drivers, each with a location and a vehicle
+     * @param vehicles vehicles of the drivers by identifier
+     * @return the chosen pairs; parcels without a feasible driver are left out
+     * @throws IllegalArgumentException if the cost matrix would not fit an array
+     */
+    public static List<DriverAssignment> plan(HubGrid hubs, List<Parcel> parcels, List<DeliveryDriver> drivers,
+            Map<UUID, Vehicle> vehicles) {
+        int driverCount = drivers.size();
+        int parcelCount = parcels.size();
+        if (driverCount == 0 || parcelCount == 0) {
+            return List.of();
+        }
+        GraphSnapshot graph = hubs.getGraph();
+
+        // Snap both sides to the graph: hub index and access leg in km
+        int[] driverHubs = new int[driverCount];
+        double[] driverAccess = new double[driverCount];
+        for (int d = 0; d < driverCount; d++) {
+            GeoPoint location = drivers.get(d).getCurrentLocation();
+            NearestHub nearest = location != null ? hubs.nearest(location.lat(), location.lon()) : null;
+            driverHubs[d] = nearest != null ? graph.indexOf(nearest.hub().getId()) : -1;
+            driverAccess[d] = nearest != null ? nearest.distanceKm() : 0.0;
+        }
+        int[] parcelHubs = new int[parcelCount];
+        double[] parcelAccess = new double[parcelCount];
+        for (int p = 0; p < parcelCount; p++) {
+            Parcel parcel = parcels.get(p);
+            GeoPoint pickup = parcel.getPickupLocation();
+            int hub = parcel.getPickupHubId() != null ? graph.indexOf(parcel.getPickupHubId()) : -1;
+            if (hub >= 0) {
+                parcelAccess[p] = pickup != null && graph.hasLocation(hub)
+                        ? GeoDistance.haversineKm(graph.getLatitude(hub), graph.getLongitude(hub),
+                                pickup.lat(), pickup.lon())
+                        : 0.0;
+            } else if (pickup != null) {
+                NearestHub nearest = hubs.nearest(pickup.lat(), pickup.lon());
+                hub = nearest != null ? graph.indexOf(nearest.hub().getId()) : -1;
+                parcelAccess[p] = nearest != null ? nearest.distanceKm() : 0.0;
+            }
+            parcelHubs[p] = hub;
+        }
+
+        // One one-to-many search per distinct driver hub, towards the distinct pickup hubs
+        int[] targetSlot = new int[graph.getHubCount()];
+        Arrays.fill(targetSlot, -1);
+        int[] targets = new int[parcelCount];
+        int targetCount = 0;
+        for (int hub : parcelHubs) {
+            if (hub >= 0 && targetSlot[hub] < 0) {
+                targetSlot[hub] = targetCount;
+                targets[targetCount++] = hub;
+            }
+        }
+        targets = Arrays.copyOf(targets, targetCount);
+        double[][] roadKm = new double[graph.getHubCount()][];
+        for (int hub : driverHubs) {
+            if (hub >= 0 && roadKm[hub] == null) {
+                roadKm[hub] = OneToManySearch.distances(graph.getUndirected(), graph.getHubCount(), hub, targets);
+            }
+        }
+
+        // The smaller side goes in the rows so the solver works on the matrix in place
+        if ((long) driverCount * parcelCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many pairs to plan: " + driverCount + " drivers x "
+                    + parcelCount + " parcels");
+        }
+        boolean driverRows = driverCount <= parcelCount;
+        int rows = driverRows ? driverCount : parcelCount;
+        int cols = driverRows ? parcelCount : driverCount;
+        double[] cost = new double[rows * cols];
+        double[] parcelWeights = new double[parcelCount];
+        for (int p = 0; p < parcelCount; p++) {
+            Double weightKg = parcels.get(p).getWeightKg();
+            parcelWeights[p] = weightKg != null ? weightKg : 0.0;
+        }
+        for (int d = 0; d < driverCount; d++) {
+            DeliveryDriver driver = drivers.get(d);
+            Vehicle vehicle = vehicles.get(driver.getVehicleId());
+            double capacityKg = vehicle != null && vehicle.getMaxCapacityKg() != null
+                    ? vehicle.getMaxCapacityKg()
+                    : Double.POSITIVE_INFINITY;
+            double[] road = driverHubs[d] >= 0 ? roadKm[driverHubs[d]] : null;
+            for (int p = 0; p < parcelCount; p++) {
+                double pairCost;
+                if (vehicle == null || parcelWeights[p] > capacityKg) {
+                    pairCost = Double.POSITIVE_INFINITY;
+                } else if (road != null && parcelHubs[p] >= 0) {
+                    pairCost = driverAccess[d] + road[targetSlot[parcelHubs[p]]] + parcelAccess[p];
+                } else {
+                    pairCost = directKm(driver.getCurrentLocation(), parcels.get(p).getPickupLocation());
+                }
+                cost[driverRows ? d * cols + p : p * cols + d] = pairCost;
+            }
+        }
+
+        int[] match = HungarianAlgorithm.solve(cost, rows, cols);
+        // The solver overwrote forbidden pairs, so distances are read back from matched pairs only
+        List<DriverAssignment> assignments = new ArrayList<>();
+        for (int r = 0; r < rows; r++) {
+            int c = match[r];
+            if (c >= 0) {
+                DeliveryDriver driver = drivers.get(driverRows ? r : c);
+                Parcel parcel = parcels.get(driverRows ? c : r);
+                assignments.add(new DriverAssignment(parcel, driver, driver.getVehicleId(), cost[r * cols + c]));
+            }
+        }
+        return assignments;
+    }
+
+    private static double directKm(GeoPoint from, GeoPoint to) {
+        return from == null || to == null
+                ? Double.POSITIVE_INFINITY
+                : GeoDistance.haversineKm(from.lat(), from.lon(), to.lat(), to.lon());
+    }
+}
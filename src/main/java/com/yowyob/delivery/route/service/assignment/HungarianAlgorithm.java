@@ -0,0 +1,166 @@
+package com.yowyob.delivery.route.service.assignment;
+
+import java.util.Arrays;
+
+/**
+ * Minimum-cost bipartite matching on a dense cost matrix (Hungarian method,
+ * shortest augmenting paths with row and column potentials).
+ * Rows are added one by one, each with a Dijkstra-like search over the
+ * columns, which costs {@code O(rows² · cols)} with rows being the smaller
+ * side. The matrix is a single row-major {@code double[]}, so the inner loop
+ * only reads primitive arrays.
+ * <p>
+ * Forbidden pairs are marked with {@link Double#POSITIVE_INFINITY}. They are
+ * replaced in place by a penalty larger than any sum of allowed costs, so the
+ * result first matches as many rows as possible through allowed pairs and
+ * then minimizes the total cost of those pairs. The matrix is not copied
+ * unless it has more rows than columns; callers that can choose should put
+ * the smaller side in the rows.
+ */
+public final class HungarianAlgorithm {
+
+    private HungarianAlgorithm() {
+    }
+
+    /**
+     * Solves a rectangular assignment problem.
+     *
+     * @param cost row-major {@code rows × cols} matrix; {@code +Infinity} forbids a
+     *             pair. The matrix is overwritten: forbidden pairs get the penalty.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return for each row, the column it is matched to, or {@code -1} if the
+     *         row is left unmatched (more rows than columns, or only forbidden pairs)
+     * @throws IllegalArgumentException if the matrix size does not match or a cost is NaN
+     */
+    public static int[] solve(double[] cost, int rows, int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols != cost.length) {
+            throw new IllegalArgumentException("Cost matrix must hold " + rows + " x " + cols + " values");
+        }
+        if (rows == 0 || cols == 0) {
+            int[] none = new int[rows];
+            Arrays.fill(none, -1);
+            return none;
+        }
+        if (rows <= cols) {
+            return solveWide(cost, rows, cols, applyPenalty(cost, rows));
+        }
+
+        // More rows than columns: match the columns to the rows instead
+        double[] transposed = new double[cost.length];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                transposed[j * rows + i] = cost[i * cols + j];
+            }
+        }
+        int[] columnToRow = solveWide(transposed, cols, rows, applyPenalty(transposed, cols));
+        int[] rowToColumn = new int[rows];
+        Arrays.fill(rowToColumn, -1);
+        for (int j = 0; j < cols; j++) {
+            if (columnToRow[j] >= 0) {
+                rowToColumn[columnToRow[j]] = j;
+            }
+        }
+        return rowToColumn;
+    }
+
+    /**
+     * Replaces every forbidden pair by a penalty that exceeds the cost
+     * difference between any two matchings of allowed pairs.
+     *
+     * @return the penalty
+     */
+    private static double applyPenalty(double[] cost, int pairs) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double c : cost) {
+            if (Double.isNaN(c) || c == Double.NEGATIVE_INFINITY) {
+                throw new IllegalArgumentException("Costs must be finite or +Infinity");
+            }
+            if (c != Double.POSITIVE_INFINITY) {
+                min = Math.min(min, c);
+                max = Math.max(max, c);
+            }
+        }
+        if (min == Double.POSITIVE_INFINITY) {
+            min = 0.0;
+            max = 0.0;
+        }
+        double penalty = max + (max - min + 1.0) * (pairs + 1);
+        for (int i = 0; i < cost.length; i++) {
+            if (cost[i] == Double.POSITIVE_INFINITY) {
+                cost[i] = penalty;
+            }
+        }
+        return penalty;
+    }
+
+    /**
+     * Matches every row of a matrix with {@code rows <= cols}; rows matched
+     * through a penalized pair are reported as unmatched.
+     */
+    private static int[] solveWide(double[] a, int rows, int cols, double penalty) {
+        // 1-based potentials and matching, index 0 being the virtual start column
+        double[] u = new double[rows + 1];
+        double[] v = new double[cols + 1];
+        int[] rowOfColumn = new int[cols + 1];
+        int[] way = new int[cols + 1];
+        double[] minReduced = new double[cols + 1];
+        boolean[] used = new boolean[cols + 1];
+
+        for (int i = 1; i <= rows; i++) {
+            rowOfColumn[0] = i;
+            int column = 0;
+            Arrays.fill(minReduced, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[column] = true;
+                int row = rowOfColumn[column];
+                int offset = (row - 1) * cols - 1;
+                double ur = u[row];
+                double delta = Double.POSITIVE_INFINITY;
+                int next = 0;
+                for (int j = 1; j <= cols; j++) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    double reduced = a[offset + j] - ur - v[j];
+                    if (reduced < minReduced[j]) {
+                        minReduced[j] = reduced;
+                        way[j] = column;
+                    }
+                    if (minReduced[j] < delta) {
+                        delta = minReduced[j];
+                        next = j;
+                    }
+                }
+                for (int j = 0; j <= cols; j++) {
+                    if (used[j]) {
+                        u[rowOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minReduced[j] -= delta;
+                    }
+                }
+                column = next;
+            } while (rowOfColumn[column] != 0);
+
+            // Flip the augmenting path back to the start column
+            do {
+                int previous = way[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] result = new int[rows];
+        Arrays.fill(result, -1);
+        for (int j = 1; j <= cols; j++) {
+            int row = rowOfColumn[j];
+            if (row != 0 && a[(row - 1) * cols + j - 1] < penalty) {
+                result[row - 1] = j - 1;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.yowyob.delivery.route.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * Compressed-sparse-row adjacency over dense hub indices.
+ * The edges leaving node {@code u} are stored at positions
+ * {@code offsets[u] .. offsets[u + 1] - 1} of {@code targets} and
+ * {@code weights}. Arrays are shared with the snapshot and must be treated as
+ * read-only.
+ */
+public final class Adjacency {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    Adjacency(int[] offsets, int[] targets, double[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the adjacency from parallel edge arrays using a counting sort on
+     * the source node. Each row is then ordered by target and weight, so the
+     * layout does not depend on the order the connections were read in.
+     *
+     * @param nodeCount number of nodes
+     * @param from      edge sources
+     * @param to        edge targets
+     * @param weight    edge weights
+     * @param edgeCount number of valid entries in the edge arrays
+     * @return the CSR adjacency
+     */
+    static Adjacency of(int nodeCount, int[] from, int[] to, double[] weight, int edgeCount) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[from[e] + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = cursor[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = weight[e];
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            sortRow(targets, weights, offsets[u], offsets[u + 1]);
+        }
+        return new Adjacency(offsets, targets, weights);
+    }
+
+    /**
+     * Insertion sort of one row; rows are short so this beats boxing into a
+     * comparator-based sort.
+     */
+    private static void sortRow(int[] targets, double[] weights, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int target = targets[i];
+            double weight = weights[i];
+            int j = i - 1;
+            while (j >= from && (targets[j] > target || (targets[j] == target && weights[j] > weight))) {
+                targets[j + 1] = targets[j];
+                weights[j + 1] = weights[j];
+                j--;
+            }
+            targets[j + 1] = target;
+            weights[j + 1] = weight;
+        }
+    }
+
+    /**
+     * @return the node offsets (length = node count + 1)
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * @return the edge target nodes
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * @return the edge weights, aligned with {@link #getTargets()}
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * @return the total number of edges
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+}
@@ -0,0 +1,487 @@
+package com.yowyob.delivery.route.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * Contraction Hierarchy built from the undirected view of a
+ * {@link GraphSnapshot}.
+ * Nodes are contracted one by one in edge-difference order; whenever removing
+ * a node would lengthen a shortest path between two of its remaining
+ * neighbours, a shortcut remembering the contracted middle node is inserted.
+ * Queries then run a bidirectional Dijkstra that only follows edges towards
+ * higher-ranked nodes, which settles a tiny fraction of the graph, and the
+ * resulting shortcuts are unpacked back into original hubs.
+ * Instances are immutable and tied to the snapshot version they were built
+ * from.
+ */
+public final class ContractionHierarchy {
+
+    /**
+     * Upper bound on the nodes settled by one witness search. Reaching it only
+     * adds a possibly redundant shortcut, never a wrong distance.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final long version;
+    private final int[] ranks;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] middles;
+
+    private ContractionHierarchy(long version, int[] ranks, int[] offsets, int[] targets, double[] weights,
+            int[] middles) {
+        this.version = version;
+        this.ranks = ranks;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+    }
+
+    /**
+     * Contracts every node of the snapshot. CPU bound: callers should run it off
+     * the event loop.
+     *
+     * @param graph the snapshot to preprocess
+     * @return the hierarchy for that snapshot
+     */
+    public static ContractionHierarchy build(GraphSnapshot graph) {
+        return new Contractor(graph).contract();
+    }
+
+    /**
+     * @return the version of the snapshot this hierarchy was built from
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return number of upward edges, original connections and shortcuts
+     *         included
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Shortest path between two nodes of the snapshot this hierarchy was built
+     * from.
+     *
+     * @param source origin node
+     * @param target destination node
+     * @return the unpacked path, or {@code null} if the nodes are not connected
+     */
+    public Path query(int source, int target) {
+        int n = ranks.length;
+        SearchSpace forward = SearchSpace.acquire(n);
+        SearchSpace backward = SearchSpace.acquireBackward(n);
+        IndexedMinHeap forwardQueue = forward.heap();
+        IndexedMinHeap backwardQueue = backward.heap();
+
+        forward.update(source, 0.0, -1);
+        forwardQueue.insertOrDecrease(source, 0.0);
+        backward.update(target, 0.0, -1);
+        backwardQueue.insertOrDecrease(target, 0.0);
+
+        double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+        int meeting = source == target ? source : -1;
+
+        while (true) {
+            boolean forwardActive = !forwardQueue.isEmpty() && forwardQueue.peekKey() < best;
+            boolean backwardActive = !backwardQueue.isEmpty() && backwardQueue.peekKey() < best;
+            if (!forwardActive && !backwardActive) {
+                break;
+            }
+            boolean forwardTurn = forwardActive
+                    && (!backwardActive || forwardQueue.peekKey() <= backwardQueue.peekKey());
+            SearchSpace space = forwardTurn ? forward : backward;
+            SearchSpace other = forwardTurn ? backward : forward;
+            IndexedMinHeap queue = space.heap();
+
+            int node = queue.poll();
+            double distance = space.distance(node);
+            double candidate = distance + other.distance(node);
+            if (candidate < best) {
+                best = candidate;
+                meeting = node;
+            }
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int next = targets[e];
+                double nextDistance = distance + weights[e];
+                if (nextDistance < space.distance(next)) {
+                    space.update(next, nextDistance, node);
+                    queue.insertOrDecrease(next, nextDistance);
+                }
+            }
+        }
+
+        if (meeting < 0) {
+            return null;
+        }
+        return new Path(unpack(forward.predecessors(), backward.predecessors(), meeting), best);
+    }
+
+    /**
+     * Rebuilds the original node sequence from both search trees: the forward
+     * branch from the source up to the meeting node, then the backward branch
+     * down to the target, expanding each shortcut on the way.
+     */
+    private int[] unpack(int[] forwardPredecessors, int[] backwardPredecessors, int meeting) {
+        int upward = 0;
+        for (int node = meeting; forwardPredecessors[node] >= 0; node = forwardPredecessors[node]) {
+            upward++;
+        }
+        int[] hierarchyPath = new int[upward + 1];
+        int length = upward + 1;
+        int node = meeting;
+        for (int i = upward; i >= 0; i--) {
+            hierarchyPath[i] = node;
+            node = i > 0 ? forwardPredecessors[node] : node;
+        }
+        for (node = backwardPredecessors[meeting]; node >= 0; node = backwardPredecessors[node]) {
+            if (length == hierarchyPath.length) {
+                hierarchyPath = Arrays.copyOf(hierarchyPath, length * 2);
+            }
+            hierarchyPath[length++] = node;
+        }
+
+        IntList path = new IntList(length * 2);
+        path.add(hierarchyPath[0]);
+        for (int i = 1; i < length; i++) {
+            expand(hierarchyPath[i - 1], hierarchyPath[i], path);
+        }
+        return path.toArray();
+    }
+
+    /**
+     * Appends the original nodes after {@code from} up to and including
+     * {@code to}, recursing into shortcuts. The recursion depth is bounded by the
+     * number of hierarchy levels.
+     */
+    private void expand(int from, int to, IntList path) {
+        int middle = middleOf(from, to);
+        if (middle < 0) {
+            path.add(to);
+            return;
+        }
+        expand(from, middle, path);
+        expand(middle, to, path);
+    }
+
+    /**
+     * Every edge is stored once, at its lower-ranked endpoint.
+     */
+    private int middleOf(int a, int b) {
+        int low = ranks[a] < ranks[b] ? a : b;
+        int high = low == a ? b : a;
+        for (int e = offsets[low]; e < offsets[low + 1]; e++) {
+            if (targets[e] == high) {
+                return middles[e];
+            }
+        }
+        throw new IllegalStateException("Missing hierarchy edge " + a + " - " + b);
+    }
+
+    /**
+     * Result of a hierarchy query.
+     */
+    public static final class Path {
+
+        private final int[] nodes;
+        private final double distance;
+
+        private Path(int[] nodes, double distance) {
+            this.nodes = nodes;
+            this.distance = distance;
+        }
+
+        /**
+         * @return the original nodes from source to target
+         */
+        public int[] getNodes() {
+            return nodes;
+        }
+
+        /**
+         * @return the total path weight
+         */
+        public double getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * Mutable working graph used during preprocessing. Each node keeps its
+     * remaining neighbours in small growable arrays; parallel connections are
+     * collapsed to the lightest one.
+     */
+    private static final class Contractor {
+
+        private final long version;
+        private final int n;
+        private final int[][] neighbours;
+        private final double[][] edgeWeights;
+        private final int[][] edgeMiddles;
+        private final int[] degrees;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbours;
+
+        private final IntList upwardFrom = new IntList(16);
+        private final IntList upwardTo = new IntList(16);
+        private final DoubleList upwardWeight = new DoubleList(16);
+        private final IntList upwardMiddle = new IntList(16);
+
+        private Contractor(GraphSnapshot graph) {
+            this.version = graph.getVersion();
+            this.n = graph.getHubCount();
+            this.neighbours = new int[n][];
+            this.edgeWeights = new double[n][];
+            this.edgeMiddles = new int[n][];
+            this.degrees = new int[n];
+            this.contracted = new boolean[n];
+            this.contractedNeighbours = new int[n];
+
+            Adjacency undirected = graph.getUndirected();
+            int[] offsets = undirected.getOffsets();
+            int[] targets = undirected.getTargets();
+            double[] weights = undirected.getWeights();
+            for (int u = 0; u < n; u++) {
+                int capacity = Math.max(4, offsets[u + 1] - offsets[u]);
+                neighbours[u] = new int[capacity];
+                edgeWeights[u] = new double[capacity];
+                edgeMiddles[u] = new int[capacity];
+            }
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    if (targets[e] != u) {
+                        relax(u, targets[e], weights[e], -1);
+                    }
+                }
+            }
+        }
+
+        private ContractionHierarchy contract() {
+            IndexedMinHeap order = new IndexedMinHeap();
+            order.reset(n);
+            for (int v = 0; v < n; v++) {
+                order.insertOrDecrease(v, priority(v));
+            }
+
+            int[] ranks = new int[n];
+            int rank = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                // Lazy update: priorities of the remaining nodes drift as neighbours are contracted
+                double current = priority(v);
+                if (!order.isEmpty() && current > order.peekKey()) {
+                    order.insertOrDecrease(v, current);
+                    continue;
+                }
+                ranks[v] = rank++;
+                contractNode(v);
+            }
+            return freeze(ranks);
+        }
+
+        /**
+         * Edge difference plus the number of already contracted neighbours, which
+         * spreads contraction evenly over the graph.
+         */
+        private double priority(int v) {
+            return shortcutsFor(v, false) - degrees[v] + contractedNeighbours[v];
+        }
+
+        private void contractNode(int v) {
+            for (int i = 0; i < degrees[v]; i++) {
+                int u = neighbours[v][i];
+                upwardFrom.add(v);
+                upwardTo.add(u);
+                upwardWeight.add(edgeWeights[v][i]);
+                upwardMiddle.add(edgeMiddles[v][i]);
+            }
+            shortcutsFor(v, true);
+            contracted[v] = true;
+            for (int i = 0; i < degrees[v]; i++) {
+                int u = neighbours[v][i];
+                remove(u, v);
+                contractedNeighbours[u]++;
+            }
+            degrees[v] = 0;
+        }
+
+        /**
+         * Counts, and optionally inserts, the shortcuts needed to contract
+         * {@code v}: one per neighbour pair whose only shortest connection runs
+         * through {@code v}.
+         */
+        private int shortcutsFor(int v, boolean insert) {
+            int degree = degrees[v];
+            int[] adjacent = neighbours[v];
+            double[] adjacentWeights = edgeWeights[v];
+            int shortcuts = 0;
+            for (int i = 0; i < degree - 1; i++) {
+                int u = adjacent[i];
+                double maxVia = 0.0;
+                for (int j = i + 1; j < degree; j++) {
+                    maxVia = Math.max(maxVia, adjacentWeights[i] + adjacentWeights[j]);
+                }
+                SearchSpace witness = witnessSearch(u, v, maxVia);
+                for (int j = i + 1; j < degree; j++) {
+                    double via = adjacentWeights[i] + adjacentWeights[j];
+                    if (witness.distance(adjacent[j]) > via) {
+                        shortcuts++;
+                        if (insert) {
+                            relax(u, adjacent[j], via, v);
+                            relax(adjacent[j], u, via, v);
+                        }
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Bounded Dijkstra from {@code source} over the remaining graph, skipping
+         * {@code excluded}.
+         */
+        private SearchSpace witnessSearch(int source, int excluded, double limit) {
+            SearchSpace space = SearchSpace.acquire(n);
+            IndexedMinHeap queue = space.heap();
+            space.update(source, 0.0, -1);
+            queue.insertOrDecrease(source, 0.0);
+            int settled = 0;
+            while (!queue.isEmpty() && settled++ < WITNESS_SETTLE_LIMIT) {
+                int node = queue.poll();
+                double distance = space.distance(node);
+                if (distance > limit) {
+                    break;
+                }
+                for (int i = 0; i < degrees[node]; i++) {
+                    int next = neighbours[node][i];
+                    if (next == excluded) {
+                        continue;
+                    }
+                    double nextDistance = distance + edgeWeights[node][i];
+                    if (nextDistance < space.distance(next)) {
+                        space.update(next, nextDistance, node);
+                        queue.insertOrDecrease(next, nextDistance);
+                    }
+                }
+            }
+            return space;
+        }
+
+        /**
+         * Adds the edge {@code u -> v}, or lowers its weight if it already exists.
+         */
+        private void relax(int u, int v, double weight, int middle) {
+            int[] adjacent = neighbours[u];
+            for (int i = 0; i < degrees[u]; i++) {
+                if (adjacent[i] == v) {
+                    if (weight < edgeWeights[u][i]) {
+                        edgeWeights[u][i] = weight;
+                        edgeMiddles[u][i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (degrees[u] == adjacent.length) {
+                int capacity = adjacent.length * 2;
+                neighbours[u] = Arrays.copyOf(adjacent, capacity);
+                edgeWeights[u] = Arrays.copyOf(edgeWeights[u], capacity);
+                edgeMiddles[u] = Arrays.copyOf(edgeMiddles[u], capacity);
+            }
+            int slot = degrees[u]++;
+            neighbours[u][slot] = v;
+            edgeWeights[u][slot] = weight;
+            edgeMiddles[u][slot] = middle;
+        }
+
+        private void remove(int u, int v) {
+            int[] adjacent = neighbours[u];
+            for (int i = 0; i < degrees[u]; i++) {
+                if (adjacent[i] == v) {
+                    int last = --degrees[u];
+                    adjacent[i] = adjacent[last];
+                    edgeWeights[u][i] = edgeWeights[u][last];
+                    edgeMiddles[u][i] = edgeMiddles[u][last];
+                    return;
+                }
+            }
+        }
+
+        private ContractionHierarchy freeze(int[] ranks) {
+            int m = upwardFrom.size();
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                offsets[upwardFrom.get(e) + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] cursor = Arrays.copyOf(offsets, n);
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            int[] middles = new int[m];
+            for (int e = 0; e < m; e++) {
+                int slot = cursor[upwardFrom.get(e)]++;
+                targets[slot] = upwardTo.get(e);
+                weights[slot] = upwardWeight.get(e);
+                middles[slot] = upwardMiddle.get(e);
+            }
+            return new ContractionHierarchy(version, ranks, offsets, targets, weights, middles);
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values;
+        private int size;
+
+        private IntList(int capacity) {
+            values = new int[Math.max(1, capacity)];
+        }
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class DoubleList {
+
+        private double[] values;
+        private int size;
+
+        private DoubleList(int capacity) {
+            values = new double[Math.max(1, capacity)];
+        }
+
+        private void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private double get(int index) {
+            return values[index];
+        }
+    }
+}
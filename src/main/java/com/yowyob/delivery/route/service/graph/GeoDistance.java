@@ -0,0 +1,48 @@
+package com.yowyob.delivery.route.service.graph;
+
+/**
+ * Great-circle distance helpers on WGS 84 coordinates expressed in degrees.
+ */
+public final class GeoDistance {
+
+    /**
+     * Mean Earth radius in kilometers.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Haversine distance between two points.
+     *
+     * @param lat1 latitude of the first point
+     * @param lon1 longitude of the first point
+     * @param lat2 latitude of the second point
+     * @param lon2 longitude of the second point
+     * @return the distance in kilometers
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        return haversineKm(lat1, lon1, Math.cos(Math.toRadians(lat1)), lat2, lon2, Math.cos(Math.toRadians(lat2)));
+    }
+
+    /**
+     * Haversine distance between two points whose latitude cosines are already
+     * known, which saves two trigonometric calls in hot loops.
+     *
+     * @param lat1    latitude of the first point
+     * @param lon1    longitude of the first point
+     * @param cosLat1 cosine of the first latitude
+     * @param lat2    latitude of the second point
+     * @param lon2    longitude of the second point
+     * @param cosLat2 cosine of the second latitude
+     * @return the distance in kilometers
+     */
+    public static double haversineKm(double lat1, double lon1, double cosLat1, double lat2, double lon2,
+            double cosLat2) {
+        double sinHalfDLat = Math.sin(Math.toRadians(lat2 - lat1) * 0.5);
+        double sinHalfDLon = Math.sin(Math.toRadians(lon2 - lon1) * 0.5);
+        double a = sinHalfDLat * sinHalfDLat + cosLat1 * cosLat2 * sinHalfDLon * sinHalfDLon;
+        return 2.0 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
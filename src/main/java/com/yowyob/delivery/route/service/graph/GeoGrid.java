@@ -0,0 +1,291 @@
+package com.yowyob.delivery.route.service.graph;
+
+/**
+ * Immutable uniform grid over WGS 84 points for exact k-nearest-neighbour
+ * queries by great-circle distance.
+ * The bounding box of the points is split into about one cell per two points,
+ * with cells roughly square on the ground; points are stored cell by cell in
+ * primitive arrays (compressed-sparse-row layout). A query scans rings of
+ * cells around the cell of the query point and stops as soon as no unscanned
+ * cell can hold a closer point, so it touches only a handful of cells for
+ * evenly spread points. Longitudes are not wrapped around the antimeridian.
+ */
+public final class GeoGrid {
+
+    private static final double KM_PER_DEGREE = Math.toRadians(GeoDistance.EARTH_RADIUS_KM);
+
+    private final int rows;
+    private final int cols;
+    private final double minLat;
+    private final double minLon;
+    private final double cellLat;
+    private final double cellLon;
+    private final double minCosLat;
+    private final int[] cellStart;
+    private final int[] ids;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cosLatitudes;
+
+    private GeoGrid(int rows, int cols, double minLat, double minLon, double cellLat, double cellLon,
+            double minCosLat, int[] cellStart, int[] ids, double[] latitudes, double[] longitudes) {
+        this.rows = rows;
+        this.cols = cols;
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.cellLat = cellLat;
+        this.cellLon = cellLon;
+        this.minCosLat = minCosLat;
+        this.cellStart = cellStart;
+        this.ids = ids;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.cosLatitudes = new double[latitudes.length];
+        for (int i = 0; i < latitudes.length; i++) {
+            cosLatitudes[i] = Math.cos(Math.toRadians(latitudes[i]));
+        }
+    }
+
+    /**
+     * Indexes points given as parallel coordinate arrays. Points with a
+     * {@link Double#NaN} coordinate are left out.
+     *
+     * @param lats latitudes in degrees
+     * @param lons longitudes in degrees
+     * @return the grid; query results are positions in the input arrays
+     */
+    public static GeoGrid build(double[] lats, double[] lons) {
+        int count = 0;
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < lats.length; i++) {
+            if (Double.isNaN(lats[i]) || Double.isNaN(lons[i])) {
+                continue;
+            }
+            count++;
+            minLat = Math.min(minLat, lats[i]);
+            maxLat = Math.max(maxLat, lats[i]);
+            minLon = Math.min(minLon, lons[i]);
+            maxLon = Math.max(maxLon, lons[i]);
+        }
+        if (count == 0) {
+            return new GeoGrid(1, 1, 0.0, 0.0, 1.0, 1.0, 1.0, new int[2], new int[0], new double[0], new double[0]);
+        }
+
+        // About two points per cell, cells roughly square on the ground
+        int cells = Math.max(1, count / 2);
+        double height = maxLat - minLat;
+        double width = (maxLon - minLon) * Math.cos(Math.toRadians((minLat + maxLat) * 0.5));
+        int cols;
+        if (width <= 0.0) {
+            cols = 1;
+        } else if (height <= 0.0) {
+            cols = cells;
+        } else {
+            cols = (int) Math.round(Math.sqrt(cells * width / height));
+        }
+        cols = Math.max(1, Math.min(cells, cols));
+        int rows = Math.max(1, cells / cols);
+        double cellLat = height > 0.0 ? height / rows : 1.0;
+        double cellLon = maxLon > minLon ? (maxLon - minLon) / cols : 1.0;
+        double minCosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+
+        // Counting sort of the points by cell
+        int[] cellOf = new int[lats.length];
+        int[] cellStart = new int[rows * cols + 1];
+        for (int i = 0; i < lats.length; i++) {
+            if (Double.isNaN(lats[i]) || Double.isNaN(lons[i])) {
+                cellOf[i] = -1;
+                continue;
+            }
+            int row = clamp((int) ((lats[i] - minLat) / cellLat), rows);
+            int col = clamp((int) ((lons[i] - minLon) / cellLon), cols);
+            cellOf[i] = row * cols + col;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] next = cellStart.clone();
+        int[] ids = new int[count];
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < lats.length; i++) {
+            if (cellOf[i] < 0) {
+                continue;
+            }
+            int slot = next[cellOf[i]]++;
+            ids[slot] = i;
+            latitudes[slot] = lats[i];
+            longitudes[slot] = lons[i];
+        }
+        return new GeoGrid(rows, cols, minLat, minLon, cellLat, cellLon, minCosLat, cellStart, ids,
+                latitudes, longitudes);
+    }
+
+    /**
+     * @return the number of indexed points
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds the {@code k} indexed points closest to a position.
+     *
+     * @param lat latitude of the position in degrees
+     * @param lon longitude of the position in degrees
+     * @param k   maximum number of neighbours
+     * @return the neighbours, closest first; fewer than {@code k} if the grid
+     *         holds fewer points
+     */
+    public Neighbours nearest(double lat, double lon, int k) {
+        k = Math.min(k, ids.length);
+        if (k <= 0) {
+            return new Neighbours(new int[0], new double[0]);
+        }
+        double cosLat = Math.cos(Math.toRadians(lat));
+        int row = clamp((int) Math.floor((lat - minLat) / cellLat), rows);
+        int col = clamp((int) Math.floor((lon - minLon) / cellLon), cols);
+
+        // Bounded max-heap on distance of the best candidates so far
+        int[] heapSlots = new int[k];
+        double[] heapDistances = new double[k];
+        int found = 0;
+
+        for (int ring = 0; ; ring++) {
+            int rowLo = row - ring;
+            int rowHi = row + ring;
+            int colLo = col - ring;
+            int colHi = col + ring;
+            for (int r = Math.max(0, rowLo); r <= Math.min(rows - 1, rowHi); r++) {
+                // Whole row on the ring's top and bottom edges, only both ends in between
+                int step = r == rowLo || r == rowHi ? 1 : colHi - colLo;
+                for (int c = colLo; c <= colHi; c += step) {
+                    if (c < 0 || c >= cols) {
+                        continue;
+                    }
+                    int cell = r * cols + c;
+                    for (int slot = cellStart[cell]; slot < cellStart[cell + 1]; slot++) {
+                        double distance = GeoDistance.haversineKm(lat, lon, cosLat,
+                                latitudes[slot], longitudes[slot], cosLatitudes[slot]);
+                        if (found < k) {
+                            siftUp(heapSlots, heapDistances, found++, slot, distance);
+                        } else if (distance < heapDistances[0]) {
+                            siftDown(heapSlots, heapDistances, k, slot, distance);
+                        }
+                    }
+                }
+            }
+            boolean coversAll = rowLo <= 0 && rowHi >= rows - 1 && colLo <= 0 && colHi >= cols - 1;
+            if (coversAll || found == k && heapDistances[0] <= unscannedLowerBoundKm(lat, lon, cosLat,
+                    rowLo, rowHi, colLo, colHi)) {
+                break;
+            }
+        }
+
+        // Heap sort into ascending distance
+        int[] result = new int[found];
+        double[] distances = new double[found];
+        for (int size = found; size > 0; size--) {
+            result[size - 1] = ids[heapSlots[0]];
+            distances[size - 1] = heapDistances[0];
+            if (size > 1) {
+                siftDown(heapSlots, heapDistances, size - 1, heapSlots[size - 1], heapDistances[size - 1]);
+            }
+        }
+        return new Neighbours(result, distances);
+    }
+
+    /**
+     * Lower bound on the distance from the position to any point outside the
+     * scanned rectangle of cells: each unscanned point lies beyond one of the
+     * rectangle's inner edges, either in latitude (at least that arc) or in
+     * longitude (at least the haversine with the smallest latitude cosine of
+     * the grid).
+     */
+    private double unscannedLowerBoundKm(double lat, double lon, double cosLat,
+            int rowLo, int rowHi, int colLo, int colHi) {
+        double bound = Double.POSITIVE_INFINITY;
+        if (rowLo > 0) {
+            bound = Math.min(bound, Math.max(0.0, lat - (minLat + rowLo * cellLat)) * KM_PER_DEGREE);
+        }
+        if (rowHi < rows - 1) {
+            bound = Math.min(bound, Math.max(0.0, minLat + (rowHi + 1) * cellLat - lat) * KM_PER_DEGREE);
+        }
+        if (colLo > 0) {
+            bound = Math.min(bound, longitudeBoundKm(lon - (minLon + colLo * cellLon), cosLat));
+        }
+        if (colHi < cols - 1) {
+            bound = Math.min(bound, longitudeBoundKm(minLon + (colHi + 1) * cellLon - lon, cosLat));
+        }
+        return bound;
+    }
+
+    private double longitudeBoundKm(double deltaLon, double cosLat) {
+        if (deltaLon <= 0.0) {
+            return 0.0;
+        }
+        double sinHalf = Math.sin(Math.toRadians(Math.min(deltaLon, 180.0)) * 0.5);
+        double a = cosLat * minCosLat * sinHalf * sinHalf;
+        return 2.0 * GeoDistance.EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(Math.max(0.0, a))));
+    }
+
+    private static void siftUp(int[] slots, double[] distances, int index, int slot, double distance) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (distances[parent] >= distance) {
+                break;
+            }
+            slots[index] = slots[parent];
+            distances[index] = distances[parent];
+            index = parent;
+        }
+        slots[index] = slot;
+        distances[index] = distance;
+    }
+
+    /**
+     * Replaces the root of a heap of {@code size} entries and restores the
+     * heap order.
+     */
+    private static void siftDown(int[] slots, double[] distances, int size, int slot, double distance) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && distances[child + 1] > distances[child]) {
+                child++;
+            }
+            if (distances[child] <= distance) {
+                break;
+            }
+            slots[index] = slots[child];
+            distances[index] = distances[child];
+            index = child;
+        }
+        slots[index] = slot;
+        distances[index] = distance;
+    }
+
+    private static int clamp(int value, int size) {
+        return value < 0 ? 0 : Math.min(value, size - 1);
+    }
+
+    /**
+     * Result of a nearest-neighbour query.
+     *
+     * @param indices     positions of the neighbours in the arrays the grid was built from, closest first
+     * @param distancesKm great-circle distances of the neighbours, in kilometers
+     */
+    public record Neighbours(int[] indices, double[] distancesKm) {
+
+        public int size() {
+            return indices.length;
+        }
+    }
+}
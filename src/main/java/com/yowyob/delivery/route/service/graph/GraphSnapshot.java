@@ -0,0 +1,255 @@
+package com.yowyob.delivery.route.service.graph;
+
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, in-memory view of the hub network used by the graph-based routing
+ * strategies.
+ * Hubs are mapped to dense {@code int} indices (ordered by UUID so indices are
+ * stable across rebuilds of the same network) and connections are stored as
+ * compressed-sparse-row {@link Adjacency} arrays. Hub locations are copied
+ * into primitive latitude/longitude arrays so searches read them without
+ * dereferencing hubs.
+ */
+public final class GraphSnapshot {
+
+    private final long version;
+    private final Hub[] hubs;
+    private final Map<UUID, Integer> indexById;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cosLatitudes;
+    private final double heuristicScale;
+    private final Adjacency outgoing;
+    private final Adjacency incoming;
+    private final Adjacency undirected;
+
+    private GraphSnapshot(long version, Hub[] hubs, Map<UUID, Integer> indexById, double[] latitudes,
+            double[] longitudes, Adjacency outgoing, Adjacency incoming, Adjacency undirected) {
+        this.version = version;
+        this.hubs = hubs;
+        this.indexById = indexById;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.cosLatitudes = new double[latitudes.length];
+        for (int i = 0; i < latitudes.length; i++) {
+            cosLatitudes[i] = Math.cos(Math.toRadians(latitudes[i]));
+        }
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.undirected = undirected;
+        this.heuristicScale = computeHeuristicScale();
+    }
+
+    /**
+     * Builds a snapshot from the raw repository content.
+     * Connections referencing unknown hubs are ignored; missing weights count as
+     * zero.
+     *
+     * @param version     monotonically increasing snapshot number
+     * @param hubList     all hubs, with their location
+     * @param connections all hub connections
+     * @return the immutable snapshot
+     */
+    public static GraphSnapshot build(long version, List<Hub> hubList, List<HubConnection> connections) {
+        Hub[] hubs = hubList.stream()
+                .filter(hub -> hub.getId() != null)
+                .collect(Collectors.toMap(Hub::getId, hub -> hub, (first, second) -> first, TreeMap::new))
+                .values()
+                .toArray(Hub[]::new);
+        int n = hubs.length;
+
+        Map<UUID, Integer> indexById = new HashMap<>(n * 2);
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            indexById.put(hubs[i].getId(), i);
+            GeoPoint location = hubs[i].getLocation();
+            latitudes[i] = location == null ? Double.NaN : location.lat();
+            longitudes[i] = location == null ? Double.NaN : location.lon();
+        }
+
+        int[] from = new int[connections.size()];
+        int[] to = new int[connections.size()];
+        double[] weight = new double[connections.size()];
+        int m = 0;
+        for (HubConnection connection : connections) {
+            Integer u = indexById.get(connection.getFromHubId());
+            Integer v = indexById.get(connection.getToHubId());
+            if (u == null || v == null) {
+                continue;
+            }
+            from[m] = u;
+            to[m] = v;
+            weight[m] = connection.getWeight() == null ? 0.0 : connection.getWeight();
+            m++;
+        }
+
+        Adjacency outgoing = Adjacency.of(n, from, to, weight, m);
+        Adjacency incoming = Adjacency.of(n, to, from, weight, m);
+
+        int[] bothFrom = Arrays.copyOf(from, 2 * m);
+        int[] bothTo = Arrays.copyOf(to, 2 * m);
+        double[] bothWeight = Arrays.copyOf(weight, 2 * m);
+        System.arraycopy(to, 0, bothFrom, m, m);
+        System.arraycopy(from, 0, bothTo, m, m);
+        System.arraycopy(weight, 0, bothWeight, m, m);
+        Adjacency undirected = Adjacency.of(n, bothFrom, bothTo, bothWeight, 2 * m);
+
+        return new GraphSnapshot(version, hubs, Map.copyOf(indexById), latitudes, longitudes, outgoing, incoming, undirected);
+    }
+
+    /**
+     * Largest factor {@code k <= 1} such that {@code k} times the great-circle
+     * distance between the endpoints of any located connection never exceeds its
+     * weight. Scaling the great-circle distance by it keeps the A* heuristic
+     * admissible and consistent even if some weights are shorter than the
+     * straight line (rounded or hand-entered values).
+     */
+    private double computeHeuristicScale() {
+        int[] offsets = outgoing.getOffsets();
+        int[] targets = outgoing.getTargets();
+        double[] weights = outgoing.getWeights();
+        double scale = 1.0;
+        for (int u = 0; u < hubs.length; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                double straight = greatCircleKm(u, targets[e]);
+                if (straight > 0.0 && weights[e] < scale * straight) {
+                    scale = Math.max(0.0, weights[e] / straight);
+                }
+            }
+        }
+        return scale;
+    }
+
+    /**
+     * @return the snapshot number, incremented on every rebuild
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return number of hubs (nodes) in the snapshot
+     */
+    public int getHubCount() {
+        return hubs.length;
+    }
+
+    /**
+     * @return number of directed connections kept in the snapshot
+     */
+    public int getConnectionCount() {
+        return outgoing.getEdgeCount();
+    }
+
+    /**
+     * @param id the hub identifier
+     * @return the dense index of the hub, or {@code -1} if it is not part of the
+     *         snapshot
+     */
+    public int indexOf(UUID id) {
+        Integer index = id == null ? null : indexById.get(id);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index dense hub index
+     * @return the hub stored at that index
+     */
+    public Hub getHub(int index) {
+        return hubs[index];
+    }
+
+    /**
+     * @param index dense hub index
+     * @return the hub identifier stored at that index
+     */
+    public UUID getHubId(int index) {
+        return hubs[index].getId();
+    }
+
+    /**
+     * @param index dense hub index
+     * @return {@code true} if the hub has a valid location
+     */
+    public boolean hasLocation(int index) {
+        return !Double.isNaN(latitudes[index]);
+    }
+
+    /**
+     * @param index dense hub index
+     * @return the hub latitude in degrees, {@link Double#NaN} if unknown
+     */
+    public double getLatitude(int index) {
+        return latitudes[index];
+    }
+
+    /**
+     * @param index dense hub index
+     * @return the hub longitude in degrees, {@link Double#NaN} if unknown
+     */
+    public double getLongitude(int index) {
+        return longitudes[index];
+    }
+
+    /**
+     * Great-circle distance between two hubs, or {@link Double#NaN} if either
+     * has no location.
+     *
+     * @param a first hub index
+     * @param b second hub index
+     * @return the distance in kilometers
+     */
+    public double greatCircleKm(int a, int b) {
+        return GeoDistance.haversineKm(latitudes[a], longitudes[a], cosLatitudes[a],
+                latitudes[b], longitudes[b], cosLatitudes[b]);
+    }
+
+    /**
+     * Admissible lower bound, in kilometers, on the network distance between two
+     * hubs: the great-circle distance scaled by the factor derived from the edge
+     * weights at build time. Returns {@code 0} when a location is missing.
+     *
+     * @param a first hub index
+     * @param b second hub index
+     * @return a lower bound on the shortest-path weight
+     */
+    public double lowerBoundKm(int a, int b) {
+        double straight = greatCircleKm(a, b);
+        return Double.isNaN(straight) ? 0.0 : heuristicScale * straight;
+    }
+
+    /**
+     * @return the connections as stored, from {@code from_hub_id} to
+     *         {@code to_hub_id}
+     */
+    public Adjacency getOutgoing() {
+        return outgoing;
+    }
+
+    /**
+     * @return the reversed connections, used by backward searches
+     */
+    public Adjacency getIncoming() {
+        return incoming;
+    }
+
+    /**
+     * @return every connection in both directions, for searches that treat the
+     *         network as undirected
+     */
+    public Adjacency getUndirected() {
+        return undirected;
+    }
+}
@@ -0,0 +1,85 @@
+package com.yowyob.delivery.route.service.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nearest-hub lookups over the hubs of one {@link GraphSnapshot}.
+ * Immutable and built in a single pass over the snapshot's coordinate arrays,
+ * so it can be rebuilt on every graph refresh and shared between threads.
+ */
+public final class HubGrid {
+
+    private final GraphSnapshot graph;
+    private final GeoGrid grid;
+
+    private HubGrid(GraphSnapshot graph, GeoGrid grid) {
+        this.graph = graph;
+        this.grid = grid;
+    }
+
+    /**
+     * Indexes the located hubs of a snapshot; hubs without location are left out.
+     *
+     * @param graph the snapshot
+     * @return the index
+     */
+    public static HubGrid build(GraphSnapshot graph) {
+        int n = graph.getHubCount();
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = graph.getLatitude(i);
+            longitudes[i] = graph.getLongitude(i);
+        }
+        return new HubGrid(graph, GeoGrid.build(latitudes, longitudes));
+    }
+
+    /**
+     * @return the snapshot the index was built from
+     */
+    public GraphSnapshot getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the version of the snapshot the index was built from
+     */
+    public long getVersion() {
+        return graph.getVersion();
+    }
+
+    /**
+     * @return the number of indexed hubs
+     */
+    public int size() {
+        return grid.size();
+    }
+
+    /**
+     * @param lat latitude in degrees
+     * @param lon longitude in degrees
+     * @param k   maximum number of hubs
+     * @return the {@code k} closest hubs, closest first
+     */
+    public List<NearestHub> nearest(double lat, double lon, int k) {
+        GeoGrid.Neighbours neighbours = grid.nearest(lat, lon, k);
+        List<NearestHub> hubs = new ArrayList<>(neighbours.size());
+        for (int i = 0; i < neighbours.size(); i++) {
+            hubs.add(new NearestHub(graph.getHub(neighbours.indices()[i]), neighbours.distancesKm()[i]));
+        }
+        return hubs;
+    }
+
+    /**
+     * @param lat latitude in degrees
+     * @param lon longitude in degrees
+     * @return the closest hub, or {@code null} if no hub has a location
+     */
+    public NearestHub nearest(double lat, double lon) {
+        GeoGrid.Neighbours neighbours = grid.nearest(lat, lon, 1);
+        return neighbours.size() == 0
+                ? null
+                : new NearestHub(graph.getHub(neighbours.indices()[0]), neighbours.distancesKm()[0]);
+    }
+}
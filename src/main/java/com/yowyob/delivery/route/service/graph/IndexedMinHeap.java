@@ -0,0 +1,152 @@
+package com.yowyob.delivery.route.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of {@code int} nodes keyed by primitive {@code double}
+ * priorities, with a position index that allows true decrease-key.
+ * Each node is present at most once, so searches never accumulate stale
+ * entries. Instances are reusable: {@link #reset(int)} only clears what the
+ * previous search left behind.
+ */
+public final class IndexedMinHeap {
+
+    private int[] heap = new int[0];
+    private int[] positions = new int[0];
+    private double[] keys = new double[0];
+    private int size;
+
+    /**
+     * Empties the heap and makes room for nodes {@code 0 .. nodeCount - 1}.
+     * Allocates only when the capacity grows.
+     *
+     * @param nodeCount number of addressable nodes
+     */
+    public void reset(int nodeCount) {
+        if (positions.length < nodeCount) {
+            heap = new int[nodeCount];
+            positions = new int[nodeCount];
+            keys = new double[nodeCount];
+            Arrays.fill(positions, -1);
+        } else {
+            for (int i = 0; i < size; i++) {
+                positions[heap[i]] = -1;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * @return {@code true} if no node is queued
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of queued nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param node a node index
+     * @return {@code true} if the node is currently queued
+     */
+    public boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    /**
+     * @return the smallest queued key; undefined if the heap is empty
+     */
+    public double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * @return the node with the smallest key, without removing it
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Queues the node with the given key, or lowers its key if it is already
+     * queued with a larger one. A larger key for a queued node is ignored.
+     *
+     * @param node node index
+     * @param key  priority
+     */
+    public void insertOrDecrease(int node, double key) {
+        int position = positions[node];
+        if (position < 0) {
+            keys[node] = key;
+            heap[size] = node;
+            positions[node] = size;
+            siftUp(size++);
+        } else if (key < keys[node]) {
+            keys[node] = key;
+            siftUp(position);
+        }
+    }
+
+    /**
+     * Removes and returns the node with the smallest key.
+     *
+     * @return the removed node
+     */
+    public int poll() {
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int node = heap[position];
+        double key = keys[node];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+
+    private void siftDown(int position) {
+        int node = heap[position];
+        double key = keys[node];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+}
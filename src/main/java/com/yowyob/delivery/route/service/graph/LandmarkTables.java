@@ -0,0 +1,318 @@
+package com.yowyob.delivery.route.service.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Landmark distance tables for ALT (A*, Landmarks, Triangle inequality)
+ * searches over the directed connections of a {@link GraphSnapshot}.
+ * For every landmark {@code L} the tables hold {@code d(L, v)} and
+ * {@code d(v, L)} for all hubs, from which the triangle inequality gives a
+ * lower bound on {@code d(v, t)}. The bounds remain admissible and consistent
+ * when connection weights only increase, so tables are reused across
+ * snapshots as long as the topology is unchanged and no weight went down.
+ */
+public final class LandmarkTables {
+
+    private static final int MAGIC = 0x414C5431; // "ALT1"
+    private static final int FORMAT_VERSION = 1;
+
+    private final long topologyHash;
+    private final int hubCount;
+    private final int[] landmarks;
+    private final double[] edgeWeights;
+    private final double[] fromLandmark;
+    private final double[] toLandmark;
+
+    private LandmarkTables(long topologyHash, int hubCount, int[] landmarks, double[] edgeWeights,
+            double[] fromLandmark, double[] toLandmark) {
+        this.topologyHash = topologyHash;
+        this.hubCount = hubCount;
+        this.landmarks = landmarks;
+        this.edgeWeights = edgeWeights;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Selects up to {@code landmarkCount} landmarks by farthest-point selection
+     * and runs one forward and one backward Dijkstra from each. CPU bound.
+     *
+     * @param graph         the snapshot to preprocess
+     * @param landmarkCount number of landmarks wanted
+     * @return the computed tables
+     */
+    public static LandmarkTables compute(GraphSnapshot graph, int landmarkCount) {
+        int n = graph.getHubCount();
+        int[] landmarks = selectLandmarks(graph, Math.min(Math.max(landmarkCount, 0), n));
+        int k = landmarks.length;
+        double[] fromLandmark = new double[k * n];
+        double[] toLandmark = new double[k * n];
+        for (int l = 0; l < k; l++) {
+            SearchSpace forward = shortestPathTree(graph.getOutgoing(), n, new int[] { landmarks[l] });
+            for (int v = 0; v < n; v++) {
+                fromLandmark[l * n + v] = forward.distance(v);
+            }
+            SearchSpace backward = shortestPathTree(graph.getIncoming(), n, new int[] { landmarks[l] });
+            for (int v = 0; v < n; v++) {
+                toLandmark[l * n + v] = backward.distance(v);
+            }
+        }
+        return new LandmarkTables(topologyHash(graph), n, landmarks,
+                graph.getOutgoing().getWeights().clone(), fromLandmark, toLandmark);
+    }
+
+    /**
+     * Farthest-point selection on the undirected network: each new landmark is
+     * the hub farthest from all landmarks chosen so far, and hubs unreachable
+     * from them win, so every component gets covered.
+     */
+    private static int[] selectLandmarks(GraphSnapshot graph, int k) {
+        int n = graph.getHubCount();
+        int[] landmarks = new int[k];
+        if (k == 0) {
+            return landmarks;
+        }
+        landmarks[0] = farthest(shortestPathTree(graph.getUndirected(), n, new int[] { 0 }), n);
+        for (int chosen = 1; chosen < k; chosen++) {
+            int[] sources = Arrays.copyOf(landmarks, chosen);
+            landmarks[chosen] = farthest(shortestPathTree(graph.getUndirected(), n, sources), n);
+        }
+        return landmarks;
+    }
+
+    private static int farthest(SearchSpace space, int n) {
+        int best = 0;
+        double bestDistance = -1.0;
+        for (int v = 0; v < n; v++) {
+            double distance = space.distance(v);
+            if (distance > bestDistance) {
+                best = v;
+                bestDistance = distance;
+                if (distance == Double.POSITIVE_INFINITY) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Full multi-source Dijkstra; the returned space is only valid until the
+     * next acquisition on this thread.
+     */
+    private static SearchSpace shortestPathTree(Adjacency adjacency, int n, int[] sources) {
+        int[] offsets = adjacency.getOffsets();
+        int[] targets = adjacency.getTargets();
+        double[] weights = adjacency.getWeights();
+        SearchSpace space = SearchSpace.acquire(n);
+        IndexedMinHeap queue = space.heap();
+        for (int source : sources) {
+            space.update(source, 0.0, -1);
+            queue.insertOrDecrease(source, 0.0);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            double distance = space.distance(node);
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int next = targets[e];
+                double nextDistance = distance + weights[e];
+                if (nextDistance < space.distance(next)) {
+                    space.update(next, nextDistance, node);
+                    queue.insertOrDecrease(next, nextDistance);
+                }
+            }
+        }
+        return space;
+    }
+
+    /**
+     * Hash of the hub identifiers (in index order) and of the directed
+     * connection structure, ignoring weights.
+     *
+     * @param graph the snapshot
+     * @return a 64-bit FNV-1a style fingerprint
+     */
+    static long topologyHash(GraphSnapshot graph) {
+        long hash = 0xcbf29ce484222325L;
+        int n = graph.getHubCount();
+        hash = mix(hash, n);
+        for (int v = 0; v < n; v++) {
+            UUID id = graph.getHubId(v);
+            hash = mix(hash, id.getMostSignificantBits());
+            hash = mix(hash, id.getLeastSignificantBits());
+        }
+        Adjacency outgoing = graph.getOutgoing();
+        for (int offset : outgoing.getOffsets()) {
+            hash = mix(hash, offset);
+        }
+        int[] targets = outgoing.getTargets();
+        for (int e = 0; e < outgoing.getEdgeCount(); e++) {
+            hash = mix(hash, targets[e]);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    /**
+     * Tells whether the tables still give admissible bounds on the given
+     * snapshot: same hubs and connections, and no connection became cheaper.
+     *
+     * @param graph the snapshot to check against
+     * @return {@code true} if the tables can be used for that snapshot
+     */
+    public boolean isValidFor(GraphSnapshot graph) {
+        if (graph.getHubCount() != hubCount || topologyHash(graph) != topologyHash) {
+            return false;
+        }
+        double[] weights = graph.getOutgoing().getWeights();
+        for (int e = 0; e < edgeWeights.length; e++) {
+            if (weights[e] < edgeWeights[e]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of landmarks
+     */
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Precomputes the landmark distances of a search target so that
+     * {@link #lowerBound(int, double[])} only reads one table row per landmark.
+     *
+     * @param target destination hub index
+     * @return {@code d(L, target)} followed by {@code d(target, L)} for each
+     *         landmark
+     */
+    public double[] targetRow(int target) {
+        int k = landmarks.length;
+        double[] row = new double[2 * k];
+        for (int l = 0; l < k; l++) {
+            row[l] = fromLandmark[l * hubCount + target];
+            row[k + l] = toLandmark[l * hubCount + target];
+        }
+        return row;
+    }
+
+    /**
+     * Largest triangle-inequality bound on {@code d(hub, target)} over all
+     * landmarks. Terms involving unreachable pairs are skipped.
+     *
+     * @param hub       current hub index
+     * @param targetRow result of {@link #targetRow(int)} for the target
+     * @return a lower bound on the remaining distance, {@code 0} if none is known
+     */
+    public double lowerBound(int hub, double[] targetRow) {
+        int k = landmarks.length;
+        double bound = 0.0;
+        for (int l = 0; l < k; l++) {
+            double landmarkToHub = fromLandmark[l * hubCount + hub];
+            double landmarkToTarget = targetRow[l];
+            if (landmarkToHub != Double.POSITIVE_INFINITY && landmarkToTarget != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, landmarkToTarget - landmarkToHub);
+            }
+            double hubToLandmark = toLandmark[l * hubCount + hub];
+            double targetToLandmark = targetRow[k + l];
+            if (hubToLandmark != Double.POSITIVE_INFINITY && targetToLandmark != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, hubToLandmark - targetToLandmark);
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Writes the tables to a binary file, replacing it atomically.
+     *
+     * @param file destination path
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(topologyHash);
+            out.writeInt(hubCount);
+            out.writeInt(edgeWeights.length);
+            out.writeInt(landmarks.length);
+            for (int landmark : landmarks) {
+                out.writeInt(landmark);
+            }
+            for (double weight : edgeWeights) {
+                out.writeDouble(weight);
+            }
+            for (double distance : fromLandmark) {
+                out.writeDouble(distance);
+            }
+            for (double distance : toLandmark) {
+                out.writeDouble(distance);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads tables previously saved with {@link #write(Path)}.
+     *
+     * @param file source path
+     * @return the tables
+     * @throws IOException if the file is missing, truncated or not a landmark
+     *                     table file
+     */
+    public static LandmarkTables read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a landmark table file: " + file);
+            }
+            long topologyHash = in.readLong();
+            int hubCount = in.readInt();
+            int edgeCount = in.readInt();
+            int landmarkCount = in.readInt();
+            if (hubCount < 0 || edgeCount < 0 || landmarkCount < 0 || landmarkCount > hubCount) {
+                throw new IOException("Corrupted landmark table header: " + file);
+            }
+            int[] landmarks = new int[landmarkCount];
+            for (int l = 0; l < landmarkCount; l++) {
+                landmarks[l] = in.readInt();
+            }
+            double[] edgeWeights = new double[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                edgeWeights[e] = in.readDouble();
+            }
+            double[] fromLandmark = new double[landmarkCount * hubCount];
+            for (int i = 0; i < fromLandmark.length; i++) {
+                fromLandmark[i] = in.readDouble();
+            }
+            double[] toLandmark = new double[landmarkCount * hubCount];
+            for (int i = 0; i < toLandmark.length; i++) {
+                toLandmark[i] = in.readDouble();
+            }
+            return new LandmarkTables(topologyHash, hubCount, landmarks, edgeWeights, fromLandmark, toLandmark);
+        }
+    }
+}
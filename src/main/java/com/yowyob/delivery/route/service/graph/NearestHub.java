@@ -0,0 +1,12 @@
+package com.yowyob.delivery.route.service.graph;
+
+import com.yowyob.delivery.route.domain.entity.Hub;
+
+/**
+ * A hub found by a nearest-hub lookup.
+ *
+ * @param hub        the hub
+ * @param distanceKm great-circle distance from the looked-up position, in kilometers
+ */
+public record NearestHub(Hub hub, double distanceKm) {
+}
@@ -0,0 +1,61 @@
+package com.yowyob.delivery.route.service.graph;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory spatial index of the hub locations, used to resolve raw
+ * coordinates to hubs without querying PostGIS.
+ * A {@link HubGrid} is rebuilt whenever the {@link RoutingGraph} publishes a
+ * new snapshot, i.e. after hubs are created or imported.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NearestHubIndex {
+
+    private final RoutingGraph routingGraph;
+    private final AtomicReference<HubGrid> current = new AtomicReference<>();
+
+    /**
+     * Returns the index of the current hub network. Once the graph is loaded
+     * this completes immediately; lookups on the returned grid are then pure
+     * in-memory computations.
+     *
+     * @return a Mono emitting the hub grid
+     */
+    public Mono<HubGrid> grid() {
+        return routingGraph.snapshot().map(this::gridFor);
+    }
+
+    /**
+     * Rebuilds the index as soon as a new snapshot is installed.
+     *
+     * @param event the refresh notification
+     */
+    @EventListener
+    public void onRoutingGraphRefreshed(RoutingGraphRefreshedEvent event) {
+        HubGrid grid = gridFor(event.getSnapshot());
+        log.debug("Nearest-hub index v{} built over {} hubs", grid.getVersion(), grid.size());
+    }
+
+    /**
+     * Returns the index built for the given snapshot, building it if needed.
+     * Only the most recent index is kept.
+     */
+    private HubGrid gridFor(GraphSnapshot graph) {
+        HubGrid grid = current.get();
+        if (grid != null && grid.getVersion() == graph.getVersion()) {
+            return grid;
+        }
+        HubGrid built = HubGrid.build(graph);
+        current.accumulateAndGet(built,
+                (previous, next) -> previous == null || next.getVersion() > previous.getVersion() ? next : previous);
+        return built;
+    }
+}
@@ -0,0 +1,61 @@
+package com.yowyob.delivery.route.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * Single-source Dijkstra sweep that stops as soon as every requested target
+ * has been settled. One sweep fills one row of a distance matrix.
+ */
+public final class OneToManySearch {
+
+    private OneToManySearch() {
+    }
+
+    /**
+     * Computes the shortest-path weight from {@code source} to each target.
+     * Uses the calling thread's pooled {@link SearchSpace}, so rows can be
+     * computed concurrently on different threads.
+     *
+     * @param adjacency the edges to follow
+     * @param nodeCount number of nodes of the graph
+     * @param source    origin node
+     * @param targets   destination nodes, duplicates allowed
+     * @return the distances aligned with {@code targets},
+     *         {@link Double#POSITIVE_INFINITY} for unreachable targets
+     */
+    public static double[] distances(Adjacency adjacency, int nodeCount, int source, int[] targets) {
+        int[] pending = Arrays.stream(targets).distinct().sorted().toArray();
+        int remaining = pending.length;
+
+        int[] offsets = adjacency.getOffsets();
+        int[] edgeTargets = adjacency.getTargets();
+        double[] weights = adjacency.getWeights();
+
+        SearchSpace space = SearchSpace.acquire(nodeCount);
+        IndexedMinHeap queue = space.heap();
+        space.update(source, 0.0, -1);
+        queue.insertOrDecrease(source, 0.0);
+
+        while (remaining > 0 && !queue.isEmpty()) {
+            int node = queue.poll();
+            if (Arrays.binarySearch(pending, node) >= 0) {
+                remaining--;
+            }
+            double distance = space.distance(node);
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                int next = edgeTargets[e];
+                double nextDistance = distance + weights[e];
+                if (nextDistance < space.distance(next)) {
+                    space.update(next, nextDistance, node);
+                    queue.insertOrDecrease(next, nextDistance);
+                }
+            }
+        }
+
+        double[] row = new double[targets.length];
+        for (int j = 0; j < targets.length; j++) {
+            row[j] = space.distance(targets[j]);
+        }
+        return row;
+    }
+}
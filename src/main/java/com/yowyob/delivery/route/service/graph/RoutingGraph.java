@@ -0,0 +1,102 @@
+package com.yowyob.delivery.route.service.graph;
+
+import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.repository.HubRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shared, in-memory cache of the hub network.
+ * Loads hubs and connections once into an immutable {@link GraphSnapshot} that
+ * every graph-based routing strategy reads from. A rebuild swaps the snapshot
+ * atomically, so in-flight searches keep working on the previous one, and
+ * announces it with a {@link RoutingGraphRefreshedEvent}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoutingGraph {
+
+    private final HubRepository hubRepository;
+    private final HubConnectionRepository connectionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<GraphSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<Mono<GraphSnapshot>> pendingLoad = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * Returns the current snapshot. The graph is (re)loaded from the database on
+     * first use and after {@link #invalidate()}; concurrent callers share the same
+     * load.
+     *
+     * @return a Mono emitting the current graph snapshot
+     */
+    public Mono<GraphSnapshot> snapshot() {
+        GraphSnapshot snapshot = current.get();
+        if (snapshot != null && !stale.get()) {
+            return Mono.just(snapshot);
+        }
+        Mono<GraphSnapshot> load = load()
+                .doFinally(signal -> pendingLoad.set(null))
+                .cache(value -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO);
+        Mono<GraphSnapshot> witness = pendingLoad.compareAndExchange(null, load);
+        return witness != null ? witness : load;
+    }
+
+    /**
+     * Marks the cached graph as outdated. The next {@link #snapshot()} call
+     * rebuilds it. Must be called whenever hubs or connections are modified.
+     */
+    public void invalidate() {
+        stale.set(true);
+    }
+
+    /**
+     * Invalidates the cached graph and rebuilds it immediately.
+     *
+     * @return a Mono emitting the freshly built snapshot
+     */
+    public Mono<GraphSnapshot> refresh() {
+        invalidate();
+        return snapshot();
+    }
+
+    private Mono<GraphSnapshot> load() {
+        return Mono.defer(() -> {
+            // Cleared before reading so that changes made during the load trigger another one
+            stale.set(false);
+            long version = versions.incrementAndGet();
+            return Mono.zip(hubRepository.findAllWithLocation().collectList(),
+                            connectionRepository.findAll().collectList())
+                    .map(tuple -> GraphSnapshot.build(version, tuple.getT1(), tuple.getT2()))
+                    .doOnNext(this::publish)
+                    .doOnError(e -> {
+                        stale.set(true);
+                        log.error("Failed to load routing graph", e);
+                    });
+        });
+    }
+
+    /**
+     * Installs the snapshot unless a more recent one has already been published.
+     */
+    private void publish(GraphSnapshot snapshot) {
+        GraphSnapshot installed = current.accumulateAndGet(snapshot,
+                (previous, next) -> previous == null || next.getVersion() > previous.getVersion() ? next : previous);
+        if (installed == snapshot) {
+            log.info("Routing graph v{} loaded: {} hubs, {} connections",
+                    snapshot.getVersion(), snapshot.getHubCount(), snapshot.getConnectionCount());
+            eventPublisher.publishEvent(new RoutingGraphRefreshedEvent(snapshot));
+        }
+    }
+}
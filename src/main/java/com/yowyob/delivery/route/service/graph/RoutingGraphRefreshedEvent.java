@@ -0,0 +1,19 @@
+package com.yowyob.delivery.route.service.graph;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Application event published by {@link RoutingGraph} each time a newer
+ * {@link GraphSnapshot} is installed, so that components holding derived data
+ * (preprocessed hierarchies, spatial indexes, ...) can rebuild it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RoutingGraphRefreshedEvent {
+
+    /**
+     * The snapshot that has just become current.
+     */
+    private final GraphSnapshot snapshot;
+}
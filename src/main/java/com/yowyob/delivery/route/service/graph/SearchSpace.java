@@ -0,0 +1,110 @@
+package com.yowyob.delivery.route.service.graph;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread scratch memory for shortest-path searches: tentative distances,
+ * predecessors and the {@link IndexedMinHeap} queue.
+ * Instances are pooled in a {@link ThreadLocal}; only the entries touched by
+ * the previous search are reset, so after the first run on a thread a search
+ * allocates nothing. A space must not be used across threads or after
+ * returning from the synchronous block that acquired it.
+ */
+public final class SearchSpace {
+
+    private static final ThreadLocal<SearchSpace> POOL = ThreadLocal.withInitial(SearchSpace::new);
+    private static final ThreadLocal<SearchSpace> BACKWARD_POOL = ThreadLocal.withInitial(SearchSpace::new);
+
+    private double[] distances = new double[0];
+    private int[] predecessors = new int[0];
+    private int[] touched = new int[0];
+    private int touchedCount;
+    private final IndexedMinHeap heap = new IndexedMinHeap();
+
+    private SearchSpace() {
+    }
+
+    /**
+     * Returns the calling thread's search space, cleared and sized for the
+     * given graph.
+     *
+     * @param nodeCount number of nodes of the graph to search
+     * @return a ready-to-use search space
+     */
+    public static SearchSpace acquire(int nodeCount) {
+        SearchSpace space = POOL.get();
+        space.prepare(nodeCount);
+        return space;
+    }
+
+    /**
+     * Returns a second per-thread search space, independent from the one
+     * returned by {@link #acquire(int)}, for the backward half of bidirectional
+     * searches.
+     *
+     * @param nodeCount number of nodes of the graph to search
+     * @return a ready-to-use search space
+     */
+    public static SearchSpace acquireBackward(int nodeCount) {
+        SearchSpace space = BACKWARD_POOL.get();
+        space.prepare(nodeCount);
+        return space;
+    }
+
+    private void prepare(int nodeCount) {
+        if (distances.length < nodeCount) {
+            distances = new double[nodeCount];
+            predecessors = new int[nodeCount];
+            touched = new int[nodeCount];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            Arrays.fill(predecessors, -1);
+        } else {
+            for (int i = 0; i < touchedCount; i++) {
+                int node = touched[i];
+                distances[node] = Double.POSITIVE_INFINITY;
+                predecessors[node] = -1;
+            }
+        }
+        touchedCount = 0;
+        heap.reset(nodeCount);
+    }
+
+    /**
+     * @param node node index
+     * @return the tentative distance, {@link Double#POSITIVE_INFINITY} if not
+     *         reached
+     */
+    public double distance(int node) {
+        return distances[node];
+    }
+
+    /**
+     * Records a (better) tentative distance for a node.
+     *
+     * @param node        node index
+     * @param distance    new tentative distance
+     * @param predecessor node it was reached from, {@code -1} for a source
+     */
+    public void update(int node, double distance, int predecessor) {
+        if (distances[node] == Double.POSITIVE_INFINITY) {
+            touched[touchedCount++] = node;
+        }
+        distances[node] = distance;
+        predecessors[node] = predecessor;
+    }
+
+    /**
+     * @return the predecessor array; entries of unreached nodes are {@code -1}.
+     *         The array may be longer than the graph.
+     */
+    public int[] predecessors() {
+        return predecessors;
+    }
+
+    /**
+     * @return the priority queue of this space
+     */
+    public IndexedMinHeap heap() {
+        return heap;
+    }
+}
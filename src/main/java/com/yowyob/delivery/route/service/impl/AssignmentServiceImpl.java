@@ -0,0 +1,218 @@
+package com.yowyob.delivery.route.service.impl;
+
+import com.yowyob.delivery.route.controller.dto.AssignmentDTO;
+import com.yowyob.delivery.route.controller.dto.AssignmentReportDTO;
+import com.yowyob.delivery.route.domain.entity.DeliveryDriver;
+import com.yowyob.delivery.route.domain.entity.Parcel;
+import com.yowyob.delivery.route.domain.entity.Vehicle;
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.DriverRepository;
+import com.yowyob.delivery.route.repository.ParcelAssignment;
+import com.yowyob.delivery.route.repository.ParcelRepository;
+import com.yowyob.delivery.route.repository.VehicleRepository;
+import com.yowyob.delivery.route.service.AssignmentService;
+import com.yowyob.delivery.route.service.assignment.DriverAssignment;
+import com.yowyob.delivery.route.service.assignment.DriverAssignmentPlanner;
+import com.yowyob.delivery.route.service.graph.NearestHubIndex;
+import com.yowyob.delivery.route.service.tracking.NearbyDriver;
+import com.yowyob.delivery.route.service.tracking.NearestDriverIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation of the automatic driver assignment.
+ * Candidate drivers are shortlisted per pickup from the in-memory
+ * {@link NearestDriverIndex}, so the size of the fleet does not matter. The
+ * matching itself is computed in memory by the {@link DriverAssignmentPlanner}
+ * on the parallel scheduler; only loading the batch and committing the result
+ * touch the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssignmentServiceImpl implements AssignmentService {
+
+    private final ParcelRepository parcelRepository;
+    private final DriverRepository driverRepository;
+    private final VehicleRepository vehicleRepository;
+    private final NearestHubIndex nearestHubIndex;
+    private final NearestDriverIndex nearestDriverIndex;
+    private final TransactionalOperator transactionalOperator;
+
+    @Value("${assignments.max-parcels:2000}")
+    private int maxParcels = 2000;
+
+    @Value("${assignments.candidates-per-parcel:10}")
+    private int candidatesPerParcel = 10;
+
+    @Value("${assignments.max-drivers-per-parcel:2}")
+    private int maxDriversPerParcel = 2;
+
+    @Value("${assignments.max-pickup-distance-km:50}")
+    private double maxPickupDistanceKm = 50;
+
+    @Override
+    public Mono<AssignmentReportDTO> assignPlannedParcels(Integer limit) {
+        int batchSize = limit != null ? limit : maxParcels;
+        if (batchSize < 1 || batchSize > maxParcels) {
+            return Mono.error(new IllegalArgumentException("limit must be between 1 and " + maxParcels));
+        }
+        long start = System.nanoTime();
+
+        return parcelRepository.findPlannedWithoutDriver(batchSize)
+                .collectList()
+                .flatMap(planned -> driverRepository.findAllByIdWithLocation(shortlist(planned))
+                        .filter(driver -> driver.getCurrentState() == DriverState.AVAILABLE
+                                && !Boolean.FALSE.equals(driver.getIsActive())
+                                && driver.getCurrentLocation() != null
+                                && driver.getVehicleId() != null)
+                        .collectList()
+                        .flatMap(drivers -> assign(planned, drivers).map(assignments -> {
+                            log.info("Assigned {} of {} planned parcels to {} shortlisted drivers in {} ms",
+                                    assignments.size(), planned.size(), drivers.size(),
+                                    (System.nanoTime() - start) / 1_000_000);
+                            return toReport(planned.size(), drivers.size(), assignments);
+                        })));
+    }
+
+    /**
+     * Plans the batch against the shortlisted drivers and commits the result.
+     *
+     * @param planned the parcels of the batch
+     * @param drivers the eligible drivers
+     * @return a Mono emitting the committed assignments
+     */
+    private Mono<List<DriverAssignment>> assign(List<Parcel> planned, List<DeliveryDriver> drivers) {
+        Set<UUID> vehicleIds = drivers.stream()
+                .map(DeliveryDriver::getVehicleId)
+                .collect(Collectors.toSet());
+        if (planned.isEmpty() || vehicleIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        log.debug("Planning {} parcels against {} shortlisted drivers", planned.size(), drivers.size());
+        return vehicleRepository.findAllById(vehicleIds)
+                .filter(vehicle -> !Boolean.FALSE.equals(vehicle.getIsActive()))
+                .collectMap(Vehicle::getId)
+                .zipWith(nearestHubIndex.grid())
+                .publishOn(Schedulers.parallel())
+                .<List<DriverAssignment>>map(context -> DriverAssignmentPlanner.plan(context.getT2(),
+                        planned, drivers, context.getT1()))
+                .flatMap(this::commit);
+    }
+
+    /**
+     * Picks the drivers worth considering from the in-memory driver index: the
+     * {@code assignments.candidates-per-parcel} nearest AVAILABLE drivers of
+     * each pickup within {@code assignments.max-pickup-distance-km}, taken
+     * rank by rank over the parcels so that every parcel gets its closest
+     * candidates first. At most {@code assignments.max-drivers-per-parcel}
+     * drivers per parcel are kept, which bounds the cost matrix whatever the
+     * size of the fleet.
+     *
+     * @param parcels the parcels of the batch
+     * @return the identifiers of the shortlisted drivers
+     */
+    private Set<UUID> shortlist(List<Parcel> parcels) {
+        List<List<NearbyDriver>> candidates = new ArrayList<>(parcels.size());
+        for (Parcel parcel : parcels) {
+            GeoPoint pickup = parcel.getPickupLocation();
+            candidates.add(pickup == null
+                    ? List.of()
+                    : nearestDriverIndex.nearest(DriverState.AVAILABLE, pickup.lat(), pickup.lon(),
+                            candidatesPerParcel, maxPickupDistanceKm));
+        }
+        long limit = (long) parcels.size() * maxDriversPerParcel;
+        Set<UUID> driverIds = new LinkedHashSet<>();
+        for (int rank = 0; rank < candidatesPerParcel; rank++) {
+            for (List<NearbyDriver> nearby : candidates) {
+                if (driverIds.size() >= limit) {
+                    return driverIds;
+                }
+                if (rank < nearby.size()) {
+                    driverIds.add(nearby.get(rank).driverId());
+                }
+            }
+        }
+        return driverIds;
+    }
+
+    /**
+     * Writes the planned assignments in one transaction. The drivers are
+     * claimed first, so a driver who left the AVAILABLE state since the batch
+     * was loaded gets no parcel; drivers whose parcel was assigned
+     * concurrently are released again.
+     *
+     * @param planned the assignments computed by the planner
+     * @return a Mono emitting the assignments actually committed
+     */
+    private Mono<List<DriverAssignment>> commit(List<DriverAssignment> planned) {
+        if (planned.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        Set<UUID> driverIds = planned.stream()
+                .map(assignment -> assignment.driver().getId())
+                .collect(Collectors.toSet());
+
+        Mono<List<DriverAssignment>> work = driverRepository
+                .updateStates(driverIds, DriverState.AVAILABLE, DriverState.ASSIGNED)
+                .collect(Collectors.toSet())
+                .flatMap(claimed -> {
+                    List<DriverAssignment> candidates = planned.stream()
+                            .filter(assignment -> claimed.contains(assignment.driver().getId()))
+                            .toList();
+                    List<ParcelAssignment> rows = candidates.stream()
+                            .map(assignment -> new ParcelAssignment(assignment.parcel().getId(),
+                                    assignment.driver().getId(), assignment.vehicleId()))
+                            .toList();
+                    return parcelRepository.assignDrivers(rows)
+                            .collect(Collectors.toSet())
+                            .flatMap(assignedParcels -> {
+                                List<DriverAssignment> assigned = candidates.stream()
+                                        .filter(assignment -> assignedParcels.contains(assignment.parcel().getId()))
+                                        .toList();
+                                Set<UUID> released = new HashSet<>(claimed);
+                                assigned.forEach(assignment -> released.remove(assignment.driver().getId()));
+                                return driverRepository
+                                        .updateStates(released, DriverState.ASSIGNED, DriverState.AVAILABLE)
+                                        .then(Mono.just(assigned));
+                            });
+                });
+
+        return transactionalOperator.transactional(work)
+                .doOnSuccess(assigned -> assigned.forEach(assignment ->
+                        nearestDriverIndex.updateState(assignment.driver().getId(), DriverState.ASSIGNED)));
+    }
+
+    private AssignmentReportDTO toReport(int parcelCount, int driverCount, List<DriverAssignment> assignments) {
+        List<AssignmentDTO> dtos = assignments.stream()
+                .map(assignment -> AssignmentDTO.builder()
+                        .parcelId(assignment.parcel().getId())
+                        .trackingCode(assignment.parcel().getTrackingCode())
+                        .driverId(assignment.driver().getId())
+                        .vehicleId(assignment.vehicleId())
+                        .distanceKm(assignment.distanceKm())
+                        .build())
+                .toList();
+        return AssignmentReportDTO.builder()
+                .parcelsConsidered(parcelCount)
+                .driversConsidered(driverCount)
+                .unassigned(parcelCount - assignments.size())
+                .totalDistanceKm(assignments.stream().mapToDouble(DriverAssignment::distanceKm).sum())
+                .assignments(dtos)
+                .build();
+    }
+}
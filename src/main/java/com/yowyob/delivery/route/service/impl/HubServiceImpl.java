@@ -2,10 +2,15 @@ package com.yowyob.delivery.route.service.impl;
 
 import com.yowyob.delivery.route.controller.dto.GeoPointRequestDTO;
 import com.yowyob.delivery.route.controller.dto.GeoPointResponseDTO;
+import com.yowyob.delivery.route.controller.dto.NearestHubDTO;
 import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.enums.HubType;
+import com.yowyob.delivery.route.domain.geometry.BoundingBox;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import com.yowyob.delivery.route.repository.HubRepository;
 import com.yowyob.delivery.route.service.HubService;
+import com.yowyob.delivery.route.service.graph.NearestHubIndex;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,8 +19,6 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Service implementation for managing logistics hubs and geographical points.
@@ -26,26 +29,28 @@ import java.util.regex.Pattern;
 public class HubServiceImpl implements HubService {
 
     private final HubRepository hubRepository;
+    private final RoutingGraph routingGraph;
+    private final NearestHubIndex nearestHubIndex;
 
-    // Pattern pour extraire lat/lon depuis WKT: "POINT(lon lat)"
-    private static final Pattern WKT_PATTERN = Pattern.compile("POINT\\s*\\(\\s*([\\d.-]+)\\s+([\\d.-]+)\\s*\\)");
+    /**
+     * Largest number of hubs a nearest-hub lookup can return.
+     */
+    static final int MAX_NEAREST_HUBS = 100;
 
     @Override
     @Transactional
     public Mono<GeoPointResponseDTO> createHub(GeoPointRequestDTO request) {
         log.info("Creating hub: {}", request.getAddress());
 
-        // Convertir lat/lon en WKT format: POINT(longitude latitude)
-        String wkt = String.format(java.util.Locale.US, "POINT(%f %f)", request.getLongitude(), request.getLatitude());
-
         Hub hub = Hub.builder()
                 .address(request.getAddress())
                 .type(HubType.valueOf(request.getType()))
-                .location(wkt)
+                .location(new GeoPoint(request.getLongitude(), request.getLatitude()))
                 .build();
 
         return hubRepository.saveWithGeometry(hub)
                 .doOnSuccess(saved -> log.info("Hub created with ID: {}", saved.getId()))
+                .doOnSuccess(saved -> routingGraph.invalidate())
                 .map(this::toResponseDTO);
     }
 
@@ -68,45 +73,50 @@ public class HubServiceImpl implements HubService {
                 .doOnComplete(() -> log.debug("Finished fetching all hubs"));
     }
 
+    @Override
+    public Flux<GeoPointResponseDTO> findHubsInBoundingBox(BoundingBox box) {
+        return hubRepository.findAllInBoundingBox(box)
+                .map(this::toResponseDTO);
+    }
+
+    @Override
+    public Flux<GeoPointResponseDTO> findHubsWithinRadius(GeoPoint center, double radiusKm) {
+        if (!(radiusKm > 0) || Double.isInfinite(radiusKm)) {
+            return Flux.error(new IllegalArgumentException("radiusKm must be a positive number"));
+        }
+        return hubRepository.findAllWithinRadius(center, radiusKm * 1000.0)
+                .map(this::toResponseDTO);
+    }
+
+    @Override
+    public Flux<NearestHubDTO> findNearestHubs(double latitude, double longitude, int k) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            return Flux.error(new IllegalArgumentException("lat must be within [-90, 90] and lon within [-180, 180]"));
+        }
+        if (k < 1 || k > MAX_NEAREST_HUBS) {
+            return Flux.error(new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST_HUBS));
+        }
+        return nearestHubIndex.grid()
+                .flatMapIterable(grid -> grid.nearest(latitude, longitude, k))
+                .map(nearest -> NearestHubDTO.builder()
+                        .hub(toResponseDTO(nearest.hub()))
+                        .distanceKm(nearest.distanceKm())
+                        .build());
+    }
+
     /**
      * Convertit une entité Hub en DTO de réponse.
-     * Parse le WKT pour extraire latitude et longitude.
+     * Un hub sans position est exposé en (0, 0).
      */
     private GeoPointResponseDTO toResponseDTO(Hub hub) {
-        double[] coordinates = parseWKT(hub.getLocation());
+        GeoPoint location = hub.getLocation() != null ? hub.getLocation() : new GeoPoint(0.0, 0.0);
 
         return GeoPointResponseDTO.builder()
                 .id(hub.getId())
                 .address(hub.getAddress())
-                .longitude(coordinates[0])
-                .latitude(coordinates[1])
+                .longitude(location.lon())
+                .latitude(location.lat())
                 .type(hub.getType().name())
                 .build();
     }
-
-    /**
-     * Parse une chaîne WKT pour extraire longitude et latitude.
-     * Format attendu: "POINT(longitude latitude)"
-     */
-    private double[] parseWKT(String wkt) {
-        if (wkt == null || wkt.trim().isEmpty()) {
-            log.warn("Empty WKT string, returning default coordinates");
-            return new double[] { 0.0, 0.0 };
-        }
-
-        Matcher matcher = WKT_PATTERN.matcher(wkt);
-        if (matcher.find()) {
-            try {
-                double longitude = Double.parseDouble(matcher.group(1));
-                double latitude = Double.parseDouble(matcher.group(2));
-                return new double[] { longitude, latitude };
-            } catch (NumberFormatException e) {
-                log.error("Failed to parse coordinates from WKT: {}", wkt, e);
-                return new double[] { 0.0, 0.0 };
-            }
-        }
-
-        log.warn("Invalid WKT format: {}", wkt);
-        return new double[] { 0.0, 0.0 };
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,339 @@
+package com.yowyob.delivery.route.service.impl;
+
+import com.yowyob.delivery.route.controller.dto.ImportReportDTO;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.enums.HubType;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.NetworkImportService;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Implementation of {@link NetworkImportService}.
+ * The CSV content is decoded line by line as it arrives, so memory use is
+ * bounded by the batch size rather than by the file size. Valid rows are
+ * grouped in batches written with one multi-row upsert each, and the routing
+ * graph is refreshed once per import instead of once per hub.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NetworkImportServiceImpl implements NetworkImportService {
+
+    /**
+     * Validation errors kept in the report; the others are only counted.
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Largest value of the {@code hub_connections.weight DECIMAL(10,2)} column.
+     */
+    private static final double MAX_WEIGHT = 99_999_999.99;
+
+    private final HubRepository hubRepository;
+    private final HubConnectionRepository connectionRepository;
+    private final RoutingGraph routingGraph;
+
+    @Value("${network-import.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Override
+    public Mono<ImportReportDTO> importHubs(Flux<DataBuffer> csv) {
+        return importHubRows(csv).flatMap(report -> refreshGraph().thenReturn(report));
+    }
+
+    @Override
+    public Mono<ImportReportDTO> importConnections(Flux<DataBuffer> csv) {
+        return importConnectionRows(csv).flatMap(report -> refreshGraph().thenReturn(report));
+    }
+
+    @Override
+    public Mono<List<ImportReportDTO>> importNetwork(Flux<DataBuffer> hubsCsv, Flux<DataBuffer> connectionsCsv) {
+        // Connections reference hubs, so they are only read once all hubs are written
+        return importHubRows(hubsCsv)
+                .zipWhen(hubs -> importConnectionRows(connectionsCsv))
+                .flatMap(reports -> refreshGraph().thenReturn(List.of(reports.getT1(), reports.getT2())));
+    }
+
+    private Mono<ImportReportDTO> importHubRows(Flux<DataBuffer> csv) {
+        return importRows(csv, "hubs", List.of("address", "latitude", "longitude"),
+                this::parseHub, Hub::getId, hubRepository::upsertAll);
+    }
+
+    private Mono<ImportReportDTO> importConnectionRows(Flux<DataBuffer> csv) {
+        return importRows(csv, "connections", List.of("fromhubid", "tohubid", "weight"),
+                this::parseConnection, connection -> List.of(connection.getFromHubId(), connection.getToHubId()),
+                connectionRepository::upsertAll);
+    }
+
+    private Mono<Void> refreshGraph() {
+        return routingGraph.refresh()
+                .then()
+                // The import itself succeeded; the graph is retried on next use
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    /**
+     * Streams the CSV rows through the parser and writes the valid ones in
+     * batches. Within a batch the last row wins for duplicate keys, since a
+     * single upsert statement cannot touch the same row twice.
+     */
+    private <T> Mono<ImportReportDTO> importRows(Flux<DataBuffer> csv, String kind, List<String> requiredColumns,
+            Function<CsvRow, T> parser, Function<T, Object> key, Function<List<T>, Mono<Long>> writer) {
+        return Mono.defer(() -> {
+            ImportProgress progress = new ImportProgress();
+            long start = System.nanoTime();
+            // Delimiters are kept so that blank lines are emitted too and line numbers stay exact
+            return StringDecoder.allMimeTypes(List.of("\n"), false)
+                    .decode(csv, ResolvableType.forClass(String.class), null, null)
+                    .map(NetworkImportServiceImpl::stripLineBreak)
+                    .index()
+                    .switchOnFirst((first, lines) -> {
+                        if (!first.hasValue()) {
+                            return first.isOnError() ? Flux.error(first.getThrowable()) : Flux.empty();
+                        }
+                        Map<String, Integer> header = parseHeader(first.get().getT2());
+                        for (String column : requiredColumns) {
+                            if (!header.containsKey(column)) {
+                                return Flux.error(new IllegalArgumentException(
+                                        "Missing column '" + column + "' in " + kind + " CSV header"));
+                            }
+                        }
+                        return lines.skip(1)
+                                .filter(line -> !line.getT2().isBlank())
+                                .<T>handle((line, sink) -> {
+                                    progress.rowsRead++;
+                                    try {
+                                        sink.next(parser.apply(new CsvRow(header, splitLine(line.getT2()))));
+                                    } catch (IllegalArgumentException e) {
+                                        progress.reject(line.getT1() + 1, e.getMessage());
+                                    }
+                                });
+                    })
+                    .buffer(batchSize)
+                    .concatMap(batch -> {
+                        Map<Object, T> unique = new LinkedHashMap<>();
+                        for (T row : batch) {
+                            unique.put(key.apply(row), row);
+                        }
+                        return writer.apply(new ArrayList<>(unique.values()))
+                                .doOnNext(written -> {
+                                    progress.rowsImported += written;
+                                    progress.rowsSkipped += batch.size() - written;
+                                });
+                    })
+                    .then(Mono.fromSupplier(() -> {
+                        log.info("Imported {} {} out of {} rows ({} rejected, {} skipped) in {} ms",
+                                progress.rowsImported, kind, progress.rowsRead, progress.rowsRejected,
+                                progress.rowsSkipped, (System.nanoTime() - start) / 1_000_000);
+                        return progress.toReport();
+                    }));
+        });
+    }
+
+    private Hub parseHub(CsvRow row) {
+        String id = row.get("id");
+        String address = row.require("address");
+        if (address.length() > 500) {
+            throw new IllegalArgumentException("address must be at most 500 characters");
+        }
+        String type = row.get("type");
+        double latitude = row.requireDouble("latitude");
+        double longitude = row.requireDouble("longitude");
+        if (latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("latitude must be between -90 and 90");
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("longitude must be between -180 and 180");
+        }
+        return Hub.builder()
+                .id(id != null ? parseUuid("id", id) : UUID.randomUUID())
+                .address(address)
+                .type(type != null ? parseHubType(type) : HubType.WAREHOUSE)
+                .location(new GeoPoint(longitude, latitude))
+                .build();
+    }
+
+    private HubConnection parseConnection(CsvRow row) {
+        UUID from = parseUuid("fromHubId", row.require("fromhubid"));
+        UUID to = parseUuid("toHubId", row.require("tohubid"));
+        double weight = row.requireDouble("weight");
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("fromHubId and toHubId must differ");
+        }
+        if (weight < 0 || weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("weight must be between 0 and " + MAX_WEIGHT);
+        }
+        return HubConnection.builder()
+                .fromHubId(from)
+                .toHubId(to)
+                .weight(weight)
+                .build();
+    }
+
+    private static UUID parseUuid(String column, String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column + " is not a valid UUID: " + value);
+        }
+    }
+
+    private static HubType parseHubType(String value) {
+        try {
+            return HubType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown hub type: " + value);
+        }
+    }
+
+    private static String stripLineBreak(String line) {
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * Maps normalized column names to their position. Names are compared
+     * without case, spaces or underscores, and a few aliases are accepted.
+     */
+    static Map<String, Integer> parseHeader(String line) {
+        List<String> columns = splitLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+            header.putIfAbsent(switch (name) {
+                case "lat" -> "latitude";
+                case "lon", "lng" -> "longitude";
+                case "from" -> "fromhubid";
+                case "to" -> "tohubid";
+                default -> name;
+            }, i);
+        }
+        return header;
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting, without line breaks inside
+     * quoted fields).
+     */
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * One data row, accessed by normalized column name.
+     */
+    private record CsvRow(Map<String, Integer> header, List<String> fields) {
+
+        String get(String column) {
+            Integer index = header.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        String require(String column) {
+            String value = get(column);
+            if (value == null) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return value;
+        }
+
+        double requireDouble(String column) {
+            String value = require(column);
+            try {
+                double number = Double.parseDouble(value);
+                if (Double.isFinite(number)) {
+                    return number;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    /**
+     * Counters of one import; only touched sequentially by the import pipeline.
+     */
+    private static class ImportProgress {
+        long rowsRead;
+        long rowsImported;
+        long rowsRejected;
+        long rowsSkipped;
+        final List<String> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rowsRejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + line + ": " + message);
+            }
+        }
+
+        ImportReportDTO toReport() {
+            return ImportReportDTO.builder()
+                    .rowsRead(rowsRead)
+                    .rowsImported(rowsImported)
+                    .rowsRejected(rowsRejected)
+                    .rowsSkipped(rowsSkipped)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
@@ -1,20 +1,42 @@
 package com.yowyob.delivery.route.service.impl;
 
+import com.yowyob.delivery.route.controller.dto.BatchParcelResultDTO;
+import com.yowyob.delivery.route.controller.dto.ParcelPageDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelRequestDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelResponseDTO;
+import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.entity.Parcel;
+import com.yowyob.delivery.route.domain.enums.OutboxEventType;
 import com.yowyob.delivery.route.domain.enums.ParcelState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import com.yowyob.delivery.route.mapper.ParcelMapper;
+import com.yowyob.delivery.route.repository.ParcelCursor;
+import com.yowyob.delivery.route.repository.ParcelFilter;
 import com.yowyob.delivery.route.repository.ParcelRepository;
 import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.repository.OutboxEventRepository;
 import com.yowyob.delivery.route.service.ParcelService;
+import com.yowyob.delivery.route.service.graph.HubGrid;
+import com.yowyob.delivery.route.service.graph.NearestHub;
+import com.yowyob.delivery.route.service.graph.NearestHubIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link ParcelService} using R2DBC for reactive persistence.
@@ -25,90 +47,310 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ParcelServiceImpl implements ParcelService {
 
+    /**
+     * Largest page a client can request.
+     */
+    static final int MAX_PAGE_SIZE = 500;
+
     private final ParcelRepository parcelRepository;
     private final HubRepository hubRepository;
     private final ParcelMapper parcelMapper;
-    private final com.yowyob.delivery.route.client.PetriNetClient petriNetClient;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Validator validator;
+    private final NearestHubIndex nearestHubIndex;
+
+    @Value("${parcels.export.fetch-size:500}")
+    private int exportFetchSize = 500;
+
+    @Value("${parcels.batch.max-size:5000}")
+    private int batchMaxSize = 5000;
+
+    @Value("${parcels.batch.insert-size:200}")
+    private int batchInsertSize = 200;
+
+    @Value("${parcels.hub-snapping.max-distance-km:50}")
+    private double hubSnappingMaxDistanceKm = 50;
 
     /**
      * {@inheritDoc}
      * Converts the DTO to an entity, generates a random tracking code (TRK-XXXX),
      * sets the initial state to PLANIFIE, and saves to the repository.
+     * Locations given as coordinates are snapped to their nearest hub within
+     * {@code parcels.hub-snapping.max-distance-km}.
+     * The Petri net of the parcel is not initialised here: a PARCEL_CREATED
+     * outbox event is written in the same transaction and handled in the
+     * background by the outbox dispatcher.
      */
     @Override
+    @Transactional
     public Mono<ParcelResponseDTO> createParcel(ParcelRequestDTO request) {
-        return Mono.zip(
-            resolveLocation(request.getPickupLocation()),
-            resolveLocation(request.getDeliveryLocation())
-        ).flatMap(locations -> {
-            Parcel parcel = parcelMapper.toEntity(request);
-            
-            // Set resolved coordinates and addresses
-            parcel.setPickupLocation(locations.getT1().location);
-            if (parcel.getPickupAddress() == null || parcel.getPickupAddress().isEmpty() || parcel.getPickupAddress().equals("Address not specified")) {
-                parcel.setPickupAddress(locations.getT1().address);
-            }
-            
-            parcel.setDeliveryLocation(locations.getT2().location);
-            if (parcel.getDeliveryAddress() == null || parcel.getDeliveryAddress().isEmpty() || parcel.getDeliveryAddress().equals("Address not specified")) {
-                parcel.setDeliveryAddress(locations.getT2().address);
-            }
+        return nearestHubIndex.grid().flatMap(hubGrid -> Mono.zip(
+            resolveLocation(request.getPickupLocation(), hubGrid),
+            resolveLocation(request.getDeliveryLocation(), hubGrid)
+        )).flatMap(locations -> {
+            Parcel parcel = buildParcel(request, locations.getT1(), locations.getT2());
 
-            parcel.setTrackingCode("TRK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            parcel.setCurrentState(ParcelState.PLANNED);
-            parcel.setPriority(com.yowyob.delivery.route.domain.enums.ParcelPriority.NORMAL);
+            return parcelRepository.saveWithGeometry(parcel)
+                    .flatMap(savedParcel -> outboxEventRepository
+                            .enqueue(OutboxEventType.PARCEL_CREATED, List.of(savedParcel.getId()))
+                            .thenReturn(parcelMapper.toResponseDTO(savedParcel)));
+        });
+    }
 
-            if (parcel.getDeliveryFeeXaf() == null) {
-                parcel.setDeliveryFeeXaf(0.0);
+    /**
+     * {@inheritDoc}
+     * The hubs referenced by all requests are loaded with one query and valid
+     * parcels are inserted in chunks of {@code parcels.batch.insert-size}, each
+     * chunk in one transaction together with its PARCEL_CREATED outbox events.
+     */
+    @Override
+    public Flux<BatchParcelResultDTO> createParcels(List<ParcelRequestDTO> requests) {
+        if (requests.size() > batchMaxSize) {
+            return Flux.error(new IllegalArgumentException(
+                    "A batch cannot contain more than " + batchMaxSize + " parcels"));
+        }
+        Set<UUID> hubIds = new HashSet<>();
+        for (ParcelRequestDTO request : requests) {
+            if (request != null) {
+                addHubId(hubIds, request.getPickupLocation());
+                addHubId(hubIds, request.getDeliveryLocation());
             }
+        }
+        return Mono.zip(hubRepository.findAllByIdWithLocation(hubIds).collectMap(Hub::getId), nearestHubIndex.grid())
+                .flatMapMany(context -> Flux.range(0, requests.size())
+                        .map(i -> prepareBatchItem(i, requests.get(i), context.getT1(), context.getT2()))
+                        .buffer(batchInsertSize)
+                        .concatMap(this::persistBatch));
+    }
 
-            return parcelRepository.saveWithGeometry(parcel)
-                    .flatMap(savedParcel -> 
-                        petriNetClient.initializeParcelNet(savedParcel.getId())
-                            .map(netId -> savedParcel) // If successful, return saved parcel
-                            // Use map to transform result, but if it fails, the error will propagate
-                            .thenReturn(parcelMapper.toResponseDTO(savedParcel))
-                    );
-        });
+    /**
+     * Validates one request of a batch and builds its parcel; failures are
+     * captured in the item instead of aborting the batch.
+     */
+    private BatchItem prepareBatchItem(int index, ParcelRequestDTO request, Map<UUID, Hub> hubs, HubGrid hubGrid) {
+        if (request == null) {
+            return BatchItem.failed(index, "Parcel request is required");
+        }
+        Set<ConstraintViolation<ParcelRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return BatchItem.failed(index, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        try {
+            ResolvedLocation pickup = resolveLocation(request.getPickupLocation(), hubs, hubGrid);
+            ResolvedLocation delivery = resolveLocation(request.getDeliveryLocation(), hubs, hubGrid);
+            return BatchItem.prepared(index, buildParcel(request, pickup, delivery));
+        } catch (IllegalArgumentException e) {
+            return BatchItem.failed(index, e.getMessage());
+        }
+    }
+
+    /**
+     * Stores the parcels of a chunk and their outbox events with two
+     * multi-row inserts in a single transaction, and converts the chunk to
+     * results.
+     */
+    private Flux<BatchParcelResultDTO> persistBatch(List<BatchItem> items) {
+        List<Parcel> parcels = items.stream()
+                .filter(item -> item.parcel != null)
+                .map(item -> item.parcel)
+                .toList();
+        Mono<Void> saved = parcels.isEmpty()
+                ? Mono.empty()
+                : transactionalOperator.transactional(parcelRepository.saveAllWithGeometry(parcels)
+                        .map(Parcel::getId)
+                        .collectList()
+                        .flatMap(ids -> outboxEventRepository.enqueue(OutboxEventType.PARCEL_CREATED, ids)))
+                        .then();
+        return saved
+                .thenMany(Flux.fromIterable(items).map(this::toBatchResult))
+                .onErrorResume(e -> Flux.fromIterable(items)
+                        .map(item -> item.parcel == null
+                                ? toBatchResult(item)
+                                : toBatchResult(BatchItem.failed(item.index,
+                                        "Parcel could not be saved: " + e.getMessage()))));
+    }
+
+    private BatchParcelResultDTO toBatchResult(BatchItem item) {
+        return BatchParcelResultDTO.builder()
+                .index(item.index)
+                .parcel(item.parcel == null ? null : parcelMapper.toResponseDTO(item.parcel))
+                .error(item.error)
+                .build();
+    }
+
+    /**
+     * Outcome of the preparation of one request of a batch.
+     */
+    private static final class BatchItem {
+        final int index;
+        final Parcel parcel;
+        final String error;
+
+        private BatchItem(int index, Parcel parcel, String error) {
+            this.index = index;
+            this.parcel = parcel;
+            this.error = error;
+        }
+
+        static BatchItem prepared(int index, Parcel parcel) {
+            return new BatchItem(index, parcel, null);
+        }
+
+        static BatchItem failed(int index, String error) {
+            return new BatchItem(index, null, error);
+        }
+    }
+
+    /**
+     * Builds a new parcel from a request and its resolved locations, with a
+     * random tracking code and the initial state and priority.
+     */
+    private Parcel buildParcel(ParcelRequestDTO request, ResolvedLocation pickup, ResolvedLocation delivery) {
+        Parcel parcel = parcelMapper.toEntity(request);
+
+        // Set resolved coordinates and addresses
+        parcel.setPickupLocation(pickup.location);
+        parcel.setPickupHubId(pickup.hubId);
+        if (parcel.getPickupAddress() == null || parcel.getPickupAddress().isEmpty() || parcel.getPickupAddress().equals("Address not specified")) {
+            parcel.setPickupAddress(pickup.address);
+        }
+
+        parcel.setDeliveryLocation(delivery.location);
+        parcel.setDeliveryHubId(delivery.hubId);
+        if (parcel.getDeliveryAddress() == null || parcel.getDeliveryAddress().isEmpty() || parcel.getDeliveryAddress().equals("Address not specified")) {
+            parcel.setDeliveryAddress(delivery.address);
+        }
+
+        parcel.setTrackingCode("TRK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        parcel.setCurrentState(ParcelState.PLANNED);
+        parcel.setPriority(com.yowyob.delivery.route.domain.enums.ParcelPriority.NORMAL);
+
+        if (parcel.getDeliveryFeeXaf() == null) {
+            parcel.setDeliveryFeeXaf(0.0);
+        }
+        return parcel;
     }
 
     private static class ResolvedLocation {
-        final String location;
+        final GeoPoint location;
         final String address;
-        ResolvedLocation(String location, String address) {
+        final UUID hubId;
+        ResolvedLocation(GeoPoint location, String address) {
+            this(location, address, null);
+        }
+        ResolvedLocation(GeoPoint location, String address, UUID hubId) {
             this.location = location;
             this.address = address;
+            this.hubId = hubId;
         }
     }
 
-    private Mono<ResolvedLocation> resolveLocation(String locationStr) {
+    private Mono<ResolvedLocation> resolveLocation(String locationStr, HubGrid hubGrid) {
         if (locationStr == null || locationStr.isEmpty()) {
-            return Mono.just(new ResolvedLocation("POINT(0 0)", "Unknown"));
+            return Mono.just(new ResolvedLocation(new GeoPoint(0, 0), "Unknown"));
         }
 
         // Check if it's a UUID (Hub ID)
-        try {
-            UUID hubId = UUID.fromString(locationStr);
+        UUID hubId = parseHubId(locationStr);
+        if (hubId != null) {
             return hubRepository.findByIdWithLocation(hubId)
-                    .map(hub -> new ResolvedLocation(hub.getLocation(), hub.getAddress()))
-                    .switchIfEmpty(Mono.just(new ResolvedLocation("POINT(0 0)", "Unknown Hub")));
+                    .map(hub -> new ResolvedLocation(hub.getLocation(), hub.getAddress(), hub.getId()))
+                    .switchIfEmpty(Mono.just(new ResolvedLocation(new GeoPoint(0, 0), "Unknown Hub")));
+        }
+        try {
+            return Mono.just(snapToHub(parseLocation(locationStr), hubGrid));
         } catch (IllegalArgumentException e) {
-            // Not a UUID, assume it's already WKT or lat,lng
-            if (locationStr.toUpperCase().startsWith("POINT")) {
-                return Mono.just(new ResolvedLocation(locationStr, "Address not specified"));
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Resolves a location of a batch request against hubs loaded beforehand.
+     * Unlike a single creation, an unknown hub is an error rather than a
+     * placeholder location.
+     *
+     * @throws IllegalArgumentException if the location is not supported or
+     *                                  references an unknown hub
+     */
+    private ResolvedLocation resolveLocation(String locationStr, Map<UUID, Hub> hubs, HubGrid hubGrid) {
+        UUID hubId = parseHubId(locationStr);
+        if (hubId == null) {
+            return snapToHub(parseLocation(locationStr), hubGrid);
+        }
+        Hub hub = hubs.get(hubId);
+        if (hub == null) {
+            throw new IllegalArgumentException("Hub not found with id : '" + hubId + "'");
+        }
+        return new ResolvedLocation(hub.getLocation(), hub.getAddress(), hub.getId());
+    }
+
+    /**
+     * Attaches the nearest hub to a location given as coordinates, if one lies
+     * within {@code parcels.hub-snapping.max-distance-km}. The coordinates
+     * themselves are kept, since they are more precise than the hub's.
+     */
+    private ResolvedLocation snapToHub(ResolvedLocation resolved, HubGrid hubGrid) {
+        if (resolved.location == null) {
+            return resolved;
+        }
+        NearestHub nearest = hubGrid.nearest(resolved.location.lat(), resolved.location.lon());
+        if (nearest == null || nearest.distanceKm() > hubSnappingMaxDistanceKm) {
+            return resolved;
+        }
+        return new ResolvedLocation(resolved.location, resolved.address, nearest.hub().getId());
+    }
+
+    /**
+     * Parses a location given as WKT or as "lat,lng".
+     *
+     * @throws IllegalArgumentException if the location is in neither format
+     */
+    private static ResolvedLocation parseLocation(String locationStr) {
+        // Not a UUID, assume it's already WKT or lat,lng
+        if (locationStr.toUpperCase().startsWith("POINT")) {
+            try {
+                return new ResolvedLocation(GeoPoint.parseWkt(locationStr), "Address not specified");
+            } catch (IllegalArgumentException ex) {
+                log.warn("Failed to parse WKT location: {}", locationStr);
             }
-            // If it's "lat,lng" format, convert to WKT
-            if (locationStr.contains(",")) {
-                try {
-                    String[] parts = locationStr.split(",");
-                    double lat = Double.parseDouble(parts[0].trim());
-                    double lng = Double.parseDouble(parts[1].trim());
-                    return Mono.just(new ResolvedLocation(String.format("POINT(%f %f)", lng, lat), "Coordinates"));
-                } catch (Exception ex) {
-                    log.warn("Failed to parse coordinates: {}", locationStr);
-                }
+        }
+        // If it's "lat,lng" format, convert to a point
+        if (locationStr.contains(",")) {
+            try {
+                String[] parts = locationStr.split(",");
+                double lat = Double.parseDouble(parts[0].trim());
+                double lng = Double.parseDouble(parts[1].trim());
+                return new ResolvedLocation(new GeoPoint(lng, lat), "Coordinates");
+            } catch (Exception ex) {
+                log.warn("Failed to parse coordinates: {}", locationStr);
             }
-            return Mono.just(new ResolvedLocation(locationStr, "Address not specified"));
+        }
+        throw new IllegalArgumentException("Unsupported location: " + locationStr);
+    }
+
+    private static void addHubId(Set<UUID> hubIds, String locationStr) {
+        UUID hubId = parseHubId(locationStr);
+        if (hubId != null) {
+            hubIds.add(hubId);
+        }
+    }
+
+    /**
+     * @return the hub identifier the location refers to, or {@code null} if
+     *         it is not a UUID
+     */
+    private static UUID parseHubId(String locationStr) {
+        if (locationStr == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(locationStr);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 
@@ -124,11 +366,44 @@ public class ParcelServiceImpl implements ParcelService {
 
     /**
      * {@inheritDoc}
-     * Lists all parcels currently stored in the system.
+     * Fetches one row more than requested to know whether a next page exists,
+     * without counting the matching parcels.
+     */
+    @Override
+    public Mono<ParcelPageDTO> getParcels(ParcelFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        ParcelCursor after;
+        try {
+            after = ParcelCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        return parcelRepository.findPageWithLocations(filter, after, limit + 1)
+                .collectList()
+                .map(parcels -> {
+                    boolean hasMore = parcels.size() > limit;
+                    List<Parcel> page = hasMore ? parcels.subList(0, limit) : parcels;
+                    String nextCursor = null;
+                    if (hasMore) {
+                        Parcel last = page.get(page.size() - 1);
+                        nextCursor = new ParcelCursor(last.getCreatedAt(), last.getId()).encode();
+                    }
+                    return ParcelPageDTO.builder()
+                            .items(page.stream().map(parcelMapper::toResponseDTO).toList())
+                            .nextCursor(nextCursor)
+                            .build();
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     * Rows are fetched in chunks of {@code parcels.export.fetch-size}.
      */
     @Override
-    public Flux<ParcelResponseDTO> getAllParcels() {
-        return parcelRepository.findAll()
+    public Flux<ParcelResponseDTO> exportParcels(LocalDateTime since) {
+        return parcelRepository.streamWithLocations(since, exportFetchSize)
                 .map(parcelMapper::toResponseDTO);
     }
 }
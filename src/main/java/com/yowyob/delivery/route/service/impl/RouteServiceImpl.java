@@ -1,22 +1,43 @@
 package com.yowyob.delivery.route.service.impl;
 
+import com.yowyob.delivery.route.controller.dto.BatchRouteResultDTO;
+import com.yowyob.delivery.route.controller.dto.CoordinateDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixResponseDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixResponseDTO;
 import com.yowyob.delivery.route.controller.dto.RouteCalculationRequestDTO;
 import com.yowyob.delivery.route.controller.dto.RouteResponseDTO;
 import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
+import com.yowyob.delivery.route.controller.exception.ResourceNotFoundException;
 import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.Route;
 import com.yowyob.delivery.route.mapper.RouteMapper;
 import com.yowyob.delivery.route.repository.HubRepository;
 import com.yowyob.delivery.route.repository.RouteRepository;
 import com.yowyob.delivery.route.service.RouteService;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.OneToManySearch;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
 import com.yowyob.delivery.route.service.strategy.AStarRoutingStrategy;
+import com.yowyob.delivery.route.service.strategy.AltRoutingStrategy;
 import com.yowyob.delivery.route.service.strategy.BasicRoutingStrategy;
+import com.yowyob.delivery.route.service.strategy.BidirectionalDijkstraRoutingStrategy;
+import com.yowyob.delivery.route.service.strategy.ContractionHierarchyRoutingStrategy;
 import com.yowyob.delivery.route.service.strategy.DijkstraRoutingStrategy;
+import com.yowyob.delivery.route.service.strategy.GraphRoutingStrategy;
+import com.yowyob.delivery.route.service.strategy.OsrmMatrixProvider;
 import com.yowyob.delivery.route.service.strategy.OsrmRoutingStrategy;
 import com.yowyob.delivery.route.service.strategy.RoutingStrategy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuples;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,6 +54,22 @@ public class RouteServiceImpl implements RouteService {
         private final HubRepository hubRepository;
         private final List<RoutingStrategy> routingStrategies;
         private final RouteMapper routeMapper;
+        private final RoutingGraph routingGraph;
+        private final OsrmMatrixProvider osrmMatrixProvider;
+
+        /**
+         * Matrix cell value of an unreachable target.
+         */
+        private static final int UNREACHABLE = -1;
+
+        @Value("${routing.batch.concurrency:8}")
+        private int batchConcurrency;
+
+        @Value("${routing.batch.insert-size:200}")
+        private int batchInsertSize;
+
+        @Value("${routing.batch.max-size:5000}")
+        private int batchMaxSize = 5000;
 
         /**
          * {@inheritDoc}
@@ -48,30 +85,122 @@ public class RouteServiceImpl implements RouteService {
                                         Hub start = tuple.getT1();
                                         Hub end = tuple.getT2();
 
-                                        RoutingStrategy strategy = selectStrategy(request.getConstraints());
-                                        return strategy.calculateOptimalRoute(start, end, request.getConstraints())
-                                                        .onErrorResume(e -> {
-                                                                // Fallback to OSRM if primary strategy fails (e.g. No
-                                                                // Path Found in Dijkstra)
-                                                                return routingStrategies.stream()
-                                                                                .filter(s -> s instanceof OsrmRoutingStrategy)
-                                                                                .findFirst()
-                                                                                .map(osrm -> osrm.calculateOptimalRoute(
-                                                                                                start, end,
-                                                                                                request.getConstraints()))
-                                                                                .orElse(Mono.error(e));
-                                                        })
-                                                        .map(route -> {
-                                                                route.setParcelId(request.getParcelId());
-                                                                route.setStartHubId(start.getId());
-                                                                route.setEndHubId(end.getId());
-                                                                return route;
-                                                        })
+                                        return calculateWithFallback(null, start, end, request)
                                                         .flatMap(routeRepository::saveWithGeometry)
                                                         .map(routeMapper::toResponseDTO);
                                 });
         }
 
+        /**
+         * Runs the strategy selected by the request constraints and falls back to
+         * OSRM if it fails, then links the route to the parcel and hubs.
+         *
+         * @param graph   snapshot graph strategies must search, or {@code null} for
+         *                the current one
+         * @param start   the origin hub
+         * @param end     the destination hub
+         * @param request the originating request
+         * @return a Mono emitting the unsaved route
+         */
+        private Mono<Route> calculateWithFallback(GraphSnapshot graph, Hub start, Hub end,
+                        RouteCalculationRequestDTO request) {
+                RoutingStrategy strategy = selectStrategy(request.getConstraints());
+                Mono<Route> primary = graph != null && strategy instanceof GraphRoutingStrategy graphStrategy
+                                ? graphStrategy.calculateOptimalRoute(graph, start, end, request.getConstraints())
+                                : strategy.calculateOptimalRoute(start, end, request.getConstraints());
+                return primary
+                                .onErrorResume(e -> {
+                                        // Fallback to OSRM if primary strategy fails (e.g. No
+                                        // Path Found in Dijkstra)
+                                        return routingStrategies.stream()
+                                                        .filter(s -> s instanceof OsrmRoutingStrategy)
+                                                        .findFirst()
+                                                        .map(osrm -> osrm.calculateOptimalRoute(
+                                                                        start, end,
+                                                                        request.getConstraints()))
+                                                        .orElse(Mono.error(e));
+                                })
+                                .map(route -> {
+                                        route.setParcelId(request.getParcelId());
+                                        route.setStartHubId(start.getId());
+                                        route.setEndHubId(end.getId());
+                                        return route;
+                                });
+        }
+
+        /**
+         * {@inheritDoc}
+         * Hubs are resolved once against the current routing graph snapshot, and
+         * the graph strategies search that same snapshot for every route, so a
+         * graph refresh during the batch does not mix graph versions. Routes are
+         * computed with bounded concurrency on the parallel scheduler and stored
+         * in chunks with multi-row inserts; each chunk is emitted once persisted.
+         */
+        @Override
+        public Flux<BatchRouteResultDTO> calculateRoutes(List<RouteCalculationRequestDTO> requests) {
+                if (requests.size() > batchMaxSize) {
+                        return Flux.error(new IllegalArgumentException(
+                                        "A batch cannot contain more than " + batchMaxSize + " routes"));
+                }
+                return routingGraph.snapshot()
+                                .flatMapMany(graph -> Flux.range(0, requests.size())
+                                                .flatMap(i -> calculateBatchItem(graph, i, requests.get(i)),
+                                                                batchConcurrency)
+                                                .bufferTimeout(batchInsertSize, Duration.ofMillis(100))
+                                                .concatMap(this::persistBatch));
+        }
+
+        /**
+         * Calculates one route of a batch; failures are captured in the item
+         * instead of aborting the batch.
+         */
+        private Mono<BatchItem> calculateBatchItem(GraphSnapshot graph, int index,
+                        RouteCalculationRequestDTO request) {
+                if (request == null || request.getParcelId() == null || request.getStartHubId() == null
+                                || request.getEndHubId() == null) {
+                        return Mono.just(BatchItem.failed(index, "parcelId, startHubId and endHubId are required"));
+                }
+                int start = graph.indexOf(request.getStartHubId());
+                int end = graph.indexOf(request.getEndHubId());
+                if (start < 0 || end < 0) {
+                        UUID missing = start < 0 ? request.getStartHubId() : request.getEndHubId();
+                        return Mono.just(BatchItem.failed(index, "Hub not found with id : '" + missing + "'"));
+                }
+                return Mono.defer(() -> calculateWithFallback(graph, graph.getHub(start), graph.getHub(end), request))
+                                .subscribeOn(Schedulers.parallel())
+                                .map(route -> BatchItem.succeeded(index, route))
+                                .onErrorResume(e -> Mono.just(BatchItem.failed(index, e.getMessage())));
+        }
+
+        /**
+         * Stores the successful routes of a chunk with a single multi-row insert
+         * and converts the chunk to results.
+         */
+        private Flux<BatchRouteResultDTO> persistBatch(List<BatchItem> items) {
+                List<Route> routes = items.stream()
+                                .filter(item -> item.route != null)
+                                .map(item -> item.route)
+                                .toList();
+                Mono<Void> saved = routes.isEmpty()
+                                ? Mono.empty()
+                                : routeRepository.saveAllWithGeometry(routes).then();
+                return saved
+                                .thenMany(Flux.fromIterable(items).map(this::toBatchResult))
+                                .onErrorResume(e -> Flux.fromIterable(items)
+                                                .map(item -> item.route == null
+                                                                ? toBatchResult(item)
+                                                                : toBatchResult(BatchItem.failed(item.index,
+                                                                                "Route could not be saved: " + e.getMessage()))));
+        }
+
+        private BatchRouteResultDTO toBatchResult(BatchItem item) {
+                return BatchRouteResultDTO.builder()
+                                .index(item.index)
+                                .route(item.route == null ? null : routeMapper.toResponseDTO(item.route))
+                                .error(item.error)
+                                .build();
+        }
+
         /**
          * {@inheritDoc}
          * Finds the existing route and applies a recalculation strategy in response to
@@ -92,8 +221,8 @@ public class RouteServiceImpl implements RouteService {
          * Selects the appropriate routing algorithm strategy based on provided
          * constraints.
          *
-         * @param constraints the routing constraints (e.g., preference for DIJKSTRA or
-         *                    ASTAR)
+         * @param constraints the routing constraints (e.g., preference for DIJKSTRA,
+         *                    BIDIJKSTRA, ASTAR, ALT or CH)
          * @return the selected routing strategy implementation
          * @throws IllegalArgumentException if no matching strategy is found
          */
@@ -106,9 +235,18 @@ public class RouteServiceImpl implements RouteService {
                         case "DIJKSTRA" -> routingStrategies.stream()
                                         .filter(s -> s instanceof DijkstraRoutingStrategy)
                                         .findFirst();
+                        case "BIDIJKSTRA" -> routingStrategies.stream()
+                                        .filter(s -> s instanceof BidirectionalDijkstraRoutingStrategy)
+                                        .findFirst();
                         case "ASTAR" -> routingStrategies.stream()
                                         .filter(s -> s instanceof AStarRoutingStrategy)
                                         .findFirst();
+                        case "ALT" -> routingStrategies.stream()
+                                        .filter(s -> s instanceof AltRoutingStrategy)
+                                        .findFirst();
+                        case "CH" -> routingStrategies.stream()
+                                        .filter(s -> s instanceof ContractionHierarchyRoutingStrategy)
+                                        .findFirst();
                         case "BASIC" -> routingStrategies.stream()
                                         .filter(s -> s instanceof BasicRoutingStrategy)
                                         .findFirst();
@@ -132,4 +270,154 @@ public class RouteServiceImpl implements RouteService {
                 return routeRepository.findById(id)
                                 .map(routeMapper::toResponseDTO);
         }
+
+        /**
+         * {@inheritDoc}
+         * Runs one Dijkstra sweep per source hub on the undirected graph (same
+         * costs as the DIJKSTRA algorithm), spread over the parallel scheduler.
+         */
+        @Override
+        public Mono<DistanceMatrixResponseDTO> calculateMatrix(DistanceMatrixRequestDTO request) {
+                return routingGraph.snapshot()
+                                .flatMap(graph -> {
+                                        int[] sources = resolveHubIndices(graph, request.getSourceHubIds());
+                                        int[] targets = resolveHubIndices(graph, request.getTargetHubIds());
+
+                                        return Flux.range(0, sources.length)
+                                                        .parallel()
+                                                        .runOn(Schedulers.parallel())
+                                                        .map(i -> Tuples.of(i, OneToManySearch.distances(
+                                                                        graph.getUndirected(), graph.getHubCount(),
+                                                                        sources[i], targets)))
+                                                        .sequential()
+                                                        .collect(() -> new double[sources.length][],
+                                                                        (rows, row) -> rows[row.getT1()] = row.getT2())
+                                                        .map(rows -> toMatrixResponse(request, rows));
+                                });
+        }
+
+        /**
+         * Maps hub identifiers to their index in the routing graph.
+         *
+         * @param graph  the routing graph snapshot
+         * @param hubIds the hub identifiers
+         * @return the dense hub indices, in the same order
+         * @throws ResourceNotFoundException if a hub is not part of the graph
+         */
+        private int[] resolveHubIndices(GraphSnapshot graph, List<UUID> hubIds) {
+                int[] indices = new int[hubIds.size()];
+                for (int i = 0; i < indices.length; i++) {
+                        indices[i] = graph.indexOf(hubIds.get(i));
+                        if (indices[i] < 0) {
+                                throw new ResourceNotFoundException("Hub", "id", hubIds.get(i));
+                        }
+                }
+                return indices;
+        }
+
+        /**
+         * Converts raw distance rows into the response matrices, using the same
+         * duration estimate as the routing strategies (10 minutes per km).
+         * Unreachable cells are reported as {@code -1}; the distance rows are
+         * reused in place.
+         */
+        private DistanceMatrixResponseDTO toMatrixResponse(DistanceMatrixRequestDTO request, double[][] distances) {
+                int[][] durations = new int[distances.length][];
+                for (int i = 0; i < distances.length; i++) {
+                        durations[i] = new int[distances[i].length];
+                        for (int j = 0; j < distances[i].length; j++) {
+                                if (distances[i][j] == Double.POSITIVE_INFINITY) {
+                                        distances[i][j] = UNREACHABLE;
+                                        durations[i][j] = UNREACHABLE;
+                                } else {
+                                        durations[i][j] = (int) (distances[i][j] * 10);
+                                }
+                        }
+                }
+                return DistanceMatrixResponseDTO.builder()
+                                .sourceHubIds(request.getSourceHubIds())
+                                .targetHubIds(request.getTargetHubIds())
+                                .distancesKm(distances)
+                                .durationsMinutes(durations)
+                                .build();
+        }
+
+        /**
+         * {@inheritDoc}
+         * Requests with more than {@link OsrmMatrixRequestDTO#MAX_POINTS} sources or
+         * destinations are rejected before any OSRM call.
+         */
+        @Override
+        public Mono<OsrmMatrixResponseDTO> calculateOsrmMatrix(OsrmMatrixRequestDTO request) {
+                List<CoordinateDTO> destinations = request.getDestinations() == null
+                                || request.getDestinations().isEmpty()
+                                                ? request.getSources()
+                                                : request.getDestinations();
+                if (request.getSources().size() > OsrmMatrixRequestDTO.MAX_POINTS
+                                || destinations.size() > OsrmMatrixRequestDTO.MAX_POINTS) {
+                        return Mono.error(new IllegalArgumentException("A matrix cannot have more than "
+                                        + OsrmMatrixRequestDTO.MAX_POINTS + " sources or destinations"));
+                }
+                return osrmMatrixProvider.durations(toLonLat(request.getSources()), toLonLat(destinations))
+                                .map(matrix -> {
+                                        Double[][] durations = new Double[matrix.length][];
+                                        for (int i = 0; i < matrix.length; i++) {
+                                                durations[i] = new Double[matrix[i].length];
+                                                for (int j = 0; j < matrix[i].length; j++) {
+                                                        if (!Double.isNaN(matrix[i][j])) {
+                                                                durations[i][j] = matrix[i][j];
+                                                        }
+                                                }
+                                        }
+                                        return OsrmMatrixResponseDTO.builder()
+                                                        .sourceCount(request.getSources().size())
+                                                        .destinationCount(destinations.size())
+                                                        .durationsSeconds(durations)
+                                                        .build();
+                                });
+        }
+
+        /**
+         * Packs positions into interleaved longitude/latitude pairs.
+         */
+        private static double[] toLonLat(List<CoordinateDTO> coordinates) {
+                double[] packed = new double[coordinates.size() * 2];
+                for (int i = 0; i < coordinates.size(); i++) {
+                        packed[2 * i] = coordinates.get(i).getLongitude();
+                        packed[2 * i + 1] = coordinates.get(i).getLatitude();
+                }
+                return packed;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Mono<Void> refreshRoutingGraph() {
+                return routingGraph.refresh().then();
+        }
+
+        /**
+         * Outcome of one batch request before persistence.
+         */
+        private static final class BatchItem {
+
+                private final int index;
+                private final Route route;
+                private final String error;
+
+                private BatchItem(int index, Route route, String error) {
+                        this.index = index;
+                        this.route = route;
+                        this.error = error;
+                }
+
+                private static BatchItem succeeded(int index, Route route) {
+                        return new BatchItem(index, route, null);
+                }
+
+                private static BatchItem failed(int index, String error) {
+                        return new BatchItem(index, null, error);
+                }
+        }
 }
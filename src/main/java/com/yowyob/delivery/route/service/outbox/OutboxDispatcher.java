@@ -0,0 +1,150 @@
+package com.yowyob.delivery.route.service.outbox;
+
+import com.yowyob.delivery.route.client.PetriNetClient;
+import com.yowyob.delivery.route.config.PeriodicTask;
+import com.yowyob.delivery.route.domain.entity.OutboxEvent;
+import com.yowyob.delivery.route.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Background worker carrying out the side effects recorded in the outbox.
+ * Every {@code outbox.dispatcher.poll-interval} it claims due events in
+ * batches, handles them with bounded concurrency, deletes the successful ones
+ * with one statement and reschedules the failed ones with exponential backoff.
+ * Delivery is at-least-once: an event whose handler succeeded may be handled
+ * again if the dispatcher stops before deleting it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final PetriNetClient petriNetClient;
+
+    @Value("${outbox.dispatcher.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${outbox.dispatcher.poll-interval:1s}")
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    @Value("${outbox.dispatcher.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.dispatcher.concurrency:16}")
+    private int concurrency = 16;
+
+    @Value("${outbox.dispatcher.timeout:10s}")
+    private Duration timeout = Duration.ofSeconds(10);
+
+    @Value("${outbox.dispatcher.lease:5m}")
+    private Duration lease = Duration.ofMinutes(5);
+
+    @Value("${outbox.dispatcher.initial-backoff:5s}")
+    private Duration initialBackoff = Duration.ofSeconds(5);
+
+    @Value("${outbox.dispatcher.max-backoff:30m}")
+    private Duration maxBackoff = Duration.ofMinutes(30);
+
+    private Disposable polling;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            log.info("Outbox dispatcher disabled");
+            return;
+        }
+        polling = PeriodicTask.start(pollInterval, this::drain, "Outbox dispatch");
+    }
+
+    @PreDestroy
+    void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    /**
+     * Dispatches due events batch after batch until a batch comes back
+     * incomplete.
+     *
+     * @return a Mono emitting the number of events attempted
+     */
+    public Mono<Integer> drain() {
+        return dispatchBatch()
+                .expand(count -> count >= batchSize ? dispatchBatch() : Mono.empty())
+                .reduce(0, Integer::sum);
+    }
+
+    private Mono<Integer> dispatchBatch() {
+        return outboxEventRepository.claimDue(batchSize, lease)
+                .flatMap(this::dispatch, concurrency)
+                .collectList()
+                .flatMap(outcomes -> {
+                    List<UUID> done = outcomes.stream()
+                            .filter(outcome -> outcome.error == null)
+                            .map(outcome -> outcome.event.getId())
+                            .toList();
+                    Mono<Void> delete = done.isEmpty()
+                            ? Mono.empty()
+                            : outboxEventRepository.deleteAllById(done);
+                    Mono<Void> retry = Flux.fromIterable(outcomes)
+                            .filter(outcome -> outcome.error != null)
+                            .concatMap(outcome -> outboxEventRepository.reschedule(outcome.event.getId(),
+                                    backoff(outcome.event.getAttempts()), outcome.error))
+                            .then();
+                    if (!outcomes.isEmpty()) {
+                        log.debug("Dispatched {} outbox events, {} failed", outcomes.size(),
+                                outcomes.size() - done.size());
+                    }
+                    return delete.then(retry).thenReturn(outcomes.size());
+                });
+    }
+
+    /**
+     * Handles one event; a failure is captured in the outcome instead of
+     * aborting the batch.
+     */
+    private Mono<Outcome> dispatch(OutboxEvent event) {
+        return Mono.defer(() -> handle(event))
+                .timeout(timeout)
+                .then(Mono.fromSupplier(() -> new Outcome(event, null)))
+                .onErrorResume(e -> {
+                    log.warn("Outbox event {} {} for {} failed (attempt {}): {}", event.getId(),
+                            event.getEventType(), event.getAggregateId(), event.getAttempts(), e.toString());
+                    return Mono.just(new Outcome(event, e.toString()));
+                });
+    }
+
+    private Mono<?> handle(OutboxEvent event) {
+        return switch (event.getEventType()) {
+            case PARCEL_CREATED -> petriNetClient.initializeParcelNet(event.getAggregateId());
+        };
+    }
+
+    /**
+     * @param attempts attempts made so far, at least 1
+     * @return {@code initial-backoff * 2^(attempts - 1)}, capped at {@code max-backoff}
+     */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts, 1) - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private record Outcome(OutboxEvent event, String error) {
+    }
+}
@@ -1,22 +1,19 @@
 package com.yowyob.delivery.route.service.strategy;
 
 import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
 import com.yowyob.delivery.route.domain.entity.Hub;
-import com.yowyob.delivery.route.domain.entity.HubConnection;
 import com.yowyob.delivery.route.domain.entity.Route;
-import com.yowyob.delivery.route.mapper.HubMapper;
-import com.yowyob.delivery.route.repository.HubConnectionRepository;
-import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import com.yowyob.delivery.route.service.graph.Adjacency;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.IndexedMinHeap;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.service.graph.SearchSpace;
 import lombok.RequiredArgsConstructor;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.LineString;
-import org.locationtech.jts.geom.Point;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
-import java.util.*;
-
 /**
  * Routing strategy implementing the A* algorithm.
  * Extends Dijkstra's algorithm by using a heuristic function to guide the
@@ -24,113 +21,102 @@ import java.util.*;
  */
 @Component
 @RequiredArgsConstructor
-public class AStarRoutingStrategy implements RoutingStrategy {
+public class AStarRoutingStrategy implements GraphRoutingStrategy {
 
-    private final HubConnectionRepository connectionRepository;
-    private final HubRepository hubRepository;
-    private final HubMapper hubMapper;
-    private final GeometryFactory geometryFactory = new GeometryFactory();
+    private final RoutingGraph routingGraph;
 
     /**
      * {@inheritDoc}
-     * Executes A* search using Euclidean distance as the heuristic (h-score).
+     * Runs on the current {@link RoutingGraph} snapshot.
      */
     @Override
     public Mono<Route> calculateOptimalRoute(Hub start, Hub end, RoutingConstraintsDTO constraints) {
-        return Mono.zip(hubRepository.findAll().collectList(), connectionRepository.findAll().collectList())
-                .flatMap(tuple -> {
-                    List<Hub> allHubs = tuple.getT1();
-                    List<HubConnection> allConnections = tuple.getT2();
-
-                    Map<UUID, Double> gScore = new HashMap<>();
-                    Map<UUID, Double> fScore = new HashMap<>();
-                    Map<UUID, UUID> previous = new HashMap<>();
-                    PriorityQueue<HubScore> pq = new PriorityQueue<>(Comparator.comparing(HubScore::getFScore));
-
-                    for (Hub hub : allHubs) {
-                        gScore.put(hub.getId(), Double.MAX_VALUE);
-                        fScore.put(hub.getId(), Double.MAX_VALUE);
-                    }
+        return routingGraph.snapshot().flatMap(graph -> calculateOptimalRoute(graph, start, end, constraints));
+    }
 
-                    gScore.put(start.getId(), 0.0);
-                    double hStart = calculateHeuristic(start, end);
-                    fScore.put(start.getId(), hStart);
-                    pq.add(new HubScore(start, hStart));
-
-                    while (!pq.isEmpty()) {
-                        Hub current = pq.poll().getHub();
-                        if (current.getId().equals(end.getId()))
-                            break;
-
-                        allConnections.stream()
-                                .filter(c -> c.getFromHubId().equals(current.getId()))
-                                .forEach(connection -> {
-                                    UUID neighborId = connection.getToHubId();
-                                    double tentativeGScore = gScore.get(current.getId()) + connection.getWeight();
-
-                                    if (tentativeGScore < gScore.get(neighborId)) {
-                                        previous.put(neighborId, current.getId());
-                                        gScore.put(neighborId, tentativeGScore);
-                                        Hub neighbor = allHubs.stream().filter(h -> h.getId().equals(neighborId))
-                                                .findFirst().orElseThrow();
-                                        double hNeighbor = calculateHeuristic(neighbor, end);
-                                        fScore.put(neighborId, tentativeGScore + hNeighbor);
-
-                                        if (pq.stream().noneMatch(hs -> hs.getHub().getId().equals(neighborId))) {
-                                            pq.add(new HubScore(neighbor, fScore.get(neighborId)));
-                                        }
-                                    }
-                                });
+    /**
+     * {@inheritDoc}
+     * Executes A* search using the great-circle distance as the heuristic
+     * (h-score).
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(GraphSnapshot graph, Hub start, Hub end,
+            RoutingConstraintsDTO constraints) {
+        return Mono.defer(() -> {
+            int source = graph.indexOf(start.getId());
+            int target = graph.indexOf(end.getId());
+            if (source < 0 || target < 0) {
+                return Mono.error(new NoPathFoundException("Hub is not part of the routing graph"));
+            }
+
+            SearchSpace space = SearchSpace.acquire(graph.getHubCount());
+            IndexedMinHeap pq = space.heap();
+
+            Adjacency adjacency = graph.getOutgoing();
+            int[] offsets = adjacency.getOffsets();
+            int[] targets = adjacency.getTargets();
+            double[] weights = adjacency.getWeights();
+
+            space.update(source, 0.0, -1);
+            pq.insertOrDecrease(source, calculateHeuristic(graph, source, target));
+
+            while (!pq.isEmpty()) {
+                int current = pq.poll();
+                if (current == target)
+                    break;
+
+                double currentGScore = space.distance(current);
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    double tentativeGScore = currentGScore + weights[e];
+
+                    if (tentativeGScore < space.distance(neighbor)) {
+                        space.update(neighbor, tentativeGScore, current);
+                        double hNeighbor = calculateHeuristic(graph, neighbor, target);
+                        pq.insertOrDecrease(neighbor, tentativeGScore + hNeighbor);
                     }
+                }
+            }
 
-                    return buildRouteFromPath(start, end, previous, gScore.get(end.getId()), allHubs);
-                });
+            return buildRouteFromPath(graph, source, target, space.predecessors(), space.distance(target));
+        });
     }
 
     /**
-     * Calculates the heuristic estimate (h-score) using straight-line distance.
+     * Calculates the heuristic estimate (h-score) as the scaled great-circle
+     * distance to the target, in the same unit (km) as the connection weights.
      *
-     * @param hub current hub
-     * @param end destination hub
-     * @return the Euclidean distance between points
+     * @param graph  snapshot holding the pre-parsed hub coordinates
+     * @param hub    current hub index
+     * @param target destination hub index
+     * @return an admissible lower bound on the remaining distance
      */
-    private double calculateHeuristic(Hub hub, Hub end) {
-        Point p1 = hubMapper.wktToPoint(hub.getLocation());
-        Point p2 = hubMapper.wktToPoint(end.getLocation());
-        return p1 != null && p2 != null ? p1.distance(p2) : 0.0;
+    private double calculateHeuristic(GraphSnapshot graph, int hub, int target) {
+        return graph.lowerBoundKm(hub, target);
     }
 
     /**
      * Reconstructs the {@link Route} object by backtracking through the search
      * tree.
      *
-     * @param start         origin
-     * @param end           destination
-     * @param previous      map of path predecessors
+     * @param graph         snapshot the search ran on
+     * @param source        origin hub index
+     * @param target        destination hub index
+     * @param previous      path predecessors
      * @param totalDistance accumulated g-score
-     * @param allHubs       helper list for point lookup
      * @return a Mono emitting the final route
      */
-    private Mono<Route> buildRouteFromPath(Hub start, Hub end, Map<UUID, UUID> previous, Double totalDistance,
-            List<Hub> allHubs) {
-        if (!previous.containsKey(end.getId()) && !start.getId().equals(end.getId())) {
-            return Mono.error(new RuntimeException("No path found"));
+    private Mono<Route> buildRouteFromPath(GraphSnapshot graph, int source, int target, int[] previous,
+            double totalDistance) {
+        int[] path = GraphPaths.unwind(previous, source, target);
+        if (path == null) {
+            return Mono.error(new NoPathFoundException("No path found between hubs"));
         }
 
-        List<Coordinate> coordinates = new ArrayList<>();
-        UUID currentId = end.getId();
-        while (currentId != null) {
-            final UUID finalId = currentId;
-            Hub hub = allHubs.stream().filter(h -> h.getId().equals(finalId)).findFirst().orElseThrow();
-            Point pt = hubMapper.wktToPoint(hub.getLocation());
-            coordinates.add(0, pt.getCoordinate());
-            currentId = previous.get(currentId);
-        }
-
-        LineString path = geometryFactory.createLineString(coordinates.toArray(new Coordinate[0]));
+        Polyline geometry = GraphPaths.toPolyline(graph, path);
 
         return Mono.just(Route.builder()
-                .routeGeometry(path.toText())
+                .routeGeometry(geometry)
                 .totalDistanceKm(totalDistance)
                 .estimatedDurationMinutes((int) (totalDistance * 10))
                 .routingService("ASTAR")
@@ -145,13 +131,4 @@ public class AStarRoutingStrategy implements RoutingStrategy {
     public Mono<Route> recalculateRoute(Route currentRoute, Object incident) {
         return Mono.just(currentRoute);
     }
-
-    /**
-     * Helper class representing a hub and its current A* f-score (g + h).
-     */
-    @lombok.Value
-    private static class HubScore {
-        Hub hub;
-        Double fScore;
-    }
 }
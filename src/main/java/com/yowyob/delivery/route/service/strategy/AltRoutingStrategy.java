@@ -0,0 +1,213 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import com.yowyob.delivery.route.service.graph.Adjacency;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.IndexedMinHeap;
+import com.yowyob.delivery.route.service.graph.LandmarkTables;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.service.graph.RoutingGraphRefreshedEvent;
+import com.yowyob.delivery.route.service.graph.SearchSpace;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Routing strategy implementing ALT: A* over the directed connections with
+ * landmark-based lower bounds as the heuristic.
+ * Landmark tables are computed in the background when the
+ * {@link RoutingGraph} publishes a new snapshot, saved to a binary file and
+ * reloaded from it after a restart. Because the bounds stay valid when
+ * connection weights increase (incidents), existing tables are kept as long as
+ * the topology is unchanged and no weight decreased.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AltRoutingStrategy implements GraphRoutingStrategy {
+
+    private final RoutingGraph routingGraph;
+    private final SnapshotPreprocessing<LandmarkTables> preprocessing = new SnapshotPreprocessing<>(this::prepare);
+    private final AtomicReference<LandmarkTables> latestTables = new AtomicReference<>();
+
+    @Value("${routing.alt.landmarks:16}")
+    private int landmarkCount;
+
+    @Value("${routing.alt.table-file:data/alt-landmarks.bin}")
+    private String tableFile;
+
+    /**
+     * {@inheritDoc}
+     * Runs on the current {@link RoutingGraph} snapshot.
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(Hub start, Hub end, RoutingConstraintsDTO constraints) {
+        return routingGraph.snapshot().flatMap(graph -> calculateOptimalRoute(graph, start, end, constraints));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Executes A* search using the landmark triangle-inequality bound as the
+     * heuristic (h-score).
+     * Tables are taken as described in {@link SnapshotPreprocessing}.
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(GraphSnapshot snapshot, Hub start, Hub end,
+            RoutingConstraintsDTO constraints) {
+        return preprocessing.get(snapshot)
+                .flatMap(prepared -> {
+                    GraphSnapshot graph = prepared.graph();
+                    LandmarkTables tables = prepared.data();
+                    int source = graph.indexOf(start.getId());
+                    int target = graph.indexOf(end.getId());
+                    if (source < 0 || target < 0) {
+                        return Mono.error(new NoPathFoundException("Hub is not part of the routing graph"));
+                    }
+
+                    SearchSpace space = SearchSpace.acquire(graph.getHubCount());
+                    IndexedMinHeap pq = space.heap();
+                    double[] targetRow = tables.targetRow(target);
+
+                    Adjacency adjacency = graph.getOutgoing();
+                    int[] offsets = adjacency.getOffsets();
+                    int[] targets = adjacency.getTargets();
+                    double[] weights = adjacency.getWeights();
+
+                    space.update(source, 0.0, -1);
+                    pq.insertOrDecrease(source, tables.lowerBound(source, targetRow));
+
+                    while (!pq.isEmpty()) {
+                        int current = pq.poll();
+                        if (current == target)
+                            break;
+
+                        double currentGScore = space.distance(current);
+                        for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                            int neighbor = targets[e];
+                            double tentativeGScore = currentGScore + weights[e];
+
+                            if (tentativeGScore < space.distance(neighbor)) {
+                                space.update(neighbor, tentativeGScore, current);
+                                pq.insertOrDecrease(neighbor,
+                                        tentativeGScore + tables.lowerBound(neighbor, targetRow));
+                            }
+                        }
+                    }
+
+                    return buildRouteFromPath(graph, source, target, space.predecessors(), space.distance(target));
+                });
+    }
+
+    /**
+     * Prepares landmark tables as soon as a new snapshot is installed.
+     *
+     * @param event the refresh notification
+     */
+    @EventListener
+    public void onRoutingGraphRefreshed(RoutingGraphRefreshedEvent event) {
+        preprocessing.get(event.getSnapshot()).subscribe(
+                prepared -> {
+                },
+                error -> log.error("Landmark preprocessing of routing graph v{} failed",
+                        event.getSnapshot().getVersion(), error));
+    }
+
+    /**
+     * Reuses the tables in memory, then those on disk, and only recomputes (and
+     * saves) them when neither is valid for the snapshot.
+     */
+    private Mono<LandmarkTables> prepare(GraphSnapshot graph) {
+        return Mono.fromCallable(() -> {
+            LandmarkTables tables = latestTables.get();
+            if (tables == null || !tables.isValidFor(graph)) {
+                tables = readTables(graph);
+            }
+            if (tables == null) {
+                long startedAt = System.nanoTime();
+                tables = LandmarkTables.compute(graph, landmarkCount);
+                log.info("Landmark tables for routing graph v{} computed: {} landmarks in {} ms",
+                        graph.getVersion(), tables.getLandmarkCount(), (System.nanoTime() - startedAt) / 1_000_000);
+                writeTables(tables);
+            }
+            latestTables.set(tables);
+            return tables;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private LandmarkTables readTables(GraphSnapshot graph) {
+        Path file = Path.of(tableFile);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            LandmarkTables tables = LandmarkTables.read(file);
+            if (tables.isValidFor(graph)) {
+                log.info("Landmark tables loaded from {}", file);
+                return tables;
+            }
+            log.info("Landmark tables in {} are outdated, recomputing", file);
+        } catch (IOException e) {
+            log.warn("Could not read landmark tables from {}: {}", file, e.getMessage());
+        }
+        return null;
+    }
+
+    private void writeTables(LandmarkTables tables) {
+        Path file = Path.of(tableFile);
+        try {
+            tables.write(file);
+        } catch (IOException e) {
+            log.warn("Could not save landmark tables to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstructs the {@link Route} object by backtracking through the search
+     * tree.
+     *
+     * @param graph         snapshot the search ran on
+     * @param source        origin hub index
+     * @param target        destination hub index
+     * @param previous      path predecessors
+     * @param totalDistance accumulated g-score
+     * @return a Mono emitting the final route
+     */
+    private Mono<Route> buildRouteFromPath(GraphSnapshot graph, int source, int target, int[] previous,
+            double totalDistance) {
+        int[] path = GraphPaths.unwind(previous, source, target);
+        if (path == null) {
+            return Mono.error(new NoPathFoundException("No path found between hubs"));
+        }
+
+        Polyline geometry = GraphPaths.toPolyline(graph, path);
+
+        return Mono.just(Route.builder()
+                .routeGeometry(geometry)
+                .totalDistanceKm(totalDistance)
+                .estimatedDurationMinutes((int) (totalDistance * 10))
+                .routingService("ALT")
+                .isActive(true)
+                .build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Route> recalculateRoute(Route currentRoute, Object incident) {
+        return Mono.just(currentRoute);
+    }
+}
@@ -3,12 +3,8 @@ package com.yowyob.delivery.route.service.strategy;
 import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
 import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.entity.Route;
-import com.yowyob.delivery.route.mapper.HubMapper;
-import lombok.RequiredArgsConstructor;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.LineString;
-import org.locationtech.jts.geom.Point;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
@@ -17,31 +13,23 @@ import reactor.core.publisher.Mono;
  * Uses Euclidean distance (as the crow flies) and a simple duration multiplier.
  */
 @Component
-@RequiredArgsConstructor
 public class BasicRoutingStrategy implements RoutingStrategy {
 
-    private final GeometryFactory geometryFactory = new GeometryFactory();
-    private final HubMapper hubMapper;
-
     /**
      * {@inheritDoc}
-     * Computes a direct LineString between start and end points and calculates
+     * Computes a direct line between start and end points and calculates
      * distance.
      */
     @Override
     public Mono<Route> calculateOptimalRoute(Hub start, Hub end, RoutingConstraintsDTO constraints) {
-        Point startPt = hubMapper.wktToPoint(start.getLocation());
-        Point endPt = hubMapper.wktToPoint(end.getLocation());
+        GeoPoint startPt = start.getLocation();
+        GeoPoint endPt = end.getLocation();
 
-        Coordinate[] coordinates = new Coordinate[] {
-                startPt.getCoordinate(),
-                endPt.getCoordinate()
-        };
-        LineString path = geometryFactory.createLineString(coordinates);
-        double distance = startPt.distance(endPt);
+        Polyline path = Polyline.of(startPt, endPt);
+        double distance = Math.hypot(endPt.lon() - startPt.lon(), endPt.lat() - startPt.lat());
 
         return Mono.just(Route.builder()
-                .routeGeometry(path.toText())
+                .routeGeometry(path)
                 .totalDistanceKm(distance)
                 .estimatedDurationMinutes((int) (distance * 10))
                 .routingService("BASIC")
@@ -0,0 +1,145 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import com.yowyob.delivery.route.service.graph.Adjacency;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.IndexedMinHeap;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.service.graph.SearchSpace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routing strategy running Dijkstra's algorithm simultaneously from the start
+ * and the end hub.
+ * Like {@link DijkstraRoutingStrategy}, connections are treated as
+ * undirected, so it returns the same shortest paths while settling roughly
+ * half as many hubs on long routes.
+ */
+@Component
+@RequiredArgsConstructor
+public class BidirectionalDijkstraRoutingStrategy implements GraphRoutingStrategy {
+
+    private final RoutingGraph routingGraph;
+
+    /**
+     * {@inheritDoc}
+     * Runs on the current {@link RoutingGraph} snapshot.
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(Hub start, Hub end, RoutingConstraintsDTO constraints) {
+        return routingGraph.snapshot().flatMap(graph -> calculateOptimalRoute(graph, start, end, constraints));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Alternately expands the smaller frontier and stops once the two queue
+     * minima together can no longer improve the best meeting point found.
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(GraphSnapshot graph, Hub start, Hub end,
+            RoutingConstraintsDTO constraints) {
+        return Mono.defer(() -> {
+            int source = graph.indexOf(start.getId());
+            int target = graph.indexOf(end.getId());
+            if (source < 0 || target < 0) {
+                return Mono.error(new NoPathFoundException("Hub is not part of the routing graph"));
+            }
+
+            SearchSpace forward = SearchSpace.acquire(graph.getHubCount());
+            SearchSpace backward = SearchSpace.acquireBackward(graph.getHubCount());
+            IndexedMinHeap forwardQueue = forward.heap();
+            IndexedMinHeap backwardQueue = backward.heap();
+
+            Adjacency adjacency = graph.getUndirected();
+            int[] offsets = adjacency.getOffsets();
+            int[] targets = adjacency.getTargets();
+            double[] weights = adjacency.getWeights();
+
+            forward.update(source, 0.0, -1);
+            forwardQueue.insertOrDecrease(source, 0.0);
+            backward.update(target, 0.0, -1);
+            backwardQueue.insertOrDecrease(target, 0.0);
+
+            double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+            int meeting = source == target ? source : -1;
+
+            while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()
+                    && forwardQueue.peekKey() + backwardQueue.peekKey() < best) {
+                boolean forwardTurn = forwardQueue.size() <= backwardQueue.size();
+                SearchSpace space = forwardTurn ? forward : backward;
+                SearchSpace other = forwardTurn ? backward : forward;
+                IndexedMinHeap queue = space.heap();
+
+                int current = queue.poll();
+                double currentDist = space.distance(current);
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    double newDist = currentDist + weights[e];
+                    if (newDist < space.distance(neighbor)) {
+                        space.update(neighbor, newDist, current);
+                        queue.insertOrDecrease(neighbor, newDist);
+                        double through = newDist + other.distance(neighbor);
+                        if (through < best) {
+                            best = through;
+                            meeting = neighbor;
+                        }
+                    }
+                }
+            }
+
+            if (meeting < 0) {
+                return Mono.error(new NoPathFoundException("No path found between hubs"));
+            }
+            return Mono.just(buildRoute(graph, source, target, meeting, forward.predecessors(),
+                    backward.predecessors(), best));
+        });
+    }
+
+    /**
+     * Joins the forward branch (source to meeting hub) and the backward branch
+     * (meeting hub to target) into a single {@link Route}.
+     *
+     * @param graph                snapshot the search ran on
+     * @param source               origin hub index
+     * @param target               destination hub index
+     * @param meeting              hub where both searches met
+     * @param forwardPredecessors  predecessors of the search from the source
+     * @param backwardPredecessors predecessors of the search from the target
+     * @param totalDistance        length of the joined path
+     * @return the assembled route
+     */
+    private Route buildRoute(GraphSnapshot graph, int source, int target, int meeting, int[] forwardPredecessors,
+            int[] backwardPredecessors, double totalDistance) {
+        int[] head = GraphPaths.unwind(forwardPredecessors, source, meeting);
+        int[] tail = GraphPaths.unwind(backwardPredecessors, target, meeting);
+        int[] path = new int[head.length + tail.length - 1];
+        System.arraycopy(head, 0, path, 0, head.length);
+        for (int i = 1; i < tail.length; i++) {
+            path[head.length - 1 + i] = tail[tail.length - 1 - i];
+        }
+
+        Polyline geometry = GraphPaths.toPolyline(graph, path);
+
+        return Route.builder()
+                .routeGeometry(geometry)
+                .totalDistanceKm(totalDistance)
+                .estimatedDurationMinutes((int) (totalDistance * 10))
+                .routingService("BIDIJKSTRA")
+                .isActive(true)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Route> recalculateRoute(Route currentRoute, Object incident) {
+        return Mono.just(currentRoute);
+    }
+}
@@ -0,0 +1,125 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import com.yowyob.delivery.route.service.graph.ContractionHierarchy;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.service.graph.RoutingGraphRefreshedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Routing strategy answering queries on a {@link ContractionHierarchy}.
+ * The hierarchy is built in the background each time the {@link RoutingGraph}
+ * publishes a new snapshot (for instance after
+ * {@code POST /api/v1/routes/graph/refresh} picked up changed connection
+ * weights) and cached for that snapshot version. Like
+ * {@link DijkstraRoutingStrategy}, connections are treated as undirected, so
+ * both strategies return routes of the same length.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContractionHierarchyRoutingStrategy implements GraphRoutingStrategy {
+
+    private final RoutingGraph routingGraph;
+    private final SnapshotPreprocessing<ContractionHierarchy> preprocessing = new SnapshotPreprocessing<>(this::contract);
+
+    /**
+     * {@inheritDoc}
+     * Runs on the current {@link RoutingGraph} snapshot.
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(Hub start, Hub end, RoutingConstraintsDTO constraints) {
+        return routingGraph.snapshot().flatMap(graph -> calculateOptimalRoute(graph, start, end, constraints));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Runs a bidirectional upward search on the hierarchy of the given
+     * snapshot, waiting for its preprocessing if it is still running. A
+     * snapshot older than the previous one is answered from the newest, see
+     * {@link SnapshotPreprocessing}.
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(GraphSnapshot snapshot, Hub start, Hub end,
+            RoutingConstraintsDTO constraints) {
+        return preprocessing.get(snapshot)
+                .flatMap(prepared -> {
+                    GraphSnapshot graph = prepared.graph();
+                    ContractionHierarchy hierarchy = prepared.data();
+                    int source = graph.indexOf(start.getId());
+                    int target = graph.indexOf(end.getId());
+                    if (source < 0 || target < 0) {
+                        return Mono.error(new NoPathFoundException("Hub is not part of the routing graph"));
+                    }
+
+                    ContractionHierarchy.Path path = hierarchy.query(source, target);
+                    if (path == null) {
+                        return Mono.error(new NoPathFoundException("No path found between hubs"));
+                    }
+                    return Mono.just(buildRoute(graph, path));
+                });
+    }
+
+    /**
+     * Re-contracts the graph as soon as a new snapshot is installed, so that
+     * queries rarely have to wait for preprocessing.
+     *
+     * @param event the refresh notification
+     */
+    @EventListener
+    public void onRoutingGraphRefreshed(RoutingGraphRefreshedEvent event) {
+        preprocessing.get(event.getSnapshot()).subscribe(
+                prepared -> {
+                },
+                error -> log.error("Contraction of routing graph v{} failed", event.getSnapshot().getVersion(),
+                        error));
+    }
+
+    private Mono<ContractionHierarchy> contract(GraphSnapshot graph) {
+        return Mono.fromCallable(() -> {
+            long startedAt = System.nanoTime();
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+            log.info("Contraction hierarchy for routing graph v{} ready: {} upward edges in {} ms",
+                    graph.getVersion(), hierarchy.getEdgeCount(), (System.nanoTime() - startedAt) / 1_000_000);
+            return hierarchy;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Builds the {@link Route} from an unpacked hierarchy path.
+     *
+     * @param graph snapshot the hierarchy was built from
+     * @param path  the unpacked path
+     * @return the assembled route
+     */
+    private Route buildRoute(GraphSnapshot graph, ContractionHierarchy.Path path) {
+        Polyline geometry = GraphPaths.toPolyline(graph, path.getNodes());
+        double totalDistance = path.getDistance();
+
+        return Route.builder()
+                .routeGeometry(geometry)
+                .totalDistanceKm(totalDistance)
+                .estimatedDurationMinutes((int) (totalDistance * 10))
+                .routingService("CH")
+                .isActive(true)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Route> recalculateRoute(Route currentRoute, Object incident) {
+        return Mono.just(currentRoute);
+    }
+}
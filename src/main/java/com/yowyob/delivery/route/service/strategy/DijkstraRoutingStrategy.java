@@ -1,22 +1,21 @@
 package com.yowyob.delivery.route.service.strategy;
 
 import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
 import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.entity.HubConnection;
 import com.yowyob.delivery.route.domain.entity.Route;
-import com.yowyob.delivery.route.mapper.HubMapper;
-import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
 import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.Adjacency;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.IndexedMinHeap;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.service.graph.SearchSpace;
 import lombok.RequiredArgsConstructor;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.LineString;
-import org.locationtech.jts.geom.Point;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
-import java.util.*;
-
 /**
  * Routing strategy implementing Dijkstra's algorithm for finding the shortest
  * path in a graph.
@@ -24,109 +23,89 @@ import java.util.*;
  */
 @Component
 @RequiredArgsConstructor
-public class DijkstraRoutingStrategy implements RoutingStrategy {
+public class DijkstraRoutingStrategy implements GraphRoutingStrategy {
 
-    private final HubConnectionRepository connectionRepository;
+    private final RoutingGraph routingGraph;
     private final HubRepository hubRepository;
-    private final HubMapper hubMapper;
-    private final GeometryFactory geometryFactory = new GeometryFactory();
 
     /**
      * {@inheritDoc}
-     * Performs Dijkstra search over all hubs and connections to find the path with
-     * minimum total weight.
+     * Runs on the current {@link RoutingGraph} snapshot.
      */
     @Override
     public Mono<Route> calculateOptimalRoute(Hub start, Hub end, RoutingConstraintsDTO constraints) {
-        return Mono.zip(hubRepository.findAllWithLocation().collectList(), connectionRepository.findAll().collectList())
-                .flatMap(tuple -> {
-                    List<Hub> allHubs = tuple.getT1();
-                    List<HubConnection> allConnections = tuple.getT2();
-
-                    Map<UUID, Double> distances = new HashMap<>();
-                    Map<UUID, UUID> previous = new HashMap<>();
-                    PriorityQueue<HubDistance> pq = new PriorityQueue<>(Comparator.comparing(HubDistance::getDistance));
-
-                    for (Hub hub : allHubs) {
-                        distances.put(hub.getId(), Double.MAX_VALUE);
-                    }
-                    distances.put(start.getId(), 0.0);
-                    pq.add(new HubDistance(start, 0.0));
-
-                    while (!pq.isEmpty()) {
-                        Hub current = pq.poll().getHub();
-                        if (current.getId().equals(end.getId()))
-                            break;
-
-                        // Consider both directions so the graph behaves as undirected when appropriate
-                        allConnections.stream()
-                                .filter(c -> c.getFromHubId().equals(current.getId()) || c.getToHubId().equals(current.getId()))
-                                .forEach(connection -> {
-                                    UUID neighborId;
-                                    if (connection.getFromHubId().equals(current.getId())) {
-                                        neighborId = connection.getToHubId();
-                                    } else {
-                                        neighborId = connection.getFromHubId();
-                                    }
-
-                                    double weight = connection.getWeight() == null ? 0.0 : connection.getWeight();
-                                    double newDist = distances.get(current.getId()) + weight;
+        return routingGraph.snapshot().flatMap(graph -> calculateOptimalRoute(graph, start, end, constraints));
+    }
 
-                                    if (newDist < distances.get(neighborId)) {
-                                        distances.put(neighborId, newDist);
-                                        previous.put(neighborId, current.getId());
-                                        Hub neighbor = allHubs.stream().filter(h -> h.getId().equals(neighborId))
-                                                .findFirst().orElseThrow();
-                                        pq.add(new HubDistance(neighbor, newDist));
-                                    }
-                                });
+    /**
+     * {@inheritDoc}
+     * Performs Dijkstra search over the given snapshot to find
+     * the path with minimum total weight.
+     */
+    @Override
+    public Mono<Route> calculateOptimalRoute(GraphSnapshot graph, Hub start, Hub end,
+            RoutingConstraintsDTO constraints) {
+        return Mono.defer(() -> {
+            int source = graph.indexOf(start.getId());
+            int target = graph.indexOf(end.getId());
+            if (source < 0 || target < 0) {
+                return Mono.error(new NoPathFoundException("Hub is not part of the routing graph"));
+            }
+
+            SearchSpace space = SearchSpace.acquire(graph.getHubCount());
+            IndexedMinHeap pq = space.heap();
+
+            // Consider both directions so the graph behaves as undirected when appropriate
+            Adjacency adjacency = graph.getUndirected();
+            int[] offsets = adjacency.getOffsets();
+            int[] targets = adjacency.getTargets();
+            double[] weights = adjacency.getWeights();
+
+            space.update(source, 0.0, -1);
+            pq.insertOrDecrease(source, 0.0);
+
+            while (!pq.isEmpty()) {
+                int current = pq.poll();
+                if (current == target)
+                    break;
+
+                double currentDist = space.distance(current);
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    double newDist = currentDist + weights[e];
+                    if (newDist < space.distance(neighbor)) {
+                        space.update(neighbor, newDist, current);
+                        pq.insertOrDecrease(neighbor, newDist);
                     }
+                }
+            }
 
-                    return buildRouteFromPath(start, end, previous, distances.get(end.getId()), allHubs);
-                });
+            return buildRouteFromPath(graph, source, target, space.predecessors(), space.distance(target));
+        });
     }
 
     /**
-     * Reconstructs the {@link Route} object by backtracking through the 'previous'
-     * map.
+     * Reconstructs the {@link Route} object by backtracking through the
+     * predecessor array.
      *
-     * @param start         origin hub
-     * @param end           destination hub
-     * @param previous      map of paths found during search
+     * @param graph         snapshot the search ran on
+     * @param source        origin hub index
+     * @param target        destination hub index
+     * @param previous      predecessor of each hub found during search
      * @param totalDistance accumulated path weight
-     * @param allHubs       list of all available hubs
      * @return a Mono emitting the assembled route
      */
-    private Mono<Route> buildRouteFromPath(Hub start, Hub end, Map<UUID, UUID> previous, Double totalDistance,
-            List<Hub> allHubs) {
-        if (!previous.containsKey(end.getId()) && !start.getId().equals(end.getId())) {
-            return Mono.error(new com.yowyob.delivery.route.controller.exception.NoPathFoundException("No path found between hubs"));
-        }
-
-        List<Coordinate> coordinates = new ArrayList<>();
-        UUID currentId = end.getId();
-        while (currentId != null) {
-            final UUID finalId = currentId;
-            Hub hub = allHubs.stream().filter(h -> h.getId().equals(finalId)).findFirst().orElseThrow();
-            Point pt = hubMapper.wktToPoint(hub.getLocation());
-            coordinates.add(0, pt.getCoordinate());
-            currentId = previous.get(currentId);
+    private Mono<Route> buildRouteFromPath(GraphSnapshot graph, int source, int target, int[] previous,
+            double totalDistance) {
+        int[] path = GraphPaths.unwind(previous, source, target);
+        if (path == null) {
+            return Mono.error(new NoPathFoundException("No path found between hubs"));
         }
 
-        if (coordinates.isEmpty()) {
-            return Mono.error(new com.yowyob.delivery.route.controller.exception.NoPathFoundException("No path found between hubs"));
-        }
-
-        // JTS LineString requires at least 2 points. If start == end we duplicate the coordinate.
-        if (coordinates.size() == 1) {
-            Coordinate c = coordinates.get(0);
-            coordinates.add(new Coordinate(c.x, c.y));
-        }
-
-        LineString path = geometryFactory.createLineString(coordinates.toArray(new Coordinate[0]));
+        Polyline geometry = GraphPaths.toPolyline(graph, path);
 
         return Mono.just(Route.builder()
-                .routeGeometry(path.toText())
+                .routeGeometry(geometry)
                 .totalDistanceKm(totalDistance)
                 .estimatedDurationMinutes((int) (totalDistance * 10))
                 .routingService("DIJKSTRA")
@@ -165,14 +144,4 @@ public class DijkstraRoutingStrategy implements RoutingStrategy {
                  });
         });
     }
-
-    /**
-     * Helper class representing a hub and its current calculated distance from the
-     * start.
-     */
-    @lombok.Value
-    private static class HubDistance {
-        Hub hub;
-        Double distance;
-    }
 }
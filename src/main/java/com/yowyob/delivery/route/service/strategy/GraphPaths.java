@@ -0,0 +1,68 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+
+/**
+ * Helpers shared by the graph-based strategies to turn a search result over a
+ * {@link GraphSnapshot} into route geometry.
+ */
+final class GraphPaths {
+
+    private GraphPaths() {
+    }
+
+    /**
+     * Backtracks a predecessor array from the target to the source.
+     *
+     * @param predecessors predecessor of each node, {@code -1} for none
+     * @param source       origin node
+     * @param target       destination node
+     * @return the nodes from source to target, or {@code null} if the target was
+     *         not reached
+     */
+    static int[] unwind(int[] predecessors, int source, int target) {
+        int length = 1;
+        for (int node = target; node != source; node = predecessors[node]) {
+            if (predecessors[node] < 0) {
+                return null;
+            }
+            length++;
+        }
+        int[] path = new int[length];
+        int node = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = node;
+            node = i > 0 ? predecessors[node] : node;
+        }
+        return path;
+    }
+
+    /**
+     * Builds the polyline following the hubs of a path.
+     * A single-hub path duplicates its coordinate so the line keeps at least
+     * two points.
+     *
+     * @param graph snapshot providing hub coordinates
+     * @param path  the nodes to follow
+     * @return the path geometry
+     * @throws NoPathFoundException if a hub on the path has no location
+     */
+    static Polyline toPolyline(GraphSnapshot graph, int[] path) {
+        double[] coordinates = new double[2 * Math.max(2, path.length)];
+        for (int i = 0; i < path.length; i++) {
+            int hub = path[i];
+            if (!graph.hasLocation(hub)) {
+                throw new NoPathFoundException("Hub without location on path: " + graph.getHubId(hub));
+            }
+            coordinates[2 * i] = graph.getLongitude(hub);
+            coordinates[2 * i + 1] = graph.getLatitude(hub);
+        }
+        if (path.length == 1) {
+            coordinates[2] = coordinates[0];
+            coordinates[3] = coordinates[1];
+        }
+        return Polyline.wrap(coordinates);
+    }
+}
@@ -0,0 +1,29 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routing strategy searching the in-memory {@link RoutingGraph}.
+ * Besides the current snapshot, it can run on a snapshot chosen by the
+ * caller, so that related routes (a batch) are all computed on the same
+ * graph version even if the graph is refreshed meanwhile.
+ */
+public interface GraphRoutingStrategy extends RoutingStrategy {
+
+    /**
+     * Calculates the most optimal route between two hubs on the given graph
+     * snapshot.
+     *
+     * @param graph       the snapshot to search
+     * @param start       the origin hub
+     * @param end         the destination hub
+     * @param constraints routing parameters (algorithm, preferences, etc.)
+     * @return a Mono emitting the calculated route
+     */
+    Mono<Route> calculateOptimalRoute(GraphSnapshot graph, Hub start, Hub end, RoutingConstraintsDTO constraints);
+}
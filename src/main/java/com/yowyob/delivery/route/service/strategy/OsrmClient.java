@@ -0,0 +1,164 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Shared HTTP client for the OSRM router.
+ * A single {@link WebClient} with its own connection pool, connect and read
+ * timeouts is reused for every call. Calls go through a circuit breaker named
+ * {@code osrm}, whose state is published as {@code resilience4j.circuitbreaker.*}
+ * meters. When hedging is enabled, a second identical request is sent if the
+ * first one has not answered after the observed 95th percentile latency, and
+ * the first response wins.
+ */
+@Component
+@Slf4j
+public class OsrmClient {
+
+    public static final String CIRCUIT_BREAKER_NAME = "osrm";
+
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer latency;
+    private final Counter hedges;
+    private final boolean hedgeEnabled;
+    private final Duration hedgeMinDelay;
+
+    public OsrmClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry,
+            @Value("${osrm.client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${osrm.client.read-timeout:5s}") Duration readTimeout,
+            @Value("${osrm.client.max-connections:50}") int maxConnections,
+            @Value("${osrm.client.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${osrm.client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${osrm.client.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${osrm.client.circuit-breaker.wait-duration-in-open-state:30s}") Duration waitDurationInOpenState,
+            @Value("${osrm.client.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${osrm.client.hedge.min-delay:100ms}") Duration hedgeMinDelay) {
+        this.connectionProvider = ConnectionProvider.builder("osrm")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                // Applied per request, so idle pooled connections are kept until maxIdleTime
+                .responseTimeout(readTimeout);
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(slidingWindowSize, 10))
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // 4xx answers (e.g. NoRoute) mean the router is healthy
+                .ignoreException(e -> e instanceof WebClientResponseException response
+                        && response.getStatusCode().is4xxClientError())
+                .build());
+        this.circuitBreaker = registry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        this.latency = Timer.builder("osrm.client.requests")
+                .description("Latency of successful OSRM requests")
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        this.hedges = Counter.builder("osrm.client.hedged")
+                .description("Hedged OSRM requests sent")
+                .register(meterRegistry);
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeMinDelay = hedgeMinDelay;
+    }
+
+    /**
+     * Sends a GET request to the router and hands the streamed body to the
+     * given handler.
+     *
+     * @param uri         absolute request URI
+     * @param bodyHandler turns the response body into the result; it must
+     *                    release the buffers it consumes
+     * @param <T>         result type
+     * @return a Mono emitting the handled response, or failing with
+     *         {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException}
+     *         while the circuit breaker is open
+     */
+    public <T> Mono<T> get(String uri, Function<Flux<DataBuffer>, Mono<T>> bodyHandler) {
+        Mono<T> attempt = Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return webClient.get()
+                    .uri(uri)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .as(bodyHandler)
+                    .doOnSuccess(result -> latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+        });
+
+        Mono<T> call = attempt;
+        if (hedgeEnabled) {
+            Duration delay = hedgeDelay();
+            Mono<T> hedge = Mono.delay(delay).then(Mono.defer(() -> {
+                hedges.increment();
+                log.debug("Hedging OSRM request after {} ms: {}", delay.toMillis(), uri);
+                return attempt;
+            }));
+            call = Mono.firstWithValue(attempt, hedge)
+                    // Report the first underlying failure rather than "no value"
+                    .onErrorMap(NoSuchElementException.class,
+                            e -> e.getCause() != null ? Exceptions.unwrapMultiple(e.getCause()).get(0) : e);
+        }
+        return call.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * @return the observed 95th percentile latency, but never less than the
+     *         configured minimum delay
+     */
+    Duration hedgeDelay() {
+        long p95Nanos = 0;
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            p95Nanos = (long) value.value(TimeUnit.NANOSECONDS);
+        }
+        return p95Nanos > hedgeMinDelay.toNanos() ? Duration.ofNanos(p95Nanos) : hedgeMinDelay;
+    }
+
+    /**
+     * @return the circuit breaker guarding the router
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @PreDestroy
+    void close() {
+        connectionProvider.dispose();
+    }
+}
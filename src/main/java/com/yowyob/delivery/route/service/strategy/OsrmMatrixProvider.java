@@ -0,0 +1,138 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Driving duration matrices from the OSRM {@code table} service.
+ * Large coordinate sets are split into tiles whose source and destination
+ * counts stay within the router's {@code max-table-size}; tiles are requested
+ * concurrently through {@link OsrmClient} and parsed straight into one shared
+ * matrix.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OsrmMatrixProvider {
+
+    private final OsrmClient osrmClient;
+    private final OsrmRoutingStrategy osrmRoutingStrategy;
+
+    @Value("${osrm.table.max-coordinates:100}")
+    private int maxCoordinates;
+
+    @Value("${osrm.table.concurrency:4}")
+    private int concurrency;
+
+    /**
+     * Computes the driving duration from every source to every destination.
+     *
+     * @param sources      interleaved longitude/latitude pairs of the origins
+     * @param destinations interleaved longitude/latitude pairs of the
+     *                     destinations
+     * @return a Mono emitting durations in seconds, indexed
+     *         {@code [source][destination]}, {@link Double#NaN} where OSRM
+     *         found no route
+     */
+    public Mono<double[][]> durations(double[] sources, double[] destinations) {
+        int sourceCount = sources.length / 2;
+        int destinationCount = destinations.length / 2;
+        double[][] matrix = new double[sourceCount][destinationCount];
+        if (sourceCount == 0 || destinationCount == 0) {
+            return Mono.just(matrix);
+        }
+        String baseUrl = osrmRoutingStrategy.serviceUrl("table");
+
+        return Flux.fromIterable(tiles(sourceCount, destinationCount))
+                .flatMap(tile -> fetchTile(baseUrl, sources, destinations, tile, matrix), concurrency)
+                .then(Mono.just(matrix));
+    }
+
+    /**
+     * Splits the matrix into tiles of at most {@code maxCoordinates} sources
+     * plus destinations. When one side is small it is kept whole and the other
+     * side gets the remaining room, otherwise the room is split evenly.
+     */
+    List<int[]> tiles(int sourceCount, int destinationCount) {
+        int half = Math.max(1, maxCoordinates / 2);
+        int rows = Math.min(sourceCount, Math.max(half, maxCoordinates - destinationCount));
+        int columns = Math.max(1, Math.min(destinationCount, maxCoordinates - rows));
+
+        List<int[]> tiles = new ArrayList<>();
+        for (int row = 0; row < sourceCount; row += rows) {
+            for (int column = 0; column < destinationCount; column += columns) {
+                tiles.add(new int[] { row, column, Math.min(rows, sourceCount - row),
+                        Math.min(columns, destinationCount - column) });
+            }
+        }
+        return tiles;
+    }
+
+    private Mono<Void> fetchTile(String baseUrl, double[] sources, double[] destinations, int[] tile,
+            double[][] matrix) {
+        int rowOffset = tile[0];
+        int columnOffset = tile[1];
+        int rows = tile[2];
+        int columns = tile[3];
+
+        StringBuilder url = new StringBuilder(baseUrl).append('/');
+        appendCoordinates(url, sources, rowOffset, rows);
+        url.append(';');
+        appendCoordinates(url, destinations, columnOffset, columns);
+        url.append("?sources=");
+        appendIndexes(url, 0, rows);
+        url.append("&destinations=");
+        appendIndexes(url, rows, columns);
+        url.append("&annotations=duration");
+
+        log.debug("Requesting OSRM table tile {}x{} at [{}][{}]", rows, columns, rowOffset, columnOffset);
+        return osrmClient.get(url.toString(), body -> Mono.using(
+                () -> new OsrmTableParser(matrix, rowOffset, columnOffset, rows, columns),
+                parser -> body
+                        .doOnNext(buffer -> {
+                            try {
+                                parser.feed(buffer);
+                            } catch (IOException e) {
+                                throw Exceptions.propagate(e);
+                            } finally {
+                                DataBufferUtils.release(buffer);
+                            }
+                        })
+                        .then(Mono.fromCallable(() -> {
+                            parser.finish();
+                            return Boolean.TRUE;
+                        })),
+                OsrmTableParser::close))
+                .then();
+    }
+
+    private static void appendCoordinates(StringBuilder url, double[] coordinates, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            if (i > from) {
+                url.append(';');
+            }
+            url.append(String.format(Locale.US, "%.6f,%.6f", coordinates[2 * i], coordinates[2 * i + 1]));
+        }
+    }
+
+    private static void appendIndexes(StringBuilder url, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            if (i > from) {
+                url.append(';');
+            }
+            url.append(i);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of OSRM responses, keyed by the start and end
+ * coordinates snapped to a grid of about one meter and by the routing profile.
+ * Entries expire after a fixed time and the least used ones are evicted once
+ * the maximum size is reached. Concurrent lookups of a missing key share a
+ * single upstream call; failed calls are not cached.
+ * Hit and miss counts are published as {@code cache.gets} meters tagged
+ * {@code cache=osrm.routes}.
+ */
+@Component
+public class OsrmRouteCache {
+
+    /**
+     * Coordinates are rounded to 5 decimals (about 1.1 m at the equator).
+     */
+    private static final double SNAP_FACTOR = 1e5;
+
+    private final AsyncCache<Key, CachedRoute> cache;
+
+    public OsrmRouteCache(MeterRegistry meterRegistry,
+            @Value("${osrm.cache.max-size:10000}") long maxSize,
+            @Value("${osrm.cache.ttl:6h}") Duration ttl) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<Key, CachedRoute>buildAsync(), "osrm.routes");
+    }
+
+    /**
+     * Returns the cached route for the coordinate pair, loading it with the
+     * given call on a miss.
+     *
+     * @param profile  routing profile of the upstream router
+     * @param startLon start longitude
+     * @param startLat start latitude
+     * @param endLon   end longitude
+     * @param endLat   end latitude
+     * @param loader   upstream call, subscribed at most once per missing key
+     * @return a Mono emitting the cached or freshly loaded route
+     */
+    public Mono<CachedRoute> get(String profile, double startLon, double startLat, double endLon, double endLat,
+            Supplier<Mono<CachedRoute>> loader) {
+        Key key = new Key(profile, snap(startLon), snap(startLat), snap(endLon), snap(endLat));
+        // Looked up on each subscription; cancellation is suppressed since other
+        // subscribers may be waiting on the same load
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> loader.get().toFuture()), true);
+    }
+
+    private static long snap(double degrees) {
+        return Math.round(degrees * SNAP_FACTOR);
+    }
+
+    /**
+     * Parsed OSRM route, independent of the hubs it was requested for.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class CachedRoute {
+
+        private final double distanceKm;
+        private final int durationMinutes;
+        private final Polyline geometry;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+
+        private final String profile;
+        private final long startLon;
+        private final long startLat;
+        private final long endLon;
+        private final long endLat;
+    }
+}
@@ -0,0 +1,182 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Incremental parser for OSRM {@code route} responses requested with
+ * {@code geometries=geojson}.
+ * Body chunks are pushed to Jackson's non-blocking parser as they arrive and
+ * only the first route's {@code distance}, {@code duration} and geometry
+ * coordinates are kept; coordinates go straight into a growable
+ * {@code double[]} of interleaved longitude/latitude pairs, without building
+ * a JSON tree or boxing points. Not thread-safe: one instance per response.
+ */
+final class OsrmRouteParser implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private double distanceMeters;
+    private double durationSeconds;
+    private double[] coordinates = new double[256];
+    private int ordinateCount;
+    private boolean routeSeen;
+
+    OsrmRouteParser() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create JSON parser", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Consumes one chunk of the response body. The buffer is not released.
+     *
+     * @param buffer the next body chunk
+     * @throws IOException if the content is not valid JSON
+     */
+    void feed(DataBuffer buffer) throws IOException {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer chunk = iterator.next();
+                feeder.feedInput(chunk);
+                drain();
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the body.
+     *
+     * @return the parsed route
+     * @throws IOException if the body is truncated or contains no route
+     */
+    Result finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        if (!routeSeen) {
+            throw new IOException("No route found by OSRM");
+        }
+        return new Result(distanceMeters, durationSeconds, coordinates, ordinateCount);
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (token == JsonToken.START_OBJECT && isFirstRoute(parser.getParsingContext())) {
+                routeSeen = true;
+            } else if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                readNumber(parser.getParsingContext());
+            }
+        }
+    }
+
+    private void readNumber(JsonStreamContext context) throws IOException {
+        if (context.inObject()) {
+            if (isFirstRoute(context)) {
+                String name = context.getCurrentName();
+                if ("distance".equals(name)) {
+                    distanceMeters = parser.getDoubleValue();
+                } else if ("duration".equals(name)) {
+                    durationSeconds = parser.getDoubleValue();
+                }
+            }
+            return;
+        }
+        // [lon, lat] pair inside routes[0].geometry.coordinates
+        int index = context.getCurrentIndex();
+        JsonStreamContext line = context.getParent();
+        if (index > 1 || line == null || !line.inArray()) {
+            return;
+        }
+        JsonStreamContext geometry = line.getParent();
+        if (geometry == null || !geometry.inObject() || !"coordinates".equals(geometry.getCurrentName())) {
+            return;
+        }
+        JsonStreamContext route = geometry.getParent();
+        if (route == null || !"geometry".equals(route.getCurrentName()) || !isFirstRoute(route)) {
+            return;
+        }
+        if (ordinateCount == coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+        }
+        coordinates[ordinateCount++] = parser.getDoubleValue();
+    }
+
+    /**
+     * @return {@code true} if the context is the object {@code routes[0]} of the
+     *         root document
+     */
+    private static boolean isFirstRoute(JsonStreamContext context) {
+        if (!context.inObject()) {
+            return false;
+        }
+        JsonStreamContext routes = context.getParent();
+        if (routes == null || !routes.inArray() || routes.getCurrentIndex() != 0) {
+            return false;
+        }
+        JsonStreamContext root = routes.getParent();
+        return root != null && root.inObject() && "routes".equals(root.getCurrentName())
+                && root.getParent() != null && root.getParent().inRoot();
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // Nothing to release beyond the parser's own buffers
+        }
+    }
+
+    /**
+     * Parsed content of the first route.
+     */
+    static final class Result {
+
+        private final double distanceMeters;
+        private final double durationSeconds;
+        private final double[] coordinates;
+        private final int ordinateCount;
+
+        private Result(double distanceMeters, double durationSeconds, double[] coordinates, int ordinateCount) {
+            this.distanceMeters = distanceMeters;
+            this.durationSeconds = durationSeconds;
+            this.coordinates = coordinates;
+            this.ordinateCount = ordinateCount;
+        }
+
+        double getDistanceMeters() {
+            return distanceMeters;
+        }
+
+        double getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        /**
+         * @return interleaved longitude/latitude values; only the first
+         *         {@link #getOrdinateCount()} entries are meaningful
+         */
+        double[] getCoordinates() {
+            return coordinates;
+        }
+
+        int getOrdinateCount() {
+            return ordinateCount;
+        }
+    }
+}
@@ -1,122 +1,133 @@
 package com.yowyob.delivery.route.service.strategy;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
 import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.entity.Route;
-import com.yowyob.delivery.route.mapper.HubMapper;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
 import com.yowyob.delivery.route.repository.HubRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.LineString;
-import org.locationtech.jts.io.WKTReader;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Routing strategy using OSRM (Open Source Routing Machine) API.
- * Fetches real-world driving routes.
+ * Fetches real-world driving routes through the shared {@link OsrmClient}.
+ * While its circuit breaker is open, routes are computed on the in-process
+ * hub graph instead.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OsrmRoutingStrategy implements RoutingStrategy {
 
-    private final WebClient.Builder webClientBuilder;
-    private final HubMapper hubMapper;
-    private final GeometryFactory geometryFactory = new GeometryFactory();
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    private final WKTReader wktReader = new WKTReader();
+    private final OsrmClient osrmClient;
+    private final BidirectionalDijkstraRoutingStrategy fallbackStrategy;
     private final HubRepository hubRepository;
+    private final OsrmRouteCache routeCache;
 
     @Value("${osrm.api-url:http://router.project-osrm.org/route/v1/driving}")
     private String osrmApiUrl;
 
     @Override
     public Mono<Route> calculateOptimalRoute(Hub start, Hub end, RoutingConstraintsDTO constraints) {
-        try {
-            org.locationtech.jts.geom.Point startPoint = (org.locationtech.jts.geom.Point) wktReader
-                    .read(start.getLocation());
-            org.locationtech.jts.geom.Point endPoint = (org.locationtech.jts.geom.Point) wktReader
-                    .read(end.getLocation());
-
-            // Prepare coordinates for OSRM: longitude,latitude;longitude,latitude
-            String coordinates = String.format(java.util.Locale.US, "%f,%f;%f,%f",
-                    startPoint.getX(), startPoint.getY(),
-                    endPoint.getX(), endPoint.getY());
-
-            String url = String.format("%s/%s?overview=full&geometries=geojson", osrmApiUrl, coordinates);
-
-            log.info("Requesting OSRM route: {}", url);
-
-            return webClientBuilder.build()
-                    .get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .flatMap(json -> parseOsrmResponse(json, startPoint, endPoint, start.getId(), end.getId()));
-        } catch (Exception e) {
-            return Mono.error(new RuntimeException("Failed to parse hub locations", e));
+        GeoPoint startPoint = start.getLocation();
+        GeoPoint endPoint = end.getLocation();
+        if (startPoint == null || endPoint == null) {
+            return Mono.error(new RuntimeException("Failed to parse hub locations"));
         }
-    }
-
-    private Mono<Route> parseOsrmResponse(String jsonResponse, org.locationtech.jts.geom.Point startPoint,
-            org.locationtech.jts.geom.Point endPoint, java.util.UUID startHubId, java.util.UUID endHubId) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            JsonNode routesNode = root.path("routes");
-
-            if (routesNode.isEmpty()) {
-                return Mono.error(new RuntimeException("No route found by OSRM"));
-            }
 
-            JsonNode primaryRoute = routesNode.get(0);
-            double distanceMeters = primaryRoute.path("distance").asDouble();
-            double durationSeconds = primaryRoute.path("duration").asDouble();
-            JsonNode geometryNode = primaryRoute.path("geometry");
+        // Prepare coordinates for OSRM: longitude,latitude;longitude,latitude
+        String coordinates = String.format(java.util.Locale.US, "%f,%f;%f,%f",
+                startPoint.lon(), startPoint.lat(),
+                endPoint.lon(), endPoint.lat());
 
-            // Convert GeoJSON LineString to WKT or JTS Geometry
-            // OSRM returns coordinates as [lon, lat]
-            List<Coordinate> coordinates = new ArrayList<>();
-            JsonNode coordsArray = geometryNode.path("coordinates");
-            for (JsonNode coordNode : coordsArray) {
-                double lon = coordNode.get(0).asDouble();
-                double lat = coordNode.get(1).asDouble();
-                coordinates.add(new Coordinate(lon, lat));
-            }
+        String url = String.format("%s/%s?overview=full&geometries=geojson", osrmApiUrl, coordinates);
 
-            if (coordinates.size() < 2) {
-                // Determine if fallback is needed, but for now just error or create simple line
-                coordinates.add(new Coordinate(startPoint.getX(), startPoint.getY()));
-                coordinates.add(new Coordinate(endPoint.getX(), endPoint.getY()));
-            }
-
-            LineString lineString = geometryFactory.createLineString(coordinates.toArray(new Coordinate[0]));
+        return routeCache.get(profile(), startPoint.lon(), startPoint.lat(), endPoint.lon(), endPoint.lat(),
+                () -> {
+                    log.info("Requesting OSRM route: {}", url);
+                    return osrmClient.get(url, body -> parseOsrmResponse(body, startPoint, endPoint))
+                            .onErrorMap(e -> !(e instanceof CallNotPermittedException), e -> {
+                                log.error("Failed to get OSRM route", e);
+                                return new RuntimeException("Failed to process routing response", e);
+                            });
+                })
+                .map(cached -> Route.builder()
+                        .routeGeometry(cached.getGeometry())
+                        .totalDistanceKm(cached.getDistanceKm())
+                        .estimatedDurationMinutes(cached.getDurationMinutes())
+                        .routingService("OSRM")
+                        .isActive(true)
+                        .startHubId(start.getId())
+                        .endHubId(end.getId())
+                        .build())
+                .onErrorResume(CallNotPermittedException.class, e -> {
+                    log.warn("OSRM circuit breaker is open, using the in-process graph");
+                    return fallbackStrategy.calculateOptimalRoute(start, end, constraints);
+                });
+    }
 
-            return Mono.just(Route.builder()
-                    .routeGeometry(lineString.toText())
-                    .totalDistanceKm(distanceMeters / 1000.0)
-                    .estimatedDurationMinutes((int) (durationSeconds / 60))
-                    .routingService("OSRM")
-                    .isActive(true)
-                    .startHubId(startHubId)
-                    .endHubId(endHubId)
-                    .build());
+    /**
+     * @return the routing profile, i.e. the last path segment of the configured
+     *         OSRM URL (for instance {@code driving})
+     */
+    private String profile() {
+        return osrmApiUrl.substring(osrmApiUrl.lastIndexOf('/') + 1);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to parse OSRM response", e);
-            return Mono.error(new RuntimeException("Failed to process routing response", e));
+    /**
+     * Derives the URL of another OSRM service from the configured route URL,
+     * e.g. {@code .../table/v1/driving} for {@code table}.
+     *
+     * @param service OSRM service name
+     * @return the base URL of the service for the configured profile
+     */
+    public String serviceUrl(String service) {
+        int index = osrmApiUrl.lastIndexOf("/route/");
+        if (index < 0) {
+            throw new IllegalStateException("osrm.api-url does not point to the route service: " + osrmApiUrl);
         }
+        return osrmApiUrl.substring(0, index + 1) + service + osrmApiUrl.substring(index + "/route".length());
+    }
+
+    /**
+     * Streams the response body through {@link OsrmRouteParser} and builds the
+     * route geometry from the packed coordinate buffer.
+     */
+    private Mono<OsrmRouteCache.CachedRoute> parseOsrmResponse(Flux<DataBuffer> body,
+            GeoPoint startPoint, GeoPoint endPoint) {
+        return Mono.using(OsrmRouteParser::new,
+                parser -> body
+                        .doOnNext(buffer -> {
+                            try {
+                                parser.feed(buffer);
+                            } catch (IOException e) {
+                                throw Exceptions.propagate(e);
+                            } finally {
+                                DataBufferUtils.release(buffer);
+                            }
+                        })
+                        .then(Mono.fromCallable(parser::finish)),
+                OsrmRouteParser::close)
+                .map(result -> {
+                    double[] ordinates = result.getOrdinateCount() >= 4
+                            ? Arrays.copyOf(result.getCoordinates(), result.getOrdinateCount())
+                            // Too few points: fall back to a straight line between the hubs
+                            : new double[] { startPoint.lon(), startPoint.lat(), endPoint.lon(), endPoint.lat() };
+                    return new OsrmRouteCache.CachedRoute(result.getDistanceMeters() / 1000.0,
+                            (int) (result.getDurationSeconds() / 60), Polyline.wrap(ordinates));
+                });
     }
 
     @Override
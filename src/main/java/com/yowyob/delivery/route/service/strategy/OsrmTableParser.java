@@ -0,0 +1,127 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+
+/**
+ * Incremental parser for OSRM {@code table} responses.
+ * Cells of the {@code durations} array are written straight into a region of
+ * a caller-owned matrix as they are parsed, so the tiles of a large table can
+ * be stitched without intermediate arrays. {@code null} cells (no route) are
+ * stored as {@link Double#NaN}. Not thread-safe: one instance per response.
+ */
+final class OsrmTableParser implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private final double[][] matrix;
+    private final int rowOffset;
+    private final int columnOffset;
+    private final int rows;
+    private final int columns;
+    private int cellCount;
+
+    /**
+     * @param matrix       matrix receiving the durations
+     * @param rowOffset    matrix row of the tile's first source
+     * @param columnOffset matrix column of the tile's first destination
+     * @param rows         number of sources in the tile
+     * @param columns      number of destinations in the tile
+     */
+    OsrmTableParser(double[][] matrix, int rowOffset, int columnOffset, int rows, int columns) {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create JSON parser", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        this.matrix = matrix;
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Consumes one chunk of the response body. The buffer is not released.
+     *
+     * @param buffer the next body chunk
+     * @throws IOException if the content is not valid JSON
+     */
+    void feed(DataBuffer buffer) throws IOException {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                feeder.feedInput(iterator.next());
+                drain();
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the body.
+     *
+     * @throws IOException if the body is truncated or does not hold the
+     *                     expected number of cells
+     */
+    void finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        if (cellCount != rows * columns) {
+            throw new IOException("OSRM table returned " + cellCount + " cells, expected " + rows * columns);
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                store(parser.getParsingContext(), parser.getDoubleValue());
+            } else if (token == JsonToken.VALUE_NULL) {
+                store(parser.getParsingContext(), Double.NaN);
+            }
+        }
+    }
+
+    /**
+     * Stores the value if it is a cell of the root {@code durations} array.
+     */
+    private void store(JsonStreamContext context, double value) throws IOException {
+        if (!context.inArray()) {
+            return;
+        }
+        JsonStreamContext row = context.getParent();
+        if (row == null || !row.inArray()) {
+            return;
+        }
+        JsonStreamContext root = row.getParent();
+        if (root == null || !root.inObject() || !"durations".equals(root.getCurrentName())
+                || root.getParent() == null || !root.getParent().inRoot()) {
+            return;
+        }
+        int i = row.getCurrentIndex();
+        int j = context.getCurrentIndex();
+        if (i >= rows || j >= columns) {
+            throw new IOException("OSRM table cell [" + i + "][" + j + "] is outside the requested tile");
+        }
+        matrix[rowOffset + i][columnOffset + j] = value;
+        cellCount++;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // Nothing to release beyond the parser's own buffers
+        }
+    }
+}
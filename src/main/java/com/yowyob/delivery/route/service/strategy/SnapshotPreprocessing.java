@@ -0,0 +1,84 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Caches the preprocessing a strategy derives from the latest
+ * {@link GraphSnapshot} (contraction hierarchy, landmark tables).
+ * Concurrent callers share a single preprocessing per snapshot version, and a
+ * failed one is retried by the next caller. The preprocessing of the previous
+ * version is kept until the next refresh, so work pinned to that snapshot (a
+ * route batch overlapping a refresh) still gets matching data. Queries on even
+ * older snapshots are answered from the newest snapshot and its
+ * preprocessing, so a refresh never puts a preprocessing run on a request path
+ * for a snapshot that is already outdated.
+ *
+ * @param <T> the preprocessed data
+ */
+final class SnapshotPreprocessing<T> {
+
+    private final Function<GraphSnapshot, Mono<T>> preprocessor;
+    private final AtomicReference<Entry<T>> latest = new AtomicReference<>();
+
+    /**
+     * @param preprocessor computes the data for a snapshot; subscribed at most
+     *                     once per version while it succeeds
+     */
+    SnapshotPreprocessing(Function<GraphSnapshot, Mono<T>> preprocessor) {
+        this.preprocessor = preprocessor;
+    }
+
+    /**
+     * Returns the preprocessed data for the given snapshot, or for the newest
+     * one if the given snapshot is older than the previous version, starting
+     * the preprocessing if needed.
+     *
+     * @param graph snapshot the caller is working on
+     * @return a Mono emitting the data together with the snapshot it belongs
+     *         to, which callers must use instead of {@code graph}
+     */
+    Mono<Prepared<T>> get(GraphSnapshot graph) {
+        long version = graph.getVersion();
+        while (true) {
+            Entry<T> current = latest.get();
+            if (current != null) {
+                if (current.previous != null && current.previous.version == version) {
+                    return current.previous.prepared;
+                }
+                if (current.version >= version) {
+                    return current.prepared;
+                }
+            }
+            Entry<T> previous = current == null ? null : new Entry<>(current.version, current.prepared, null);
+            Entry<T> next = new Entry<>(version, preprocessor.apply(graph)
+                    .map(data -> new Prepared<>(graph, data))
+                    .cache(value -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO),
+                    previous);
+            if (latest.compareAndSet(current, next)) {
+                return next.prepared;
+            }
+        }
+    }
+
+    /**
+     * Preprocessed data and the snapshot it was computed from.
+     *
+     * @param graph the snapshot
+     * @param data  the data computed from it
+     * @param <T>   the preprocessed data
+     */
+    record Prepared<T>(GraphSnapshot graph, T data) {
+    }
+
+    /**
+     * Preprocessing in progress or done for one snapshot version, linked to
+     * the one of the version it replaced.
+     */
+    private record Entry<T>(long version, Mono<Prepared<T>> prepared, Entry<T> previous) {
+    }
+}
@@ -0,0 +1,372 @@
+package com.yowyob.delivery.route.service.tracking;
+
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.service.graph.GeoDistance;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent spatial index of driver positions, partitioned by driver state,
+ * for k-nearest-driver queries by great-circle distance.
+ * Each state has its own uniform grid of fixed-size cells in
+ * longitude/latitude. A cell is an immutable array of entries replaced on
+ * every change (copy-on-write) inside {@link ConcurrentHashMap#compute}, so
+ * writers only contend on the same hash bin and readers never lock: a query
+ * reads whatever array each cell holds at that moment. Updates of one driver
+ * are serialized; a query running during the move of a driver from one cell
+ * to another may miss that driver. Longitudes are not wrapped around the
+ * antimeridian.
+ */
+public final class DriverGrid {
+
+    private static final double KM_PER_DEGREE = Math.toRadians(GeoDistance.EARTH_RADIUS_KM);
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final double cellSize;
+    private final ConcurrentHashMap<UUID, Entry> drivers = new ConcurrentHashMap<>();
+    private final Map<DriverState, ConcurrentHashMap<Long, Entry[]>> cells = new EnumMap<>(DriverState.class);
+
+    /**
+     * @param cellSizeDegrees side of the cells, in degrees of latitude and longitude
+     */
+    public DriverGrid(double cellSizeDegrees) {
+        if (!(cellSizeDegrees > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSize = cellSizeDegrees;
+        // Filled once here and only read afterwards
+        for (DriverState state : DriverState.values()) {
+            cells.put(state, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Inserts a driver or replaces its state. The position is replaced too,
+     * unless the indexed one was taken later.
+     *
+     * @param driverId   the driver
+     * @param state      the current state of the driver
+     * @param location   the position of the driver
+     * @param recordedAt when the position was taken
+     */
+    public void upsert(UUID driverId, DriverState state, GeoPoint location, LocalDateTime recordedAt) {
+        drivers.compute(driverId, (id, current) -> {
+            Entry next = current != null && current.recordedAt.isAfter(recordedAt)
+                    ? current.withState(state)
+                    : entry(id, state, location, recordedAt);
+            move(current, next);
+            return next;
+        });
+    }
+
+    /**
+     * Moves an indexed driver, unless its indexed position was taken later.
+     *
+     * @param driverId   the driver
+     * @param location   the new position
+     * @param recordedAt when the position was taken
+     * @return {@code false} if the driver is not indexed
+     */
+    public boolean updateLocation(UUID driverId, GeoPoint location, LocalDateTime recordedAt) {
+        return drivers.computeIfPresent(driverId, (id, current) -> {
+            if (current.recordedAt.isAfter(recordedAt)) {
+                return current;
+            }
+            Entry next = entry(id, current.state, location, recordedAt);
+            move(current, next);
+            return next;
+        }) != null;
+    }
+
+    /**
+     * Changes the state of an indexed driver.
+     *
+     * @param driverId the driver
+     * @param state    the new state
+     * @return {@code false} if the driver is not indexed
+     */
+    public boolean updateState(UUID driverId, DriverState state) {
+        return drivers.computeIfPresent(driverId, (id, current) -> {
+            if (current.state == state) {
+                return current;
+            }
+            Entry next = current.withState(state);
+            move(current, next);
+            return next;
+        }) != null;
+    }
+
+    /**
+     * @param driverId the driver to drop from the index
+     */
+    public void remove(UUID driverId) {
+        drivers.computeIfPresent(driverId, (id, current) -> {
+            move(current, null);
+            return null;
+        });
+    }
+
+    /**
+     * Drops every driver not in the given set.
+     *
+     * @param driverIds the drivers to keep
+     */
+    public void retainAll(Set<UUID> driverIds) {
+        for (UUID driverId : drivers.keySet()) {
+            if (!driverIds.contains(driverId)) {
+                remove(driverId);
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexed drivers
+     */
+    public int size() {
+        return drivers.size();
+    }
+
+    /**
+     * Finds the {@code k} drivers in a state closest to a position. Cells are
+     * scanned in rings around the position until no unscanned cell can hold
+     * a closer driver; once the rings would cover more cells than are
+     * occupied, the occupied cells are scanned directly instead.
+     *
+     * @param state         the state the drivers must be in
+     * @param lat           latitude of the position in degrees
+     * @param lon           longitude of the position in degrees
+     * @param k             maximum number of drivers
+     * @param maxDistanceKm drivers farther away are ignored
+     * @param notBefore     drivers whose position is older are ignored, {@code null} for no limit
+     * @return the drivers, closest first
+     */
+    public List<NearbyDriver> nearest(DriverState state, double lat, double lon, int k, double maxDistanceKm,
+            LocalDateTime notBefore) {
+        ConcurrentHashMap<Long, Entry[]> stateCells = cells.get(state);
+        if (k <= 0 || stateCells.isEmpty()) {
+            return List.of();
+        }
+        Search search = new Search(lat, lon, k, maxDistanceKm, notBefore);
+        int row = row(lat);
+        int col = col(lon);
+        for (int ring = 0; ; ring++) {
+            long side = 2L * ring + 1;
+            if (side * side > stateCells.size()) {
+                search.reset();
+                stateCells.values().forEach(search::scan);
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                // Whole row on the ring's top and bottom edges, only both ends in between
+                int step = r == row - ring || r == row + ring ? 1 : 2 * ring;
+                for (int c = col - ring; c <= col + ring; c += Math.max(step, 1)) {
+                    Entry[] cell = stateCells.get(key(r, c));
+                    if (cell != null) {
+                        search.scan(cell);
+                    }
+                }
+            }
+            double bound = unscannedLowerBoundKm(lat, lon, row - ring, row + ring, col - ring, col + ring);
+            if (bound > maxDistanceKm || search.isFull() && search.worstDistance() <= bound) {
+                break;
+            }
+        }
+        return search.result();
+    }
+
+    /**
+     * Lower bound on the distance from the position to any point outside the
+     * square of scanned cells: such a point is either beyond the latitude
+     * band of the square (at least that arc), or inside the band and beyond
+     * one of its longitude edges (at least the haversine with the smallest
+     * latitude cosine of the band).
+     */
+    private double unscannedLowerBoundKm(double lat, double lon, int rowLo, int rowHi, int colLo, int colHi) {
+        double latLo = rowLo * cellSize;
+        double latHi = (rowHi + 1) * cellSize;
+        double lonLo = colLo * cellSize;
+        double lonHi = (colHi + 1) * cellSize;
+        double bound = Double.POSITIVE_INFINITY;
+        if (latLo > -90.0) {
+            bound = Math.min(bound, (lat - latLo) * KM_PER_DEGREE);
+        }
+        if (latHi < 90.0) {
+            bound = Math.min(bound, (latHi - lat) * KM_PER_DEGREE);
+        }
+        double minCosLat = Math.min(Math.cos(Math.toRadians(Math.max(latLo, -90.0))),
+                Math.cos(Math.toRadians(Math.min(latHi, 90.0))));
+        double cosLat = Math.cos(Math.toRadians(lat));
+        if (lonLo > -180.0) {
+            bound = Math.min(bound, longitudeBoundKm(lon - lonLo, cosLat, minCosLat));
+        }
+        if (lonHi < 180.0) {
+            bound = Math.min(bound, longitudeBoundKm(lonHi - lon, cosLat, minCosLat));
+        }
+        return bound;
+    }
+
+    private static double longitudeBoundKm(double deltaLon, double cosLat, double minCosLat) {
+        double sinHalf = Math.sin(Math.toRadians(Math.min(deltaLon, 180.0)) * 0.5);
+        double a = cosLat * Math.max(0.0, minCosLat) * sinHalf * sinHalf;
+        return 2.0 * GeoDistance.EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(Math.max(0.0, a))));
+    }
+
+    /**
+     * Replaces an entry by another in the cells; either may be {@code null}.
+     * Runs while the driver's mapping is locked, so moves of one driver never
+     * interleave.
+     */
+    private void move(Entry previous, Entry next) {
+        if (previous != null && next != null && previous.state == next.state && previous.cell == next.cell) {
+            cells.get(next.state).compute(next.cell, (key, cell) -> replace(cell, previous, next));
+            return;
+        }
+        if (next != null) {
+            cells.get(next.state).compute(next.cell, (key, cell) -> append(cell, next));
+        }
+        if (previous != null) {
+            cells.get(previous.state).computeIfPresent(previous.cell, (key, cell) -> without(cell, previous));
+        }
+    }
+
+    private static Entry[] append(Entry[] cell, Entry entry) {
+        Entry[] copy = Arrays.copyOf(cell == null ? EMPTY : cell, cell == null ? 1 : cell.length + 1);
+        copy[copy.length - 1] = entry;
+        return copy;
+    }
+
+    private static Entry[] replace(Entry[] cell, Entry previous, Entry next) {
+        Entry[] copy = cell == null ? EMPTY : cell.clone();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] == previous) {
+                copy[i] = next;
+                return copy;
+            }
+        }
+        return append(copy, next);
+    }
+
+    /**
+     * @return the cell without the entry, or {@code null} to drop an emptied cell
+     */
+    private static Entry[] without(Entry[] cell, Entry entry) {
+        int index = -1;
+        for (int i = 0; i < cell.length; i++) {
+            if (cell[i] == entry) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return cell;
+        }
+        if (cell.length == 1) {
+            return null;
+        }
+        Entry[] copy = new Entry[cell.length - 1];
+        System.arraycopy(cell, 0, copy, 0, index);
+        System.arraycopy(cell, index + 1, copy, index, cell.length - index - 1);
+        return copy;
+    }
+
+    private Entry entry(UUID driverId, DriverState state, GeoPoint location, LocalDateTime recordedAt) {
+        return new Entry(driverId, state, location, Math.cos(Math.toRadians(location.lat())), recordedAt,
+                key(row(location.lat()), col(location.lon())));
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor(lat / cellSize);
+    }
+
+    private int col(double lon) {
+        return (int) Math.floor(lon / cellSize);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Indexed position of a driver; replaced, never modified.
+     */
+    private record Entry(UUID driverId, DriverState state, GeoPoint location, double cosLat,
+            LocalDateTime recordedAt, long cell) {
+
+        Entry withState(DriverState newState) {
+            return new Entry(driverId, newState, location, cosLat, recordedAt, cell);
+        }
+    }
+
+    /**
+     * Bounded max-heap of the best candidates of one query.
+     */
+    private final class Search {
+        private final double lat;
+        private final double lon;
+        private final double cosLat;
+        private final int k;
+        private final double maxDistanceKm;
+        private final LocalDateTime notBefore;
+        private final PriorityQueue<NearbyDriver> heap;
+
+        Search(double lat, double lon, int k, double maxDistanceKm, LocalDateTime notBefore) {
+            this.lat = lat;
+            this.lon = lon;
+            this.cosLat = Math.cos(Math.toRadians(lat));
+            this.k = k;
+            this.maxDistanceKm = maxDistanceKm;
+            this.notBefore = notBefore;
+            this.heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(NearbyDriver::distanceKm).reversed());
+        }
+
+        void scan(Entry[] cell) {
+            for (Entry entry : cell) {
+                if (notBefore != null && entry.recordedAt.isBefore(notBefore)) {
+                    continue;
+                }
+                double distance = GeoDistance.haversineKm(lat, lon, cosLat,
+                        entry.location.lat(), entry.location.lon(), entry.cosLat);
+                if (distance > maxDistanceKm || isFull() && distance >= worstDistance()) {
+                    continue;
+                }
+                // Skip entries replaced since the cell array was read
+                if (drivers.get(entry.driverId) != entry) {
+                    continue;
+                }
+                heap.add(new NearbyDriver(entry.driverId, entry.state, entry.location, entry.recordedAt, distance));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        }
+
+        boolean isFull() {
+            return heap.size() == k;
+        }
+
+        double worstDistance() {
+            return heap.peek().distanceKm();
+        }
+
+        void reset() {
+            heap.clear();
+        }
+
+        List<NearbyDriver> result() {
+            List<NearbyDriver> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingDouble(NearbyDriver::distanceKm));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.yowyob.delivery.route.service.tracking;
+
+import com.yowyob.delivery.route.config.PeriodicTask;
+import com.yowyob.delivery.route.repository.DriverLocation;
+import com.yowyob.delivery.route.repository.DriverRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer of driver positions.
+ * Reported positions only replace the pending position of their driver in
+ * memory; every {@code drivers.locations.flush-interval} the pending
+ * positions are written with multi-row updates. The database therefore sees
+ * at most one row per driver and per interval, however often drivers report.
+ * Positions still pending when the instance dies are lost, which only delays
+ * the next known position of their drivers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DriverLocationBuffer {
+
+    private final DriverRepository driverRepository;
+    private final ConcurrentHashMap<UUID, DriverLocation> pending = new ConcurrentHashMap<>();
+
+    @Value("${drivers.locations.flush-enabled:true}")
+    private boolean flushEnabled = true;
+
+    @Value("${drivers.locations.flush-interval:2s}")
+    private Duration flushInterval = Duration.ofSeconds(2);
+
+    @Value("${drivers.locations.shutdown-timeout:5s}")
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+
+    private Disposable flushing;
+
+    /**
+     * Records a position; it replaces the pending position of the driver
+     * unless that one was taken later.
+     *
+     * @param location the reported position
+     */
+    public void record(DriverLocation location) {
+        pending.merge(location.driverId(), location, DriverLocationBuffer::latest);
+    }
+
+    /**
+     * @return the number of drivers with a position waiting to be written
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!flushEnabled) {
+            log.info("Driver location flush disabled");
+            return;
+        }
+        flushing = PeriodicTask.start(flushInterval, this::flush, "Driver location flush");
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flushing != null) {
+            flushing.dispose();
+        }
+        try {
+            flush().block(shutdownTimeout);
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} pending driver locations on shutdown: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the pending positions. A position reported while the write runs
+     * stays pending for the next flush; if the write fails, the positions are
+     * put back unless a newer one arrived meanwhile.
+     *
+     * @return a Mono emitting the number of updated drivers
+     */
+    public Mono<Long> flush() {
+        return Mono.defer(() -> {
+            List<DriverLocation> batch = new ArrayList<>(pending.size());
+            for (DriverLocation location : pending.values()) {
+                if (pending.remove(location.driverId(), location)) {
+                    batch.add(location);
+                }
+            }
+            if (batch.isEmpty()) {
+                return Mono.just(0L);
+            }
+            return driverRepository.updateLocations(batch)
+                    .doOnNext(updated -> log.debug("Wrote {} driver locations, {} drivers updated", batch.size(), updated))
+                    .doOnError(e -> batch.forEach(this::record));
+        });
+    }
+
+    private static DriverLocation latest(DriverLocation current, DriverLocation reported) {
+        return reported.recordedAt().isBefore(current.recordedAt()) ? current : reported;
+    }
+}
@@ -0,0 +1,20 @@
+package com.yowyob.delivery.route.service.tracking;
+
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A driver found by a nearest-driver lookup.
+ *
+ * @param driverId   the driver
+ * @param state      the state of the driver when it was found
+ * @param location   the last known position of the driver
+ * @param recordedAt when that position was taken
+ * @param distanceKm great-circle distance from the looked-up position, in kilometers
+ */
+public record NearbyDriver(UUID driverId, DriverState state, GeoPoint location, LocalDateTime recordedAt,
+        double distanceKm) {
+}
@@ -0,0 +1,135 @@
+package com.yowyob.delivery.route.service.tracking;
+
+import com.yowyob.delivery.route.config.PeriodicTask;
+import com.yowyob.delivery.route.domain.entity.DeliveryDriver;
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.repository.DriverLocation;
+import com.yowyob.delivery.route.repository.DriverRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory spatial index of the active drivers, used to find the drivers
+ * closest to a position without querying PostGIS.
+ * Reported positions move drivers as soon as they are received. Driver
+ * states are changed outside this service, so the whole index is reconciled
+ * with the {@code drivers} table every {@code drivers.index.refresh-interval};
+ * positions received since the last flush are kept when they are newer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NearestDriverIndex {
+
+    /**
+     * Side of the grid cells, about 2.2 km at the equator.
+     */
+    static final double CELL_SIZE_DEGREES = 0.02;
+
+    private final DriverRepository driverRepository;
+    private final DriverGrid grid = new DriverGrid(CELL_SIZE_DEGREES);
+
+    @Value("${drivers.index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${drivers.index.refresh-interval:30s}")
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    @Value("${drivers.index.max-location-age:15m}")
+    private Duration maxLocationAge = Duration.ofMinutes(15);
+
+    private Disposable refreshing;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            log.info("Nearest-driver index disabled");
+            return;
+        }
+        refreshing = PeriodicTask.start(Duration.ZERO, refreshInterval, this::reload, "Nearest-driver index reload");
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshing != null) {
+            refreshing.dispose();
+        }
+    }
+
+    /**
+     * Reconciles the index with the {@code drivers} table: active drivers
+     * with a location are inserted or updated, the others are dropped.
+     *
+     * @return a Mono emitting the number of indexed drivers
+     */
+    public Mono<Integer> reload() {
+        return driverRepository.findAllWithLocation()
+                .collectList()
+                .map(drivers -> {
+                    Set<UUID> indexed = new HashSet<>();
+                    for (DeliveryDriver driver : drivers) {
+                        if (Boolean.FALSE.equals(driver.getIsActive()) || driver.getCurrentLocation() == null) {
+                            continue;
+                        }
+                        LocalDateTime recordedAt = driver.getLastLocationUpdate() != null
+                                ? driver.getLastLocationUpdate()
+                                : LocalDateTime.MIN;
+                        grid.upsert(driver.getId(), driver.getCurrentState(), driver.getCurrentLocation(), recordedAt);
+                        indexed.add(driver.getId());
+                    }
+                    grid.retainAll(indexed);
+                    log.debug("Nearest-driver index reloaded with {} drivers", indexed.size());
+                    return indexed.size();
+                });
+    }
+
+    /**
+     * Moves a driver to a reported position. Drivers unknown to the index are
+     * picked up by the next reload, once their position is written.
+     *
+     * @param location the reported position
+     */
+    public void recordLocation(DriverLocation location) {
+        grid.updateLocation(location.driverId(), location.location(), location.recordedAt());
+    }
+
+    /**
+     * Changes the state of a driver in the index, ahead of the next reload.
+     *
+     * @param driverId the driver
+     * @param state    the new state
+     */
+    public void updateState(UUID driverId, DriverState state) {
+        grid.updateState(driverId, state);
+    }
+
+    /**
+     * Finds the drivers in a state closest to a position. Drivers whose last
+     * position is older than {@code drivers.index.max-location-age} are left
+     * out.
+     *
+     * @param state    the state the drivers must be in
+     * @param lat      latitude in degrees
+     * @param lon      longitude in degrees
+     * @param k        maximum number of drivers
+     * @param radiusKm drivers farther away are left out
+     * @return the drivers, closest first
+     */
+    public List<NearbyDriver> nearest(DriverState state, double lat, double lon, int k, double radiusKm) {
+        return grid.nearest(state, lat, lon, k, radiusKm, LocalDateTime.now().minus(maxLocationAge));
+    }
+}
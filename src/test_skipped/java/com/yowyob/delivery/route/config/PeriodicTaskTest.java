@@ -0,0 +1,51 @@
+package com.yowyob.delivery.route.config;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeriodicTaskTest {
+
+    @Test
+    void keepsRunningAfterAFailedRun() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        Disposable loop = PeriodicTask.start(Duration.ofMillis(10), () -> runs.incrementAndGet() == 1
+                ? Mono.error(new IllegalStateException("boom"))
+                : Mono.empty(), "Test task");
+        try {
+            Thread.sleep(200);
+        } finally {
+            loop.dispose();
+        }
+
+        assertTrue(runs.get() > 2, "only " + runs.get() + " runs");
+    }
+
+    @Test
+    void dropsTicksWhileARunIsInProgress() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+        Disposable loop = PeriodicTask.start(Duration.ZERO, Duration.ofMillis(5), () -> Mono.fromRunnable(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    runs.incrementAndGet();
+                })
+                .then(Mono.delay(Duration.ofMillis(50)))
+                .doOnTerminate(running::decrementAndGet), "Slow task");
+        try {
+            Thread.sleep(230);
+        } finally {
+            loop.dispose();
+        }
+
+        assertEquals(1, maxRunning.get());
+        // About one run per 50 ms, not one per 5 ms tick
+        assertTrue(runs.get() <= 6, runs.get() + " runs");
+    }
+}
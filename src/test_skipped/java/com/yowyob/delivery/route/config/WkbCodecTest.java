@@ -0,0 +1,70 @@
+package com.yowyob.delivery.route.config;
+
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.io.WKBWriter;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WkbCodecTest {
+
+    @Test
+    public void roundTripsWithoutLosingPrecision() {
+        Polyline polyline = Polyline.wrap(new double[] {
+                9.704281234567891, 4.051110987654321, 11.502081111111111, 3.866671234567899 });
+
+        byte[] wkb = WkbCodec.write(polyline);
+        Geometry geometry = WkbCodec.read(wkb);
+
+        LineString lineString = (LineString) geometry;
+        assertEquals(9.704281234567891, lineString.getCoordinateN(0).x, 0.0);
+        assertEquals(3.866671234567899, lineString.getCoordinateN(1).y, 0.0);
+        assertEquals(WkbCodec.SRID, geometry.getSRID());
+        assertEquals(polyline, WkbCodec.readPolyline(ByteBuffer.wrap(wkb)));
+        assertArrayEquals(wkb, new WKBWriter(2, 2).write(geometry));
+    }
+
+    @Test
+    public void decodesBothByteOrdersAndFallsBackToJts() {
+        GeometryFactory factory = new GeometryFactory();
+        byte[] bigEndian = new WKBWriter().write(factory.createPoint(new Coordinate(11.514, 3.886)));
+        byte[] withZ = new WKBWriter(3).write(factory.createPoint(new Coordinate(11.514, 3.886, 700)));
+
+        assertEquals(new GeoPoint(11.514, 3.886), WkbCodec.readPoint(ByteBuffer.wrap(bigEndian)));
+        assertEquals(new GeoPoint(11.514, 3.886), WkbCodec.readPoint(ByteBuffer.wrap(withZ)));
+        assertEquals(new GeoPoint(11.514, 3.886),
+                WkbCodec.readPoint(ByteBuffer.wrap(WkbCodec.write(new GeoPoint(11.514, 3.886)))));
+    }
+
+    @Test
+    public void decodesSlicedBuffers() {
+        byte[] wkb = WkbCodec.write(new GeoPoint(11.514, 3.886));
+        byte[] padded = new byte[wkb.length + 3];
+        System.arraycopy(wkb, 0, padded, 3, wkb.length);
+        ByteBuffer buffer = ByteBuffer.wrap(padded, 3, wkb.length).slice();
+
+        assertEquals(new GeoPoint(11.514, 3.886), WkbCodec.readPoint(buffer));
+        assertEquals("POINT (11.514 3.886)", WkbCodec.read(buffer).toText());
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void handlesMissingAndMismatchedValues() {
+        assertNull(WkbCodec.readPoint(null));
+        assertNull(WkbCodec.readPolyline(null));
+        assertNull(WkbCodec.write((GeoPoint) null));
+        ByteBuffer point = ByteBuffer.wrap(WkbCodec.write(new GeoPoint(1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> WkbCodec.readPolyline(point));
+        assertThrows(IllegalArgumentException.class, () -> WkbCodec.read(new byte[] { 1, 2, 3 }));
+    }
+}
@@ -2,7 +2,12 @@ package com.yowyob.delivery.route.controller;
 
 import com.yowyob.delivery.route.controller.dto.GeoPointRequestDTO;
 import com.yowyob.delivery.route.controller.dto.GeoPointResponseDTO;
+import com.yowyob.delivery.route.controller.dto.ImportReportDTO;
+import com.yowyob.delivery.route.controller.dto.NearestHubDTO;
+import com.yowyob.delivery.route.domain.geometry.BoundingBox;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import com.yowyob.delivery.route.service.HubService;
+import com.yowyob.delivery.route.service.NetworkImportService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
@@ -15,6 +20,7 @@ import reactor.core.publisher.Mono;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(HubController.class)
@@ -26,6 +32,9 @@ class HubControllerTest {
     @MockBean
     private HubService hubService;
 
+    @MockBean
+    private NetworkImportService networkImportService;
+
     @Test
     void shouldCreateHub() {
         GeoPointRequestDTO request = new GeoPointRequestDTO();
@@ -84,4 +93,68 @@ class HubControllerTest {
                 .expectBodyList(GeoPointResponseDTO.class)
                 .hasSize(2);
     }
+
+    @Test
+    void shouldImportHubsFromCsv() {
+        ImportReportDTO report = ImportReportDTO.builder().rowsRead(1L).rowsImported(1L).build();
+        when(networkImportService.importHubs(any())).thenReturn(Mono.just(report));
+
+        webTestClient.post()
+                .uri("/api/v1/hubs/import")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("address,latitude,longitude\nYaounde,3.87,11.5\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rowsImported").isEqualTo(1);
+    }
+
+    @Test
+    void shouldFindNearestHubs() {
+        GeoPointResponseDTO hub = new GeoPointResponseDTO();
+        hub.setId(UUID.randomUUID());
+        hub.setAddress("Akwa");
+        when(hubService.findNearestHubs(4.06, 9.69, 3))
+                .thenReturn(Flux.just(NearestHubDTO.builder().hub(hub).distanceKm(1.2).build()));
+
+        webTestClient.get()
+                .uri("/api/v1/hubs/nearest?lat=4.06&lon=9.69&k=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].hub.address").isEqualTo("Akwa")
+                .jsonPath("$[0].distanceKm").isEqualTo(1.2);
+    }
+
+    @Test
+    void shouldFilterHubsByBoundingBoxOrRadius() {
+        GeoPointResponseDTO akwa = new GeoPointResponseDTO();
+        akwa.setAddress("Akwa");
+        when(hubService.findHubsInBoundingBox(new BoundingBox(9.6, 4.0, 9.8, 4.1))).thenReturn(Flux.just(akwa));
+        when(hubService.findHubsWithinRadius(new GeoPoint(9.69, 4.06), 5.0)).thenReturn(Flux.just(akwa));
+
+        webTestClient.get()
+                .uri("/api/v1/hubs?bbox=9.6,4.0,9.8,4.1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].address").isEqualTo("Akwa");
+        webTestClient.get()
+                .uri("/api/v1/hubs?near=4.06,9.69&radiusKm=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].address").isEqualTo("Akwa");
+    }
+
+    @Test
+    void shouldRejectInvalidSpatialFilters() {
+        webTestClient.get().uri("/api/v1/hubs?bbox=9.8,4.0,9.6,4.1").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/v1/hubs?bbox=9.6,4.0,9.8").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/v1/hubs?near=4.06,9.69").exchange().expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/v1/hubs?near=4.06,9.69&radiusKm=5&bbox=9.6,4.0,9.8,4.1").exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(hubService);
+    }
 }
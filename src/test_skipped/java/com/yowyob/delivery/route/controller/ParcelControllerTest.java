@@ -1,7 +1,11 @@
 package com.yowyob.delivery.route.controller;
 
+import com.yowyob.delivery.route.controller.dto.BatchParcelResultDTO;
+import com.yowyob.delivery.route.controller.dto.ParcelPageDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelRequestDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelResponseDTO;
+import com.yowyob.delivery.route.domain.enums.ParcelState;
+import com.yowyob.delivery.route.repository.ParcelFilter;
 import com.yowyob.delivery.route.service.ParcelService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,12 +13,17 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(ParcelController.class)
@@ -78,13 +87,85 @@ class ParcelControllerTest {
         ParcelResponseDTO p2 = new ParcelResponseDTO();
         p2.setTrackingCode("P2");
 
-        when(parcelService.getAllParcels()).thenReturn(Flux.just(p1, p2));
+        when(parcelService.getParcels(ParcelFilter.NONE, null, 50))
+                .thenReturn(Mono.just(ParcelPageDTO.builder().items(List.of(p1, p2)).build()));
 
         webTestClient.get()
                 .uri("/api/v1/parcels")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().doesNotExist(ParcelController.NEXT_CURSOR_HEADER)
                 .expectBodyList(ParcelResponseDTO.class)
                 .hasSize(2);
     }
+
+    @Test
+    void shouldPassFiltersAndReturnNextCursor() {
+        UUID driverId = UUID.randomUUID();
+        ParcelResponseDTO p1 = new ParcelResponseDTO();
+        p1.setTrackingCode("P1");
+
+        when(parcelService.getParcels(eq(new ParcelFilter(ParcelState.IN_TRANSIT, null, driverId)), isNull(), eq(1)))
+                .thenReturn(Mono.just(ParcelPageDTO.builder().items(List.of(p1)).nextCursor("abc").build()));
+
+        webTestClient.get()
+                .uri("/api/v1/parcels?state=IN_TRANSIT&driverId={driverId}&limit=1", driverId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ParcelController.NEXT_CURSOR_HEADER, "abc")
+                .expectBody()
+                .jsonPath("$[0].trackingCode").isEqualTo("P1");
+    }
+
+    @Test
+    void shouldExportParcelsAsNdjson() {
+        ParcelResponseDTO p1 = new ParcelResponseDTO();
+        p1.setTrackingCode("P1");
+        ParcelResponseDTO p2 = new ParcelResponseDTO();
+        p2.setTrackingCode("P2");
+
+        when(parcelService.exportParcels(LocalDateTime.of(2026, 1, 15, 0, 0))).thenReturn(Flux.just(p1, p2));
+
+        webTestClient.get()
+                .uri("/api/v1/parcels/export?since=2026-01-15T00:00:00")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ParcelResponseDTO.class)
+                .getResponseBody()
+                .map(ParcelResponseDTO::getTrackingCode)
+                .as(StepVerifier::create)
+                .expectNext("P1", "P2")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStreamBatchCreationResultsAsNdjson() {
+        ParcelRequestDTO request = new ParcelRequestDTO();
+        request.setSenderName("Jeff Belekotan");
+        request.setPickupLocation("POINT(9.7 4.0)");
+        ParcelResponseDTO created = new ParcelResponseDTO();
+        created.setTrackingCode("TRK-12345678");
+
+        when(parcelService.createParcels(any())).thenReturn(Flux.just(
+                BatchParcelResultDTO.builder().index(0).parcel(created).build(),
+                BatchParcelResultDTO.builder().index(1).error("Weight is required").build()));
+
+        webTestClient.post()
+                .uri("/api/v1/parcels/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(List.of(request, request))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BatchParcelResultDTO.class)
+                .getResponseBody()
+                .map(result -> result.getIndex() + ":" + (result.getError() != null
+                        ? result.getError() : result.getParcel().getTrackingCode()))
+                .as(StepVerifier::create)
+                .expectNext("0:TRK-12345678", "1:Weight is required")
+                .verifyComplete();
+    }
 }
@@ -1,5 +1,8 @@
 package com.yowyob.delivery.route.controller;
 
+import com.yowyob.delivery.route.controller.dto.CoordinateDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixRequestDTO;
 import com.yowyob.delivery.route.controller.dto.RouteCalculationRequestDTO;
 import com.yowyob.delivery.route.controller.dto.RouteResponseDTO;
 import com.yowyob.delivery.route.service.RouteService;
@@ -11,10 +14,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(RouteController.class)
@@ -102,4 +108,42 @@ class RouteControllerTest {
                 .expectBody()
                 .jsonPath("$.error").isEqualTo("Unprocessable Entity");
     }
+
+    @Test
+    void shouldRejectOversizedMatrix() {
+        List<UUID> hubs = Stream.generate(UUID::randomUUID)
+                .limit(DistanceMatrixRequestDTO.MAX_HUBS + 1)
+                .toList();
+        DistanceMatrixRequestDTO request = DistanceMatrixRequestDTO.builder()
+                .sourceHubIds(hubs)
+                .targetHubIds(List.of(UUID.randomUUID()))
+                .build();
+
+        webTestClient.post()
+                .uri("/api/v1/routes/matrix")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(routeService);
+    }
+
+    @Test
+    void shouldRejectOversizedOsrmMatrix() {
+        CoordinateDTO point = CoordinateDTO.builder().latitude(3.88).longitude(11.51).build();
+        OsrmMatrixRequestDTO request = OsrmMatrixRequestDTO.builder()
+                .sources(List.of(point))
+                .destinations(Stream.generate(() -> point).limit(OsrmMatrixRequestDTO.MAX_POINTS + 1).toList())
+                .build();
+
+        webTestClient.post()
+                .uri("/api/v1/routes/osrm-matrix")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(routeService);
+    }
 }
@@ -3,6 +3,7 @@ package com.yowyob.delivery.route.mapper;
 import com.yowyob.delivery.route.controller.dto.GeoPointResponseDTO;
 import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.enums.HubType;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -25,7 +26,7 @@ class HubMapperTest {
         Hub hub = Hub.builder()
                 .address("Test Address")
                 .type(HubType.WAREHOUSE)
-                .location("POINT(10.5 45.2)")
+                .location(new GeoPoint(10.5, 45.2))
                 .build();
 
         GeoPointResponseDTO dto = hubMapper.toResponseDTO(hub);
@@ -6,6 +6,7 @@ import com.yowyob.delivery.route.controller.dto.ParcelResponseDTO;
 import com.yowyob.delivery.route.domain.entity.Parcel;
 import com.yowyob.delivery.route.domain.enums.ParcelState;
 import com.yowyob.delivery.route.mapper.GeoPointMapper;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,8 +46,8 @@ class ParcelMapperTest {
                 .id(id)
                 .trackingCode("TRK-123")
                 .currentState(ParcelState.IN_TRANSIT)
-                .pickupLocation("POINT(10 10)")
-                .deliveryLocation("POINT(20 20)")
+                .pickupLocation(new GeoPoint(10, 10))
+                .deliveryLocation(new GeoPoint(20, 20))
                 .weightKg(5.5)
                 .priority(com.yowyob.delivery.route.domain.enums.ParcelPriority.NORMAL)
                 .build();
@@ -78,8 +79,8 @@ class ParcelMapperTest {
         assertNotNull(parcel);
         assertEquals("John", parcel.getSenderName());
         assertEquals("Doe", parcel.getRecipientName());
-        assertEquals("POINT(10 10)", parcel.getPickupLocation());
-        assertEquals("POINT(20 20)", parcel.getDeliveryLocation());
+        assertEquals(new GeoPoint(10, 10), parcel.getPickupLocation());
+        assertEquals(new GeoPoint(20, 20), parcel.getDeliveryLocation());
         assertEquals(10.0, parcel.getWeightKg());
     }
 }
@@ -2,6 +2,7 @@ package com.yowyob.delivery.route.mapper;
 
 import com.yowyob.delivery.route.controller.dto.RouteResponseDTO;
 import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.domain.geometry.Polyline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,7 +35,7 @@ class RouteMapperTest {
                 .id(UUID.randomUUID())
                 .parcelId(UUID.randomUUID())
                 .driverId(UUID.randomUUID())
-                .routeGeometry("LINESTRING(10 10, 20 20)")
+                .routeGeometry(Polyline.parseWkt("LINESTRING(10 10, 20 20)"))
                 .totalDistanceKm(15.5)
                 .estimatedDurationMinutes(30)
                 .routingService("DIJKSTRA")
@@ -0,0 +1,128 @@
+package com.yowyob.delivery.route.service;
+
+import com.yowyob.delivery.route.controller.dto.DriverLocationDTO;
+import com.yowyob.delivery.route.controller.dto.LocationBatchReportDTO;
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.DriverRepository;
+import com.yowyob.delivery.route.service.tracking.DriverLocationBuffer;
+import com.yowyob.delivery.route.service.tracking.NearbyDriver;
+import com.yowyob.delivery.route.service.tracking.NearestDriverIndex;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DriverServiceTest {
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @Mock
+    private DriverLocationBuffer driverLocationBuffer;
+
+    @Mock
+    private NearestDriverIndex nearestDriverIndex;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private DriverService driverService;
+
+    @Test
+    void shouldBufferValidLocationsAndReportInvalidOnes() {
+        UUID driverId = UUID.randomUUID();
+        LocalDateTime recordedAt = LocalDateTime.of(2026, 1, 15, 10, 0);
+        DriverLocationDTO valid = location(driverId, 4.05, 9.70, recordedAt);
+        DriverLocationDTO future = location(driverId, 4.06, 9.71, LocalDateTime.now().plusDays(1));
+        DriverLocationDTO outOfRange = location(driverId, 95.0, 9.70, null);
+
+        LocationBatchReportDTO report = driverService
+                .recordLocations(Arrays.asList(valid, outOfRange, null, future))
+                .block();
+
+        assertEquals(2, report.getAccepted());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of("index 1: Latitude must be between -90 and 90", "index 2: Location is required"),
+                report.getErrors());
+        verify(driverLocationBuffer).record(argThat(l -> l.driverId().equals(driverId)
+                && l.location().equals(new GeoPoint(9.70, 4.05)) && l.recordedAt().equals(recordedAt)));
+        verify(driverLocationBuffer).record(argThat(l -> l.location().equals(new GeoPoint(9.71, 4.06))
+                && !l.recordedAt().isAfter(LocalDateTime.now())));
+        verify(driverLocationBuffer, times(2)).record(argThat(l -> true));
+        verify(nearestDriverIndex, times(2)).recordLocation(argThat(l -> true));
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        List<DriverLocationDTO> tooMany = Collections.nCopies(5001, location(UUID.randomUUID(), 4.05, 9.70, null));
+
+        StepVerifier.create(driverService.recordLocations(tooMany))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(driverLocationBuffer);
+    }
+
+    @Test
+    void shouldDateLocationsWithoutTimeAtReception() {
+        LocalDateTime before = LocalDateTime.now();
+
+        StepVerifier.create(driverService.recordLocation(location(UUID.randomUUID(), 4.05, 9.70, null)))
+                .verifyComplete();
+
+        verify(driverLocationBuffer).record(argThat(l -> !l.recordedAt().isBefore(before)));
+    }
+
+    @Test
+    void shouldFindNearestDriversFromTheIndex() {
+        UUID driverId = UUID.randomUUID();
+        LocalDateTime recordedAt = LocalDateTime.of(2026, 1, 15, 10, 0);
+        when(nearestDriverIndex.nearest(DriverState.AVAILABLE, 4.05, 9.70, 3, 10.0)).thenReturn(List.of(
+                new NearbyDriver(driverId, DriverState.AVAILABLE, new GeoPoint(9.71, 4.06), recordedAt, 1.5)));
+
+        StepVerifier.create(driverService.findNearestDrivers(4.05, 9.70, 3, DriverState.AVAILABLE, 10.0))
+                .expectNextMatches(dto -> dto.getDriverId().equals(driverId) && "AVAILABLE".equals(dto.getStatus())
+                        && dto.getLatitude() == 4.06 && dto.getLongitude() == 9.71 && dto.getDistanceKm() == 1.5
+                        && recordedAt.equals(dto.getLastLocationUpdate()))
+                .verifyComplete();
+
+        StepVerifier.create(driverService.findNearestDrivers(4.05, 9.70, 0, DriverState.AVAILABLE, 10.0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(driverService.findNearestDrivers(4.05, 190, 3, DriverState.AVAILABLE, 10.0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(driverService.findNearestDrivers(4.05, 9.70, 3, DriverState.AVAILABLE, -1))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private static DriverLocationDTO location(UUID driverId, double lat, double lon, LocalDateTime recordedAt) {
+        return DriverLocationDTO.builder()
+                .driverId(driverId)
+                .latitude(lat)
+                .longitude(lon)
+                .recordedAt(recordedAt)
+                .build();
+    }
+}
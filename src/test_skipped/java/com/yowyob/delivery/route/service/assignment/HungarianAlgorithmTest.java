@@ -0,0 +1,167 @@
+package com.yowyob.delivery.route.service.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HungarianAlgorithmTest {
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    @Test
+    void matchesBruteForceOnRandomMatrices() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            int rows = 1 + random.nextInt(6);
+            int cols = 1 + random.nextInt(6);
+            double[] cost = new double[rows * cols];
+            for (int i = 0; i < cost.length; i++) {
+                // Some forbidden pairs, some ties
+                cost[i] = random.nextInt(5) == 0 ? INF : random.nextInt(20) + (round % 2 == 0 ? random.nextDouble() : 0);
+            }
+
+            int[] result = HungarianAlgorithm.solve(cost.clone(), rows, cols);
+
+            double[] best = bruteForce(cost, rows, cols, 0, new boolean[cols]);
+            assertEquals(best[0], matched(result), "cardinality in round " + round);
+            assertEquals(best[1], total(cost, cols, result), 1e-9, "cost in round " + round);
+            assertValid(cost, cols, result);
+        }
+    }
+
+    @Test
+    void prefersMoreMatchesOverCheaperOnes() {
+        // Row 0 alone would take column 0, but then row 1 could not be matched
+        double[] cost = {
+                1, 100,
+                5, INF
+        };
+
+        assertArrayEquals(new int[] { 1, 0 }, HungarianAlgorithm.solve(cost, 2, 2));
+    }
+
+    @Test
+    void leavesRowsWithOnlyForbiddenPairsUnmatched() {
+        double[] cost = {
+                INF, INF, INF,
+                3, 1, 2
+        };
+
+        assertArrayEquals(new int[] { -1, 1 }, HungarianAlgorithm.solve(cost, 2, 3));
+        assertArrayEquals(new int[] { -1, -1 }, HungarianAlgorithm.solve(new double[] { INF, INF }, 2, 1));
+        assertArrayEquals(new int[0], HungarianAlgorithm.solve(new double[0], 0, 4));
+        assertArrayEquals(new int[] { -1, -1 }, HungarianAlgorithm.solve(new double[0], 2, 0));
+    }
+
+    @Test
+    void rejectsInvalidMatrices() {
+        assertThrows(IllegalArgumentException.class, () -> HungarianAlgorithm.solve(new double[3], 2, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> HungarianAlgorithm.solve(new double[] { 1, Double.NaN }, 1, 2));
+        // 65536 x 65536 overflows to 0 in int arithmetic
+        assertThrows(IllegalArgumentException.class, () -> HungarianAlgorithm.solve(new double[0], 65_536, 65_536));
+    }
+
+    @Test
+    void penalizesForbiddenPairsInPlace() {
+        double[] cost = {
+                2, INF, 4,
+                INF, 1, 3
+        };
+
+        assertArrayEquals(new int[] { 0, 1 }, HungarianAlgorithm.solve(cost, 2, 3));
+        assertEquals(2, cost[0]);
+        assertTrue(cost[1] > 4 && cost[1] != INF);
+        assertEquals(cost[1], cost[3]);
+    }
+
+    @Test
+    void solvesLargeRectangularMatrices() {
+        Random random = new Random(3);
+        int rows = 300;
+        int cols = 2_000;
+        double[] cost = new double[rows * cols];
+        for (int i = 0; i < cost.length; i++) {
+            cost[i] = random.nextInt(10) == 0 ? INF : 100 * random.nextDouble();
+        }
+
+        int[] result = HungarianAlgorithm.solve(cost.clone(), rows, cols);
+
+        assertEquals(rows, matched(result));
+        assertValid(cost, cols, result);
+        // Each row gets close to its cheapest column in a matrix this wide
+        double lowerBound = 0;
+        for (int i = 0; i < rows; i++) {
+            double min = INF;
+            for (int j = 0; j < cols; j++) {
+                min = Math.min(min, cost[i * cols + j]);
+            }
+            lowerBound += min;
+        }
+        assertTrue(total(cost, cols, result) >= lowerBound - 1e-9);
+        assertTrue(total(cost, cols, result) < lowerBound + 100);
+    }
+
+    /**
+     * @return the largest number of allowed pairs and the least cost among
+     *         the matchings with that many pairs
+     */
+    private static double[] bruteForce(double[] cost, int rows, int cols, int row, boolean[] used) {
+        if (row == rows) {
+            return new double[] { 0, 0 };
+        }
+        double[] best = bruteForce(cost, rows, cols, row + 1, used);
+        for (int j = 0; j < cols; j++) {
+            double c = cost[row * cols + j];
+            if (used[j] || c == INF) {
+                continue;
+            }
+            used[j] = true;
+            double[] rest = bruteForce(cost, rows, cols, row + 1, used);
+            used[j] = false;
+            double count = rest[0] + 1;
+            double total = rest[1] + c;
+            if (count > best[0] || count == best[0] && total < best[1]) {
+                best = new double[] { count, total };
+            }
+        }
+        return best;
+    }
+
+    private static int matched(int[] result) {
+        int count = 0;
+        for (int column : result) {
+            if (column >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static double total(double[] cost, int cols, int[] result) {
+        double total = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] >= 0) {
+                total += cost[i * cols + result[i]];
+            }
+        }
+        return total;
+    }
+
+    private static void assertValid(double[] cost, int cols, int[] result) {
+        Set<Integer> columns = new HashSet<>();
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] >= 0) {
+                assertTrue(columns.add(result[i]), "column matched twice");
+                assertTrue(cost[i * cols + result[i]] != INF, "forbidden pair matched");
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.yowyob.delivery.route.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeoGridTest {
+
+    @Test
+    void matchesBruteForceOnRandomPoints() {
+        Random random = new Random(42);
+        int n = 2_000;
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Clustered around Douala and Yaounde, with a few outliers
+            boolean outlier = i % 50 == 0;
+            lats[i] = outlier ? -30 + 60 * random.nextDouble() : (i % 2 == 0 ? 4.05 : 3.87) + random.nextGaussian() * 0.1;
+            lons[i] = outlier ? -20 + 60 * random.nextDouble() : (i % 2 == 0 ? 9.70 : 11.50) + random.nextGaussian() * 0.1;
+        }
+        GeoGrid grid = GeoGrid.build(lats, lons);
+
+        for (int q = 0; q < 200; q++) {
+            double lat = -40 + 80 * random.nextDouble();
+            double lon = q % 2 == 0 ? 9 + 3 * random.nextDouble() : -30 + 80 * random.nextDouble();
+            int k = 1 + random.nextInt(10);
+
+            GeoGrid.Neighbours neighbours = grid.nearest(lat, lon, k);
+
+            double[] expected = IntStream.range(0, n)
+                    .mapToDouble(i -> haversine(lat, lon, lats[i], lons[i]))
+                    .sorted()
+                    .limit(k)
+                    .toArray();
+            assertArrayEquals(expected, neighbours.distancesKm(), 1e-9);
+            for (int i = 0; i < k; i++) {
+                assertEquals(expected[i], haversine(lat, lon,
+                        lats[neighbours.indices()[i]], lons[neighbours.indices()[i]]), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void skipsUnlocatedPointsAndHandlesEmptyGrids() {
+        GeoGrid grid = GeoGrid.build(new double[] { Double.NaN, 4.05, 3.87 }, new double[] { 9.7, 9.7, 11.5 });
+
+        GeoGrid.Neighbours neighbours = grid.nearest(4.0, 9.7, 5);
+
+        assertEquals(2, grid.size());
+        assertArrayEquals(new int[] { 1, 2 }, neighbours.indices());
+        assertEquals(0, GeoGrid.build(new double[0], new double[0]).nearest(4.0, 9.7, 3).size());
+        assertEquals(0, grid.nearest(4.0, 9.7, 0).size());
+    }
+
+    @Test
+    void handlesDegenerateLayouts() {
+        double[] lats = new double[10];
+        double[] lons = new double[10];
+        Arrays.fill(lats, 4.0);
+        for (int i = 0; i < 10; i++) {
+            lons[i] = 9.0 + i * 0.1;
+        }
+        GeoGrid grid = GeoGrid.build(lats, lons);
+
+        Integer[] order = IntStream.range(0, 10).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingDouble(i -> haversine(5.0, 9.42, lats[i], lons[i])));
+
+        GeoGrid.Neighbours neighbours = grid.nearest(5.0, 9.42, 3);
+
+        assertArrayEquals(new int[] { order[0], order[1], order[2] }, neighbours.indices());
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        return GeoDistance.haversineKm(lat1, lon1, Math.cos(Math.toRadians(lat1)),
+                lat2, lon2, Math.cos(Math.toRadians(lat2)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.yowyob.delivery.route.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedMinHeapTest {
+
+    @Test
+    void pollsInKeyOrderAfterDecreases() {
+        Random random = new Random(5);
+        int nodeCount = 500;
+        IndexedMinHeap heap = new IndexedMinHeap();
+        heap.reset(nodeCount);
+        double[] expected = new double[nodeCount];
+        Arrays.fill(expected, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < 3_000; i++) {
+            int node = random.nextInt(nodeCount);
+            double key = random.nextInt(1_000);
+            heap.insertOrDecrease(node, key);
+            expected[node] = Math.min(expected[node], key);
+        }
+
+        int queued = (int) Arrays.stream(expected).filter(key -> key != Double.POSITIVE_INFINITY).count();
+        assertEquals(queued, heap.size());
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.peekKey();
+            int node = heap.poll();
+            assertFalse(heap.contains(node));
+            assertEquals(expected[node], key, "key of node " + node);
+            assertTrue(key >= previous, "polled out of order");
+            previous = key;
+            queued--;
+        }
+        assertEquals(0, queued);
+    }
+
+    @Test
+    void ignoresLargerKeysForQueuedNodes() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        heap.reset(3);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(1, 3.0);
+        heap.insertOrDecrease(0, 9.0);
+        heap.insertOrDecrease(0, 1.0);
+
+        assertEquals(2, heap.size());
+        assertEquals(1.0, heap.peekKey());
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void pollsTheOnlyNode() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        heap.reset(4);
+        heap.insertOrDecrease(2, 7.5);
+
+        assertEquals(2, heap.peek());
+        assertEquals(2, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(2));
+
+        // The polled node can be queued again
+        heap.insertOrDecrease(2, 8.0);
+        assertEquals(8.0, heap.peekKey());
+        assertEquals(2, heap.poll());
+    }
+
+    @Test
+    void resetForgetsQueuedNodes() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        heap.reset(10);
+        for (int node = 0; node < 10; node++) {
+            heap.insertOrDecrease(node, node);
+        }
+        heap.poll();
+
+        heap.reset(6);
+
+        assertTrue(heap.isEmpty());
+        for (int node = 0; node < 6; node++) {
+            assertFalse(heap.contains(node));
+        }
+        heap.insertOrDecrease(5, 2.0);
+        heap.insertOrDecrease(3, 1.0);
+        assertEquals(3, heap.poll());
+        assertEquals(5, heap.poll());
+    }
+}
@@ -0,0 +1,64 @@
+package com.yowyob.delivery.route.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchSpaceTest {
+
+    @Test
+    void reusesTheSpaceAcrossSearchesOfDifferentSizes() {
+        SearchSpace large = SearchSpace.acquire(100);
+        large.update(0, 0.0, -1);
+        large.update(99, 12.5, 0);
+        large.update(99, 10.0, 42);
+        large.heap().insertOrDecrease(99, 10.0);
+        large.heap().insertOrDecrease(7, 3.0);
+
+        SearchSpace small = SearchSpace.acquire(10);
+
+        assertSame(large, small);
+        assertClear(small, 10);
+        small.update(3, 1.0, -1);
+        small.heap().insertOrDecrease(3, 1.0);
+        assertEquals(3, small.heap().poll());
+
+        // Back to the larger graph: nothing left over from either search
+        SearchSpace again = SearchSpace.acquire(100);
+        assertSame(large, again);
+        assertClear(again, 100);
+
+        SearchSpace grown = SearchSpace.acquire(1_000);
+        assertClear(grown, 1_000);
+        grown.update(999, 4.0, 998);
+        assertEquals(4.0, grown.distance(999));
+        assertEquals(998, grown.predecessors()[999]);
+    }
+
+    @Test
+    void keepsBackwardAndPerThreadSpacesApart() throws Exception {
+        SearchSpace forward = SearchSpace.acquire(5);
+        SearchSpace backward = SearchSpace.acquireBackward(5);
+        forward.update(1, 2.0, -1);
+
+        assertNotSame(forward, backward);
+        assertEquals(Double.POSITIVE_INFINITY, backward.distance(1));
+        assertNotSame(forward, CompletableFuture.supplyAsync(() -> SearchSpace.acquire(5)).get());
+    }
+
+    private static void assertClear(SearchSpace space, int nodeCount) {
+        assertTrue(space.heap().isEmpty());
+        assertTrue(space.predecessors().length >= nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            assertEquals(Double.POSITIVE_INFINITY, space.distance(node), "distance of node " + node);
+            assertEquals(-1, space.predecessors()[node], "predecessor of node " + node);
+            assertFalse(space.heap().contains(node), "node " + node + " still queued");
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.yowyob.delivery.route.service.impl;
+
+import com.yowyob.delivery.route.controller.dto.AssignmentDTO;
+import com.yowyob.delivery.route.domain.entity.DeliveryDriver;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.entity.Parcel;
+import com.yowyob.delivery.route.domain.entity.Vehicle;
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.enums.ParcelState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.DriverRepository;
+import com.yowyob.delivery.route.repository.ParcelAssignment;
+import com.yowyob.delivery.route.repository.ParcelRepository;
+import com.yowyob.delivery.route.repository.VehicleRepository;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.HubGrid;
+import com.yowyob.delivery.route.service.graph.NearestHubIndex;
+import com.yowyob.delivery.route.service.tracking.NearbyDriver;
+import com.yowyob.delivery.route.service.tracking.NearestDriverIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssignmentServiceImplTest {
+
+    @Mock
+    private ParcelRepository parcelRepository;
+    @Mock
+    private DriverRepository driverRepository;
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private NearestHubIndex nearestHubIndex;
+    @Mock
+    private NearestDriverIndex nearestDriverIndex;
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private AssignmentServiceImpl assignmentService;
+
+    // Hubs along the equator side of Cameroon, about 55 km apart; D is not connected
+    private final Hub hubA = hub(9.0);
+    private final Hub hubB = hub(9.5);
+    private final Hub hubC = hub(10.0);
+    private final Hub hubD = hub(11.0);
+
+    private final Vehicle smallVehicle = Vehicle.builder().id(UUID.randomUUID()).maxCapacityKg(10.0).isActive(true).build();
+    private final Vehicle largeVehicle = Vehicle.builder().id(UUID.randomUUID()).maxCapacityKg(100.0).isActive(true).build();
+
+    private final DeliveryDriver nearA = driver(DriverState.AVAILABLE, hubA.getLocation(), smallVehicle);
+    private final DeliveryDriver nearC = driver(DriverState.AVAILABLE, hubC.getLocation(), largeVehicle);
+    private final DeliveryDriver offline = driver(DriverState.OFFLINE, hubB.getLocation(), largeVehicle);
+
+    @BeforeEach
+    void setUp() {
+        assignmentService = new AssignmentServiceImpl(parcelRepository, driverRepository, vehicleRepository,
+                nearestHubIndex, nearestDriverIndex, transactionalOperator);
+        ReflectionTestUtils.setField(assignmentService, "maxParcels", 100);
+    }
+
+    @Test
+    void shouldMinimizeRoadDistanceWithinVehicleCapacity() {
+        // The heavy parcel only fits the large vehicle, so the light one goes to the other driver
+        Parcel heavy = parcel(hubA.getLocation(), hubA.getId(), 50.0);
+        Parcel light = parcel(hubB.getLocation(), null, 5.0);
+        Parcel unreachable = parcel(hubD.getLocation(), null, 1.0);
+        givenBatch(List.of(heavy, light, unreachable));
+        when(driverRepository.updateStates(anySet(), eq(DriverState.AVAILABLE), eq(DriverState.ASSIGNED)))
+                .thenAnswer(inv -> Flux.fromIterable(inv.<Set<UUID>>getArgument(0)));
+        when(parcelRepository.assignDrivers(anyList()))
+                .thenAnswer(inv -> Flux.fromIterable(inv.<List<ParcelAssignment>>getArgument(0))
+                        .map(ParcelAssignment::parcelId));
+        when(driverRepository.updateStates(Set.of(), DriverState.ASSIGNED, DriverState.AVAILABLE))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(assignmentService.assignPlannedParcels(null))
+                .assertNext(report -> {
+                    assertEquals(3, report.getParcelsConsidered());
+                    assertEquals(2, report.getDriversConsidered());
+                    assertEquals(1, report.getUnassigned());
+                    Map<UUID, AssignmentDTO> byParcel = report.getAssignments().stream()
+                            .collect(Collectors.toMap(AssignmentDTO::getParcelId, a -> a));
+                    assertEquals(Set.of(heavy.getId(), light.getId()), byParcel.keySet());
+                    assertEquals(nearC.getId(), byParcel.get(heavy.getId()).getDriverId());
+                    assertEquals(largeVehicle.getId(), byParcel.get(heavy.getId()).getVehicleId());
+                    assertEquals(120.0, byParcel.get(heavy.getId()).getDistanceKm(), 1e-9);
+                    assertEquals(nearA.getId(), byParcel.get(light.getId()).getDriverId());
+                    assertEquals(60.0, byParcel.get(light.getId()).getDistanceKm(), 1e-9);
+                    assertEquals(180.0, report.getTotalDistanceKm(), 1e-9);
+                })
+                .verifyComplete();
+
+        verify(driverRepository).updateStates(Set.of(nearA.getId(), nearC.getId()),
+                DriverState.AVAILABLE, DriverState.ASSIGNED);
+        verify(nearestDriverIndex).updateState(nearA.getId(), DriverState.ASSIGNED);
+        verify(nearestDriverIndex).updateState(nearC.getId(), DriverState.ASSIGNED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReleaseDriversWhoseParcelWasTakenConcurrently() {
+        Parcel first = parcel(hubA.getLocation(), hubA.getId(), 1.0);
+        Parcel second = parcel(hubC.getLocation(), hubC.getId(), 1.0);
+        givenBatch(List.of(first, second));
+        when(driverRepository.updateStates(anySet(), eq(DriverState.AVAILABLE), eq(DriverState.ASSIGNED)))
+                .thenAnswer(inv -> Flux.fromIterable(inv.<Set<UUID>>getArgument(0)));
+        // The second parcel got a driver in the meantime
+        when(parcelRepository.assignDrivers(anyList())).thenReturn(Flux.just(first.getId()));
+        when(driverRepository.updateStates(anySet(), eq(DriverState.ASSIGNED), eq(DriverState.AVAILABLE)))
+                .thenReturn(Flux.just(nearC.getId()));
+
+        StepVerifier.create(assignmentService.assignPlannedParcels(10))
+                .assertNext(report -> {
+                    assertEquals(1, report.getAssignments().size());
+                    assertEquals(first.getId(), report.getAssignments().get(0).getParcelId());
+                    assertEquals(nearA.getId(), report.getAssignments().get(0).getDriverId());
+                    assertEquals(1, report.getUnassigned());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<List<ParcelAssignment>> rows = ArgumentCaptor.forClass(List.class);
+        verify(parcelRepository).assignDrivers(rows.capture());
+        assertEquals(Set.of(new ParcelAssignment(first.getId(), nearA.getId(), smallVehicle.getId()),
+                new ParcelAssignment(second.getId(), nearC.getId(), largeVehicle.getId())), Set.copyOf(rows.getValue()));
+        verify(driverRepository).updateStates(Set.of(nearC.getId()), DriverState.ASSIGNED, DriverState.AVAILABLE);
+        verify(nearestDriverIndex).updateState(nearA.getId(), DriverState.ASSIGNED);
+        verify(nearestDriverIndex, never()).updateState(nearC.getId(), DriverState.ASSIGNED);
+        verify(transactionalOperator).transactional(any(Mono.class));
+    }
+
+    @Test
+    void shouldSkipPlanningWithoutParcels() {
+        when(parcelRepository.findPlannedWithoutDriver(100)).thenReturn(Flux.empty());
+        when(driverRepository.findAllByIdWithLocation(Set.of())).thenReturn(Flux.empty());
+
+        StepVerifier.create(assignmentService.assignPlannedParcels(null))
+                .assertNext(report -> {
+                    assertEquals(0, report.getParcelsConsidered());
+                    assertEquals(0, report.getDriversConsidered());
+                    assertEquals(List.of(), report.getAssignments());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(vehicleRepository, nearestHubIndex, nearestDriverIndex, transactionalOperator);
+    }
+
+    @Test
+    void shouldShortlistNearestDriversRankByRank() {
+        ReflectionTestUtils.setField(assignmentService, "maxDriversPerParcel", 1);
+        Parcel first = parcel(hubA.getLocation(), hubA.getId(), 1.0);
+        Parcel second = parcel(hubC.getLocation(), hubC.getId(), 1.0);
+        Parcel third = parcel(hubB.getLocation(), hubB.getId(), 1.0);
+        UUID farFromFirst = UUID.randomUUID();
+        UUID farFromSecond = UUID.randomUUID();
+        when(parcelRepository.findPlannedWithoutDriver(100)).thenReturn(Flux.just(first, second, third));
+        when(nearestDriverIndex.nearest(DriverState.AVAILABLE, 4.0, 9.0, 10, 50.0))
+                .thenReturn(List.of(nearby(nearA.getId()), nearby(nearC.getId()), nearby(farFromFirst)));
+        when(nearestDriverIndex.nearest(DriverState.AVAILABLE, 4.0, 10.0, 10, 50.0))
+                .thenReturn(List.of(nearby(nearC.getId()), nearby(farFromSecond), nearby(nearA.getId())));
+        when(nearestDriverIndex.nearest(DriverState.AVAILABLE, 4.0, 9.5, 10, 50.0))
+                .thenReturn(List.of(nearby(nearA.getId())));
+        when(driverRepository.findAllByIdWithLocation(anySet())).thenReturn(Flux.empty());
+
+        StepVerifier.create(assignmentService.assignPlannedParcels(null))
+                .assertNext(report -> assertEquals(3, report.getUnassigned()))
+                .verifyComplete();
+
+        // Closest driver of each parcel first, then the runners-up, up to one driver per parcel
+        verify(driverRepository).findAllByIdWithLocation(Set.of(nearA.getId(), nearC.getId(), farFromSecond));
+        verifyNoInteractions(vehicleRepository, transactionalOperator);
+    }
+
+    @Test
+    void shouldRejectOutOfRangeLimit() {
+        StepVerifier.create(assignmentService.assignPlannedParcels(101))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(assignmentService.assignPlannedParcels(0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(parcelRepository, driverRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenBatch(List<Parcel> parcels) {
+        GraphSnapshot graph = GraphSnapshot.build(1, List.of(hubA, hubB, hubC, hubD), List.of(
+                HubConnection.builder().fromHubId(hubA.getId()).toHubId(hubB.getId()).weight(60.0).build(),
+                HubConnection.builder().fromHubId(hubB.getId()).toHubId(hubC.getId()).weight(60.0).build()));
+        when(parcelRepository.findPlannedWithoutDriver(anyInt())).thenReturn(Flux.fromIterable(parcels));
+        // The index still lists the driver who went offline; the database has the last word
+        when(nearestDriverIndex.nearest(eq(DriverState.AVAILABLE), anyDouble(), anyDouble(), anyInt(), anyDouble()))
+                .thenReturn(List.of(nearby(nearA.getId()), nearby(nearC.getId()), nearby(offline.getId())));
+        when(driverRepository.findAllByIdWithLocation(anySet())).thenReturn(Flux.just(nearA, nearC, offline));
+        when(vehicleRepository.findAllById(anySet())).thenReturn(Flux.just(smallVehicle, largeVehicle));
+        when(nearestHubIndex.grid()).thenReturn(Mono.just(HubGrid.build(graph)));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static NearbyDriver nearby(UUID driverId) {
+        return new NearbyDriver(driverId, DriverState.AVAILABLE, null, null, 0.0);
+    }
+
+    private static Hub hub(double lon) {
+        return Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(lon, 4.0)).build();
+    }
+
+    private static DeliveryDriver driver(DriverState state, GeoPoint location, Vehicle vehicle) {
+        return DeliveryDriver.builder()
+                .id(UUID.randomUUID())
+                .currentState(state)
+                .currentLocation(location)
+                .vehicleId(vehicle.getId())
+                .isActive(true)
+                .build();
+    }
+
+    private static Parcel parcel(GeoPoint pickup, UUID pickupHubId, double weightKg) {
+        return Parcel.builder()
+                .id(UUID.randomUUID())
+                .trackingCode("TRK-" + UUID.randomUUID().toString().substring(0, 8))
+                .currentState(ParcelState.PLANNED)
+                .pickupLocation(pickup)
+                .pickupHubId(pickupHubId)
+                .weightKg(weightKg)
+                .build();
+    }
+}
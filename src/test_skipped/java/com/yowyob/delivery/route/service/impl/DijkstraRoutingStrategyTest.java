@@ -4,16 +4,14 @@ import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
 import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.entity.HubConnection;
 import com.yowyob.delivery.route.domain.entity.Route;
-import com.yowyob.delivery.route.mapper.HubMapper;
 import com.yowyob.delivery.route.repository.HubConnectionRepository;
 import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
 import com.yowyob.delivery.route.service.strategy.DijkstraRoutingStrategy;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.Point;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
@@ -30,24 +28,24 @@ class DijkstraRoutingStrategyTest {
     private HubConnectionRepository connectionRepository;
     @Mock
     private HubRepository hubRepository;
-    @Mock
-    private HubMapper hubMapper;
 
-    @InjectMocks
     private DijkstraRoutingStrategy dijkstraStrategy;
 
-    private GeometryFactory geometryFactory = new GeometryFactory();
+    @BeforeEach
+    void setUp() {
+        RoutingGraph routingGraph = new RoutingGraph(hubRepository, connectionRepository, event -> {
+        });
+        dijkstraStrategy = new DijkstraRoutingStrategy(routingGraph, hubRepository);
+    }
 
     @Test
     void shouldCalculateRouteUsingDijkstra() {
         // Simple graph: A -> B (weight 10)
         UUID idA = UUID.randomUUID();
         UUID idB = UUID.randomUUID();
-        Point ptA = geometryFactory.createPoint(new Coordinate(0, 0));
-        Point ptB = geometryFactory.createPoint(new Coordinate(1, 1));
 
-        Hub hubA = Hub.builder().id(idA).location("POINT(0 0)").address("A").build();
-        Hub hubB = Hub.builder().id(idB).location("POINT(1 1)").address("B").build();
+        Hub hubA = Hub.builder().id(idA).location(new GeoPoint(0, 0)).address("A").build();
+        Hub hubB = Hub.builder().id(idB).location(new GeoPoint(1, 1)).address("B").build();
 
         HubConnection conn = HubConnection.builder()
                 .fromHubId(idA)
@@ -57,8 +55,6 @@ class DijkstraRoutingStrategyTest {
 
         when(hubRepository.findAllWithLocation()).thenReturn(reactor.core.publisher.Flux.just(hubA, hubB));
         when(connectionRepository.findAll()).thenReturn(reactor.core.publisher.Flux.just(conn));
-        when(hubMapper.wktToPoint("POINT(0 0)")).thenReturn(ptA);
-        when(hubMapper.wktToPoint("POINT(1 1)")).thenReturn(ptB);
 
         Mono<Route> routeMono = dijkstraStrategy.calculateOptimalRoute(hubA, hubB, new RoutingConstraintsDTO());
         Route route = routeMono.block();
@@ -6,6 +6,11 @@ import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.enums.HubType;
 
 import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.HubGrid;
+import com.yowyob.delivery.route.service.graph.NearestHubIndex;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,6 +20,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +33,11 @@ class HubServiceImplTest {
         @Mock
         private HubRepository hubRepository;
 
+        @Mock
+        private RoutingGraph routingGraph;
+
+        @Mock
+        private NearestHubIndex nearestHubIndex;
 
 
         @InjectMocks
@@ -43,7 +54,7 @@ class HubServiceImplTest {
 
                 Hub hub = Hub.builder().build();
                 Hub savedHub = Hub.builder().id(UUID.randomUUID()).address("Test Address").type(HubType.WAREHOUSE)
-                                .location("POINT(2 48)").build();
+                                .location(new GeoPoint(2, 48)).build();
                 GeoPointResponseDTO responseDTO = GeoPointResponseDTO.builder().address("Test Address").build();
 
 
@@ -59,13 +70,13 @@ class HubServiceImplTest {
 
                 verify(hubRepository).saveWithGeometry(argThat(h -> "Test Address".equals(h.getAddress()) &&
                                 HubType.WAREHOUSE == h.getType() &&
-                                "POINT(2.000000 48.000000)".equals(h.getLocation())));
+                                new GeoPoint(2.0, 48.0).equals(h.getLocation())));
         }
 
         @Test
         void shouldGetHubById() {
                 UUID id = UUID.randomUUID();
-                Hub hub = Hub.builder().id(id).address("Add").location("POINT(10 20)").type(HubType.WAREHOUSE).build();
+                Hub hub = Hub.builder().id(id).address("Add").location(new GeoPoint(10, 20)).type(HubType.WAREHOUSE).build();
                 GeoPointResponseDTO responseDTO = GeoPointResponseDTO.builder().id(id).build();
 
                 when(hubRepository.findByIdWithLocation(id)).thenReturn(Mono.just(hub));
@@ -80,8 +91,8 @@ class HubServiceImplTest {
 
         @Test
         void shouldGetAllHubs() {
-                Hub h1 = Hub.builder().id(UUID.randomUUID()).location("POINT(0 0)").type(HubType.WAREHOUSE).build();
-                Hub h2 = Hub.builder().id(UUID.randomUUID()).location("POINT(0 0)").type(HubType.WAREHOUSE).build();
+                Hub h1 = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(0, 0)).type(HubType.WAREHOUSE).build();
+                Hub h2 = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(0, 0)).type(HubType.WAREHOUSE).build();
 
                 when(hubRepository.findAllWithLocation()).thenReturn(Flux.just(h1, h2));
                 // when(hubMapper.toResponseDTO(h1)).thenReturn(r1);
@@ -94,4 +105,53 @@ class HubServiceImplTest {
                                 .expectNextMatches(dto -> dto.getId().equals(h2.getId()))
                                 .verifyComplete();
         }
+
+        @Test
+        void shouldFindNearestHubsClosestFirst() {
+                Hub akwa = Hub.builder().id(UUID.randomUUID()).address("Akwa").location(new GeoPoint(9.70, 4.05)).type(HubType.WAREHOUSE).build();
+                Hub bonaberi = Hub.builder().id(UUID.randomUUID()).address("Bonaberi").location(new GeoPoint(9.66, 4.07)).type(HubType.WAREHOUSE).build();
+                Hub yaounde = Hub.builder().id(UUID.randomUUID()).address("Yaounde").location(new GeoPoint(11.50, 3.87)).type(HubType.WAREHOUSE).build();
+                Hub unlocated = Hub.builder().id(UUID.randomUUID()).address("Unknown").type(HubType.WAREHOUSE).build();
+                HubGrid grid = HubGrid.build(GraphSnapshot.build(1, List.of(yaounde, unlocated, akwa, bonaberi), List.of()));
+
+                when(nearestHubIndex.grid()).thenReturn(Mono.just(grid));
+
+                StepVerifier.create(hubService.findNearestHubs(4.06, 9.69, 5))
+                                .expectNextMatches(dto -> dto.getHub().getId().equals(akwa.getId()) && dto.getDistanceKm() < 2)
+                                .expectNextMatches(dto -> dto.getHub().getId().equals(bonaberi.getId()))
+                                .expectNextMatches(dto -> dto.getHub().getId().equals(yaounde.getId()) && dto.getDistanceKm() > 190)
+                                .verifyComplete();
+        }
+
+        @Test
+        void shouldSearchHubsWithinRadiusInMeters() {
+                Hub hub = Hub.builder().id(UUID.randomUUID()).address("Akwa").location(new GeoPoint(9.70, 4.05)).type(HubType.WAREHOUSE).build();
+                GeoPoint center = new GeoPoint(9.69, 4.06);
+
+                when(hubRepository.findAllWithinRadius(center, 2500.0)).thenReturn(Flux.just(hub));
+
+                StepVerifier.create(hubService.findHubsWithinRadius(center, 2.5))
+                                .expectNextMatches(dto -> dto.getId().equals(hub.getId()))
+                                .verifyComplete();
+                StepVerifier.create(hubService.findHubsWithinRadius(center, 0))
+                                .expectError(IllegalArgumentException.class)
+                                .verify();
+                StepVerifier.create(hubService.findHubsWithinRadius(center, Double.NaN))
+                                .expectError(IllegalArgumentException.class)
+                                .verify();
+        }
+
+        @Test
+        void shouldRejectInvalidNearestHubQueries() {
+                StepVerifier.create(hubService.findNearestHubs(91, 9.69, 1))
+                                .expectError(IllegalArgumentException.class)
+                                .verify();
+                StepVerifier.create(hubService.findNearestHubs(4.06, 9.69, 0))
+                                .expectError(IllegalArgumentException.class)
+                                .verify();
+                StepVerifier.create(hubService.findNearestHubs(4.06, 9.69, HubServiceImpl.MAX_NEAREST_HUBS + 1))
+                                .expectError(IllegalArgumentException.class)
+                                .verify();
+                verifyNoInteractions(nearestHubIndex);
+        }
 }
@@ -0,0 +1,177 @@
+package com.yowyob.delivery.route.service.impl;
+
+import com.yowyob.delivery.route.controller.dto.ImportReportDTO;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.enums.HubType;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NetworkImportServiceImplTest {
+
+    @Mock
+    private HubRepository hubRepository;
+
+    @Mock
+    private HubConnectionRepository connectionRepository;
+
+    @Mock
+    private RoutingGraph routingGraph;
+
+    @InjectMocks
+    private NetworkImportServiceImpl importService;
+
+    @Test
+    void shouldImportValidHubsInBatchesAndRefreshGraphOnce() {
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        List<List<Hub>> batches = new ArrayList<>();
+        when(hubRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<Hub> batch = invocation.getArgument(0);
+            batches.add(batch);
+            return Mono.just((long) batch.size());
+        });
+        when(routingGraph.refresh()).thenReturn(Mono.empty());
+        UUID id = UUID.randomUUID();
+        String csv = "\"id\",\"address\",\"type\",\"lat\",\"lng\"\r\n"
+                + "\"" + id + "\",\"Douala, Akwa\",sorting_center,4.05,9.7\r\n"
+                + ",Yaounde,,3.87,11.5\n"
+                + "\n"
+                + ",Nowhere,WAREHOUSE,95,11.5\n"
+                + ",Kribi,WAREHOUSE,2.94,9.91\n";
+
+        StepVerifier.create(importService.importHubs(chunks(csv, 7)))
+                .assertNext(report -> {
+                    assertEquals(4L, report.getRowsRead());
+                    assertEquals(3L, report.getRowsImported());
+                    assertEquals(1L, report.getRowsRejected());
+                    assertEquals(List.of("line 5: latitude must be between -90 and 90"), report.getErrors());
+                })
+                .verifyComplete();
+
+        assertEquals(2, batches.size());
+        Hub douala = batches.get(0).get(0);
+        assertEquals(id, douala.getId());
+        assertEquals("Douala, Akwa", douala.getAddress());
+        assertEquals(HubType.SORTING_CENTER, douala.getType());
+        assertEquals(new GeoPoint(9.7, 4.05), douala.getLocation());
+        assertEquals(HubType.WAREHOUSE, batches.get(0).get(1).getType());
+        verify(routingGraph, times(1)).refresh();
+    }
+
+    @Test
+    void shouldCountConnectionsTowardsUnknownHubsAsSkipped() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        List<HubConnection> written = new ArrayList<>();
+        when(connectionRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<HubConnection> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return Mono.just((long) batch.size() - 1);
+        });
+        when(routingGraph.refresh()).thenReturn(Mono.empty());
+        String csv = "fromHubId,toHubId,weight\n"
+                + a + "," + b + ",10\n"
+                + a + "," + b + ",12.5\n"
+                + b + "," + UUID.randomUUID() + ",3\n"
+                + a + "," + a + ",1\n"
+                + "not-a-uuid," + b + ",1\n";
+
+        ImportReportDTO report = importService.importConnections(chunks(csv, 16)).block();
+
+        assertEquals(5L, report.getRowsRead());
+        assertEquals(1L, report.getRowsImported());
+        assertEquals(2L, report.getRowsRejected());
+        assertEquals(2L, report.getRowsSkipped());
+        assertEquals(2, written.size());
+        assertEquals(12.5, written.get(0).getWeight());
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+        StepVerifier.create(importService.importHubs(chunks("id,address\n1,Somewhere\n", 64)))
+                .expectErrorMessage("Missing column 'latitude' in hubs CSV header")
+                .verify();
+
+        verify(hubRepository, never()).upsertAll(anyList());
+        verify(routingGraph, never()).refresh();
+    }
+
+    @Test
+    void shouldImportShippedNetworkFiles() {
+        Set<UUID> hubIds = new HashSet<>();
+        when(hubRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<Hub> batch = invocation.getArgument(0);
+            batch.forEach(hub -> hubIds.add(hub.getId()));
+            return Mono.just((long) batch.size());
+        });
+        // Like the upsert, only counts connections between existing hubs
+        when(connectionRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<HubConnection> batch = invocation.getArgument(0);
+            return Mono.just(batch.stream()
+                    .filter(c -> hubIds.contains(c.getFromHubId()) && hubIds.contains(c.getToHubId()))
+                    .count());
+        });
+        when(routingGraph.refresh()).thenReturn(Mono.empty());
+
+        List<ImportReportDTO> reports = importService.importNetwork(file("hubs.csv"), file("connections.csv")).block();
+
+        ImportReportDTO hubs = reports.get(0);
+        ImportReportDTO connections = reports.get(1);
+        assertEquals(List.of(), hubs.getErrors());
+        assertEquals(26L, hubs.getRowsImported());
+        assertEquals(List.of(), connections.getErrors());
+        assertEquals(65L, connections.getRowsImported());
+        assertEquals(0L, connections.getRowsSkipped());
+    }
+
+    @Test
+    void shouldSplitQuotedFields() {
+        assertEquals(List.of("a", "b, \"c\"", "", "d"),
+                NetworkImportServiceImpl.splitLine("a,\"b, \"\"c\"\"\",,d"));
+    }
+
+    private static Flux<DataBuffer> file(String name) {
+        return DataBufferUtils.read(Path.of(name), DefaultDataBufferFactory.sharedInstance, 4096);
+    }
+
+    private static Flux<DataBuffer> chunks(String content, int size) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -1,25 +1,45 @@
 package com.yowyob.delivery.route.service.impl;
 
-import com.yowyob.delivery.route.client.PetriNetClient;
+import com.yowyob.delivery.route.controller.dto.BatchParcelResultDTO;
+import com.yowyob.delivery.route.controller.dto.ParcelPageDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelRequestDTO;
 import com.yowyob.delivery.route.controller.dto.ParcelResponseDTO;
+import com.yowyob.delivery.route.domain.entity.Hub;
 import com.yowyob.delivery.route.domain.entity.Parcel;
+import com.yowyob.delivery.route.domain.enums.OutboxEventType;
 import com.yowyob.delivery.route.domain.enums.ParcelState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import com.yowyob.delivery.route.mapper.ParcelMapper;
+import com.yowyob.delivery.route.repository.ParcelCursor;
+import com.yowyob.delivery.route.repository.ParcelFilter;
+import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.repository.OutboxEventRepository;
 import com.yowyob.delivery.route.repository.ParcelRepository;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.HubGrid;
+import com.yowyob.delivery.route.service.graph.NearestHubIndex;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,7 +52,19 @@ class ParcelServiceImplTest {
     private ParcelMapper parcelMapper;
 
     @Mock
-    private PetriNetClient petriNetClient;
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private HubRepository hubRepository;
+
+    @Mock
+    private NearestHubIndex nearestHubIndex;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     private ParcelServiceImpl parcelService;
@@ -57,9 +89,11 @@ class ParcelServiceImplTest {
                 .currentState("PLANIFIE")
                 .build();
 
+        when(nearestHubIndex.grid()).thenReturn(Mono.just(hubGrid()));
         when(parcelMapper.toEntity(request)).thenReturn(parcel);
         when(parcelRepository.saveWithGeometry(any(Parcel.class))).thenReturn(Mono.just(savedParcel));
-        when(petriNetClient.initializeParcelNet(savedParcel.getId())).thenReturn(Mono.just("net-123"));
+        when(outboxEventRepository.enqueue(OutboxEventType.PARCEL_CREATED, List.of(savedParcel.getId())))
+                .thenReturn(Mono.just(1L));
         when(parcelMapper.toResponseDTO(savedParcel)).thenReturn(responseDTO);
 
         Mono<ParcelResponseDTO> result = parcelService.createParcel(request);
@@ -74,7 +108,7 @@ class ParcelServiceImplTest {
         verify(parcelRepository)
                 .saveWithGeometry(argThat(p -> p.getTrackingCode() != null && p.getTrackingCode().startsWith("TRK-") &&
                         p.getCurrentState() == ParcelState.PLANNED));
-        verify(petriNetClient).initializeParcelNet(savedParcel.getId());
+        verify(outboxEventRepository).enqueue(OutboxEventType.PARCEL_CREATED, List.of(savedParcel.getId()));
     }
 
     @Test
@@ -94,21 +128,145 @@ class ParcelServiceImplTest {
     }
 
     @Test
-    void shouldGetAllParcels() {
-        Parcel p1 = Parcel.builder().id(UUID.randomUUID()).build();
-        Parcel p2 = Parcel.builder().id(UUID.randomUUID()).build();
+    void shouldPageParcelsWithKeysetCursor() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 10, 30, 0, 123456000);
+        Parcel p1 = Parcel.builder().id(UUID.randomUUID()).createdAt(now).build();
+        Parcel p2 = Parcel.builder().id(UUID.randomUUID()).createdAt(now.minusSeconds(1)).build();
+        Parcel p3 = Parcel.builder().id(UUID.randomUUID()).createdAt(now.minusSeconds(2)).build();
         ParcelResponseDTO r1 = ParcelResponseDTO.builder().id(p1.getId()).build();
         ParcelResponseDTO r2 = ParcelResponseDTO.builder().id(p2.getId()).build();
+        ParcelFilter filter = new ParcelFilter(ParcelState.PLANNED, null, null);
 
-        when(parcelRepository.findAll()).thenReturn(Flux.just(p1, p2));
+        when(parcelRepository.findPageWithLocations(filter, null, 3)).thenReturn(Flux.just(p1, p2, p3));
         when(parcelMapper.toResponseDTO(p1)).thenReturn(r1);
         when(parcelMapper.toResponseDTO(p2)).thenReturn(r2);
 
-        Flux<ParcelResponseDTO> result = parcelService.getAllParcels();
+        ParcelPageDTO page = parcelService.getParcels(filter, null, 2).block();
 
-        StepVerifier.create(result)
+        assertEquals(List.of(r1, r2), page.getItems());
+        assertEquals(new ParcelCursor(p2.getCreatedAt(), p2.getId()), ParcelCursor.decode(page.getNextCursor()));
+
+        when(parcelRepository.findPageWithLocations(filter, ParcelCursor.decode(page.getNextCursor()), 3))
+                .thenReturn(Flux.just(p3));
+        ParcelPageDTO last = parcelService.getParcels(filter, page.getNextCursor(), 2).block();
+
+        assertEquals(1, last.getItems().size());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectInvalidCursorAndLimit() {
+        StepVerifier.create(parcelService.getParcels(ParcelFilter.NONE, "not a cursor", 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(parcelService.getParcels(ParcelFilter.NONE, null, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(parcelRepository);
+    }
+
+    @Test
+    void shouldExportParcelsWithConfiguredFetchSize() {
+        LocalDateTime since = LocalDateTime.of(2026, 1, 1, 0, 0);
+        Parcel p1 = Parcel.builder().id(UUID.randomUUID()).build();
+        ParcelResponseDTO r1 = ParcelResponseDTO.builder().id(p1.getId()).build();
+
+        when(parcelRepository.streamWithLocations(since, 500)).thenReturn(Flux.just(p1));
+        when(parcelMapper.toResponseDTO(p1)).thenReturn(r1);
+
+        StepVerifier.create(parcelService.exportParcels(since))
                 .expectNext(r1)
-                .expectNext(r2)
                 .verifyComplete();
     }
+
+    @Test
+    void shouldCreateParcelsInBatchAndReportEachItem() {
+        Hub hub = Hub.builder().id(UUID.randomUUID()).address("Hub Akwa").location(new GeoPoint(9.7, 4.05)).build();
+        UUID unknownHub = UUID.randomUUID();
+        ParcelRequestDTO withoutWeight = batchRequest("POINT(9.7 4.0)", "POINT(11.5 3.8)");
+        withoutWeight.setWeightKg(null);
+        List<ParcelRequestDTO> requests = List.of(
+                batchRequest(hub.getId().toString(), "POINT(11.5 3.8)"),
+                withoutWeight,
+                batchRequest(unknownHub.toString(), "POINT(11.5 3.8)"),
+                batchRequest("4.0, 9.7", "POINT(11.5 3.8)"));
+
+        when(hubRepository.findAllByIdWithLocation(argThat(ids -> ids.containsAll(List.of(hub.getId(), unknownHub)))))
+                .thenReturn(Flux.just(hub));
+        when(nearestHubIndex.grid()).thenReturn(Mono.just(hubGrid(hub)));
+        when(parcelMapper.toEntity(any(ParcelRequestDTO.class))).thenAnswer(inv -> Parcel.builder().build());
+        when(parcelRepository.saveAllWithGeometry(anyList())).thenAnswer(inv -> {
+            List<Parcel> parcels = inv.getArgument(0);
+            parcels.forEach(p -> p.setId(UUID.randomUUID()));
+            return Flux.fromIterable(parcels);
+        });
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(outboxEventRepository.enqueue(eq(OutboxEventType.PARCEL_CREATED), anyList()))
+                .thenAnswer(inv -> Mono.just((long) inv.<List<UUID>>getArgument(1).size()));
+        when(parcelMapper.toResponseDTO(any(Parcel.class))).thenAnswer(inv -> {
+            Parcel p = inv.getArgument(0);
+            return ParcelResponseDTO.builder().id(p.getId()).build();
+        });
+
+        Map<Integer, BatchParcelResultDTO> results = parcelService.createParcels(requests)
+                .collectMap(BatchParcelResultDTO::getIndex)
+                .block();
+
+        assertEquals(4, results.size());
+        assertNotNull(results.get(0).getParcel().getId());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getParcel());
+        assertEquals("Weight is required", results.get(1).getError());
+        assertNull(results.get(2).getParcel());
+        assertEquals("Hub not found with id : '" + unknownHub + "'", results.get(2).getError());
+        assertNotNull(results.get(3).getParcel().getId());
+        assertNull(results.get(3).getError());
+        verify(parcelRepository).saveAllWithGeometry(argThat(parcels -> parcels.size() == 2
+                && parcels.stream().allMatch(p -> p.getCurrentState() == ParcelState.PLANNED)
+                && "Hub Akwa".equals(parcels.get(0).getPickupAddress())
+                && hub.getLocation().equals(parcels.get(0).getPickupLocation())
+                && new GeoPoint(9.7, 4.0).equals(parcels.get(1).getPickupLocation())
+                && parcels.stream().allMatch(p -> hub.getId().equals(p.getPickupHubId()) && p.getDeliveryHubId() == null)));
+        verify(outboxEventRepository).enqueue(OutboxEventType.PARCEL_CREATED,
+                List.of(results.get(0).getParcel().getId(), results.get(3).getParcel().getId()));
+        verify(parcelRepository, never()).saveWithGeometry(any());
+    }
+
+    @Test
+    void shouldFailBatchItemsWhenInsertFailsAndRejectOversizedBatch() {
+        when(hubRepository.findAllByIdWithLocation(any())).thenReturn(Flux.empty());
+        when(nearestHubIndex.grid()).thenReturn(Mono.just(hubGrid()));
+        when(parcelMapper.toEntity(any(ParcelRequestDTO.class))).thenAnswer(inv -> Parcel.builder().build());
+        when(parcelRepository.saveAllWithGeometry(anyList())).thenReturn(Flux.error(new IllegalStateException("connection reset")));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        StepVerifier.create(parcelService.createParcels(List.of(batchRequest("POINT(9.7 4.0)", "POINT(11.5 3.8)"))))
+                .assertNext(result -> {
+                    assertNull(result.getParcel());
+                    assertEquals("Parcel could not be saved: connection reset", result.getError());
+                })
+                .verifyComplete();
+        verifyNoInteractions(outboxEventRepository);
+
+        List<ParcelRequestDTO> tooMany = java.util.Collections.nCopies(5001, batchRequest("POINT(9.7 4.0)", "POINT(11.5 3.8)"));
+        StepVerifier.create(parcelService.createParcels(tooMany))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private static HubGrid hubGrid(Hub... hubs) {
+        return HubGrid.build(GraphSnapshot.build(1, List.of(hubs), List.of()));
+    }
+
+    private static ParcelRequestDTO batchRequest(String pickup, String delivery) {
+        return ParcelRequestDTO.builder()
+                .senderName("John")
+                .senderPhone("+237 600 000 000")
+                .recipientName("Doe")
+                .recipientPhone("+237 611 111 111")
+                .pickupLocation(pickup)
+                .deliveryLocation(delivery)
+                .weightKg(2.5)
+                .build();
+    }
 }
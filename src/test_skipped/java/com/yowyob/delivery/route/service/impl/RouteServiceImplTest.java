@@ -1,28 +1,43 @@
 package com.yowyob.delivery.route.service.impl;
 
+import com.yowyob.delivery.route.controller.dto.BatchRouteResultDTO;
+import com.yowyob.delivery.route.controller.dto.CoordinateDTO;
+import com.yowyob.delivery.route.controller.dto.DistanceMatrixRequestDTO;
+import com.yowyob.delivery.route.controller.dto.OsrmMatrixRequestDTO;
 import com.yowyob.delivery.route.controller.dto.RouteCalculationRequestDTO;
 import com.yowyob.delivery.route.controller.dto.RouteResponseDTO;
 import com.yowyob.delivery.route.controller.dto.RoutingConstraintsDTO;
 import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
 import com.yowyob.delivery.route.domain.entity.Route;
 import com.yowyob.delivery.route.mapper.RouteMapper;
 import com.yowyob.delivery.route.repository.HubRepository;
 import com.yowyob.delivery.route.repository.RouteRepository;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
 import com.yowyob.delivery.route.service.strategy.BasicRoutingStrategy;
 import com.yowyob.delivery.route.service.strategy.DijkstraRoutingStrategy;
+import com.yowyob.delivery.route.service.strategy.OsrmMatrixProvider;
 import com.yowyob.delivery.route.service.strategy.RoutingStrategy;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -39,13 +54,20 @@ class RouteServiceImplTest {
     private BasicRoutingStrategy basicStrategy;
     @Mock
     private DijkstraRoutingStrategy dijkstraStrategy;
+    @Mock
+    private RoutingGraph routingGraph;
+    @Mock
+    private OsrmMatrixProvider osrmMatrixProvider;
 
     private RouteServiceImpl routeService;
 
     @BeforeEach
     void setUp() {
         List<RoutingStrategy> strategies = Arrays.asList(basicStrategy, dijkstraStrategy);
-        routeService = new RouteServiceImpl(routeRepository, hubRepository, strategies, routeMapper);
+        routeService = new RouteServiceImpl(routeRepository, hubRepository, strategies, routeMapper, routingGraph,
+                osrmMatrixProvider);
+        ReflectionTestUtils.setField(routeService, "batchConcurrency", 4);
+        ReflectionTestUtils.setField(routeService, "batchInsertSize", 50);
     }
 
     @Test
@@ -132,4 +154,116 @@ class RouteServiceImplTest {
                 .expectNext(responseDTO)
                 .verifyComplete();
     }
+
+    @Test
+    void shouldCalculateMatrixWithoutPersistingRoutes() {
+        Hub hubA = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.0, 4.0)).build();
+        Hub hubB = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.5, 4.0)).build();
+        Hub hubC = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(10.0, 4.0)).build();
+        Hub isolated = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(11.0, 4.0)).build();
+        GraphSnapshot graph = GraphSnapshot.build(1, List.of(hubA, hubB, hubC, isolated), List.of(
+                HubConnection.builder().fromHubId(hubA.getId()).toHubId(hubB.getId()).weight(10.0).build(),
+                HubConnection.builder().fromHubId(hubB.getId()).toHubId(hubC.getId()).weight(5.0).build()));
+        when(routingGraph.snapshot()).thenReturn(Mono.just(graph));
+
+        DistanceMatrixRequestDTO request = DistanceMatrixRequestDTO.builder()
+                .sourceHubIds(List.of(hubA.getId(), hubC.getId()))
+                .targetHubIds(List.of(hubB.getId(), hubC.getId(), isolated.getId()))
+                .build();
+
+        StepVerifier.create(routeService.calculateMatrix(request))
+                .assertNext(matrix -> {
+                    assertArrayEquals(new double[] { 10.0, 15.0, -1 }, matrix.getDistancesKm()[0]);
+                    assertArrayEquals(new double[] { 5.0, 0.0, -1 }, matrix.getDistancesKm()[1]);
+                    assertArrayEquals(new int[] { 100, 150, -1 }, matrix.getDurationsMinutes()[0]);
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(routeRepository);
+    }
+
+    @Test
+    void shouldCalculateBatchAndReportFailuresPerRequest() {
+        Hub hubA = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.0, 4.0)).build();
+        Hub hubB = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.5, 4.0)).build();
+        GraphSnapshot graph = GraphSnapshot.build(1, List.of(hubA, hubB), List.of());
+        Route route = Route.builder().routingService("BASIC").build();
+        RouteResponseDTO responseDTO = new RouteResponseDTO();
+
+        when(routingGraph.snapshot()).thenReturn(Mono.just(graph));
+        when(basicStrategy.calculateOptimalRoute(any(), any(), any())).thenReturn(Mono.just(route));
+        when(routeRepository.saveAllWithGeometry(any())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+        when(routeMapper.toResponseDTO(route)).thenReturn(responseDTO);
+
+        RouteCalculationRequestDTO valid = RouteCalculationRequestDTO.builder()
+                .parcelId(UUID.randomUUID()).startHubId(hubA.getId()).endHubId(hubB.getId()).build();
+        RouteCalculationRequestDTO unknownHub = RouteCalculationRequestDTO.builder()
+                .parcelId(UUID.randomUUID()).startHubId(hubA.getId()).endHubId(UUID.randomUUID()).build();
+
+        List<BatchRouteResultDTO> results = routeService.calculateRoutes(List.of(valid, unknownHub))
+                .collectSortedList((a, b) -> a.getIndex() - b.getIndex())
+                .block();
+
+        assertEquals(2, results.size());
+        assertEquals(responseDTO, results.get(0).getRoute());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getRoute());
+        assertEquals(hubB.getId(), route.getEndHubId());
+        verify(routeRepository).saveAllWithGeometry(List.of(route));
+        verify(routeRepository, never()).saveWithGeometry(any());
+    }
+
+    @Test
+    void shouldSearchTheBatchSnapshotForEveryRoute() {
+        Hub hubA = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.0, 4.0)).build();
+        Hub hubB = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.5, 4.0)).build();
+        GraphSnapshot graph = GraphSnapshot.build(1, List.of(hubA, hubB), List.of());
+        RoutingConstraintsDTO constraints = new RoutingConstraintsDTO();
+        constraints.setAlgorithm("DIJKSTRA");
+
+        when(routingGraph.snapshot()).thenReturn(Mono.just(graph));
+        when(dijkstraStrategy.calculateOptimalRoute(eq(graph), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.just(Route.builder().routingService("DIJKSTRA").build()));
+        when(routeRepository.saveAllWithGeometry(any())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+        RouteCalculationRequestDTO request = RouteCalculationRequestDTO.builder()
+                .parcelId(UUID.randomUUID()).startHubId(hubA.getId()).endHubId(hubB.getId())
+                .constraints(constraints).build();
+
+        List<BatchRouteResultDTO> results = routeService.calculateRoutes(List.of(request, request, request))
+                .collectList()
+                .block();
+
+        assertEquals(3, results.size());
+        verify(routingGraph, times(1)).snapshot();
+        verify(dijkstraStrategy, times(3)).calculateOptimalRoute(eq(graph), eq(hubA), eq(hubB), eq(constraints));
+        verify(dijkstraStrategy, never()).calculateOptimalRoute(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        ReflectionTestUtils.setField(routeService, "batchMaxSize", 1);
+        RouteCalculationRequestDTO request = RouteCalculationRequestDTO.builder()
+                .parcelId(UUID.randomUUID()).startHubId(UUID.randomUUID()).endHubId(UUID.randomUUID()).build();
+
+        StepVerifier.create(routeService.calculateRoutes(List.of(request, request)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(routingGraph, routeRepository);
+    }
+
+    @Test
+    void shouldRejectOversizedOsrmMatrix() {
+        CoordinateDTO point = CoordinateDTO.builder().latitude(3.88).longitude(11.51).build();
+        OsrmMatrixRequestDTO request = OsrmMatrixRequestDTO.builder()
+                .sources(Collections.nCopies(OsrmMatrixRequestDTO.MAX_POINTS + 1, point))
+                .build();
+
+        StepVerifier.create(routeService.calculateOsrmMatrix(request))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(osrmMatrixProvider);
+    }
 }
@@ -0,0 +1,101 @@
+package com.yowyob.delivery.route.service.outbox;
+
+import com.yowyob.delivery.route.client.PetriNetClient;
+import com.yowyob.delivery.route.domain.entity.OutboxEvent;
+import com.yowyob.delivery.route.domain.enums.OutboxEventType;
+import com.yowyob.delivery.route.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PetriNetClient petriNetClient;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(outboxEventRepository, petriNetClient);
+    }
+
+    @Test
+    void shouldDeleteDispatchedEventsAndRescheduleFailedOnes() {
+        OutboxEvent ok = event(1);
+        OutboxEvent failing = event(3);
+        when(outboxEventRepository.claimDue(eq(100), any(Duration.class))).thenReturn(Flux.just(ok, failing));
+        when(petriNetClient.initializeParcelNet(ok.getAggregateId())).thenReturn(Mono.just("net-1"));
+        when(petriNetClient.initializeParcelNet(failing.getAggregateId()))
+                .thenReturn(Mono.error(new IllegalStateException("Petri net service down")));
+        when(outboxEventRepository.deleteAllById(List.of(ok.getId()))).thenReturn(Mono.empty());
+        when(outboxEventRepository.reschedule(eq(failing.getId()), any(Duration.class), any()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(dispatcher.drain())
+                .expectNext(2)
+                .verifyComplete();
+
+        verify(outboxEventRepository).deleteAllById(List.of(ok.getId()));
+        verify(outboxEventRepository).reschedule(eq(failing.getId()), eq(Duration.ofSeconds(20)),
+                contains("Petri net service down"));
+        verify(outboxEventRepository, never()).reschedule(eq(ok.getId()), any(), any());
+    }
+
+    @Test
+    void shouldKeepDrainingWhileBatchesAreFull() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        when(outboxEventRepository.claimDue(anyInt(), any(Duration.class)))
+                .thenReturn(Flux.just(event(1), event(1)), Flux.just(event(1)));
+        when(petriNetClient.initializeParcelNet(any(UUID.class))).thenReturn(Mono.just("net"));
+        when(outboxEventRepository.deleteAllById(any(Iterable.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(dispatcher.drain())
+                .expectNext(3)
+                .verifyComplete();
+
+        verify(outboxEventRepository, times(2)).claimDue(eq(2), any(Duration.class));
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToTheMaximum() {
+        assertEquals(Duration.ofSeconds(5), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(10), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(40), dispatcher.backoff(4));
+        assertEquals(Duration.ofMinutes(30), dispatcher.backoff(20));
+        assertEquals(Duration.ofMinutes(30), dispatcher.backoff(1000));
+    }
+
+    private static OutboxEvent event(int attempts) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .eventType(OutboxEventType.PARCEL_CREATED)
+                .aggregateId(UUID.randomUUID())
+                .attempts(attempts)
+                .build();
+    }
+}
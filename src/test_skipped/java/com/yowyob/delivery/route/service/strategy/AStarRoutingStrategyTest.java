@@ -0,0 +1,72 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AStarRoutingStrategyTest {
+
+    @Mock
+    HubConnectionRepository connectionRepository;
+
+    @Mock
+    HubRepository hubRepository;
+
+    AStarRoutingStrategy strategy;
+
+    Hub hubA = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.0, 4.0)).build();
+    Hub hubB = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.5, 4.0)).build();
+    Hub hubC = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(10.0, 4.0)).build();
+
+    @BeforeEach
+    void setUp() {
+        RoutingGraph routingGraph = new RoutingGraph(hubRepository, connectionRepository, event -> {
+        });
+        strategy = new AStarRoutingStrategy(routingGraph);
+        when(hubRepository.findAllWithLocation()).thenReturn(Flux.just(hubA, hubB, hubC));
+        when(connectionRepository.findAll()).thenReturn(Flux.just(HubConnection.builder().id(UUID.randomUUID())
+                .fromHubId(hubA.getId()).toHubId(hubB.getId()).weight(60.0).build()));
+    }
+
+    @Test
+    public void followsDirectedConnections() {
+        StepVerifier.create(strategy.calculateOptimalRoute(hubA, hubB, null))
+                .assertNext(route -> {
+                    assertEquals(60.0, route.getTotalDistanceKm(), 1e-9);
+                    assertEquals("ASTAR", route.getRoutingService());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void reportsMissingPathsAsNoPathFound() {
+        StepVerifier.create(strategy.calculateOptimalRoute(hubB, hubA, null))
+                .expectError(NoPathFoundException.class)
+                .verify();
+        StepVerifier.create(strategy.calculateOptimalRoute(hubA, hubC, null))
+                .expectError(NoPathFoundException.class)
+                .verify();
+
+        Hub unknown = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.2, 4.0)).build();
+        StepVerifier.create(strategy.calculateOptimalRoute(hubA, unknown, null))
+                .expectError(NoPathFoundException.class)
+                .verify();
+    }
+}
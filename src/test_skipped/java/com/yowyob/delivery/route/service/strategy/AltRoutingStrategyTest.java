@@ -0,0 +1,128 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import com.yowyob.delivery.route.service.graph.LandmarkTables;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AltRoutingStrategyTest {
+
+    @Mock
+    HubConnectionRepository connectionRepository;
+
+    @Mock
+    HubRepository hubRepository;
+
+    @TempDir
+    Path tempDir;
+
+    AltRoutingStrategy strategy;
+    AStarRoutingStrategy aStar;
+
+    List<Hub> hubs;
+    List<HubConnection> connections;
+
+    @BeforeEach
+    void setUp() {
+        RoutingGraph routingGraph = new RoutingGraph(hubRepository, connectionRepository, event -> {
+        });
+        strategy = new AltRoutingStrategy(routingGraph);
+        ReflectionTestUtils.setField(strategy, "landmarkCount", 4);
+        ReflectionTestUtils.setField(strategy, "tableFile", tempDir.resolve("alt.bin").toString());
+        aStar = new AStarRoutingStrategy(routingGraph);
+
+        Random random = new Random(7);
+        hubs = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            hubs.add(Hub.builder().id(UUID.randomUUID())
+                    .location(new GeoPoint(9 + random.nextDouble(), 3.5 + random.nextDouble()))
+                    .build());
+        }
+        connections = new ArrayList<>();
+        for (int i = 0; i < 240; i++) {
+            Hub from = hubs.get(random.nextInt(hubs.size()));
+            Hub to = hubs.get(random.nextInt(hubs.size()));
+            connections.add(HubConnection.builder().id(UUID.randomUUID()).fromHubId(from.getId())
+                    .toHubId(to.getId()).weight(200.0 + random.nextInt(100)).build());
+        }
+    }
+
+    @Test
+    public void matchesAStarAndSavesTables() {
+        when(hubRepository.findAllWithLocation()).thenReturn(Flux.fromIterable(hubs));
+        when(connectionRepository.findAll()).thenReturn(Flux.fromIterable(connections));
+
+        Random random = new Random(11);
+        for (int i = 0; i < 150; i++) {
+            Hub start = hubs.get(random.nextInt(hubs.size()));
+            Hub end = hubs.get(random.nextInt(hubs.size()));
+            Double expected = distanceOrNull(aStar, start, end);
+            Double actual = distanceOrNull(strategy, start, end);
+            if (expected == null) {
+                assertEquals(null, actual);
+            } else {
+                assertEquals(expected, actual, 1e-9);
+            }
+        }
+        assertTrue(Files.isRegularFile(tempDir.resolve("alt.bin")));
+    }
+
+    @Test
+    public void savedTablesSurviveWeightIncreasesOnly() throws Exception {
+        GraphSnapshot graph = GraphSnapshot.build(1, hubs, connections);
+        LandmarkTables tables = LandmarkTables.compute(graph, 4);
+        Path file = tempDir.resolve("tables.bin");
+        tables.write(file);
+        LandmarkTables reloaded = LandmarkTables.read(file);
+        assertTrue(reloaded.isValidFor(graph));
+
+        List<HubConnection> slower = new ArrayList<>();
+        for (HubConnection connection : connections) {
+            slower.add(withWeight(connection, connection.getWeight() + 5));
+        }
+        assertTrue(reloaded.isValidFor(GraphSnapshot.build(2, hubs, slower)));
+
+        List<HubConnection> faster = new ArrayList<>(connections);
+        faster.set(0, withWeight(connections.get(0), 1.0));
+        assertFalse(reloaded.isValidFor(GraphSnapshot.build(3, hubs, faster)));
+    }
+
+    private static HubConnection withWeight(HubConnection connection, double weight) {
+        return HubConnection.builder().id(connection.getId()).fromHubId(connection.getFromHubId())
+                .toHubId(connection.getToHubId()).weight(weight).build();
+    }
+
+    private static Double distanceOrNull(RoutingStrategy routingStrategy, Hub start, Hub end) {
+        return routingStrategy.calculateOptimalRoute(start, end, null)
+                .map(Route::getTotalDistanceKm)
+                .onErrorResume(e -> Mono.empty())
+                .block();
+    }
+}
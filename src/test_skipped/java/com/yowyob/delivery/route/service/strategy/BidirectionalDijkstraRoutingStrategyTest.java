@@ -0,0 +1,95 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BidirectionalDijkstraRoutingStrategyTest {
+
+    @Mock
+    HubConnectionRepository connectionRepository;
+
+    @Mock
+    HubRepository hubRepository;
+
+    RoutingGraph routingGraph;
+    BidirectionalDijkstraRoutingStrategy strategy;
+    DijkstraRoutingStrategy dijkstra;
+
+    @BeforeEach
+    void setUp() {
+        routingGraph = new RoutingGraph(hubRepository, connectionRepository, event -> {
+        });
+        strategy = new BidirectionalDijkstraRoutingStrategy(routingGraph);
+        dijkstra = new DijkstraRoutingStrategy(routingGraph, hubRepository);
+    }
+
+    @Test
+    public void matchesDijkstraOnRandomGraphs() {
+        for (long seed = 1; seed <= 10; seed++) {
+            Random random = new Random(seed);
+            int hubCount = 20 + random.nextInt(80);
+            List<Hub> hubs = new ArrayList<>();
+            for (int i = 0; i < hubCount; i++) {
+                hubs.add(Hub.builder().id(UUID.randomUUID())
+                        .location(new GeoPoint(9 + random.nextDouble(), 3.5 + random.nextDouble()))
+                        .build());
+            }
+            List<HubConnection> connections = new ArrayList<>();
+            int connectionCount = hubCount + random.nextInt(3 * hubCount);
+            for (int i = 0; i < connectionCount; i++) {
+                Hub from = hubs.get(random.nextInt(hubCount));
+                Hub to = hubs.get(random.nextInt(hubCount));
+                connections.add(HubConnection.builder().id(UUID.randomUUID()).fromHubId(from.getId())
+                        .toHubId(to.getId()).weight(1 + 99 * random.nextDouble()).build());
+            }
+
+            when(hubRepository.findAllWithLocation()).thenReturn(Flux.fromIterable(hubs));
+            when(connectionRepository.findAll()).thenReturn(Flux.fromIterable(connections));
+            routingGraph.invalidate();
+
+            for (int i = 0; i < 100; i++) {
+                Hub start = hubs.get(random.nextInt(hubCount));
+                Hub end = hubs.get(random.nextInt(hubCount));
+                Route expected = routeOrNull(dijkstra, start, end);
+                Route actual = routeOrNull(strategy, start, end);
+                if (expected == null) {
+                    assertNull(actual, "seed " + seed);
+                } else {
+                    assertEquals(expected.getTotalDistanceKm(), actual.getTotalDistanceKm(), 1e-9, "seed " + seed);
+                    assertEquals(expected.getRouteGeometry(), actual.getRouteGeometry(), "seed " + seed);
+                }
+            }
+        }
+    }
+
+    private static Route routeOrNull(RoutingStrategy routingStrategy, Hub start, Hub end) {
+        return routingStrategy.calculateOptimalRoute(start, end, null)
+                .onErrorResume(e -> Mono.empty())
+                .block();
+    }
+}
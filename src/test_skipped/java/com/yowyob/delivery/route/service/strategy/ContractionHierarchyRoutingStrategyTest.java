@@ -0,0 +1,112 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.controller.exception.NoPathFoundException;
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.entity.HubConnection;
+import com.yowyob.delivery.route.domain.entity.Route;
+import com.yowyob.delivery.route.repository.HubConnectionRepository;
+import com.yowyob.delivery.route.repository.HubRepository;
+import com.yowyob.delivery.route.service.graph.RoutingGraph;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ContractionHierarchyRoutingStrategyTest {
+
+    @Mock
+    HubConnectionRepository connectionRepository;
+
+    @Mock
+    HubRepository hubRepository;
+
+    ContractionHierarchyRoutingStrategy strategy;
+    DijkstraRoutingStrategy dijkstra;
+
+    @BeforeEach
+    void setUp() {
+        RoutingGraph routingGraph = new RoutingGraph(hubRepository, connectionRepository, event -> {
+        });
+        strategy = new ContractionHierarchyRoutingStrategy(routingGraph);
+        dijkstra = new DijkstraRoutingStrategy(routingGraph, hubRepository);
+    }
+
+    @Test
+    public void unpacksShortcutsIntoOriginalHubs() {
+        Hub hubA = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.0, 4.0)).build();
+        Hub hubB = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.5, 4.0)).build();
+        Hub hubC = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(10.0, 4.0)).build();
+
+        when(hubRepository.findAllWithLocation()).thenReturn(Flux.just(hubA, hubB, hubC));
+        when(connectionRepository.findAll()).thenReturn(Flux.just(
+                connection(hubA, hubB, 55.0),
+                connection(hubB, hubC, 56.0),
+                connection(hubA, hubC, 500.0)));
+
+        StepVerifier.create(strategy.calculateOptimalRoute(hubA, hubC, null))
+                .assertNext(route -> {
+                    assertEquals(111.0, route.getTotalDistanceKm(), 1e-9);
+                    assertEquals("LINESTRING (9 4, 9.5 4, 10 4)", route.getRouteGeometry().toWkt());
+                    assertEquals("CH", route.getRoutingService());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void matchesDijkstraOnRandomGraph() {
+        Random random = new Random(42);
+        List<Hub> hubs = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            hubs.add(Hub.builder().id(UUID.randomUUID())
+                    .location(new GeoPoint(9 + random.nextDouble(), 3.5 + random.nextDouble()))
+                    .build());
+        }
+        List<HubConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 220; i++) {
+            Hub from = hubs.get(random.nextInt(hubs.size()));
+            Hub to = hubs.get(random.nextInt(hubs.size()));
+            connections.add(connection(from, to, 1 + random.nextInt(100)));
+        }
+
+        when(hubRepository.findAllWithLocation()).thenReturn(Flux.fromIterable(hubs));
+        when(connectionRepository.findAll()).thenReturn(Flux.fromIterable(connections));
+
+        for (int i = 0; i < 200; i++) {
+            Hub start = hubs.get(random.nextInt(hubs.size()));
+            Hub end = hubs.get(random.nextInt(hubs.size()));
+            Double expected = distanceOrNull(dijkstra, start, end);
+            Double actual = distanceOrNull(strategy, start, end);
+            if (expected == null) {
+                assertEquals(null, actual);
+            } else {
+                assertEquals(expected, actual, 1e-9);
+            }
+        }
+    }
+
+    private static Double distanceOrNull(RoutingStrategy routingStrategy, Hub start, Hub end) {
+        return routingStrategy.calculateOptimalRoute(start, end, null)
+                .map(Route::getTotalDistanceKm)
+                .onErrorResume(NoPathFoundException.class, e -> Mono.empty())
+                .block();
+    }
+
+    private static HubConnection connection(Hub from, Hub to, double weight) {
+        return HubConnection.builder().id(UUID.randomUUID()).fromHubId(from.getId()).toHubId(to.getId())
+                .weight(weight).build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OsrmClientTest {
+
+    HttpServer server;
+    ExecutorService executor;
+    SimpleMeterRegistry meterRegistry;
+    AtomicInteger requests;
+    volatile int status;
+    volatile long firstResponseDelayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        requests = new AtomicInteger();
+        status = 200;
+        firstResponseDelayMillis = 0;
+
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/route", exchange -> {
+            if (requests.incrementAndGet() == 1 && firstResponseDelayMillis > 0) {
+                try {
+                    Thread.sleep(firstResponseDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"code\":\"Ok\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException e) {
+                // Client gave up on a hedged request
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void returnsHandledBody() {
+        OsrmClient client = client(false);
+
+        StepVerifier.create(client.get(url(), OsrmClientTest::asString))
+                .expectNext("{\"code\":\"Ok\"}")
+                .verifyComplete();
+    }
+
+    @Test
+    public void opensCircuitOnServerErrorsAndStopsCallingTheRouter() {
+        OsrmClient client = client(false);
+        status = 500;
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(client.get(url(), OsrmClientTest::asString)).expectError().verify();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker().getState());
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", OsrmClient.CIRCUIT_BREAKER_NAME).tag("state", "open").gauge().value());
+
+        int sent = requests.get();
+        StepVerifier.create(client.get(url(), OsrmClientTest::asString))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+        assertEquals(sent, requests.get());
+    }
+
+    @Test
+    public void clientErrorsDoNotOpenCircuit() {
+        OsrmClient client = client(false);
+        status = 400;
+
+        for (int i = 0; i < 6; i++) {
+            StepVerifier.create(client.get(url(), OsrmClientTest::asString)).expectError().verify();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void hedgedRequestAnswersWhenFirstOneIsSlow() {
+        OsrmClient client = client(true);
+        firstResponseDelayMillis = 3000;
+
+        StepVerifier.create(client.get(url(), OsrmClientTest::asString))
+                .expectNext("{\"code\":\"Ok\"}")
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+        assertEquals(2, requests.get());
+        assertEquals(1.0, meterRegistry.get("osrm.client.hedged").counter().count());
+    }
+
+    private OsrmClient client(boolean hedgeEnabled) {
+        return new OsrmClient(WebClient.builder(), meterRegistry, Duration.ofSeconds(1), Duration.ofSeconds(5), 10,
+                Duration.ofSeconds(1), 50, 4, Duration.ofMinutes(1), hedgeEnabled, Duration.ofMillis(100));
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/route";
+    }
+
+    private static Mono<String> asString(Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body).map(buffer -> {
+            String text = buffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(buffer);
+            return text;
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OsrmMatrixProviderTest {
+
+    HttpServer server;
+    ExecutorService executor;
+    AtomicInteger requests;
+    AtomicInteger maxCoordinatesSeen;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requests = new AtomicInteger();
+        maxCoordinatesSeen = new AtomicInteger();
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        // Fake table service: duration = 100 * |lon difference|, null towards longitude 0
+        server.createContext("/table/v1/driving/", exchange -> {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            String[] points = path.substring(path.lastIndexOf('/') + 1).split(";");
+            maxCoordinatesSeen.accumulateAndGet(points.length, Math::max);
+            Map<String, String> query = new HashMap<>();
+            for (String parameter : exchange.getRequestURI().getQuery().split("&")) {
+                String[] pair = parameter.split("=");
+                query.put(pair[0], pair[1]);
+            }
+
+            StringBuilder json = new StringBuilder("{\"code\":\"Ok\",\"durations\":[");
+            String[] sources = query.get("sources").split(";");
+            String[] destinations = query.get("destinations").split(";");
+            for (int i = 0; i < sources.length; i++) {
+                json.append(i > 0 ? ",[" : "[");
+                double from = longitude(points[Integer.parseInt(sources[i])]);
+                for (int j = 0; j < destinations.length; j++) {
+                    double to = longitude(points[Integer.parseInt(destinations[j])]);
+                    json.append(j > 0 ? "," : "").append(to == 0 ? "null" : String.valueOf(100 * Math.abs(from - to)));
+                }
+                json.append(']');
+            }
+            json.append("],\"sources\":[{\"location\":[1.0,2.0]}]}");
+
+            byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void stitchesTilesIntoOneMatrix() {
+        double[] sources = new double[2 * 7];
+        double[] destinations = new double[2 * 5];
+        for (int i = 0; i < 7; i++) {
+            sources[2 * i] = 1 + i;
+            sources[2 * i + 1] = 4;
+        }
+        for (int j = 0; j < 5; j++) {
+            destinations[2 * j] = j == 3 ? 0 : 10 + j;
+            destinations[2 * j + 1] = 4;
+        }
+
+        double[][] matrix = provider(4).durations(sources, destinations).block();
+
+        assertEquals(7, matrix.length);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(5, matrix[i].length);
+            for (int j = 0; j < 5; j++) {
+                if (j == 3) {
+                    assertTrue(Double.isNaN(matrix[i][j]));
+                } else {
+                    assertEquals(100 * Math.abs(sources[2 * i] - destinations[2 * j]), matrix[i][j], 1e-9);
+                }
+            }
+        }
+        assertTrue(maxCoordinatesSeen.get() <= 4);
+        assertEquals(provider(4).tiles(7, 5).size(), requests.get());
+    }
+
+    @Test
+    public void keepsSmallSideWholeWhenTiling() {
+        OsrmMatrixProvider provider = provider(100);
+
+        assertEquals(1, provider.tiles(30, 70).size());
+        assertEquals(6, provider.tiles(10, 500).size());
+        assertEquals(3 * 3, provider.tiles(150, 150).size());
+    }
+
+    @Test
+    public void derivesTableUrlFromRouteUrl() {
+        OsrmRoutingStrategy strategy = new OsrmRoutingStrategy(null, null, null, null);
+        ReflectionTestUtils.setField(strategy, "osrmApiUrl", "http://router.project-osrm.org/route/v1/driving");
+
+        assertEquals("http://router.project-osrm.org/table/v1/driving", strategy.serviceUrl("table"));
+    }
+
+    private OsrmMatrixProvider provider(int maxCoordinates) {
+        OsrmClient client = new OsrmClient(WebClient.builder(), new SimpleMeterRegistry(), Duration.ofSeconds(1),
+                Duration.ofSeconds(5), 10, Duration.ofSeconds(1), 50, 20, Duration.ofMinutes(1), false,
+                Duration.ofMillis(100));
+        OsrmRoutingStrategy strategy = mock(OsrmRoutingStrategy.class);
+        when(strategy.serviceUrl("table"))
+                .thenReturn("http://127.0.0.1:" + server.getAddress().getPort() + "/table/v1/driving");
+        OsrmMatrixProvider provider = new OsrmMatrixProvider(client, strategy);
+        ReflectionTestUtils.setField(provider, "maxCoordinates", maxCoordinates);
+        ReflectionTestUtils.setField(provider, "concurrency", 3);
+        return provider;
+    }
+
+    private static double longitude(String point) {
+        return Double.parseDouble(point.split(",")[0]);
+    }
+}
@@ -0,0 +1,71 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.domain.geometry.Polyline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OsrmRouteCacheTest {
+
+    @Test
+    public void collapsesConcurrentMissesAndCountsHits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OsrmRouteCache cache = new OsrmRouteCache(registry, 100, Duration.ofMinutes(5));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        Flux.range(0, 10)
+                .flatMap(i -> cache.get("driving", 9.7000001, 4.05, 11.5, 3.87, () -> {
+                    upstreamCalls.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(50))
+                            .thenReturn(new OsrmRouteCache.CachedRoute(250.0, 180,
+                                    Polyline.wrap(new double[] { 9.7, 4.05, 11.5, 3.87 })));
+                }))
+                .blockLast();
+
+        OsrmRouteCache.CachedRoute route = cache.get("driving", 9.7, 4.05, 11.5, 3.87,
+                () -> Mono.error(new IllegalStateException("should be cached"))).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(250.0, route.getDistanceKm());
+        assertEquals(10.0, registry.get("cache.gets").tag("cache", "osrm.routes").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "osrm.routes").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void doesNotCacheFailures() {
+        OsrmRouteCache cache = new OsrmRouteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+        Mono<OsrmRouteCache.CachedRoute> failing = cache.get("driving", 1, 1, 2, 2,
+                () -> Mono.error(new IllegalStateException("upstream down")));
+        assertEquals(-1.0, failing.onErrorResume(IllegalStateException.class, e -> Mono.just(
+                new OsrmRouteCache.CachedRoute(-1.0, 0, null))).block().getDistanceKm());
+
+        OsrmRouteCache.CachedRoute route = cache.get("driving", 1, 1, 2, 2,
+                () -> Mono.just(new OsrmRouteCache.CachedRoute(1.0, 1, Polyline.wrap(new double[] { 1, 1, 2, 2 })))).block();
+        assertEquals(1.0, route.getDistanceKm());
+    }
+
+    @Test
+    public void looksUpOnSubscriptionOnly() {
+        OsrmRouteCache cache = new OsrmRouteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        Mono<OsrmRouteCache.CachedRoute> route = cache.get("driving", 1, 1, 2, 2, () -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.error(new IllegalStateException("upstream down"));
+        });
+        assertEquals(0, upstreamCalls.get());
+
+        // Each resubscription runs a new lookup since the failed load is not cached
+        route.retry(2).onErrorResume(IllegalStateException.class, e -> Mono.empty()).block();
+        assertEquals(3, upstreamCalls.get());
+    }
+}
@@ -0,0 +1,53 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OsrmRouteParserTest {
+
+    private static final String RESPONSE = "{\"code\":\"Ok\",\"routes\":[{\"geometry\":{\"coordinates\":"
+            + "[[9.70428,4.05111],[9.71,4.06],[11.50208,3.86667]],\"type\":\"LineString\"},"
+            + "\"legs\":[{\"steps\":[],\"summary\":\"\",\"weight\":9000.5,\"duration\":9000.5,\"distance\":240123.4}],"
+            + "\"weight_name\":\"routability\",\"weight\":9000.5,\"duration\":9000.5,\"distance\":240123.4},"
+            + "{\"geometry\":{\"coordinates\":[[1,1],[2,2]]},\"duration\":1,\"distance\":2}],"
+            + "\"waypoints\":[{\"hint\":\"x\",\"distance\":3.2,\"name\":\"\",\"location\":[9.70428,4.05111]}]}";
+
+    @Test
+    public void parsesFirstRouteFromSmallChunks() throws IOException {
+        OsrmRouteParser.Result result;
+        try (OsrmRouteParser parser = new OsrmRouteParser()) {
+            byte[] bytes = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            for (int offset = 0; offset < bytes.length; offset += 7) {
+                DataBuffer buffer = DefaultDataBufferFactory.sharedInstance
+                        .wrap(Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + 7)));
+                parser.feed(buffer);
+            }
+            result = parser.finish();
+        }
+
+        assertEquals(240123.4, result.getDistanceMeters());
+        assertEquals(9000.5, result.getDurationSeconds());
+        assertArrayEquals(new double[] { 9.70428, 4.05111, 9.71, 4.06, 11.50208, 3.86667 },
+                Arrays.copyOf(result.getCoordinates(), result.getOrdinateCount()));
+    }
+
+    @Test
+    public void failsWhenNoRouteIsReturned() {
+        try (OsrmRouteParser parser = new OsrmRouteParser()) {
+            parser.feed(DefaultDataBufferFactory.sharedInstance
+                    .wrap("{\"code\":\"NoRoute\",\"routes\":[]}".getBytes(StandardCharsets.UTF_8)));
+            assertThrows(IOException.class, parser::finish);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.yowyob.delivery.route.service.strategy;
+
+import com.yowyob.delivery.route.domain.entity.Hub;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.service.graph.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SnapshotPreprocessingTest {
+
+    private final AtomicInteger runs = new AtomicInteger();
+    private final SnapshotPreprocessing<Long> preprocessing = new SnapshotPreprocessing<>(graph -> Mono.fromCallable(() -> {
+        runs.incrementAndGet();
+        return graph.getVersion();
+    }));
+
+    @Test
+    void preprocessesEachVersionOnce() {
+        GraphSnapshot graph = snapshot(1);
+
+        SnapshotPreprocessing.Prepared<Long> first = preprocessing.get(graph).block();
+        SnapshotPreprocessing.Prepared<Long> second = preprocessing.get(graph).block();
+
+        assertSame(graph, first.graph());
+        assertEquals(1L, first.data());
+        assertSame(first, second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keepsThePreviousVersion() {
+        GraphSnapshot previous = snapshot(1);
+        GraphSnapshot latest = snapshot(2);
+        preprocessing.get(previous).block();
+        preprocessing.get(latest).block();
+
+        SnapshotPreprocessing.Prepared<Long> prepared = preprocessing.get(previous).block();
+
+        assertSame(previous, prepared.graph());
+        assertEquals(1L, prepared.data());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void servesOutdatedSnapshotsFromTheNewestOne() {
+        GraphSnapshot oldest = snapshot(1);
+        GraphSnapshot newest = snapshot(3);
+        preprocessing.get(oldest).block();
+        preprocessing.get(snapshot(2)).block();
+        preprocessing.get(newest).block();
+
+        SnapshotPreprocessing.Prepared<Long> prepared = preprocessing.get(oldest).block();
+
+        assertSame(newest, prepared.graph());
+        assertEquals(3L, prepared.data());
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void retriesAfterAFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        SnapshotPreprocessing<String> failingOnce = new SnapshotPreprocessing<>(graph -> Mono.fromCallable(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            return "ready";
+        }));
+        GraphSnapshot graph = snapshot(1);
+
+        StepVerifier.create(failingOnce.get(graph))
+                .expectErrorMessage("boom")
+                .verify();
+        StepVerifier.create(failingOnce.get(graph))
+                .assertNext(prepared -> assertEquals("ready", prepared.data()))
+                .verifyComplete();
+        assertEquals(2, attempts.get());
+    }
+
+    private static GraphSnapshot snapshot(long version) {
+        Hub hub = Hub.builder().id(UUID.randomUUID()).location(new GeoPoint(9.0, 4.0)).build();
+        return GraphSnapshot.build(version, List.of(hub), List.of());
+    }
+}
@@ -0,0 +1,149 @@
+package com.yowyob.delivery.route.service.tracking;
+
+import com.yowyob.delivery.route.domain.enums.DriverState;
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.service.graph.GeoDistance;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DriverGridTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 15, 10, 0);
+
+    @Test
+    void matchesBruteForceForEachState() {
+        Random random = new Random(7);
+        DriverGrid grid = new DriverGrid(0.02);
+        List<Driver> drivers = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            // Dense around Douala, sparse across the country
+            boolean dense = i % 3 != 0;
+            GeoPoint location = dense
+                    ? new GeoPoint(9.70 + random.nextGaussian() * 0.05, 4.05 + random.nextGaussian() * 0.05)
+                    : new GeoPoint(8.5 + 7 * random.nextDouble(), 2 + 11 * random.nextDouble());
+            Driver driver = new Driver(UUID.randomUUID(), i % 4 == 0 ? DriverState.BUSY : DriverState.AVAILABLE,
+                    location);
+            drivers.add(driver);
+            grid.upsert(driver.id, driver.state, driver.location, T0);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            double lat = q % 2 == 0 ? 4.05 + random.nextGaussian() * 0.1 : 2 + 11 * random.nextDouble();
+            double lon = q % 2 == 0 ? 9.70 + random.nextGaussian() * 0.1 : 8.5 + 7 * random.nextDouble();
+            DriverState state = q % 5 == 0 ? DriverState.BUSY : DriverState.AVAILABLE;
+            int k = 1 + random.nextInt(10);
+            double maxKm = q % 3 == 0 ? 5 : 500;
+
+            List<NearbyDriver> found = grid.nearest(state, lat, lon, k, maxKm, null);
+
+            List<Double> expected = drivers.stream()
+                    .filter(d -> d.state == state)
+                    .map(d -> GeoDistance.haversineKm(lat, lon, d.location.lat(), d.location.lon()))
+                    .filter(distance -> distance <= maxKm)
+                    .sorted()
+                    .limit(k)
+                    .toList();
+            assertEquals(expected.size(), found.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), found.get(i).distanceKm(), 1e-9);
+                assertEquals(state, found.get(i).state());
+            }
+        }
+        assertEquals(List.of(), grid.nearest(DriverState.OFFLINE, 4.05, 9.70, 5, 50, null));
+    }
+
+    @Test
+    void followsLocationAndStateChanges() {
+        DriverGrid grid = new DriverGrid(0.02);
+        UUID driver = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        grid.upsert(driver, DriverState.AVAILABLE, new GeoPoint(9.70, 4.05), T0);
+        grid.upsert(other, DriverState.AVAILABLE, new GeoPoint(9.75, 4.05), T0);
+
+        assertTrue(grid.updateLocation(driver, new GeoPoint(11.50, 3.87), T0.plusMinutes(1)));
+        // An older position does not move the driver back
+        grid.updateLocation(driver, new GeoPoint(9.70, 4.05), T0.plusSeconds(30));
+        assertEquals(other, grid.nearest(DriverState.AVAILABLE, 4.05, 9.70, 1, 50, null).get(0).driverId());
+        assertEquals(driver, grid.nearest(DriverState.AVAILABLE, 3.87, 11.50, 1, 50, null).get(0).driverId());
+
+        // A reload with an older stored position keeps the newer one but takes the state
+        grid.upsert(driver, DriverState.BUSY, new GeoPoint(9.70, 4.05), T0);
+        assertEquals(List.of(), grid.nearest(DriverState.AVAILABLE, 3.87, 11.50, 1, 50, null));
+        assertEquals(driver, grid.nearest(DriverState.BUSY, 3.87, 11.50, 1, 50, null).get(0).driverId());
+
+        // Stale positions are filtered out
+        assertEquals(List.of(), grid.nearest(DriverState.AVAILABLE, 4.05, 9.70, 1, 50, T0.plusSeconds(1)));
+
+        grid.retainAll(Set.of(driver));
+        assertEquals(1, grid.size());
+        assertEquals(List.of(), grid.nearest(DriverState.AVAILABLE, 4.05, 9.70, 1, 50, null));
+        assertTrue(!grid.updateLocation(other, new GeoPoint(9.75, 4.05), T0.plusMinutes(2)));
+    }
+
+    @Test
+    void answersQueriesWhileDriversMove() throws Exception {
+        DriverGrid grid = new DriverGrid(0.02);
+        int count = 500;
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            grid.upsert(id, DriverState.AVAILABLE, new GeoPoint(9.7 + i * 0.001, 4.05), T0);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                int offset = w;
+                writers.add(executor.submit(() -> {
+                    Random random = new Random(offset);
+                    for (int step = 1; running.get(); step++) {
+                        UUID id = ids.get(random.nextInt(count));
+                        grid.updateLocation(id, new GeoPoint(9.6 + random.nextDouble() * 0.6, 4.05),
+                                T0.plusNanos(step * 2L + offset));
+                    }
+                }));
+            }
+            Future<Integer> reader = executor.submit(() -> {
+                int queries = 0;
+                for (; queries < 2_000; queries++) {
+                    List<NearbyDriver> found = grid.nearest(DriverState.AVAILABLE, 4.05, 9.9, 10, 100, null);
+                    assertTrue(found.size() >= 8);
+                    assertEquals(found.stream().sorted(Comparator.comparingDouble(NearbyDriver::distanceKm)).toList(),
+                            found);
+                    assertEquals(found.size(), found.stream().map(NearbyDriver::driverId).distinct().count());
+                }
+                return queries;
+            });
+            assertEquals(2_000, reader.get(30, TimeUnit.SECONDS));
+            running.set(false);
+            for (Future<?> writer : writers) {
+                writer.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+        assertEquals(count, grid.size());
+        assertEquals(count, grid.nearest(DriverState.AVAILABLE, 4.05, 9.9, count, 100, null).size());
+    }
+
+    private record Driver(UUID id, DriverState state, GeoPoint location) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.yowyob.delivery.route.service.tracking;
+
+import com.yowyob.delivery.route.domain.geometry.GeoPoint;
+import com.yowyob.delivery.route.repository.DriverLocation;
+import com.yowyob.delivery.route.repository.DriverRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DriverLocationBufferTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 15, 10, 0);
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    private DriverLocationBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new DriverLocationBuffer(driverRepository);
+    }
+
+    @Test
+    void shouldWriteOnlyTheLatestLocationOfEachDriver() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        DriverLocation latest = location(first, 9.72, T0.plusSeconds(10));
+        buffer.record(location(first, 9.70, T0));
+        buffer.record(latest);
+        buffer.record(location(first, 9.71, T0.plusSeconds(5)));
+        buffer.record(location(second, 11.5, T0));
+        when(driverRepository.updateLocations(anyList())).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(buffer.flush())
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(driverRepository).updateLocations(argThat(locations -> locations.size() == 2
+                && locations.contains(latest)));
+        assertEquals(0, buffer.pendingCount());
+        StepVerifier.create(buffer.flush())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldKeepLocationsPendingWhenTheWriteFails() {
+        UUID driver = UUID.randomUUID();
+        buffer.record(location(driver, 9.70, T0));
+        when(driverRepository.updateLocations(anyList())).thenAnswer(inv -> {
+            // Reported while the write is running, must win over the failed one
+            buffer.record(location(driver, 9.75, T0.plusSeconds(3)));
+            return Mono.error(new IllegalStateException("connection reset"));
+        });
+
+        StepVerifier.create(buffer.flush())
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(1, buffer.pendingCount());
+        when(driverRepository.updateLocations(anyList())).thenReturn(Mono.just(1L));
+        StepVerifier.create(buffer.flush())
+                .expectNext(1L)
+                .verifyComplete();
+        verify(driverRepository).updateLocations(List.of(location(driver, 9.75, T0.plusSeconds(3))));
+    }
+
+    @Test
+    void shouldNotQueryWhenNothingIsPending() {
+        StepVerifier.create(buffer.flush())
+                .expectNext(0L)
+                .verifyComplete();
+        verifyNoInteractions(driverRepository);
+    }
+
+    private static DriverLocation location(UUID driverId, double lon, LocalDateTime recordedAt) {
+        return new DriverLocation(driverId, new GeoPoint(lon, 4.05), recordedAt);
+    }
+}